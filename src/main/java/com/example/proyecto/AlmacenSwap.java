@@ -0,0 +1,117 @@
+package com.example.proyecto;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+
+/**
+ * Área de swap respaldada por un archivo mapeado en memoria. Cada proceso
+ * expulsado ocupa una ranura de tamaño fijo donde se guarda su descriptor
+ * (el mismo formato binario que usan los checkpoints). Al traerlo de vuelta
+ * se lee el descriptor completo y se compara con el proceso: si no coincide
+ * la ranura se pisó.
+ */
+public class AlmacenSwap implements Closeable {
+
+    private static final int TAMANO_RANURA = 128; // bytes por descriptor de proceso
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final BitSet ranurasOcupadas;
+    private final int capacidad;
+    private final TablaProcesos lectura = new TablaProcesos(1); // donde se decodifican las imágenes
+
+    public AlmacenSwap(int capacidad) throws IOException {
+        this.capacidad = capacidad;
+        this.archivo = Files.createTempFile("simulador-swap", ".bin");
+        this.archivo.toFile().deleteOnExit();
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacidad * TAMANO_RANURA);
+        this.ranurasOcupadas = new BitSet(capacidad);
+    }
+
+    /**
+     * Guarda el descriptor del proceso en una ranura libre y la devuelve,
+     * o -1 si el área de swap está llena.
+     */
+    public int guardar(Proceso proceso) {
+        int ranura = ranurasOcupadas.nextClearBit(0);
+        if (ranura >= capacidad) {
+            return -1;
+        }
+        escribirEn(ranura, proceso);
+        return ranura;
+    }
+
+    /**
+     * Escribe el descriptor en una ranura concreta (al restaurar un checkpoint)
+     */
+    public void escribirEn(int ranura, Proceso proceso) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(TAMANO_RANURA);
+            proceso.escribir(new DataOutputStream(bytes));
+            byte[] datos = bytes.toByteArray();
+            if (datos.length > TAMANO_RANURA) {
+                throw new IllegalStateException("Descriptor de proceso demasiado grande para el swap");
+            }
+            mapa.put(ranura * TAMANO_RANURA, datos);
+            ranurasOcupadas.set(ranura);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lee la imagen de la ranura, comprueba que sea la del proceso y deja la
+     * ranura libre. El estado y la ranura no se comparan: cambian mientras
+     * está en swap (la I/O puede terminar, y la ranura se asigna después de
+     * guardar).
+     */
+    public void recuperar(int ranura, Proceso proceso) {
+        if (!ranurasOcupadas.get(ranura)) {
+            throw new IllegalStateException("Ranura de swap " + ranura + " vacía para P" + proceso.getPid());
+        }
+        byte[] datos = new byte[TAMANO_RANURA];
+        mapa.get(ranura * TAMANO_RANURA, datos);
+        Proceso imagen;
+        try {
+            imagen = Proceso.leer(new DataInputStream(new ByteArrayInputStream(datos)), lectura);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        boolean coincide = imagen.getPid() == proceso.getPid()
+                && imagen.getTiempoLlegada() == proceso.getTiempoLlegada()
+                && imagen.getDuracionCPU() == proceso.getDuracionCPU()
+                && imagen.getTamanoMemoria() == proceso.getTamanoMemoria()
+                && imagen.getTiempoCPUrestante() == proceso.getTiempoCPUrestante()
+                && imagen.getTiempoInicioEjecucion() == proceso.getTiempoInicioEjecucion()
+                && imagen.getTiempoEspera() == proceso.getTiempoEspera()
+                && imagen.getTiempoEnCPU() == proceso.getTiempoEnCPU()
+                && imagen.getTiempoRespuesta() == proceso.getTiempoRespuesta()
+                && imagen.getImagen() == proceso.getImagen()
+                && imagen.getTamanoCompartido() == proceso.getTamanoCompartido()
+                && imagen.getPadre() == proceso.getPadre();
+        String leida = coincide ? null : imagen.toString();
+        lectura.liberar(imagen.getRanura());
+        if (!coincide) {
+            throw new IllegalStateException("Ranura de swap " + ranura + " corrupta: tiene " + leida
+                    + " y se esperaba " + proceso);
+        }
+        ranurasOcupadas.clear(ranura);
+    }
+
+    public int getRanurasOcupadas() {
+        return ranurasOcupadas.cardinality();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+        Files.deleteIfExists(archivo);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.proyecto;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Procesos bloqueados esperando I/O (todos de la misma TablaProcesos). Se
+ * guarda la posición de cada ranura, así sacar el que terminó su I/O es
+ * O(1): el último pasa a ocupar su lugar.
+ *
+ * Por eso el orden no es el de llegada. Nadie depende de él: la víctima de
+ * swap se elige con un criterio que desempata por PID y el fin de cada I/O
+ * lo decide su dispositivo.
+ */
+public class ColaEspera extends AbstractList<Proceso> implements RandomAccess {
+
+    private final ArrayList<Proceso> procesos = new ArrayList<>();
+    private int[] posiciones = new int[16]; // ranura -> posición + 1 (0 = no está)
+
+    public ColaEspera() {
+    }
+
+    public ColaEspera(Collection<Proceso> procesos) {
+        for (Proceso p : procesos) {
+            add(p);
+        }
+    }
+
+    @Override
+    public boolean add(Proceso p) {
+        int ranura = p.getRanura();
+        if (ranura >= posiciones.length) {
+            posiciones = Arrays.copyOf(posiciones, Math.max(ranura + 1, posiciones.length * 2));
+        }
+        procesos.add(p);
+        posiciones[ranura] = procesos.size();
+        return true;
+    }
+
+    @Override
+    public Proceso get(int i) {
+        return procesos.get(i);
+    }
+
+    @Override
+    public int size() {
+        return procesos.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return posicion(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = posicion(o);
+        if (i < 0) {
+            return false;
+        }
+        Proceso ultimo = procesos.remove(procesos.size() - 1);
+        if (i < procesos.size()) {
+            procesos.set(i, ultimo);
+            posiciones[ultimo.getRanura()] = i + 1;
+        }
+        posiciones[((Proceso) o).getRanura()] = 0;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Proceso p : procesos) {
+            posiciones[p.getRanura()] = 0;
+        }
+        procesos.clear();
+    }
+
+    private int posicion(Object o) {
+        if (!(o instanceof Proceso)) {
+            return -1;
+        }
+        int ranura = ((Proceso) o).getRanura();
+        int i = ranura < posiciones.length ? posiciones[ranura] - 1 : -1;
+        return i >= 0 && procesos.get(i).equals(o) ? i : -1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.proyecto;
+
+/**
+ * Lo que un PlanificadorCPU ve de la cola de listos: solo lectura, por
+ * posición (0 es el que llegó primero a listos) y solo lo que hace falta
+ * para elegir. No da acceso a los procesos ni a la tabla de procesos.
+ */
+public interface ColaListos {
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int getPid(int posicion);
+
+    /**
+     * Ticks de CPU que le faltan (incluye las penalizaciones de memoria)
+     */
+    long getTiempoRestante(int posicion);
+
+    /**
+     * Tick en que llegó al sistema
+     */
+    long getTiempoLlegada(int posicion);
+}
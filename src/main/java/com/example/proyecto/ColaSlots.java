@@ -0,0 +1,118 @@
+package com.example.proyecto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cola de procesos guardada como ranuras (int) de una TablaProcesos, en un
+ * buffer circular. Sacar del frente es O(1); sacar del medio desplaza los
+ * elementos siguientes.
+ */
+public class ColaSlots {
+
+    private int[] datos;
+    private int cabeza = 0;
+    private int tamano = 0;
+
+    public ColaSlots() {
+        this(16);
+    }
+
+    public ColaSlots(int capacidad) {
+        int c = 1;
+        while (c < capacidad) {
+            c <<= 1;
+        }
+        datos = new int[c];
+    }
+
+    private int indice(int i) {
+        return (cabeza + i) & (datos.length - 1);
+    }
+
+    public void add(int ranura) {
+        if (tamano == datos.length) {
+            int[] nuevos = new int[datos.length * 2];
+            for (int i = 0; i < tamano; i++) {
+                nuevos[i] = datos[indice(i)];
+            }
+            datos = nuevos;
+            cabeza = 0;
+        }
+        datos[indice(tamano++)] = ranura;
+    }
+
+    public int get(int i) {
+        return datos[indice(i)];
+    }
+
+    public int removeFirst() {
+        int r = datos[cabeza];
+        cabeza = indice(1);
+        tamano--;
+        return r;
+    }
+
+    public int removeAt(int i) {
+        if (i == 0) {
+            return removeFirst();
+        }
+        int r = get(i);
+        for (int j = i; j < tamano - 1; j++) {
+            datos[indice(j)] = datos[indice(j + 1)];
+        }
+        tamano--;
+        return r;
+    }
+
+    /**
+     * Saca la primera aparición de la ranura. Devuelve false si no estaba.
+     */
+    public boolean remove(int ranura) {
+        for (int i = 0; i < tamano; i++) {
+            if (get(i) == ranura) {
+                removeAt(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    public void clear() {
+        cabeza = 0;
+        tamano = 0;
+    }
+
+    public int[] toArray() {
+        int[] r = new int[tamano];
+        for (int i = 0; i < tamano; i++) {
+            r[i] = get(i);
+        }
+        return r;
+    }
+
+    /**
+     * Vistas Proceso de la cola, para las tablas de la GUI y los reportes
+     */
+    public List<Proceso> vistas(TablaProcesos tabla) {
+        List<Proceso> lista = new ArrayList<>(tamano);
+        for (int i = 0; i < tamano; i++) {
+            lista.add(tabla.vista(get(i)));
+        }
+        return lista;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,629 @@
+package com.example.proyecto;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Corre la misma carga de procesos con varias configuraciones (algoritmo,
+ * quantum, política de reemplazo, modo de memoria) en paralelo, en un pool
+ * de hilos de fondo. No usa JavaFX: quien lo llama decide en qué hilo
+ * muestra los resultados.
+ */
+public class ComparadorSimulaciones {
+
+    // Qué pasa con cada núcleo al final del tick
+    private static final byte SIGUE = 0;
+    private static final byte TERMINA = 1;
+    private static final byte DESALOJA = 2; // quantum agotado
+
+    static final ExecutorService EJECUTOR = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), new ThreadFactory() {
+                private final AtomicInteger contador = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "comparacion-" + contador.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    /**
+     * Una configuración a simular
+     */
+    public static class Configuracion {
+
+        final String algoritmo;
+        final int quantum;
+        final GestorMemoria.PoliticaReemplazo politica;
+        final GestorMemoria.ModoMemoria modo;
+        final TLB.Configuracion tlb;
+        final TopologiaNUMA.Configuracion numa;
+        final PlanificadorSwap.PoliticaVictima swap; // null = sin planificador de mediano plazo
+        final PoliticaPlanificacion planificacion; // algoritmo y quantum ya resueltos
+        final long maxTicks; // la corrida se corta (truncada) si llega a estos ticks
+
+        public static final long MAX_TICKS_POR_DEFECTO = 100000;
+
+        public Configuracion(String algoritmo, int quantum,
+                GestorMemoria.PoliticaReemplazo politica, GestorMemoria.ModoMemoria modo, TLB.Configuracion tlb,
+                TopologiaNUMA.Configuracion numa) {
+            this(algoritmo, quantum, politica, modo, tlb, numa, null);
+        }
+
+        public Configuracion(String algoritmo, int quantum,
+                GestorMemoria.PoliticaReemplazo politica, GestorMemoria.ModoMemoria modo, TLB.Configuracion tlb,
+                TopologiaNUMA.Configuracion numa, PlanificadorSwap.PoliticaVictima swap) {
+            this(algoritmo, quantum, politica, modo, tlb, numa, swap, MAX_TICKS_POR_DEFECTO);
+        }
+
+        public Configuracion(String algoritmo, int quantum,
+                GestorMemoria.PoliticaReemplazo politica, GestorMemoria.ModoMemoria modo, TLB.Configuracion tlb,
+                TopologiaNUMA.Configuracion numa, PlanificadorSwap.PoliticaVictima swap, long maxTicks) {
+            if (maxTicks <= 0) {
+                throw new IllegalArgumentException("El máximo de ticks debe ser positivo");
+            }
+            this.algoritmo = algoritmo;
+            this.quantum = quantum;
+            this.politica = politica;
+            this.modo = modo;
+            this.tlb = tlb;
+            this.numa = numa;
+            this.swap = swap;
+            this.maxTicks = maxTicks;
+            this.planificacion = PoliticaPlanificacion.resolver(algoritmo, quantum);
+        }
+
+        /**
+         * La misma configuración con swapping (null para sacarlo)
+         */
+        public Configuracion conSwap(PlanificadorSwap.PoliticaVictima swap) {
+            return new Configuracion(algoritmo, quantum, politica, modo, tlb, numa, swap, maxTicks);
+        }
+
+        /**
+         * La misma configuración con otro máximo de ticks
+         */
+        public Configuracion conMaxTicks(long maxTicks) {
+            return new Configuracion(algoritmo, quantum, politica, modo, tlb, numa, swap, maxTicks);
+        }
+
+        public long getMaxTicks() {
+            return maxTicks;
+        }
+
+        public boolean usaQuantum() {
+            return planificacion.usaQuantum();
+        }
+
+        public String getEtiqueta() {
+            StringBuilder sb = new StringBuilder(planificacion.toString());
+            if (modo.isPaginado()) {
+                sb.append(modo == GestorMemoria.ModoMemoria.PAGINACION ? " / Pag. "
+                        : modo == GestorMemoria.ModoMemoria.PAGINACION_DEMANDA ? " / Pag.Dem. " : " / Seg.Pag. ")
+                        .append(politica);
+                if (numa.isHabilitada()) {
+                    sb.append(" / NUMA ").append(numa.getPolitica());
+                }
+            } else {
+                sb.append(modo == GestorMemoria.ModoMemoria.SEGMENTACION ? " / Seg."
+                        : modo == GestorMemoria.ModoMemoria.SLAB ? " / Slab" : " / Part.");
+            }
+            if (swap != null) {
+                sb.append(" / Swap ").append(swap);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return getEtiqueta();
+        }
+    }
+
+    /**
+     * Resultado de simular una configuración
+     */
+    public static class Resultado {
+
+        final Configuracion configuracion;
+        final double promedioEspera;
+        final double promedioRetorno;
+        final long ticks;
+        final double tasaAciertosTLB; // -1 si no hubo TLB
+        final double proporcionAccesosLocales; // -1 si no hubo NUMA
+        final int terminados; // menos que los procesos si la corrida quedó truncada
+        final boolean truncado; // se cortó al llegar a configuracion.maxTicks
+        final double promedioAdmision; // ticks entre la llegada y la admisión en memoria
+        final long swapOuts;
+        final long swapIns;
+        final Map<String, Object> estadisticasMemoria; // GestorMemoria.getEstadisticas() al final
+
+        Resultado(Configuracion configuracion, double promedioEspera, double promedioRetorno, long ticks,
+                double tasaAciertosTLB, double proporcionAccesosLocales, int terminados, boolean truncado,
+                double promedioAdmision, long swapOuts, long swapIns, Map<String, Object> estadisticasMemoria) {
+            this.configuracion = configuracion;
+            this.promedioEspera = promedioEspera;
+            this.promedioRetorno = promedioRetorno;
+            this.ticks = ticks;
+            this.tasaAciertosTLB = tasaAciertosTLB;
+            this.proporcionAccesosLocales = proporcionAccesosLocales;
+            this.terminados = terminados;
+            this.truncado = truncado;
+            this.promedioAdmision = promedioAdmision;
+            this.swapOuts = swapOuts;
+            this.swapIns = swapIns;
+            this.estadisticasMemoria = estadisticasMemoria;
+        }
+
+        public Configuracion getConfiguracion() {
+            return configuracion;
+        }
+
+        public double getPromedioEspera() {
+            return promedioEspera;
+        }
+
+        public double getPromedioRetorno() {
+            return promedioRetorno;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public double getTasaAciertosTLB() {
+            return tasaAciertosTLB;
+        }
+
+        public double getProporcionAccesosLocales() {
+            return proporcionAccesosLocales;
+        }
+
+        public int getTerminados() {
+            return terminados;
+        }
+
+        /**
+         * true si se llegó al máximo de ticks con procesos sin terminar: las
+         * métricas son solo de los que terminaron
+         */
+        public boolean isTruncado() {
+            return truncado;
+        }
+
+        public double getPromedioAdmision() {
+            return promedioAdmision;
+        }
+
+        /**
+         * Procesos terminados por tick
+         */
+        public double getThroughput() {
+            return ticks == 0 ? 0 : terminados / (double) ticks;
+        }
+
+        public long getSwapOuts() {
+            return swapOuts;
+        }
+
+        public long getSwapIns() {
+            return swapIns;
+        }
+
+        public Map<String, Object> getEstadisticasMemoria() {
+            return estadisticasMemoria;
+        }
+    }
+
+    /**
+     * Avisos de una corrida. Se llaman desde los hilos de fondo.
+     */
+    public interface Observador {
+
+        void resultado(Resultado resultado, int terminadas, int total);
+
+        void error(Configuracion configuracion, Throwable error);
+    }
+
+    /**
+     * Una comparación en curso; permite cancelarla
+     */
+    public static class Corrida {
+
+        private final List<Future<?>> tareas = new ArrayList<>();
+        private final AtomicInteger terminadas = new AtomicInteger();
+        private final int total;
+
+        Corrida(int total) {
+            this.total = total;
+        }
+
+        public void cancelar() {
+            for (Future<?> f : tareas) {
+                f.cancel(true);
+            }
+        }
+
+        public boolean isTerminada() {
+            for (Future<?> f : tareas) {
+                if (!f.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public int getTerminadas() {
+            return terminadas.get();
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Producto cartesiano de las opciones. El quantum solo varía con los
+     * planificadores que lo usan y la política solo con los modos paginados.
+     */
+    public static List<Configuracion> combinar(List<String> algoritmos, List<Integer> quantums,
+            List<GestorMemoria.PoliticaReemplazo> politicas, List<GestorMemoria.ModoMemoria> modos,
+            TLB.Configuracion tlb, TopologiaNUMA.Configuracion numa) {
+        List<Configuracion> configuraciones = new ArrayList<>();
+        for (String algoritmo : algoritmos) {
+            List<Integer> qs = PoliticaPlanificacion.usaQuantum(algoritmo) ? quantums : List.of(0);
+            for (int q : qs) {
+                for (GestorMemoria.ModoMemoria modo : modos) {
+                    List<GestorMemoria.PoliticaReemplazo> ps = modo.isPaginado()
+                            ? politicas : List.of(GestorMemoria.PoliticaReemplazo.FIFO);
+                    for (GestorMemoria.PoliticaReemplazo politica : ps) {
+                        configuraciones.add(new Configuracion(algoritmo, q, politica, modo, tlb, numa));
+                    }
+                }
+            }
+        }
+        return configuraciones;
+    }
+
+    /**
+     * Lanza todas las configuraciones en el pool. Los procesos se copian
+     * antes de volver, así el llamador puede seguir modificando los suyos.
+     */
+    public static Corrida lanzar(List<Configuracion> configuraciones, List<Proceso> procesos,
+            int numNucleos, Observador observador) {
+        TablaProcesos tablaBase = new TablaProcesos(procesos.size());
+        List<Proceso> base = clonarProcesos(procesos, tablaBase);
+
+        Corrida corrida = new Corrida(configuraciones.size());
+        for (Configuracion c : configuraciones) {
+            corrida.tareas.add(EJECUTOR.submit(() -> {
+                try {
+                    Resultado r = simular(c, base, numNucleos);
+                    observador.resultado(r, corrida.terminadas.incrementAndGet(), corrida.total);
+                } catch (CancellationException e) {
+                    // cancelada: no se informa
+                } catch (RuntimeException e) {
+                    corrida.terminadas.incrementAndGet();
+                    observador.error(c, e);
+                }
+            }));
+        }
+        return corrida;
+    }
+
+    /**
+     * Crea copias limpias de los procesos para poder volver a simularlos desde cero.
+     */
+    public static List<Proceso> clonarProcesos(List<Proceso> origen, TablaProcesos destino) {
+        List<Proceso> clones = new ArrayList<>();
+        for (Proceso p : origen) {
+            clones.add(clonar(p, destino));
+        }
+        clones.sort(POR_LLEGADA);
+        return clones;
+    }
+
+    // 1. Primero por tiempo de llegada
+    // 2. Si empatan en tiempo, desempatar por PID
+    static final Comparator<Proceso> POR_LLEGADA = Comparator.comparingLong(Proceso::getTiempoLlegada)
+            .thenComparingInt(Proceso::getPid);
+
+    /**
+     * Copia limpia de un proceso (sin estado de ejecución) en otra tabla
+     */
+    static Proceso clonar(Proceso p, TablaProcesos destino) {
+        Proceso clon = destino.nuevo(p.getPid(), p.getTiempoLlegada(), p.getDuracionCPU(), p.getTamanoMemoria());
+        clon.copiarCompartidaDe(p);
+        return clon;
+    }
+
+    /**
+     * Simulación lógica sin interfaz gráfica.
+     * Replica el bucle "pasoSimulacion" pero en un while loop rápido, sobre
+     * una copia propia de los procesos. Revisa la interrupción en cada tick
+     * y lanza CancellationException si la cancelaron.
+     */
+    public static Resultado simular(Configuracion c, List<Proceso> procesos, int numNucleos) {
+        return simular(c, procesos, numNucleos, null);
+    }
+
+    /**
+     * Igual que simular, registrando la corrida en el diario (que queda
+     * abierto; lo cierra quien lo creó). La pasada previa de OPT no se
+     * registra.
+     */
+    public static Resultado simular(Configuracion c, List<Proceso> procesos, int numNucleos, DiarioEventos diario) {
+        return simular(c, procesos, numNucleos, diario, null, null);
+    }
+
+    /**
+     * Igual que simular, con I/O aleatoria como en la ventana principal: los
+     * dispositivos salen de configuracionIO (formato de SubsistemaIO) y los
+     * sorteos de random, que avanza. Sin random no hay I/O.
+     */
+    public static Resultado simular(Configuracion c, List<Proceso> procesos, int numNucleos, DiarioEventos diario,
+            String configuracionIO, GeneradorAleatorio random) {
+        return simular(c, procesos, numNucleos, diario, configuracionIO, random, 1);
+    }
+
+    /**
+     * Igual que simular, repartiendo las fases por núcleo entre hasta
+     * "hilos" hilos (ver FasesParalelas). El resultado es idéntico al de un
+     * solo hilo: lo compartido se aplica siempre en serie y en orden de núcleo.
+     */
+    public static Resultado simular(Configuracion c, List<Proceso> procesos, int numNucleos, DiarioEventos diario,
+            String configuracionIO, GeneradorAleatorio random, int hilos) {
+        GestorMemoria gestor = crearGestor(c, c.politica, numNucleos);
+        if (c.politica == GestorMemoria.PoliticaReemplazo.OPT && gestor.isPaginado()) {
+            // OPT necesita conocer el futuro: una primera pasada graba la
+            // secuencia de referencias. La planificación no depende de la
+            // política de reemplazo, así que la secuencia es la misma.
+            // Con I/O, la pasada usa una copia del generador para sortear lo mismo.
+            GestorMemoria grabador = crearGestor(c, GestorMemoria.PoliticaReemplazo.FIFO, numNucleos);
+            grabador.grabarReferencias();
+            GeneradorAleatorio copia = null;
+            if (random != null) {
+                copia = new GeneradorAleatorio(0);
+                copia.setEstado(random.getEstado());
+            }
+            correr(c, procesos, numNucleos, grabador, null, crearIO(configuracionIO, copia), copia, hilos);
+            gestor.setReferenciasFuturas(grabador.getReferenciasGrabadas());
+        }
+        gestor.setDiario(diario);
+        return correr(c, procesos, numNucleos, gestor, diario, crearIO(configuracionIO, random), random, hilos);
+    }
+
+    private static SubsistemaIO crearIO(String configuracionIO, GeneradorAleatorio random) {
+        if (random == null) {
+            return null;
+        }
+        return SubsistemaIO.desdeConfiguracion(
+                configuracionIO != null ? configuracionIO : SubsistemaIO.CONFIGURACION_POR_DEFECTO, 0);
+    }
+
+    private static GestorMemoria crearGestor(Configuracion c, GestorMemoria.PoliticaReemplazo politica, int numNucleos) {
+        GestorMemoria gestor = new GestorMemoria(2048); // Mismo tamaño
+        gestor.setModo(c.modo);
+        gestor.setPoliticaReemplazo(politica);
+        gestor.configurarTLB(numNucleos, c.tlb);
+        gestor.configurarNUMA(numNucleos, c.numa);
+        return gestor;
+    }
+
+    private static Resultado correr(Configuracion c, List<Proceso> procesos, int numNucleos, GestorMemoria gestorHeadless,
+            DiarioEventos diario, SubsistemaIO io, GeneradorAleatorio random, int hilos) {
+        // 1. Configurar entorno aislado
+        TablaProcesos tabla = new TablaProcesos(procesos.size());
+        List<Proceso> procesosNuevos = clonarProcesos(procesos, tabla);
+        tabla.setDiario(diario);
+        if (io != null) {
+            io.setDiario(diario);
+        }
+
+        ColaSlots hColaListos = new ColaSlots(procesosNuevos.size());
+        ColaEspera hEsperando = new ColaEspera(); // en I/O (solo hace falta con swapping)
+        List<Proceso> hColaTerminados = new ArrayList<>();
+        Proceso[] hNucleos = new Proceso[numNucleos];
+        int[] hQuantum = new int[numNucleos];
+        PoliticaPlanificacion planificacion = c.planificacion;
+        boolean conQuantum = planificacion.usaQuantum();
+
+        // Variables de control
+        long hReloj = 0;
+        int procesosTotales = procesosNuevos.size();
+        long sumaAdmision = 0;
+        int admitidos = 0;
+
+        // Fase por núcleo: avance de CPU y quantum y la traducción por la TLB
+        // del núcleo (solo tocan el proceso y la TLB de su núcleo)
+        byte[] salida = new byte[numNucleos];
+        IntConsumer avanzar = i -> {
+            Proceso p = hNucleos[i];
+            if (p != null) {
+                p.avanzarTiempoCPU();
+                if (conQuantum) {
+                    hQuantum[i]--;
+                }
+            }
+            gestorHeadless.traducirAcceso(i);
+        };
+
+        long swapOuts = 0;
+        long swapIns = 0;
+        boolean truncado = false;
+
+        // Bucle de Simulación Rápida
+        try (FasesParalelas fases = new FasesParalelas(numNucleos, hilos);
+                PlanificadorSwap swap = c.swap == null ? null : new PlanificadorSwap(0)) {
+            if (swap != null) {
+                swap.setPolitica(c.swap);
+            }
+            while (hColaTerminados.size() < procesosTotales) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Comparación cancelada: " + c);
+                }
+                if (hReloj >= c.maxTicks) {
+                    truncado = true;
+                    break;
+                }
+                if (diario != null) {
+                    diario.setTick(hReloj);
+                }
+
+                // A. Nuevos -> Listos
+                int memoriaPendiente = 0; // el más chico que llegó y no entró
+                Iterator<Proceso> it = procesosNuevos.iterator();
+                while (it.hasNext()) {
+                    Proceso p = it.next();
+                    if (p.getTiempoLlegada() <= hReloj) {
+                        if (gestorHeadless.asignarMemoria(p)) {
+                            p.setEstado(EstadoProceso.LISTO);
+                            hColaListos.add(p.getRanura());
+                            it.remove();
+                            sumaAdmision += hReloj - p.getTiempoLlegada();
+                            admitidos++;
+                        } else if (memoriaPendiente == 0 || p.getTamanoMemoria() < memoriaPendiente) {
+                            memoriaPendiente = p.getTamanoMemoria();
+                        }
+                    }
+                }
+
+                // A2. Swapping, como en la ventana principal
+                if (swap != null) {
+                    int memoriaLibre = gestorHeadless.tamanoTotal - gestorHeadless.calcularMemoriaUsada();
+                    if (swap.hayQueExpulsar(memoriaLibre, memoriaPendiente)) {
+                        Proceso victima = swap.elegirVictima(hColaListos, tabla, hEsperando);
+                        if (victima != null && memoriaLibre + swap.getMemoriaPorLiberar()
+                                + victima.getTamanoMemoria() >= memoriaPendiente
+                                && swap.expulsar(victima, hReloj)) {
+                            hColaListos.remove(victima.getRanura());
+                        }
+                    }
+                    for (Proceso p : swap.procesar(hReloj, gestorHeadless, memoriaPendiente == 0, io)) {
+                        hColaListos.add(p.getRanura());
+                    }
+                }
+
+                // B. Incrementar esperas
+                tabla.incrementarTiempoEspera(hColaListos);
+
+                // B2. I/O aleatoria, en el mismo orden que la ventana principal
+                if (io != null) {
+                    for (int i = 0; i < numNucleos; i++) {
+                        Proceso p = hNucleos[i];
+                        if (p != null && random.nextDouble() < SubsistemaIO.PROBABILIDAD_IO && p.getTiempoEnCPU() >= 2) {
+                            p.setEstado(EstadoProceso.ESPERANDO);
+                            io.solicitar(p, hReloj, random);
+                            if (swap != null) {
+                                hEsperando.add(p);
+                            }
+                            hNucleos[i] = null;
+                            if (diario != null) {
+                                diario.desalojo(i, p.getPid(), EstadoProceso.ESPERANDO);
+                            }
+                        }
+                    }
+                    for (Proceso p : io.avanzar(hReloj)) {
+                        if (swap != null) {
+                            hEsperando.remove(p);
+                        }
+                        if (p.getEstado() == EstadoProceso.BLOQUEADO_SUSPENDIDO) {
+                            p.setEstado(EstadoProceso.LISTO_SUSPENDIDO); // lo trae el planificador de swap
+                            continue;
+                        }
+                        p.setEstado(EstadoProceso.LISTO);
+                        hColaListos.add(p.getRanura());
+                    }
+                }
+
+                // C. Asignar CPU (Scheduling simplificado para Headless)
+                for (int i = 0; i < numNucleos; i++) {
+                    if (hNucleos[i] == null && !hColaListos.isEmpty()) {
+                        Proceso electo = planificacion.siguiente(hColaListos, tabla);
+                        if (electo == null) {
+                            break; // el planificador no despacha a nadie este tick
+                        }
+
+                        // Con NUMA va a un núcleo libre del nodo de su memoria si hay
+                        int destino = gestorHeadless.elegirNucleo(electo.getPid(), hNucleos, i);
+                        hNucleos[destino] = electo;
+                        hQuantum[destino] = c.quantum;
+                        gestorHeadless.cambioContexto(destino, electo.getPid());
+                        if (diario != null) {
+                            diario.despacho(destino, electo.getPid(), c.quantum);
+                        }
+                        electo.setEstado(EstadoProceso.EJECUTANDO);
+                        if (electo.getTiempoInicioEjecucion() == -1) {
+                            electo.setTiempoInicioEjecucion(hReloj);
+                        }
+                        if (destino != i) {
+                            i--; // el núcleo i sigue libre
+                        }
+                    }
+                }
+
+                // D. Ejecutar CPU, en fases iguales en serie y en paralelo. El
+                // acceso a memoria de cada núcleo se parte: referencias y fallos
+                // de página (gestor compartido) en serie y en orden de núcleo,
+                // avance y TLB de cada núcleo en paralelo, NUMA y la
+                // penalización (el fallo de TLB agrega ticks de CPU) otra vez en serie
+                gestorHeadless.iniciarAccesos(hNucleos);
+                fases.porNucleo(avanzar);
+                for (int i = 0; i < numNucleos; i++) {
+                    Proceso p = hNucleos[i];
+                    if (p == null) {
+                        salida[i] = SIGUE;
+                        continue;
+                    }
+                    int penalizacion = gestorHeadless.terminarAcceso(i);
+                    if (penalizacion > 0) {
+                        p.setTiempoCPUrestante(p.getTiempoCPUrestante() + penalizacion);
+                    }
+                    salida[i] = p.getTiempoCPUrestante() <= 0 ? TERMINA
+                            : conQuantum && hQuantum[i] <= 0 ? DESALOJA : SIGUE;
+                }
+
+                // E. Finalizaciones y desalojos (colas, memoria y diario: en serie)
+                for (int i = 0; i < numNucleos; i++) {
+                    Proceso p = hNucleos[i];
+                    if (salida[i] == TERMINA) {
+                        p.setTiempoFinalizacion(hReloj + 1); // +1 porque terminó en este tick
+                        p.setEstado(EstadoProceso.TERMINADO);
+                        gestorHeadless.liberarMemoria(p);
+                        hColaTerminados.add(p);
+                        hNucleos[i] = null;
+                        if (diario != null) {
+                            diario.desalojo(i, p.getPid(), EstadoProceso.TERMINADO);
+                        }
+                    } else if (salida[i] == DESALOJA) {
+                        p.setEstado(EstadoProceso.LISTO);
+                        hColaListos.add(p.getRanura());
+                        hNucleos[i] = null;
+                        if (diario != null) {
+                            diario.desalojo(i, p.getPid(), EstadoProceso.LISTO);
+                        }
+                    }
+                }
+
+                gestorHeadless.avanzarReloj(); // aging de NFU
+                hReloj++;
+            }
+            if (swap != null) {
+                swapOuts = swap.getTotalSwapOuts();
+                swapIns = swap.getTotalSwapIns();
+            }
+        }
+
+        // Calcular Estadísticas del Headless
+        double avgEsp = hColaTerminados.stream().mapToLong(Proceso::getTiempoEspera).average().orElse(0);
+        double avgRet = hColaTerminados.stream().mapToLong(p -> p.getTiempoFinalizacion() - p.getTiempoLlegada()).average().orElse(0);
+
+        return new Resultado(c, avgEsp, avgRet, hReloj, gestorHeadless.getTasaAciertosTLB(),
+                gestorHeadless.getProporcionAccesosLocales(), hColaTerminados.size(), truncado,
+                admitidos == 0 ? 0 : sumaAdmision / (double) admitidos, swapOuts, swapIns,
+                gestorHeadless.getEstadisticas());
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.proyecto;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.input.MouseButton;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.function.IntFunction;
+
+/**
+ * Diagrama de Gantt de los núcleos sobre un Canvas, dibujado a partir de
+ * LineaTiempoNucleos. Solo se dibuja la ventana visible: cada columna de
+ * píxeles se resuelve con una búsqueda binaria del tramo que la cubre, así
+ * el costo depende del ancho del canvas y no del largo de la corrida.
+ *
+ * Mientras se sigue el final de la corrida se dibujan solo las columnas
+ * nuevas de cada pulso; el canvas entero se redibuja al hacer zoom,
+ * desplazarse o cuando la ventana avanza.
+ *
+ * Rueda: zoom alrededor del cursor. Arrastrar o barra: desplazarse.
+ * Doble clic: ver toda la corrida y volver a seguir el final.
+ */
+public class DiagramaGantt {
+
+    private static final double MARGEN_IZQUIERDO = 28;
+    private static final double ALTO_REGLA = 16;
+    private static final double SEPARACION_MARCAS = 90; // píxeles entre marcas de la regla
+    private static final double TICKS_POR_PIXEL_MINIMO = 1.0 / 40; // zoom máximo: 40 px por tick
+    private static final double FACTOR_ZOOM = 1.25;
+    private static final Color COLOR_OCIOSO = Color.web("#E0E0E0");
+    private static final Color COLOR_FONDO = Color.WHITE;
+
+    private final Canvas canvas;
+    private final ScrollBar barra;
+    private final LineaTiempoNucleos linea;
+    private final IntFunction<Color> colores;
+
+    // Ventana visible: tick del borde izquierdo y escala
+    private double inicioVista = 0;
+    private double ticksPorPixel = 1.0 / 8;
+    private boolean seguir = true; // la ventana avanza con la corrida
+
+    // Lo que hay dibujado, para dibujar solo lo que falta
+    private LineaTiempoNucleos.Vista dibujada;
+    private double inicioDibujado = Double.NaN;
+    private double escalaDibujada = Double.NaN;
+    private boolean redibujar = true;
+
+    private double arrastreX = Double.NaN;
+    private boolean ajustandoBarra = false;
+
+    public DiagramaGantt(Canvas canvas, ScrollBar barra, LineaTiempoNucleos linea, IntFunction<Color> colores) {
+        this.canvas = canvas;
+        this.barra = barra;
+        this.linea = linea;
+        this.colores = colores;
+
+        canvas.setOnScroll(e -> {
+            double factor = e.getDeltaY() > 0 ? 1 / FACTOR_ZOOM : FACTOR_ZOOM;
+            zoom(factor, Math.max(0, e.getX() - MARGEN_IZQUIERDO));
+            e.consume();
+        });
+        canvas.setOnMousePressed(e -> arrastreX = e.getX());
+        canvas.setOnMouseDragged(e -> {
+            if (!Double.isNaN(arrastreX)) {
+                desplazarA(inicioVista - (e.getX() - arrastreX) * ticksPorPixel);
+                arrastreX = e.getX();
+            }
+        });
+        canvas.setOnMouseReleased(e -> arrastreX = Double.NaN);
+        canvas.setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                verTodo();
+            }
+        });
+        if (barra != null) {
+            barra.valueProperty().addListener((obs, anterior, valor) -> {
+                if (!ajustandoBarra) {
+                    desplazarA(valor.doubleValue());
+                }
+            });
+        }
+    }
+
+    private double anchoDatos() {
+        return canvas.getWidth() - MARGEN_IZQUIERDO;
+    }
+
+    private double ticksVisibles() {
+        return anchoDatos() * ticksPorPixel;
+    }
+
+    private void zoom(double factor, double xCursor) {
+        double tickCursor = inicioVista + xCursor * ticksPorPixel;
+        LineaTiempoNucleos.Vista v = linea.vista();
+        double maximo = Math.max(TICKS_POR_PIXEL_MINIMO, (v.getHasta() - v.getDesde()) / anchoDatos());
+        ticksPorPixel = Math.max(TICKS_POR_PIXEL_MINIMO, Math.min(maximo, ticksPorPixel * factor));
+        seguir = false;
+        desplazarA(tickCursor - xCursor * ticksPorPixel);
+    }
+
+    private void desplazarA(double inicio) {
+        LineaTiempoNucleos.Vista v = linea.vista();
+        double maximo = Math.max(v.getDesde(), v.getHasta() - ticksVisibles());
+        inicioVista = Math.max(v.getDesde(), Math.min(maximo, inicio));
+        // Llevar la ventana hasta el final vuelve a seguir la corrida
+        seguir = inicioVista >= maximo && v.getHasta() - v.getDesde() > 0;
+        redibujar = true;
+        actualizar();
+    }
+
+    private void verTodo() {
+        LineaTiempoNucleos.Vista v = linea.vista();
+        ticksPorPixel = Math.max(TICKS_POR_PIXEL_MINIMO, (v.getHasta() - v.getDesde()) / anchoDatos());
+        inicioVista = v.getDesde();
+        seguir = true;
+        redibujar = true;
+        actualizar();
+    }
+
+    /**
+     * Dibuja lo que cambió desde el último llamado (hilo de JavaFX; se
+     * llama en cada pulso y no hace nada si no hay ticks nuevos)
+     */
+    public void actualizar() {
+        LineaTiempoNucleos.Vista v = linea.vista();
+        if (!v.mismaCorrida(dibujada)) {
+            inicioVista = v.getDesde();
+            seguir = true;
+            redibujar = true;
+        } else if (!redibujar && v.getHasta() == dibujada.getHasta()) {
+            return;
+        }
+
+        if (seguir && v.getHasta() > inicioVista + ticksVisibles()) {
+            // La corrida se salió de la ventana: se avanza tres cuartos de ventana
+            inicioVista = Math.max(v.getDesde(), v.getHasta() - ticksVisibles() / 4);
+            redibujar = true;
+        }
+
+        if (redibujar || inicioVista != inicioDibujado || ticksPorPixel != escalaDibujada) {
+            dibujarTodo(v);
+        } else {
+            // Solo las columnas de los ticks nuevos
+            double x0 = Math.floor((dibujada.getHasta() - inicioVista) / ticksPorPixel);
+            double x1 = Math.ceil((v.getHasta() - inicioVista) / ticksPorPixel);
+            dibujarColumnas(v, Math.max(0, x0 - 1), Math.min(anchoDatos(), x1));
+        }
+        dibujada = v;
+        inicioDibujado = inicioVista;
+        escalaDibujada = ticksPorPixel;
+        redibujar = false;
+        ajustarBarra(v);
+    }
+
+    private void dibujarTodo(LineaTiempoNucleos.Vista v) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setFill(COLOR_FONDO);
+        gc.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        // Nombres de los núcleos
+        gc.setFill(Color.web("#424242"));
+        gc.setFont(Font.font(11));
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int n = 0; n < linea.getNumNucleos(); n++) {
+            gc.fillText("N" + n, 4, ALTO_REGLA + (n + 0.5) * altoFila());
+        }
+
+        // Regla: marcas en múltiplos "redondos" de ticks
+        double paso = pasoRegla(SEPARACION_MARCAS * ticksPorPixel);
+        gc.setStroke(Color.web("#BDBDBD"));
+        gc.setLineWidth(1);
+        gc.setFont(Font.font(10));
+        gc.setTextBaseline(VPos.TOP);
+        for (double t = Math.ceil(inicioVista / paso) * paso; t < inicioVista + ticksVisibles(); t += paso) {
+            double x = MARGEN_IZQUIERDO + (t - inicioVista) / ticksPorPixel;
+            gc.strokeLine(Math.floor(x) + 0.5, ALTO_REGLA - 4, Math.floor(x) + 0.5, ALTO_REGLA);
+            gc.fillText(String.valueOf((long) t), x + 2, 1);
+        }
+        gc.strokeLine(MARGEN_IZQUIERDO, ALTO_REGLA - 0.5, canvas.getWidth(), ALTO_REGLA - 0.5);
+
+        dibujarColumnas(v, 0, anchoDatos());
+    }
+
+    /**
+     * Dibuja las columnas [x0, x1) de todas las filas. Cada vuelta pinta un
+     * tramo entero (con zoom) o una columna (sin zoom, el tramo que la
+     * cubre), así nunca se recorren más tramos que píxeles.
+     */
+    private void dibujarColumnas(LineaTiempoNucleos.Vista v, double x0, double x1) {
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        double alto = altoFila();
+        gc.setFont(Font.font(10));
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        for (int n = 0; n < linea.getNumNucleos(); n++) {
+            double y = ALTO_REGLA + n * alto + 1;
+            double x = x0;
+            while (x < x1) {
+                long tick = (long) Math.floor(inicioVista + x * ticksPorPixel);
+                int tramo = v.tramoEn(n, tick);
+                if (tramo < 0) {
+                    if (tick >= v.getHasta()) {
+                        break; // todavía no se registró
+                    }
+                    x++;
+                    continue;
+                }
+                double fin = Math.min(x1, Math.ceil((v.getFin(n, tramo) - inicioVista) / ticksPorPixel));
+                double siguiente = Math.max(x + 1, fin);
+                int pid = v.getPid(n, tramo);
+                gc.setFill(pid == LineaTiempoNucleos.OCIOSO ? COLOR_OCIOSO : colores.apply(pid));
+                gc.fillRect(MARGEN_IZQUIERDO + x, y, siguiente - x, alto - 2);
+
+                // Etiqueta si el tramo ya terminó y entra con espacio
+                if (pid != LineaTiempoNucleos.OCIOSO && tramo + 1 < v.getCantidad(n)) {
+                    double xIni = Math.max(0, (v.getInicio(n, tramo) - inicioVista) / ticksPorPixel);
+                    double xFin = Math.min(anchoDatos(), (v.getFin(n, tramo) - inicioVista) / ticksPorPixel);
+                    if (xFin - xIni >= 28 && xFin <= siguiente) {
+                        gc.setFill(Color.WHITE);
+                        gc.fillText("P" + pid, MARGEN_IZQUIERDO + (xIni + xFin) / 2, y + (alto - 2) / 2);
+                    }
+                }
+                x = siguiente;
+            }
+        }
+    }
+
+    private double altoFila() {
+        return (canvas.getHeight() - ALTO_REGLA) / linea.getNumNucleos();
+    }
+
+    /**
+     * 1, 2 o 5 por una potencia de 10, el menor que sea >= minimo (y >= 1)
+     */
+    private static double pasoRegla(double minimo) {
+        double potencia = Math.pow(10, Math.floor(Math.log10(Math.max(1, minimo))));
+        for (int m : new int[]{1, 2, 5, 10}) {
+            if (m * potencia >= minimo) {
+                return Math.max(1, m * potencia);
+            }
+        }
+        return 10 * potencia;
+    }
+
+    private void ajustarBarra(LineaTiempoNucleos.Vista v) {
+        if (barra == null) {
+            return;
+        }
+        ajustandoBarra = true;
+        double maximo = Math.max(v.getDesde(), v.getHasta() - ticksVisibles());
+        barra.setMin(v.getDesde());
+        barra.setMax(maximo);
+        barra.setVisibleAmount(Math.max(1, (maximo - v.getDesde()) * ticksVisibles() / Math.max(1, v.getHasta() - v.getDesde())));
+        barra.setValue(Math.min(maximo, inicioVista));
+        ajustandoBarra = false;
+    }
+}
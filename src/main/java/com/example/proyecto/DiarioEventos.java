@@ -0,0 +1,184 @@
+package com.example.proyecto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diario binario de eventos de una corrida (solo se agrega al final). Cada
+ * evento ocupa TAMANO_EVENTO bytes, así el evento i está en una posición
+ * fija y se puede leer sin recorrer el archivo (ver LectorDiario).
+ *
+ * Los eventos se juntan en bloques de EVENTOS_POR_BLOQUE en memoria; un
+ * bloque lleno se pasa a un hilo escritor y el motor sigue con otro buffer,
+ * así registrar un evento es solo escribir 24 bytes. Al cerrar se agrega un
+ * índice con el primer tick de cada bloque.
+ *
+ * Formato: cabecera (MAGIA, VERSION, TAMANO_EVENTO, EVENTOS_POR_BLOQUE) +
+ * eventos (tick long, tipo byte, 0, núcleo short, pid int, a int, b int) +
+ * índice (primer tick de cada bloque, cantidad de eventos, cantidad de
+ * bloques, MAGIA_INDICE). Si la corrida se cortó y falta el índice, el
+ * lector lo reconstruye.
+ *
+ * Lo usa un solo hilo (el del motor).
+ */
+public class DiarioEventos implements Closeable {
+
+    public enum Tipo {
+        CAMBIO_ESTADO, // a = estado anterior, b = estado nuevo (ordinales de EstadoProceso)
+        DESPACHO,      // el proceso entra al núcleo; a = quantum (0 sin Round Robin)
+        DESALOJO,      // el proceso deja el núcleo; a = estado con el que sale
+        ASIGNACION,    // a = marco (paginado) o inicio en MB (particiones), b = tamaño en MB
+        LIBERACION,    // igual que ASIGNACION
+        EXPULSION,     // reemplazo de página; a = marco, b = procesos que la mapeaban
+        INICIO_IO,     // a = dispositivo (índice), b = tiempo de servicio
+        FIN_IO         // a = dispositivo (índice)
+    }
+
+    static final int MAGIA = 0x53494D44; // "SIMD"
+    static final int MAGIA_INDICE = 0x494E4458; // "INDX"
+    static final short VERSION = 1;
+    static final int TAMANO_CABECERA = 12;
+    static final int TAMANO_EVENTO = 24;
+    static final int EVENTOS_POR_BLOQUE = 4096;
+    private static final int BLOQUES_EN_VUELO = 3; // buffers entre el motor y el escritor
+
+    private final FileChannel canal;
+    private final ExecutorService escritor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "diario-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final BlockingQueue<ByteBuffer> libres = new ArrayBlockingQueue<>(BLOQUES_EN_VUELO);
+    private volatile IOException error;
+
+    private ByteBuffer bloque;
+    private long tick;
+    private long eventos = 0;
+    private long[] primerTickBloque = new long[64];
+    private int bloques = 0;
+
+    public DiarioEventos(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer cabecera = ByteBuffer.allocate(TAMANO_CABECERA);
+        cabecera.putInt(MAGIA).putShort(VERSION).putShort((short) TAMANO_EVENTO).putInt(EVENTOS_POR_BLOQUE).flip();
+        escribirTodo(cabecera);
+        for (int i = 0; i < BLOQUES_EN_VUELO; i++) {
+            libres.add(ByteBuffer.allocate(EVENTOS_POR_BLOQUE * TAMANO_EVENTO));
+        }
+        this.bloque = libres.poll();
+    }
+
+    /**
+     * Tick de los eventos que se registren a continuación (el motor lo fija
+     * al empezar cada tick)
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+
+    public void cambioEstado(int pid, EstadoProceso anterior, EstadoProceso nuevo) {
+        registrar(Tipo.CAMBIO_ESTADO, -1, pid, anterior.ordinal(), nuevo.ordinal());
+    }
+
+    public void despacho(int nucleo, int pid, int quantum) {
+        registrar(Tipo.DESPACHO, nucleo, pid, quantum, 0);
+    }
+
+    public void desalojo(int nucleo, int pid, EstadoProceso estado) {
+        registrar(Tipo.DESALOJO, nucleo, pid, estado.ordinal(), 0);
+    }
+
+    public void registrar(Tipo tipo, int nucleo, int pid, int a, int b) {
+        if (bloque.position() == 0) {
+            if (bloques == primerTickBloque.length) {
+                primerTickBloque = Arrays.copyOf(primerTickBloque, bloques * 2);
+            }
+            primerTickBloque[bloques++] = tick;
+        }
+        bloque.putLong(tick).put((byte) tipo.ordinal()).put((byte) 0).putShort((short) nucleo)
+                .putInt(pid).putInt(a).putInt(b);
+        eventos++;
+        if (!bloque.hasRemaining()) {
+            entregarBloque();
+        }
+    }
+
+    public long getEventos() {
+        return eventos;
+    }
+
+    /**
+     * Pasa el bloque al escritor y toma un buffer libre (espera si el disco
+     * va atrasado por BLOQUES_EN_VUELO bloques)
+     */
+    private void entregarBloque() {
+        if (error != null) {
+            throw new UncheckedIOException("No se pudo escribir el diario", error);
+        }
+        ByteBuffer lleno = bloque;
+        lleno.flip();
+        escritor.execute(() -> {
+            try {
+                escribirTodo(lleno);
+            } catch (IOException e) {
+                error = e;
+            }
+            lleno.clear();
+            libres.add(lleno);
+        });
+        try {
+            bloque = libres.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando al escritor del diario", e);
+        }
+    }
+
+    private void escribirTodo(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    /**
+     * Escribe el bloque a medio llenar y el índice, y cierra el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        if (bloque.position() > 0) {
+            entregarBloque();
+        }
+        escritor.shutdown();
+        try {
+            escritor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (error != null) {
+                throw error;
+            }
+            ByteBuffer indice = ByteBuffer.allocate(bloques * 8 + 16);
+            for (int i = 0; i < bloques; i++) {
+                indice.putLong(primerTickBloque[i]);
+            }
+            indice.putLong(eventos).putInt(bloques).putInt(MAGIA_INDICE).flip();
+            escribirTodo(indice);
+            canal.force(false);
+        } finally {
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Un dispositivo de I/O (disco, red, ...) con un solo servidor, su propia cola
+ * de solicitudes, una distribución de tiempo de servicio y una disciplina de
+ * cola. Lleva sus estadísticas de utilización, largo de cola y espera.
+ */
+public class DispositivoIO {
+
+    // Cómo se elige la siguiente solicitud de la cola
+    public enum DisciplinaCola {
+        FIFO,
+        LIFO,
+        SJF // la de menor tiempo de servicio primero
+    }
+
+    // Distribución del tiempo de servicio (en ticks, mínimo 1)
+    public enum TipoDistribucion {
+        CONSTANTE, // param1 = valor
+        UNIFORME, // param1 = mínimo, param2 = máximo (inclusive)
+        EXPONENCIAL // param1 = media
+    }
+
+    /**
+     * Una solicitud de I/O de un proceso
+     */
+    static class SolicitudIO {
+
+        final Proceso proceso;
+        final long tiempoServicio;
+        long tickLlegada;
+        final long secuencia;
+        long tickInicio = -1;
+
+        SolicitudIO(Proceso proceso, long tiempoServicio, long tickLlegada, long secuencia) {
+            this.proceso = proceso;
+            this.tiempoServicio = tiempoServicio;
+            this.tickLlegada = tickLlegada;
+            this.secuencia = secuencia;
+        }
+    }
+
+    final String nombre;
+    final TipoDistribucion distribucion;
+    final double param1;
+    final double param2;
+    final DisciplinaCola disciplina;
+    final double peso; // probabilidad relativa de que una I/O vaya a este dispositivo
+
+    private final PriorityQueue<SolicitudIO> cola;
+    private SolicitudIO enServicio;
+    private long proximaSecuencia = 0;
+
+    // Estadísticas
+    private long tiempoOcupado = 0;      // ticks de servicio ya completados
+    private long solicitudesAtendidas = 0;
+    private long esperaTotal = 0;        // suma de (inicio - llegada)
+    private long areaCola = 0;           // integral del largo de cola en el tiempo
+    private long ultimoCambioCola = 0;
+    private int maxCola = 0;
+
+    public DispositivoIO(String nombre, TipoDistribucion distribucion, double param1, double param2,
+            DisciplinaCola disciplina, double peso) {
+        validar(nombre, distribucion, param1, param2, peso);
+        this.nombre = nombre;
+        this.distribucion = distribucion;
+        this.param1 = param1;
+        this.param2 = param2;
+        this.disciplina = disciplina;
+        this.peso = peso;
+
+        Comparator<SolicitudIO> porLlegada = Comparator.comparingLong(s -> s.secuencia);
+        switch (disciplina) {
+            case LIFO:
+                this.cola = new PriorityQueue<>(porLlegada.reversed());
+                break;
+            case SJF:
+                this.cola = new PriorityQueue<>(Comparator.<SolicitudIO>comparingLong(s -> s.tiempoServicio)
+                        .thenComparing(porLlegada));
+                break;
+            default:
+                this.cola = new PriorityQueue<>(porLlegada);
+        }
+    }
+
+    /**
+     * Rechaza parámetros con los que el muestreo daría tiempos menores a un
+     * tick, negativos o desbordados, o un peso que no se puede sortear
+     */
+    private static void validar(String nombre, TipoDistribucion distribucion, double param1, double param2,
+            double peso) {
+        if (nombre == null || nombre.isBlank()) {
+            throw new IllegalArgumentException("El dispositivo de I/O debe tener nombre");
+        }
+        if (!(peso > 0) || Double.isInfinite(peso)) {
+            throw new IllegalArgumentException("Dispositivo " + nombre + ": el peso debe ser positivo (" + peso + ")");
+        }
+        if (!(param1 >= 1) || Double.isInfinite(param1)) {
+            String parametro = distribucion == TipoDistribucion.EXPONENCIAL ? "la media"
+                    : distribucion == TipoDistribucion.UNIFORME ? "el mínimo" : "el tiempo de servicio";
+            throw new IllegalArgumentException("Dispositivo " + nombre + ": " + parametro
+                    + " debe ser al menos 1 tick (" + param1 + ")");
+        }
+        if (distribucion == TipoDistribucion.UNIFORME) {
+            if (!(param2 >= param1)) {
+                throw new IllegalArgumentException("Dispositivo " + nombre + ": el máximo (" + param2
+                        + ") no puede ser menor que el mínimo (" + param1 + ")");
+            }
+            if ((long) param2 - (long) param1 + 1 > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Dispositivo " + nombre + ": el rango " + param1 + ".." + param2
+                        + " es demasiado grande");
+            }
+        }
+    }
+
+    /**
+     * Muestrea un tiempo de servicio según la distribución del dispositivo
+     */
+    long muestrearServicio(GeneradorAleatorio random) {
+        switch (distribucion) {
+            case UNIFORME:
+                return (long) param1 + random.nextInt((int) (param2 - param1) + 1);
+            case EXPONENCIAL:
+                return Math.max(1, (long) Math.ceil(-param1 * Math.log(1 - random.nextDouble())));
+            default:
+                return Math.max(1, (long) param1);
+        }
+    }
+
+    /**
+     * Encola una solicitud. Devuelve true si el dispositivo estaba libre y la
+     * solicitud empieza a atenderse de inmediato.
+     */
+    boolean encolar(Proceso proceso, long tiempoServicio, long tick) {
+        SolicitudIO s = new SolicitudIO(proceso, tiempoServicio, tick, proximaSecuencia++);
+        if (enServicio == null) {
+            iniciar(s, tick);
+            return true;
+        }
+        acumularCola(tick);
+        cola.add(s);
+        maxCola = Math.max(maxCola, cola.size());
+        return false;
+    }
+
+    /**
+     * Termina la solicitud en servicio y, si hay cola, pasa la siguiente a
+     * servicio a partir del tick indicado. Devuelve el proceso que terminó.
+     */
+    Proceso completar(long tickSiguiente) {
+        SolicitudIO terminada = enServicio;
+        tiempoOcupado += ocupadoHasta(terminada.tickInicio + terminada.tiempoServicio);
+        enServicio = null;
+
+        if (!cola.isEmpty()) {
+            acumularCola(tickSiguiente);
+            iniciar(cola.poll(), tickSiguiente);
+        }
+        return terminada.proceso;
+    }
+
+    private void iniciar(SolicitudIO s, long tick) {
+        s.tickInicio = tick;
+        esperaTotal += tick - Math.max(0, s.tickLlegada); // lo esperado en la corrida anterior ya se contó
+        solicitudesAtendidas++;
+        enServicio = s;
+    }
+
+    private void acumularCola(long tick) {
+        areaCola += (long) cola.size() * (tick - ultimoCambioCola);
+        ultimoCambioCola = tick;
+    }
+
+    /**
+     * Corre hacia atrás los ticks guardados (cuando se reinicia el reloj) y
+     * empieza las estadísticas de nuevo: la corrida siguiente mide desde el
+     * tick 0, y lo que siga en servicio cuenta solo desde ahí.
+     */
+    void desplazar(long desplazamiento) {
+        if (enServicio != null) {
+            enServicio.tickLlegada -= desplazamiento;
+            enServicio.tickInicio -= desplazamiento;
+        }
+        for (SolicitudIO s : cola) {
+            s.tickLlegada -= desplazamiento;
+        }
+        tiempoOcupado = 0;
+        solicitudesAtendidas = 0;
+        esperaTotal = 0;
+        areaCola = 0;
+        ultimoCambioCola = 0;
+        maxCola = cola.size();
+    }
+
+    // Ticks de servicio de la solicitud en curso entre el tick 0 y fin (empezó
+    // antes del 0 si venía de la corrida anterior)
+    private long ocupadoHasta(long fin) {
+        return Math.max(0, fin - Math.max(0, enServicio.tickInicio));
+    }
+
+    // Tick en que termina la solicitud en servicio (se procesa en ese tick)
+    long getFinServicio() {
+        return enServicio.tickInicio + enServicio.tiempoServicio - 1;
+    }
+
+    boolean isOcupado() {
+        return enServicio != null;
+    }
+
+    Proceso getProcesoEnServicio() {
+        return enServicio == null ? null : enServicio.proceso;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getLargoCola() {
+        return cola.size();
+    }
+
+    public double getUtilizacion(long reloj) {
+        if (reloj <= 0) {
+            return 0;
+        }
+        long ocupado = tiempoOcupado;
+        if (enServicio != null) {
+            ocupado += ocupadoHasta(Math.min(reloj, enServicio.tickInicio + enServicio.tiempoServicio));
+        }
+        return Math.min(1.0, ocupado / (double) reloj);
+    }
+
+    public double getColaPromedio(long reloj) {
+        if (reloj <= 0) {
+            return 0;
+        }
+        long area = areaCola + (long) cola.size() * Math.max(0, reloj - ultimoCambioCola);
+        return area / (double) reloj;
+    }
+
+    public double getEsperaPromedio() {
+        return solicitudesAtendidas == 0 ? 0 : esperaTotal / (double) solicitudesAtendidas;
+    }
+
+    public long getSolicitudesAtendidas() {
+        return solicitudesAtendidas;
+    }
+
+    public int getMaxCola() {
+        return maxCola;
+    }
+
+    /**
+     * Escribe configuración, cola y estadísticas. Los procesos se guardan por
+     * PID (el proceso completo va en la cola de espera del checkpoint).
+     */
+    void escribirEstado(DataOutput out) throws IOException {
+        out.writeUTF(nombre);
+        out.writeByte(distribucion.ordinal());
+        out.writeDouble(param1);
+        out.writeDouble(param2);
+        out.writeByte(disciplina.ordinal());
+        out.writeDouble(peso);
+
+        out.writeLong(proximaSecuencia);
+        out.writeLong(tiempoOcupado);
+        out.writeLong(solicitudesAtendidas);
+        out.writeLong(esperaTotal);
+        out.writeLong(areaCola);
+        out.writeLong(ultimoCambioCola);
+        out.writeInt(maxCola);
+
+        out.writeBoolean(enServicio != null);
+        if (enServicio != null) {
+            escribirSolicitud(out, enServicio);
+        }
+        out.writeInt(cola.size());
+        for (SolicitudIO s : cola) {
+            escribirSolicitud(out, s);
+        }
+    }
+
+    static DispositivoIO leerEstado(DataInput in, Map<Integer, Proceso> procesos) throws IOException {
+        DispositivoIO d = new DispositivoIO(in.readUTF(), TipoDistribucion.values()[in.readByte()],
+                in.readDouble(), in.readDouble(), DisciplinaCola.values()[in.readByte()], in.readDouble());
+
+        d.proximaSecuencia = in.readLong();
+        d.tiempoOcupado = in.readLong();
+        d.solicitudesAtendidas = in.readLong();
+        d.esperaTotal = in.readLong();
+        d.areaCola = in.readLong();
+        d.ultimoCambioCola = in.readLong();
+        d.maxCola = in.readInt();
+
+        if (in.readBoolean()) {
+            d.enServicio = leerSolicitud(in, procesos);
+        }
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            d.cola.add(leerSolicitud(in, procesos));
+        }
+        return d;
+    }
+
+    private static void escribirSolicitud(DataOutput out, SolicitudIO s) throws IOException {
+        out.writeInt(s.proceso.getPid());
+        out.writeLong(s.tiempoServicio);
+        out.writeLong(s.tickLlegada);
+        out.writeLong(s.secuencia);
+        out.writeLong(s.tickInicio);
+    }
+
+    private static SolicitudIO leerSolicitud(DataInput in, Map<Integer, Proceso> procesos) throws IOException {
+        Proceso p = procesos.get(in.readInt());
+        SolicitudIO s = new SolicitudIO(p, in.readLong(), in.readLong(), in.readLong());
+        s.tickInicio = in.readLong();
+        return s;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s, %s)", nombre, distribucion, disciplina);
+    }
+}
@@ -8,8 +8,12 @@ public enum EstadoProceso {
     NUEVO("Nuevo"),
     LISTO("Listo"),
     EJECUTANDO("Ejecutando"),
-    ESPERANDO("Esperando"), //Este estado no se usa en la lógica actual, pero lo pide el profe en el pdf
-    TERMINADO("Terminado");
+    ESPERANDO("Esperando"), // bloqueado en una I/O
+    TERMINADO("Terminado"),
+    // Suspendidos: expulsados a swap por el planificador de mediano plazo.
+    // Van al final para no cambiar los ordinales de diarios y checkpoints.
+    LISTO_SUSPENDIDO("Listo/Suspendido"),
+    BLOQUEADO_SUSPENDIDO("Bloqueado/Suspendido");
 
     private final String display; // El texto bonito para mostrar
 
@@ -17,6 +21,10 @@ public enum EstadoProceso {
         this.display = display;
     }
 
+    public boolean isSuspendido() {
+        return this == LISTO_SUSPENDIDO || this == BLOQUEADO_SUSPENDIDO;
+    }
+
     @Override
     public String toString() {
         return this.display;
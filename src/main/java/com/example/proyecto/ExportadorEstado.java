@@ -0,0 +1,143 @@
+package com.example.proyecto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Estado en vivo de la simulación en un archivo mapeado en memoria, con
+ * posiciones fijas, para que otro proceso lo muestree sin sockets ni tocar
+ * el motor (ver LectorEstado). Publicar es escribir una veintena de campos en la
+ * página mapeada; el sistema operativo la comparte con los lectores.
+ *
+ * Consistencia con un contador de secuencia (seqlock): el escritor lo deja
+ * impar mientras escribe y par al terminar. El lector lee el contador, los
+ * campos y de nuevo el contador; si cambió o era impar, vuelve a leer.
+ *
+ * Formato (little-endian): MAGIA int, VERSION short, núcleos short,
+ * secuencia long, reloj long, cambios de contexto long, terminados long,
+ * nuevos int, listos int, esperando int, en swap int, memoria total int,
+ * usada int, fragmentación externa int, interna int, fallos de página long,
+ * reemplazos long, fallos de asignación long, copias en escritura long,
+ * tasa de aciertos de TLB double (-1 sin TLB), hora de publicación long
+ * (ms desde 1970), reservado long, y desde POS_PIDS un PID int por núcleo
+ * (-1 ocioso).
+ *
+ * El archivo tiene siempre lugar para MAXIMO_NUCLEOS: una corrida con otra
+ * cantidad de núcleos reescribe la cabecera pero no cambia el tamaño, así
+ * un lector que quedó mapeado lee el nuevo número de núcleos dentro de la
+ * misma lectura consistente y nunca pasa del final de su mapeo.
+ *
+ * Lo usa un solo hilo (el del motor).
+ */
+public class ExportadorEstado implements Closeable {
+
+    static final int MAGIA = 0x53494D45; // "SIME"
+    static final short VERSION = 2; // v2: tamaño fijo para MAXIMO_NUCLEOS
+    static final int MAXIMO_NUCLEOS = 256;
+
+    static final int POS_NUCLEOS = 6;
+    static final int POS_SECUENCIA = 8;
+    static final int POS_RELOJ = 16;
+    static final int POS_CAMBIOS_CONTEXTO = 24;
+    static final int POS_TERMINADOS = 32;
+    static final int POS_NUEVOS = 40;
+    static final int POS_LISTOS = 44;
+    static final int POS_ESPERANDO = 48;
+    static final int POS_EN_SWAP = 52;
+    static final int POS_MEMORIA_TOTAL = 56;
+    static final int POS_MEMORIA_USADA = 60;
+    static final int POS_FRAGMENTACION_EXTERNA = 64;
+    static final int POS_FRAGMENTACION_INTERNA = 68;
+    static final int POS_FALLOS_PAGINA = 72;
+    static final int POS_REEMPLAZOS = 80;
+    static final int POS_FALLOS_ASIGNACION = 88;
+    static final int POS_COPIAS_EN_ESCRITURA = 96;
+    static final int POS_TASA_TLB = 104;
+    static final int POS_HORA = 112;
+    static final int POS_PIDS = 128;
+
+    // Acceso con orden de memoria al contador (alineado a 8)
+    static final VarHandle SECUENCIA = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int numNucleos;
+    private long secuencia;
+
+    public ExportadorEstado(Path archivo, int numNucleos) throws IOException {
+        if (numNucleos <= 0 || numNucleos > MAXIMO_NUCLEOS) {
+            throw new IllegalArgumentException("El estado en vivo admite de 1 a " + MAXIMO_NUCLEOS + " núcleos");
+        }
+        this.numNucleos = numNucleos;
+        // Sin truncar: un lector que ya lo tiene mapeado sigue leyendo el mismo archivo
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANO);
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+
+        // Se sigue la secuencia anterior si el archivo ya era un estado,
+        // así un lector que quedó abierto no confunde dos publicaciones
+        long anterior = mapa.getInt(0) == MAGIA ? (long) SECUENCIA.getOpaque(mapa, POS_SECUENCIA) : 0;
+        this.secuencia = (anterior + 1) & ~1L;
+        SECUENCIA.setOpaque(mapa, POS_SECUENCIA, secuencia + 1);
+        VarHandle.storeStoreFence();
+        mapa.putInt(0, MAGIA);
+        mapa.putShort(4, VERSION);
+        mapa.putShort(POS_NUCLEOS, (short) numNucleos);
+        for (int i = 0; i < MAXIMO_NUCLEOS; i++) {
+            mapa.putInt(POS_PIDS + 4 * i, -1);
+        }
+        secuencia += 2;
+        SECUENCIA.setRelease(mapa, POS_SECUENCIA, secuencia);
+    }
+
+    static final int TAMANO = POS_PIDS + 4 * MAXIMO_NUCLEOS;
+
+    /**
+     * Publica el estado del tick (lo de memoria y colas sale de la
+     * instantánea que ya se armó para la interfaz)
+     */
+    public void publicar(InstantaneaSimulacion s, int enSwap, GestorMemoria gestor) {
+        SECUENCIA.setOpaque(mapa, POS_SECUENCIA, secuencia + 1); // impar: escribiendo
+        VarHandle.storeStoreFence();
+
+        mapa.putLong(POS_RELOJ, s.reloj);
+        mapa.putLong(POS_CAMBIOS_CONTEXTO, s.cambiosContexto);
+        mapa.putLong(POS_TERMINADOS, s.terminados.getCantidad());
+        mapa.putInt(POS_NUEVOS, s.nuevos.size());
+        mapa.putInt(POS_LISTOS, s.listos.size());
+        mapa.putInt(POS_ESPERANDO, s.esperando.size());
+        mapa.putInt(POS_EN_SWAP, enSwap);
+        mapa.putInt(POS_MEMORIA_TOTAL, s.memoriaTotal);
+        mapa.putInt(POS_MEMORIA_USADA, s.memoriaUsada);
+        mapa.putInt(POS_FRAGMENTACION_EXTERNA, s.fragmentacionExterna);
+        mapa.putInt(POS_FRAGMENTACION_INTERNA, s.fragmentacionInterna);
+        mapa.putLong(POS_FALLOS_PAGINA, gestor.getFallosPagina());
+        mapa.putLong(POS_REEMPLAZOS, gestor.getReemplazos());
+        mapa.putLong(POS_FALLOS_ASIGNACION, gestor.getFallosAsignacion());
+        mapa.putLong(POS_COPIAS_EN_ESCRITURA, gestor.getCopiasEnEscritura());
+        mapa.putDouble(POS_TASA_TLB, gestor.getTasaAciertosTLB());
+        mapa.putLong(POS_HORA, System.currentTimeMillis());
+        for (int i = 0; i < numNucleos; i++) {
+            mapa.putInt(POS_PIDS + 4 * i, i < s.pidNucleo.length ? s.pidNucleo[i] : -1);
+        }
+
+        secuencia += 2;
+        SECUENCIA.setRelease(mapa, POS_SECUENCIA, secuencia); // par: publicado
+    }
+
+    public long getPublicaciones() {
+        return secuencia / 2;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close(); // el mapeo sigue vivo hasta que lo junte el GC
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.proyecto;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.IntConsumer;
+
+/**
+ * Corre una fase del tick sobre todos los núcleos repartida entre hilos fijos,
+ * con una barrera al final: cuando porNucleo vuelve, todos los núcleos
+ * terminaron la fase. Cada hilo toma un bloque contiguo de núcleos (siempre
+ * el mismo), así la tarea solo debe tocar el estado de su núcleo y lo
+ * compartido se aplica después, en una fase en serie y en orden de núcleo.
+ *
+ * El hilo que llama hace el primer bloque. Con un solo hilo no se crea
+ * ninguno y la fase corre en el llamador, en orden.
+ */
+public class FasesParalelas implements AutoCloseable {
+
+    // Con pocos núcleos por hilo la barrera cuesta más que la fase
+    static final int MINIMO_NUCLEOS_POR_HILO = 32;
+
+    private final int numNucleos;
+    private final int hilos;
+    private final CyclicBarrier inicio;
+    private final CyclicBarrier fin;
+    private final Thread[] trabajadores;
+
+    private volatile IntConsumer tarea;
+    private volatile boolean cerrado = false;
+    private volatile Throwable error;
+
+    /**
+     * hilos es un máximo: se usan menos si no hay MINIMO_NUCLEOS_POR_HILO
+     * núcleos para cada uno
+     */
+    public FasesParalelas(int numNucleos, int hilos) {
+        this.numNucleos = numNucleos;
+        this.hilos = Math.max(1, Math.min(hilos, numNucleos / MINIMO_NUCLEOS_POR_HILO));
+        this.inicio = new CyclicBarrier(this.hilos);
+        this.fin = new CyclicBarrier(this.hilos);
+        this.trabajadores = new Thread[this.hilos - 1];
+        for (int h = 1; h < this.hilos; h++) {
+            final int bloque = h;
+            Thread t = new Thread(() -> trabajar(bloque), "fase-" + h);
+            t.setDaemon(true);
+            trabajadores[h - 1] = t;
+            t.start();
+        }
+    }
+
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Ejecuta tarea(i) para cada núcleo i y espera a que terminen todos
+     */
+    public void porNucleo(IntConsumer tarea) {
+        if (hilos == 1) {
+            for (int i = 0; i < numNucleos; i++) {
+                tarea.accept(i);
+            }
+            return;
+        }
+        this.tarea = tarea;
+        esperar(inicio);
+        try {
+            correrBloque(0, tarea);
+        } catch (RuntimeException | Error e) {
+            error = e;
+        }
+        esperar(fin);
+        Throwable e = error;
+        if (e != null) {
+            error = null;
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            throw (RuntimeException) e;
+        }
+    }
+
+    private void trabajar(int bloque) {
+        while (true) {
+            if (!esperarTrabajador(inicio) || cerrado) {
+                return;
+            }
+            try {
+                correrBloque(bloque, tarea);
+            } catch (RuntimeException | Error e) {
+                error = e;
+            }
+            if (!esperarTrabajador(fin)) {
+                return;
+            }
+        }
+    }
+
+    private void correrBloque(int bloque, IntConsumer tarea) {
+        int desde = (int) ((long) numNucleos * bloque / hilos);
+        int hasta = (int) ((long) numNucleos * (bloque + 1) / hilos);
+        for (int i = desde; i < hasta; i++) {
+            tarea.accept(i);
+        }
+    }
+
+    private static void esperar(CyclicBarrier barrera) {
+        try {
+            barrera.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            barrera.reset();
+            throw new IllegalStateException("Interrumpido esperando una fase", e);
+        } catch (BrokenBarrierException e) {
+            throw new IllegalStateException("Se cortó la barrera de una fase", e);
+        }
+    }
+
+    // false si hay que terminar (cierre o barrera rota)
+    private boolean esperarTrabajador(CyclicBarrier barrera) {
+        try {
+            barrera.await();
+            return true;
+        } catch (InterruptedException | BrokenBarrierException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (hilos == 1 || cerrado) {
+            return;
+        }
+        cerrado = true;
+        inicio.reset(); // los que esperan el inicio salen con la barrera rota
+        for (Thread t : trabajadores) {
+            t.interrupt();
+        }
+    }
+}
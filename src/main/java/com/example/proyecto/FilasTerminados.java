@@ -0,0 +1,49 @@
+package com.example.proyecto;
+
+import javafx.collections.ObservableListBase;
+
+/**
+ * Lista de la tabla de terminados sobre una Vista del historial: la
+ * TableView solo pide las filas visibles, y las que están en disco se leen
+ * recién entonces (al desplazarse). Como el historial solo agrega al final,
+ * cada actualización se avisa como filas agregadas.
+ */
+public class FilasTerminados extends ObservableListBase<InstantaneaSimulacion.FilaProceso> {
+
+    private HistorialTerminados.Vista vista;
+
+    public FilasTerminados(HistorialTerminados.Vista vista) {
+        this.vista = vista;
+    }
+
+    /**
+     * false si la vista es de otra generación del historial (se limpió): hay
+     * que armar una lista nueva
+     */
+    public boolean actualizar(HistorialTerminados.Vista nueva) {
+        if (!nueva.mismaGeneracion(vista)) {
+            return false;
+        }
+        int antes = size();
+        vista = nueva;
+        if (size() > antes) {
+            beginChange();
+            nextAdd(antes, size());
+            endChange();
+        }
+        return true;
+    }
+
+    @Override
+    public InstantaneaSimulacion.FilaProceso get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Fila " + index + " de " + size());
+        }
+        return vista.get(index);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, vista.getCantidad());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.proyecto;
+
+/*
+ * Generador pseudoaleatorio con el mismo algoritmo que java.util.Random
+ * (congruencial lineal de 48 bits), pero con el estado interno visible.
+ * Lo necesitamos para poder guardar el estado en un checkpoint y que al
+ * reanudar salgan exactamente los mismos eventos de I/O.
+ */
+public class GeneradorAleatorio {
+
+    private static final long MULTIPLICADOR = 0x5DEECE66DL;
+    private static final long INCREMENTO = 0xBL;
+    private static final long MASCARA = (1L << 48) - 1;
+
+    private long semilla;
+
+    public GeneradorAleatorio(long semilla) {
+        // Igual que java.util.Random: se "revuelve" la semilla inicial
+        this.semilla = (semilla ^ MULTIPLICADOR) & MASCARA;
+    }
+
+    private int siguiente(int bits) {
+        semilla = (semilla * MULTIPLICADOR + INCREMENTO) & MASCARA;
+        return (int) (semilla >>> (48 - bits));
+    }
+
+    public double nextDouble() {
+        return (((long) siguiente(26) << 27) + siguiente(27)) * 0x1.0p-53;
+    }
+
+    public long nextLong() {
+        return ((long) siguiente(32) << 32) + siguiente(32);
+    }
+
+    /**
+     * Generador hijo con una semilla sacada de este y mezclada (como
+     * SplittableRandom.split), para correr réplicas con flujos propios. El
+     * padre avanza, así dividir k veces desde la misma semilla da siempre los
+     * mismos k hijos, en el mismo orden.
+     */
+    public GeneradorAleatorio dividir() {
+        return new GeneradorAleatorio(mezclar(nextLong() + 0x9E3779B97F4A7C15L));
+    }
+
+    // Finalizador de SplitMix64: semillas vecinas dan estados muy distintos
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public int nextInt(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser positivo");
+        }
+        int r = siguiente(31);
+        int m = limite - 1;
+        if ((limite & m) == 0) { // potencia de 2
+            return (int) ((limite * (long) r) >> 31);
+        }
+        for (int u = r; u - (r = u % limite) + m < 0; u = siguiente(31)) {
+            // rechazo para evitar sesgo, igual que java.util.Random
+        }
+        return r;
+    }
+
+    // Estado interno (ya revuelto), para checkpoints
+    public long getEstado() {
+        return semilla;
+    }
+
+    public void setEstado(long estado) {
+        this.semilla = estado & MASCARA;
+    }
+}
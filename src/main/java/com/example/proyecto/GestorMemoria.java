@@ -1,10 +1,17 @@
 package com.example.proyecto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 /**
  * Gestor de memoria mejorado con soporte para: - Partición Dinámica (First-Fit)
- * - Paginación Simple - Políticas de reemplazo: FIFO y LRU
+ * - Paginación Simple - Políticas de reemplazo: FIFO, LRU, Clock, NFU
+ * (aging), LFU y OPT - TLB por núcleo - Nodos NUMA (en paginación) -
+ * Segmentación y Segmentación Paginada (código, datos, heap y pila) -
+ * Paginación por Demanda - Páginas compartidas y fork con copia en escritura -
+ * Slab (clases de tamaño sobre la partición dinámica)
  */
 public class GestorMemoria {
 
@@ -19,6 +26,7 @@ public class GestorMemoria {
         int inicio;
         int tamano;
         Integer pidProceso;
+        Segmento.Tipo segmento; // en segmentación: a qué segmento del proceso pertenece
 
         BloqueMemoria(int id, int inicio, int tamano, Integer pidProceso) {
             this.id = id;
@@ -57,6 +65,16 @@ public class GestorMemoria {
         Integer pidProceso; // null si está libre
         long ultimoAcceso; // Para LRU
         long tiempoAsignacion; // Para FIFO
+        boolean referenciada; // Bit R (Clock y NFU)
+        int edad; // Contador de aging de 8 bits (NFU)
+        long edadEn; // envejecimientos ya aplicados a edad (el resto se aplica al mirarla)
+        long frecuencia; // Accesos desde que se cargó (LFU)
+        long proximoUso = Long.MAX_VALUE; // Próxima referencia (OPT)
+        Segmento.Tipo segmento; // en segmentación paginada: segmento al que pertenece
+        int paginaVirtual = -1; // página del proceso que tiene cargada
+        int referencias; // procesos que mapean el marco (0 si está libre)
+        List<Integer> compartidaCon; // PIDs que la mapean además de pidProceso (null si es privada)
+        int imagen = -1; // imagen de cuya región compartida es la página (-1 = del proceso)
 
         Pagina(int numeroPagina) {
             this.numeroPagina = numeroPagina;
@@ -68,6 +86,15 @@ public class GestorMemoria {
         public boolean isLibre() {
             return pidProceso == null;
         }
+
+        /**
+         * Compartida por fork: la primera escritura de cualquiera de los
+         * procesos la duplica. Las de una región compartida se escriben en
+         * el mismo marco.
+         */
+        boolean isCopiaEnEscritura() {
+            return referencias > 1 && imagen == -1;
+        }
     }
 
     // Atributos principales
@@ -79,22 +106,182 @@ public class GestorMemoria {
     // Sistema de paginación
     private Pagina[] tablaPaginas;
     private Map<Integer, List<Integer>> tablaPaginasPorProceso; // PID -> Lista de números de página
+    // PID -> tabla de páginas virtual (página virtual -> marco, -1 si no está residente)
+    private final Map<Integer, int[]> tablaVirtualPorProceso = new HashMap<>();
+    private static final int COSTO_FALLO_PAGINA = 1; // ticks que espera el proceso mientras se carga la página
     private long contadorTiempo = 0; // Para FIFO y LRU
 
     // Modo de operación
     public enum ModoMemoria {
         PARTICION_DINAMICA,
-        PAGINACION
+        PAGINACION,
+        SEGMENTACION,          // cada segmento es una partición dinámica aparte
+        SEGMENTACION_PAGINADA, // cada segmento tiene su propia tabla de páginas
+        PAGINACION_DEMANDA,    // la admisión solo arma la tabla; los marcos se cargan al primer acceso
+        SLAB;                  // clases de tamaño en slabs; los tamaños raros van a la partición dinámica
+
+        /**
+         * true si la memoria se administra en marcos
+         */
+        public boolean isPaginado() {
+            return this == PAGINACION || this == SEGMENTACION_PAGINADA || this == PAGINACION_DEMANDA;
+        }
     }
     private ModoMemoria modo = ModoMemoria.PARTICION_DINAMICA;
 
     // Política de reemplazo
     public enum PoliticaReemplazo {
         FIFO,
-        LRU
+        LRU,
+        CLOCK, // segunda oportunidad
+        NFU,   // con aging: el contador se desplaza una vez por tick
+        LFU,
+        OPT    // Belady; necesita la secuencia de referencias por proceso (setReferenciasFuturas).
+               // Sin ella el futuro es desconocido y se comporta como FIFO
     }
     private PoliticaReemplazo politicaReemplazo = PoliticaReemplazo.FIFO;
 
+    // Estructuras de reemplazo. Cada acceso toca todas las páginas residentes
+    // del proceso, así que lo que se ordena por uso no se mantiene al acceder:
+    // - FIFO: lista doblemente enlazada de páginas ocupadas en orden de carga,
+    //   O(1) por carga y expulsión (se reconstruye al cambiar de política)
+    // - CLOCK: manecilla sobre los marcos
+    // - LRU/NFU/LFU/OPT: el acceso solo actualiza los campos de la página y
+    //   la víctima se busca recorriendo los marcos al expulsar, O(marcos)
+    // El aging de NFU es perezoso: avanzarReloj solo cuenta el tick y cada
+    // página se pone al día cuando se la mira (envejecer)
+    private final int[] siguienteEnLista;
+    private final int[] anteriorEnLista;
+    private int primeroLista = -1;
+    private int ultimoLista = -1;
+    private int manecilla = 0;
+    private long envejecimientos = 0; // ticks de aging de NFU
+    private int paginasOcupadas = 0;
+
+    // OPT: índice de próximos usos sobre la secuencia de referencias (una
+    // referencia por llamada a accederMemoria en modo paginación)
+    private Map<Integer, int[]> usosPorProceso;
+    private long posicionReferencia = 0;
+    private int[] referenciasGrabadas; // != null si se está grabando la secuencia
+    private int cantidadGrabadas = 0;
+
+    // TLB por núcleo (entre accederMemoria y la tabla de páginas)
+    private static final int TICKS_POR_PAGINA = 4; // localidad: traducciones seguidas sobre la misma página
+    private TLB[] tlbs = new TLB[0];
+
+    // Acceso en curso de cada núcleo, entre iniciarAccesos y terminarAcceso
+    static class AccesoNucleo {
+
+        AccesosProceso accesos; // null: este tick el núcleo no traduce nada
+        int pid;
+        int paginaVirtual;
+        int marco;
+        int penalizacion;
+    }
+    private AccesoNucleo[] accesosNucleo = new AccesoNucleo[0];
+    private final AccesoNucleo accesoSuelto = new AccesoNucleo(); // el de accederMemoria
+
+    // Invalidaciones de TLB de iniciarAccesos: PID y núcleo cuyo acceso la provocó
+    private boolean difiriendoInvalidaciones = false;
+    private int nucleoIniciando;
+    private int[] invalidacionesPid = new int[8];
+    private int[] invalidacionesNucleo = new int[8];
+    private int cantidadInvalidaciones = 0;
+
+    // NUMA: los marcos se reparten en nodos (solo en paginación; null = memoria uniforme)
+    private TopologiaNUMA numa;
+    private final Map<Integer, Integer> nodoPorProceso = new HashMap<>(); // PID -> nodo donde tiene su memoria
+    private int proximoNodoIntercalado = 0;
+
+    // Segmentación: tabla de segmentos de cada proceso y estadísticas por tipo de segmento
+    private final Map<Integer, List<Segmento>> tablaSegmentosPorProceso = new HashMap<>();
+    private final Metrica.Contador[] asignacionesSegmento = new Metrica.Contador[Segmento.Tipo.values().length];
+    private final Metrica.Contador[] fallosSegmento = new Metrica.Contador[Segmento.Tipo.values().length];
+
+    // Memoria compartida (solo Paginación y Paginación por Demanda): imagen ->
+    // tabla de su región (página virtual -> marco, -1 si no está residente).
+    // La región son las primeras páginas virtuales de cada proceso que la declara
+    private final Map<Integer, int[]> regionesCompartidas = new HashMap<>();
+
+    // Slab: cada clase de tamaño tiene slabs (bloques de la partición
+    // dinámica con dueño PID_SLAB) partidos en objetos iguales. Un proceso
+    // ocupa un objeto de la clase más chica que le alcanza, si el redondeo no
+    // desperdicia más de 1/DESPERDICIO_MAXIMO; si no, va al asignador general.
+    static final int PID_SLAB = 0;
+    static final int[] CLASES_SLAB_POR_DEFECTO = {16, 32, 64, 128, 256};
+    private static final int TAMANO_SLAB = 256; // MB que se intenta reservar por slab
+    private static final int MAX_OBJETOS_SLAB = 64; // el mapa de libres es un long
+    private static final int DESPERDICIO_MAXIMO = 4;
+
+    static class Slab {
+
+        final BloqueMemoria bloque;
+        final int tamanoObjeto;
+        final int objetos;
+        long libres; // bit i en 1 = objeto i libre
+        final int[] pids; // dueño de cada objeto (0 si está libre)
+        final int[] pedidos; // MB que pidió el dueño (el resto del objeto es desperdicio)
+        boolean enParciales; // está en la pila de parciales de su clase
+        boolean liberado; // se devolvió a la partición dinámica
+
+        Slab(BloqueMemoria bloque, int tamanoObjeto, int objetos) {
+            this.bloque = bloque;
+            this.tamanoObjeto = tamanoObjeto;
+            this.objetos = objetos;
+            this.libres = objetos == 64 ? -1L : (1L << objetos) - 1;
+            this.pids = new int[objetos];
+            this.pedidos = new int[objetos];
+        }
+
+        boolean isVacio() {
+            return Long.bitCount(libres) == objetos;
+        }
+    }
+
+    static class ClaseSlab {
+
+        final int tamano;
+        final List<Slab> slabs = new ArrayList<>();
+        // Slabs con algún objeto libre; los que se llenan o se liberan se
+        // sacan recién al llegar al tope (así asignar y liberar son O(1))
+        final ArrayDeque<Slab> parciales = new ArrayDeque<>();
+        long asignaciones;
+
+        ClaseSlab(int tamano) {
+            this.tamano = tamano;
+        }
+    }
+    private ClaseSlab[] clasesSlab = crearClasesSlab(CLASES_SLAB_POR_DEFECTO);
+    private final Map<Integer, Slab> slabPorProceso = new HashMap<>();
+    private final Map<Integer, Integer> objetoPorProceso = new HashMap<>(); // PID -> objeto dentro de su slab
+    private long asignacionesGenerales = 0; // procesos de tamaño raro en modo Slab
+
+    // Accesos de cada proceso a través de la TLB y de la topología NUMA
+    static class AccesosProceso {
+
+        long referencias; // accesos hechos (recorrido secuencial de páginas)
+        long aciertosTLB;
+        long fallosTLB;
+        long locales;
+        long remotos;
+        int penalizacionPendiente; // ticks que todavía espera por el último acceso
+        int paginasVirtuales;      // tamaño virtual del proceso en páginas
+        int maxResidentes;         // máximo de páginas residentes a la vez
+        long fallosPagina;         // páginas cargadas por demanda
+        long copiasEnEscritura;    // páginas heredadas que duplicó al escribirlas
+    }
+    private final Map<Integer, AccesosProceso> accesosPorProceso = new HashMap<>();
+
+    // Métricas (se publican con registrarMetricas)
+    private final Metrica.Contador fallosPagina = new Metrica.Contador("memoria.fallosPagina");
+    private final Metrica.Contador reemplazos = new Metrica.Contador("memoria.reemplazos");
+    private final Metrica.Contador fallosAsignacion = new Metrica.Contador("memoria.fallosAsignacion");
+    private final Metrica.Contador mapeosCompartidos = new Metrica.Contador("memoria.mapeosCompartidos");
+    private final Metrica.Contador copiasEnEscritura = new Metrica.Contador("memoria.copiasEnEscritura");
+    private final Metrica.Histograma longitudBusqueda = new Metrica.Histograma("memoria.longitudBusqueda");
+
+    private DiarioEventos diario; // null = sin diario de eventos
+
     /**
      * Constructor principal
      */
@@ -112,6 +299,13 @@ public class GestorMemoria {
         for (int i = 0; i < numPaginasTotal; i++) {
             tablaPaginas[i] = new Pagina(i);
         }
+        this.siguienteEnLista = new int[numPaginasTotal];
+        this.anteriorEnLista = new int[numPaginasTotal];
+        for (Segmento.Tipo tipo : Segmento.Tipo.values()) {
+            String nombre = "memoria.segmento." + tipo.name().toLowerCase();
+            asignacionesSegmento[tipo.ordinal()] = new Metrica.Contador(nombre + ".asignaciones");
+            fallosSegmento[tipo.ordinal()] = new Metrica.Contador(nombre + ".fallos");
+        }
 
         System.out.println("Memoria inicializada: " + tamanoTotalMB + " MB");
         System.out.println("Páginas totales: " + numPaginasTotal + " (" + TAMANO_PAGINA + " MB c/u)");
@@ -125,11 +319,31 @@ public class GestorMemoria {
         System.out.println("Modo de memoria cambiado a: " + modo);
     }
 
+    public ModoMemoria getModo() {
+        return modo;
+    }
+
+    /**
+     * true si la memoria se administra en marcos (paginación o segmentación paginada)
+     */
+    public boolean isPaginado() {
+        return modo.isPaginado();
+    }
+
+    /**
+     * Registra asignaciones, liberaciones y expulsiones en el diario (null
+     * para dejar de hacerlo)
+     */
+    public void setDiario(DiarioEventos diario) {
+        this.diario = diario;
+    }
+
     /**
      * Cambia la política de reemplazo
      */
     public void setPoliticaReemplazo(PoliticaReemplazo politica) {
         this.politicaReemplazo = politica;
+        reconstruirEstructurasReemplazo();
         System.out.println("Política de reemplazo cambiada a: " + politica);
     }
 
@@ -137,11 +351,31 @@ public class GestorMemoria {
      * Asigna memoria a un proceso según el modo configurado
      */
     public boolean asignarMemoria(Proceso proceso) {
-        if (modo == ModoMemoria.PAGINACION) {
-            return asignarMemoriaPaginacion(proceso);
-        } else {
-            return asignarMemoriaParticionDinamica(proceso);
+        boolean asignado;
+        switch (modo) {
+            case PAGINACION:
+                asignado = asignarMemoriaPaginacion(proceso);
+                break;
+            case SEGMENTACION:
+                asignado = asignarMemoriaSegmentacion(proceso);
+                break;
+            case SEGMENTACION_PAGINADA:
+                asignado = asignarMemoriaSegmentacionPaginada(proceso);
+                break;
+            case PAGINACION_DEMANDA:
+                asignado = asignarMemoriaPorDemanda(proceso);
+                break;
+            case SLAB:
+                asignado = asignarMemoriaSlab(proceso);
+                break;
+            default:
+                asignado = asignarMemoriaParticionDinamica(proceso);
+                break;
+        }
+        if (!asignado) {
+            fallosAsignacion.incrementar();
         }
+        return asignado;
     }
 
     /**
@@ -151,19 +385,78 @@ public class GestorMemoria {
         int tamanoRequerido = proceso.getTamanoMemoria();
         System.out.println("Asignando " + tamanoRequerido + "MB al proceso " + proceso.getPid() + " (Partición Dinámica)");
 
+        if (primerAjuste(proceso.getPid(), tamanoRequerido) == null) {
+            System.out.println("No hay memoria contigua suficiente");
+            return false;
+        }
+        System.out.println("Memoria asignada exitosamente");
+        return true;
+    }
+
+    /**
+     * Asignación con segmentación: cada segmento busca su propio hueco
+     * (First-Fit), del más grande al más chico. Si alguno no entra se
+     * deshacen los ya ubicados.
+     */
+    private boolean asignarMemoriaSegmentacion(Proceso proceso) {
+        int pid = proceso.getPid();
+        int[] tamanos = Segmento.tamanos(proceso.getTamanoMemoria());
+        System.out.println("Asignando " + proceso.getTamanoMemoria() + "MB al proceso " + pid
+                + " (Segmentación: " + Arrays.toString(tamanos) + ")");
+
+        List<Segmento.Tipo> orden = new ArrayList<>(Arrays.asList(Segmento.Tipo.values()));
+        orden.sort(Comparator.comparingInt((Segmento.Tipo t) -> tamanos[t.ordinal()]).reversed());
+
+        List<Segmento> tabla = new ArrayList<>();
+        for (Segmento.Tipo tipo : orden) {
+            int tamano = tamanos[tipo.ordinal()];
+            if (tamano == 0) {
+                continue;
+            }
+            BloqueMemoria bloque = primerAjuste(pid, tamano);
+            if (bloque == null) {
+                System.out.println("No hay hueco para el segmento " + tipo + " (" + tamano + "MB)");
+                fallosSegmento[tipo.ordinal()].incrementar();
+                liberarMemoriaParticionDinamica(proceso);
+                return false;
+            }
+            bloque.segmento = tipo;
+            tabla.add(new Segmento(tipo, bloque.inicio, tamano, null));
+        }
+
+        tabla.sort(Comparator.comparing(Segmento::getTipo));
+        for (Segmento seg : tabla) {
+            asignacionesSegmento[seg.tipo.ordinal()].incrementar();
+        }
+        tablaSegmentosPorProceso.put(pid, tabla);
+        System.out.println("Segmentos asignados: " + tabla);
+        return true;
+    }
+
+    /**
+     * First-Fit: ocupa el primer hueco donde entra "tamano" y devuelve el
+     * bloque nuevo, o null si ninguno alcanza
+     */
+    private BloqueMemoria primerAjuste(int pid, int tamanoRequerido) {
         ListIterator<BloqueMemoria> iter = bloquesLibres.listIterator();
+        int revisados = 0;
 
         while (iter.hasNext()) {
             BloqueMemoria bloqueLibre = iter.next();
+            revisados++;
 
             if (bloqueLibre.getTamano() >= tamanoRequerido) {
+                longitudBusqueda.registrar(revisados);
                 BloqueMemoria nuevoBloqueOcupado = new BloqueMemoria(
                         proximoIdBloque++,
                         bloqueLibre.getInicio(),
                         tamanoRequerido,
-                        proceso.getPid()
+                        pid
                 );
                 bloquesOcupados.add(nuevoBloqueOcupado);
+                if (diario != null) {
+                    diario.registrar(DiarioEventos.Tipo.ASIGNACION, -1, pid, nuevoBloqueOcupado.inicio, tamanoRequerido);
+                }
 
                 if (bloqueLibre.getTamano() == tamanoRequerido) {
                     iter.remove();
@@ -171,14 +464,244 @@ public class GestorMemoria {
                     bloqueLibre.inicio += tamanoRequerido;
                     bloqueLibre.tamano -= tamanoRequerido;
                 }
+                return nuevoBloqueOcupado;
+            }
+        }
+
+        longitudBusqueda.registrar(revisados);
+        return null;
+    }
 
-                System.out.println("Memoria asignada exitosamente");
-                return true;
+    /**
+     * Cambia las clases de tamaño del modo Slab (MB, se ordenan). Solo si no
+     * hay slabs en uso.
+     */
+    public void setClasesSlab(int[] tamanos) {
+        for (ClaseSlab clase : clasesSlab) {
+            if (!clase.slabs.isEmpty()) {
+                throw new IllegalStateException("Hay slabs en uso; liberar la memoria antes de cambiar las clases");
             }
         }
+        clasesSlab = crearClasesSlab(tamanos);
+    }
+
+    public int[] getClasesSlab() {
+        int[] tamanos = new int[clasesSlab.length];
+        for (int i = 0; i < clasesSlab.length; i++) {
+            tamanos[i] = clasesSlab[i].tamano;
+        }
+        return tamanos;
+    }
 
-        System.out.println("No hay memoria contigua suficiente");
-        return false;
+    private static ClaseSlab[] crearClasesSlab(int[] tamanos) {
+        int[] ordenados = Arrays.stream(tamanos).distinct().sorted().toArray();
+        ClaseSlab[] clases = new ClaseSlab[ordenados.length];
+        for (int i = 0; i < ordenados.length; i++) {
+            if (ordenados[i] <= 0) {
+                throw new IllegalArgumentException("Clase de slab inválida: " + ordenados[i]);
+            }
+            clases[i] = new ClaseSlab(ordenados[i]);
+        }
+        return clases;
+    }
+
+    /**
+     * Clase más chica donde entra "tamano" sin desperdiciar demasiado, o null
+     */
+    private ClaseSlab claseSlabPara(int tamano) {
+        for (ClaseSlab clase : clasesSlab) {
+            if (clase.tamano >= tamano) {
+                return (clase.tamano - tamano) * DESPERDICIO_MAXIMO <= clase.tamano ? clase : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Asignación con slabs: toma el primer objeto libre de un slab parcial de
+     * su clase (O(1): tope de la pila y un bit del mapa). Si no hay, arma un
+     * slab nuevo con First-Fit; los tamaños raros van directo a First-Fit.
+     * Si no hay lugar se devuelven los slabs vacíos y se reintenta.
+     */
+    private boolean asignarMemoriaSlab(Proceso proceso) {
+        int pid = proceso.getPid();
+        int tamano = proceso.getTamanoMemoria();
+        ClaseSlab clase = claseSlabPara(tamano);
+        if (clase == null) {
+            System.out.println("Asignando " + tamano + "MB al proceso " + pid + " (Slab: sin clase, First-Fit)");
+            if (primerAjuste(pid, tamano) == null && (!devolverSlabsVacios() || primerAjuste(pid, tamano) == null)) {
+                System.out.println("No hay memoria contigua suficiente");
+                return false;
+            }
+            asignacionesGenerales++;
+            return true;
+        }
+
+        Slab slab = slabConLibre(clase);
+        if (slab == null) {
+            slab = nuevoSlab(clase);
+            if (slab == null && devolverSlabsVacios()) {
+                slab = nuevoSlab(clase);
+            }
+            if (slab == null) {
+                System.out.println("No hay lugar para un slab de " + clase.tamano + "MB");
+                return false;
+            }
+        }
+        int objeto = Long.numberOfTrailingZeros(slab.libres);
+        slab.libres &= ~(1L << objeto);
+        slab.pids[objeto] = pid;
+        slab.pedidos[objeto] = tamano;
+        slabPorProceso.put(pid, slab);
+        objetoPorProceso.put(pid, objeto);
+        clase.asignaciones++;
+        int inicio = slab.bloque.inicio + objeto * slab.tamanoObjeto;
+        if (diario != null) {
+            diario.registrar(DiarioEventos.Tipo.ASIGNACION, -1, pid, inicio, slab.tamanoObjeto);
+        }
+        System.out.println("Proceso " + pid + " en slab de " + clase.tamano + "MB (objeto " + objeto + ", inicio " + inicio + ")");
+        return true;
+    }
+
+    /**
+     * Tope de la pila de parciales, descartando los que se llenaron o se
+     * liberaron desde que entraron
+     */
+    private Slab slabConLibre(ClaseSlab clase) {
+        Slab slab;
+        while ((slab = clase.parciales.peekFirst()) != null && (slab.liberado || slab.libres == 0)) {
+            clase.parciales.pollFirst();
+            slab.enParciales = false;
+        }
+        return slab;
+    }
+
+    /**
+     * Reserva un slab para la clase: TAMANO_SLAB MB si hay un hueco, y si no
+     * con la mitad de objetos, hasta uno solo
+     */
+    private Slab nuevoSlab(ClaseSlab clase) {
+        for (int objetos = Math.max(1, Math.min(MAX_OBJETOS_SLAB, TAMANO_SLAB / clase.tamano)); objetos >= 1; objetos /= 2) {
+            BloqueMemoria bloque = primerAjuste(PID_SLAB, objetos * clase.tamano);
+            if (bloque != null) {
+                Slab slab = new Slab(bloque, clase.tamano, objetos);
+                clase.slabs.add(slab);
+                clase.parciales.addFirst(slab);
+                slab.enParciales = true;
+                System.out.println("Nuevo slab de " + clase.tamano + "MB x " + objetos + " en " + bloque.inicio);
+                return slab;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Libera el objeto del proceso (false si no tenía). Un slab que queda
+     * vacío vuelve a la partición dinámica, salvo el último de su clase, que
+     * se guarda para la próxima asignación.
+     */
+    private boolean liberarObjetoSlab(Proceso proceso) {
+        int pid = proceso.getPid();
+        Slab slab = slabPorProceso.remove(pid);
+        if (slab == null) {
+            return false;
+        }
+        int objeto = objetoPorProceso.remove(pid);
+        slab.libres |= 1L << objeto;
+        slab.pids[objeto] = 0;
+        slab.pedidos[objeto] = 0;
+        if (diario != null) {
+            diario.registrar(DiarioEventos.Tipo.LIBERACION, -1, pid,
+                    slab.bloque.inicio + objeto * slab.tamanoObjeto, slab.tamanoObjeto);
+        }
+        ClaseSlab clase = claseDe(slab);
+        if (slab.isVacio() && clase.slabs.size() > 1) {
+            devolverSlab(clase, slab);
+        } else if (!slab.enParciales) {
+            clase.parciales.addFirst(slab);
+            slab.enParciales = true;
+        }
+        System.out.println("Liberado el objeto " + objeto + " del slab de " + slab.tamanoObjeto + "MB (proceso " + pid + ")");
+        return true;
+    }
+
+    private ClaseSlab claseDe(Slab slab) {
+        for (ClaseSlab clase : clasesSlab) {
+            if (clase.tamano == slab.tamanoObjeto) {
+                return clase;
+            }
+        }
+        throw new IllegalStateException("Slab sin clase: " + slab.tamanoObjeto + "MB");
+    }
+
+    private void devolverSlab(ClaseSlab clase, Slab slab) {
+        clase.slabs.remove(slab);
+        slab.liberado = true; // si está en parciales se descarta al llegar al tope
+        bloquesOcupados.remove(slab.bloque);
+        bloquesLibres.add(new BloqueMemoria(slab.bloque.id, slab.bloque.inicio, slab.bloque.tamano, null));
+        fusionarBloquesLibres();
+        System.out.println("Slab de " + slab.tamanoObjeto + "MB en " + slab.bloque.inicio + " devuelto");
+    }
+
+    /**
+     * Devuelve a la partición dinámica los slabs vacíos que se guardaban.
+     * true si se liberó alguno.
+     */
+    private boolean devolverSlabsVacios() {
+        boolean alguno = false;
+        for (ClaseSlab clase : clasesSlab) {
+            for (Slab slab : new ArrayList<>(clase.slabs)) {
+                if (slab.isVacio()) {
+                    devolverSlab(clase, slab);
+                    alguno = true;
+                }
+            }
+        }
+        return alguno;
+    }
+
+    /**
+     * MB desperdiciados en una clase: objetos libres de sus slabs más lo que
+     * sobra de cada objeto ocupado
+     */
+    private int desperdicioSlab(ClaseSlab clase) {
+        int total = 0;
+        for (Slab slab : clase.slabs) {
+            total += Long.bitCount(slab.libres) * slab.tamanoObjeto;
+            for (int i = 0; i < slab.objetos; i++) {
+                if (slab.pids[i] != 0) {
+                    total += slab.tamanoObjeto - slab.pedidos[i];
+                }
+            }
+        }
+        return total;
+    }
+
+    private int objetosSlab(ClaseSlab clase, boolean soloOcupados) {
+        int total = 0;
+        for (Slab slab : clase.slabs) {
+            total += soloOcupados ? slab.objetos - Long.bitCount(slab.libres) : slab.objetos;
+        }
+        return total;
+    }
+
+    /**
+     * Reporte por clase de slab, para las estadísticas finales
+     */
+    public String getReporteSlab() {
+        if (modo != ModoMemoria.SLAB) {
+            return "• Sin slabs\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (ClaseSlab clase : clasesSlab) {
+            int objetos = objetosSlab(clase, false);
+            int ocupados = objetosSlab(clase, true);
+            sb.append(String.format("• %4d MB: %d slabs | %d/%d objetos (%.0f%%) | desperdicio: %d MB | asignaciones: %d\n",
+                    clase.tamano, clase.slabs.size(), ocupados, objetos,
+                    objetos == 0 ? 0.0 : ocupados * 100.0 / objetos, desperdicioSlab(clase), clase.asignaciones));
+        }
+        sb.append("• Tamaños sin clase (First-Fit): ").append(asignacionesGenerales).append(" asignaciones\n");
+        return sb.toString();
     }
 
     /**
@@ -190,148 +713,1188 @@ public class GestorMemoria {
 
         System.out.println("Asignando " + tamanoRequerido + "MB al proceso " + proceso.getPid()
                 + " (Paginación: " + paginasNecesarias + " páginas)");
+        if (!declaraCompartida(proceso)) {
+            List<Integer> marcos = reservarMarcos(proceso.getPid(), paginasNecesarias, -1);
+            if (marcos == null) {
+                return false;
+            }
+            registrarTablaPaginas(proceso.getPid(), marcos);
+            return true;
+        }
 
-        // Buscar páginas libres
-        List<Integer> paginasLibres = new ArrayList<>();
-        for (int i = 0; i < tablaPaginas.length; i++) {
-            if (tablaPaginas[i].isLibre()) {
-                paginasLibres.add(i);
-                if (paginasLibres.size() == paginasNecesarias) {
-                    break;
+        // Primero se mapean las páginas que ya están cargadas (región de la
+        // imagen o las del padre) y solo se reservan marcos para el resto
+        int pid = proceso.getPid();
+        int[] tabla = mapearHeredadas(proceso, paginasNecesarias);
+        List<Integer> faltantes = new ArrayList<>();
+        for (int vpn = 0; vpn < tabla.length; vpn++) {
+            if (tabla[vpn] == -1) {
+                faltantes.add(vpn);
+            }
+        }
+        List<Integer> marcos = faltantes.isEmpty() ? Collections.emptyList()
+                : reservarMarcos(pid, faltantes.size(), -1);
+        if (marcos == null) {
+            liberarMemoriaPaginacion(proceso);
+            return false;
+        }
+        for (int i = 0; i < marcos.size(); i++) {
+            asociarMarco(proceso, faltantes.get(i), marcos.get(i));
+        }
+
+        // Las residentes quedan en orden de página virtual, como sin compartir
+        List<Integer> residentes = tablaPaginasPorProceso.get(pid);
+        residentes.clear();
+        for (int marco : tabla) {
+            if (marco != -1) {
+                residentes.add(marco);
+            }
+        }
+        AccesosProceso a = accesosPorProceso.get(pid);
+        a.maxResidentes = Math.max(a.maxResidentes, residentes.size());
+        System.out.println("Páginas compartidas: " + (paginasNecesarias - faltantes.size())
+                + " | propias: " + faltantes.size());
+        return true;
+    }
+
+    /**
+     * true si el proceso declara una región compartida o un padre (en los
+     * modos donde se comparten marcos)
+     */
+    private boolean declaraCompartida(Proceso proceso) {
+        return (modo == ModoMemoria.PAGINACION || modo == ModoMemoria.PAGINACION_DEMANDA)
+                && ((proceso.getImagen() >= 0 && proceso.getTamanoCompartido() > 0) || proceso.getPadre() >= 0);
+    }
+
+    /**
+     * Páginas virtuales del proceso que pertenecen a la región de su imagen
+     */
+    private int paginasRegion(Proceso proceso, int paginas) {
+        if (proceso.getImagen() < 0 || !declaraCompartida(proceso)) {
+            return 0;
+        }
+        return Math.min(paginas, (int) Math.ceil(proceso.getTamanoCompartido() / (double) TAMANO_PAGINA));
+    }
+
+    /**
+     * Arma las tablas del proceso (todas las entradas inválidas) y mapea lo
+     * que ya está cargado: las páginas residentes de la región de su imagen
+     * y, si se bifurca de un proceso cargado, las páginas de ese padre (las
+     * privadas quedan con copia en escritura). Devuelve la tabla virtual.
+     */
+    private int[] mapearHeredadas(Proceso proceso, int paginas) {
+        int pid = proceso.getPid();
+        int[] tabla = new int[paginas];
+        Arrays.fill(tabla, -1);
+        tablaVirtualPorProceso.put(pid, tabla);
+        tablaPaginasPorProceso.put(pid, new ArrayList<>());
+        accesosPorProceso.computeIfAbsent(pid, k -> new AccesosProceso()).paginasVirtuales = paginas;
+
+        int enRegion = paginasRegion(proceso, paginas);
+        int[] region = enRegion == 0 ? null : regionesCompartidas.get(proceso.getImagen());
+        int[] tablaPadre = proceso.getPadre() < 0 ? null : tablaVirtualPorProceso.get(proceso.getPadre());
+        if (proceso.getPadre() >= 0 && tablaPadre == null) {
+            System.out.println("El padre P" + proceso.getPadre() + " no está cargado: P" + pid + " arranca sin heredar páginas");
+        }
+        for (int vpn = 0; vpn < paginas; vpn++) {
+            if (vpn < enRegion) {
+                if (region != null && vpn < region.length && region[vpn] != -1) {
+                    mapearCompartido(pid, vpn, region[vpn]);
                 }
+            } else if (tablaPadre != null && vpn < tablaPadre.length && tablaPadre[vpn] != -1) {
+                mapearCompartido(pid, vpn, tablaPadre[vpn]);
+            }
+        }
+        return tabla;
+    }
+
+    /**
+     * Deja al marco recién reservado como la página virtual vpn del proceso
+     * (y de la región de su imagen si corresponde). No lo agrega a la lista
+     * de residentes.
+     */
+    private void asociarMarco(Proceso proceso, int vpn, int marco) {
+        int[] tabla = tablaVirtualPorProceso.get(proceso.getPid());
+        Pagina p = tablaPaginas[marco];
+        p.paginaVirtual = vpn;
+        tabla[vpn] = marco;
+        if (vpn < paginasRegion(proceso, tabla.length)) {
+            int imagen = proceso.getImagen();
+            int[] region = regionesCompartidas.get(imagen);
+            if (region == null || region.length <= vpn) {
+                int anterior = region == null ? 0 : region.length;
+                region = region == null ? new int[vpn + 1] : Arrays.copyOf(region, vpn + 1);
+                Arrays.fill(region, anterior, region.length, -1);
+                regionesCompartidas.put(imagen, region);
+            }
+            region[vpn] = marco;
+            p.imagen = imagen;
+        }
+    }
+
+    /**
+     * El proceso pasa a mapear en su página vpn un marco que ya tiene
+     * cargado otro proceso (sube la cuenta de referencias)
+     */
+    private void mapearCompartido(int pid, int vpn, int marco) {
+        Pagina p = tablaPaginas[marco];
+        if (p.compartidaCon == null) {
+            p.compartidaCon = new ArrayList<>(2);
+        }
+        p.compartidaCon.add(pid);
+        p.referencias++;
+        tablaVirtualPorProceso.get(pid)[vpn] = marco;
+        List<Integer> residentes = tablaPaginasPorProceso.get(pid);
+        residentes.add(marco);
+        AccesosProceso a = accesosPorProceso.get(pid);
+        a.maxResidentes = Math.max(a.maxResidentes, residentes.size());
+        mapeosCompartidos.incrementar();
+    }
+
+    /**
+     * El proceso deja de mapear el marco (sus tablas las ajusta quien llama).
+     * Con la última referencia el marco se libera; si no, otro de los
+     * procesos que lo comparten queda como dueño.
+     */
+    private void desmapear(Pagina p, int pid) {
+        if (--p.referencias == 0) {
+            if (diario != null) {
+                diario.registrar(DiarioEventos.Tipo.LIBERACION, -1, pid, p.numeroPagina, TAMANO_PAGINA);
+            }
+            liberarPagina(p);
+            return;
+        }
+        if (p.pidProceso == pid) {
+            p.pidProceso = p.compartidaCon.remove(0);
+        } else {
+            p.compartidaCon.remove(Integer.valueOf(pid));
+        }
+        if (p.compartidaCon.isEmpty()) {
+            p.compartidaCon = null;
+        }
+    }
+
+    /**
+     * PIDs que mapean el marco (el dueño primero)
+     */
+    private List<Integer> procesosQueMapean(Pagina p) {
+        List<Integer> pids = new ArrayList<>(p.referencias);
+        pids.add(p.pidProceso);
+        if (p.compartidaCon != null) {
+            pids.addAll(p.compartidaCon);
+        }
+        return pids;
+    }
+
+    /**
+     * Admisión con paginación por demanda: se arma la tabla de páginas con
+     * todas las entradas inválidas y no se reserva ningún marco. Cada página
+     * se carga (con un fallo) la primera vez que el proceso la toca.
+     */
+    private boolean asignarMemoriaPorDemanda(Proceso proceso) {
+        int pid = proceso.getPid();
+        int paginas = (int) Math.ceil(proceso.getTamanoMemoria() / (double) TAMANO_PAGINA);
+        // Un hijo copia la tabla del padre (copia en escritura); la región de
+        // la imagen se mapea recién cuando la toca
+        mapearHeredadas(proceso, paginas);
+        System.out.println("Proceso " + pid + " admitido con " + paginas + " páginas virtuales (Paginación por Demanda)");
+        return true;
+    }
+
+    /**
+     * Carga una página virtual del proceso en un marco (fallo de página).
+     * Devuelve false si no hay marco posible.
+     */
+    private boolean cargarPagina(Proceso proceso, int paginaVirtual, int nucleo) {
+        int pid = proceso.getPid();
+        int nodoToque = numa != null && nucleo >= 0 ? numa.nodoDeNucleo(nucleo) : -1;
+        List<Integer> marcos = reservarMarcos(pid, 1, nodoToque);
+        if (marcos == null) {
+            return false;
+        }
+        int marco = marcos.get(0);
+        asociarMarco(proceso, paginaVirtual, marco);
+        List<Integer> residentes = tablaPaginasPorProceso.get(pid);
+        residentes.add(marco);
+        AccesosProceso a = accesosPorProceso.get(pid);
+        a.maxResidentes = Math.max(a.maxResidentes, residentes.size());
+        return true;
+    }
+
+    /**
+     * Fallo de escritura sobre una página heredada: el proceso se queda con
+     * una copia propia y el original sigue para los demás. Devuelve el marco
+     * nuevo, o -1 si no hay marco posible (se reintenta en la próxima
+     * escritura).
+     */
+    private int copiarEnEscritura(int pid, int paginaVirtual, int nucleo) {
+        int[] tabla = tablaVirtualPorProceso.get(pid);
+        int original = tabla[paginaVirtual];
+        int nodoToque = numa != null && nucleo >= 0 ? numa.nodoDeNucleo(nucleo) : -1;
+        List<Integer> marcos = reservarMarcos(pid, 1, nodoToque);
+        if (marcos == null) {
+            return -1;
+        }
+        int marco = marcos.get(0);
+        tablaPaginas[marco].paginaVirtual = paginaVirtual;
+        List<Integer> residentes = tablaPaginasPorProceso.get(pid);
+        if (tabla[paginaVirtual] == original) {
+            desmapear(tablaPaginas[original], pid);
+            residentes.set(residentes.indexOf(original), marco);
+        } else {
+            // La reserva expulsó al original (y con él este mapeo)
+            residentes.add(marco);
+        }
+        tabla[paginaVirtual] = marco;
+        copiasEnEscritura.incrementar();
+        accesosPorProceso.get(pid).copiasEnEscritura++;
+        System.out.println("Copia en escritura: P" + pid + " página " + paginaVirtual
+                + " (marco " + original + " -> " + marco + ")");
+        return marco;
+    }
+
+    /**
+     * Tabla de páginas de un proceso al que se le cargaron todas sus páginas
+     * de una vez (la página virtual i queda en marcos.get(i))
+     */
+    private void registrarTablaPaginas(int pid, List<Integer> marcos) {
+        int[] tabla = new int[marcos.size()];
+        for (int i = 0; i < tabla.length; i++) {
+            tabla[i] = marcos.get(i);
+            tablaPaginas[tabla[i]].paginaVirtual = i;
+        }
+        tablaPaginasPorProceso.put(pid, marcos);
+        tablaVirtualPorProceso.put(pid, tabla);
+        AccesosProceso a = accesosPorProceso.computeIfAbsent(pid, k -> new AccesosProceso());
+        a.paginasVirtuales = tabla.length;
+        a.maxResidentes = Math.max(a.maxResidentes, tabla.length);
+    }
+
+    /**
+     * Asignación con segmentación paginada: cada segmento ocupa páginas
+     * enteras (la última de cada uno queda con fragmentación interna). Los
+     * marcos se reservan todos juntos para que el reemplazo no expulse
+     * páginas de los segmentos recién cargados del mismo proceso.
+     */
+    private boolean asignarMemoriaSegmentacionPaginada(Proceso proceso) {
+        int pid = proceso.getPid();
+        int[] tamanos = Segmento.tamanos(proceso.getTamanoMemoria());
+        int[] paginas = new int[tamanos.length];
+        int total = 0;
+        for (int i = 0; i < tamanos.length; i++) {
+            paginas[i] = (int) Math.ceil(tamanos[i] / (double) TAMANO_PAGINA);
+            total += paginas[i];
+        }
+        System.out.println("Asignando " + proceso.getTamanoMemoria() + "MB al proceso " + pid
+                + " (Segmentación Paginada: " + Arrays.toString(paginas) + " páginas)");
+
+        List<Integer> marcos = reservarMarcos(pid, total, -1);
+        if (marcos == null) {
+            return false;
+        }
+        registrarTablaPaginas(pid, marcos);
+        List<Segmento> tabla = new ArrayList<>();
+        int desde = 0;
+        for (Segmento.Tipo tipo : Segmento.Tipo.values()) {
+            int n = paginas[tipo.ordinal()];
+            if (n == 0) {
+                continue;
+            }
+            List<Integer> propios = new ArrayList<>(marcos.subList(desde, desde + n));
+            for (int marco : propios) {
+                tablaPaginas[marco].segmento = tipo;
             }
+            desde += n;
+            tabla.add(new Segmento(tipo, -1, tamanos[tipo.ordinal()], propios));
+            asignacionesSegmento[tipo.ordinal()].incrementar();
+        }
+        tablaSegmentosPorProceso.put(pid, tabla);
+        System.out.println("Segmentos asignados: " + tabla);
+        return true;
+    }
+
+    /**
+     * Reserva marcos para el proceso (libres o liberados por la política de
+     * reemplazo) y los carga; cada uno cuenta como fallo de página. Devuelve
+     * los marcos en orden, o null si no se pudo. nodoToque es el nodo NUMA
+     * del núcleo que provocó la carga (-1 si se carga al admitir).
+     */
+    private List<Integer> reservarMarcos(int pid, int paginasNecesarias, int nodoToque) {
+        // Con NUMA y política FIJO el proceso solo puede usar los marcos de su nodo
+        int nodoFijo = numa != null && numa.getConfiguracion().getPolitica() == TopologiaNUMA.PoliticaUbicacion.FIJO
+                ? numa.getConfiguracion().nodoFijo : -1;
+        if (nodoFijo != -1 && paginasNecesarias > numa.finMarcos(nodoFijo) - numa.primerMarco(nodoFijo)) {
+            System.out.println("El proceso no entra en el nodo " + nodoFijo);
+            return null;
         }
 
+        // Buscar páginas libres
+        List<Integer> paginasLibres = buscarMarcosLibres(pid, paginasNecesarias, nodoToque);
+
         // Si no hay suficientes páginas libres, aplicar política de reemplazo
         if (paginasLibres.size() < paginasNecesarias) {
             int paginasALiberar = paginasNecesarias - paginasLibres.size();
-            List<Integer> paginasReemplazadas = aplicarPoliticaReemplazo(paginasALiberar);
+            List<Integer> paginasReemplazadas = aplicarPoliticaReemplazo(paginasALiberar, nodoFijo);
 
             if (paginasReemplazadas != null) {
                 paginasLibres.addAll(paginasReemplazadas);
                 System.out.println("Reemplazo aplicado: " + paginasALiberar + " páginas liberadas");
             } else {
                 System.out.println("No se pudo aplicar reemplazo");
-                return false;
+                return null;
             }
         }
 
         // Asignar las páginas al proceso
         List<Integer> paginasAsignadas = new ArrayList<>();
+        long proximoUso = proximoUso(pid, posicionReferencia);
         for (int i = 0; i < paginasNecesarias; i++) {
             int numPagina = paginasLibres.get(i);
-            tablaPaginas[numPagina].pidProceso = proceso.getPid();
-            tablaPaginas[numPagina].tiempoAsignacion = contadorTiempo++;
-            tablaPaginas[numPagina].ultimoAcceso = contadorTiempo;
+            Pagina p = tablaPaginas[numPagina];
+            p.pidProceso = pid;
+            p.segmento = null;
+            p.paginaVirtual = -1;
+            p.referencias = 1;
+            p.compartidaCon = null;
+            p.imagen = -1;
+            p.tiempoAsignacion = contadorTiempo++;
+            p.ultimoAcceso = contadorTiempo++;
+            p.referenciada = true;
+            p.edad = 0x80; // como si se hubiera referenciado en este tick
+            p.edadEn = envejecimientos;
+            p.frecuencia = 1;
+            p.proximoUso = proximoUso;
+            insertarEnReemplazo(p);
+            paginasOcupadas++;
             paginasAsignadas.add(numPagina);
+            if (diario != null) {
+                diario.registrar(DiarioEventos.Tipo.ASIGNACION, -1, pid, numPagina, TAMANO_PAGINA);
+            }
+        }
+
+        // Cada página cargada es un fallo de página (al admitir o, por demanda, al tocarla)
+        fallosPagina.sumar(paginasNecesarias);
+        accesosPorProceso.computeIfAbsent(pid, k -> new AccesosProceso()).fallosPagina += paginasNecesarias;
+        System.out.println("Páginas asignadas: " + paginasAsignadas);
+        return paginasAsignadas;
+    }
+
+    /**
+     * Marcos libres para un proceso (como mucho "cantidad"). Sin NUMA se
+     * toman en orden; con NUMA según la política de ubicación:
+     * - LOCAL: el nodo con más marcos libres pasa a ser el del proceso y se
+     *   llena primero; lo que falte sale de los nodos siguientes. Por
+     *   demanda se usa el nodo del núcleo que tocó la página (first-touch)
+     * - INTERCALADO: una página por nodo, por turno
+     * - FIJO: solo el nodo indicado
+     */
+    private List<Integer> buscarMarcosLibres(int pid, int cantidad, int nodoToque) {
+        List<Integer> libres = new ArrayList<>();
+        int revisadas = 0;
+        if (numa == null) {
+            for (int i = 0; i < tablaPaginas.length && libres.size() < cantidad; i++) {
+                revisadas++;
+                if (tablaPaginas[i].isLibre()) {
+                    libres.add(i);
+                }
+            }
+            longitudBusqueda.registrar(revisadas);
+            return libres;
+        }
+
+        int nodos = numa.getNodos();
+        switch (numa.getConfiguracion().getPolitica()) {
+            case INTERCALADO: {
+                int[] cursor = new int[nodos];
+                for (int n = 0; n < nodos; n++) {
+                    cursor[n] = numa.primerMarco(n);
+                }
+                int agotados = 0;
+                while (libres.size() < cantidad && agotados < nodos) {
+                    int n = proximoNodoIntercalado;
+                    proximoNodoIntercalado = (proximoNodoIntercalado + 1) % nodos;
+                    while (cursor[n] < numa.finMarcos(n) && !tablaPaginas[cursor[n]].isLibre()) {
+                        cursor[n]++;
+                        revisadas++;
+                    }
+                    if (cursor[n] < numa.finMarcos(n)) {
+                        revisadas++;
+                        libres.add(cursor[n]++);
+                        agotados = 0;
+                    } else {
+                        agotados++;
+                    }
+                }
+                break;
+            }
+            case FIJO: {
+                int nodo = numa.getConfiguracion().nodoFijo;
+                nodoPorProceso.put(pid, nodo);
+                for (int i = numa.primerMarco(nodo); i < numa.finMarcos(nodo) && libres.size() < cantidad; i++) {
+                    revisadas++;
+                    if (tablaPaginas[i].isLibre()) {
+                        libres.add(i);
+                    }
+                }
+                break;
+            }
+            default: { // LOCAL
+                int[] libresPorNodo = new int[nodos];
+                for (Pagina p : tablaPaginas) {
+                    if (p.isLibre()) {
+                        libresPorNodo[numa.nodoDeMarco(p.numeroPagina)]++;
+                    }
+                }
+                int nodo = 0;
+                for (int n = 1; n < nodos; n++) {
+                    if (libresPorNodo[n] > libresPorNodo[nodo]) {
+                        nodo = n;
+                    }
+                }
+                if (nodoToque >= 0) {
+                    nodo = nodoToque;
+                    nodoPorProceso.putIfAbsent(pid, nodo); // el primer toque fija el nodo del proceso
+                } else {
+                    nodoPorProceso.put(pid, nodo);
+                }
+                for (int k = 0; k < nodos && libres.size() < cantidad; k++) {
+                    int n = (nodo + k) % nodos;
+                    for (int i = numa.primerMarco(n); i < numa.finMarcos(n) && libres.size() < cantidad; i++) {
+                        revisadas++;
+                        if (tablaPaginas[i].isLibre()) {
+                            libres.add(i);
+                        }
+                    }
+                }
+                break;
+            }
+        }
+        longitudBusqueda.registrar(revisadas);
+        return libres;
+    }
+
+    /**
+     * Aplica la política de reemplazo seleccionada: expulsa "cantidad"
+     * páginas (del nodo indicado, o de cualquiera con -1) y devuelve sus
+     * números, o null si no hay suficientes ocupadas.
+     */
+    private List<Integer> aplicarPoliticaReemplazo(int cantidad, int nodo) {
+        System.out.println("Aplicando " + politicaReemplazo + " para liberar " + cantidad + " páginas...");
+
+        if (paginasOcupadas < cantidad) {
+            return null; // No hay suficientes páginas para reemplazar
+        }
+        if (nodo != -1) {
+            int ocupadasNodo = 0;
+            for (int i = numa.primerMarco(nodo); i < numa.finMarcos(nodo); i++) {
+                if (!tablaPaginas[i].isLibre()) {
+                    ocupadasNodo++;
+                }
+            }
+            if (ocupadasNodo < cantidad) {
+                return null;
+            }
+        }
+
+        List<Integer> paginasLiberadas = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Pagina p = elegirVictima(nodo);
+            List<Integer> pids = procesosQueMapean(p);
+            if (diario != null) {
+                diario.registrar(DiarioEventos.Tipo.EXPULSION, -1, p.pidProceso, p.numeroPagina, p.referencias);
+            }
+
+            // Remover de la tabla de cada proceso que la mapea (y de la de su segmento)
+            for (int pid : pids) {
+                tablaPaginasPorProceso.get(pid).remove(Integer.valueOf(p.numeroPagina));
+                int[] tablaVirtual = tablaVirtualPorProceso.get(pid);
+                if (tablaVirtual != null && p.paginaVirtual >= 0) {
+                    tablaVirtual[p.paginaVirtual] = -1;
+                }
+                if (p.segmento != null) {
+                    for (Segmento seg : tablaSegmentosPorProceso.get(pid)) {
+                        if (seg.tipo == p.segmento) {
+                            seg.marcos.remove(Integer.valueOf(p.numeroPagina));
+                        }
+                    }
+                }
+                invalidarTLB(pid);
+            }
+
+            // Liberar la página
+            liberarPagina(p);
+            paginasLiberadas.add(p.numeroPagina);
+            reemplazos.incrementar();
+
+            System.out.println(politicaReemplazo + ": Página " + p.numeroPagina + " (PID " + pids + ") reemplazada");
+        }
+
+        return paginasLiberadas;
+    }
+
+    /**
+     * Página a expulsar según la política (hay al menos una ocupada en el
+     * nodo; -1 = cualquier nodo). Una página compartida deja sin ella a todos
+     * los que la mapean, así que solo se elige si no queda ninguna privada.
+     */
+    private Pagina elegirVictima(int nodo) {
+        Pagina victima = buscarVictima(nodo, true);
+        return victima != null ? victima : buscarVictima(nodo, false);
+    }
+
+    /**
+     * Primera página en el orden de la política (null si ninguna sirve)
+     */
+    private Pagina buscarVictima(int nodo, boolean soloPrivadas) {
+        switch (politicaReemplazo) {
+            case FIFO: {
+                // la más antigua
+                int n = primeroLista;
+                while (n != -1 && !esCandidata(tablaPaginas[n], nodo, soloPrivadas)) {
+                    n = siguienteEnLista[n];
+                }
+                return n == -1 ? null : tablaPaginas[n];
+            }
+            case CLOCK:
+                // Segunda oportunidad: las referenciadas pierden el bit y se
+                // saltean. En dos vueltas se revisan todas sin bit R
+                for (int paso = 0; paso < 2 * numPaginasTotal; paso++) {
+                    Pagina p = tablaPaginas[manecilla];
+                    manecilla = (manecilla + 1) % numPaginasTotal;
+                    if (p.isLibre() || !esCandidata(p, nodo, soloPrivadas)) {
+                        continue;
+                    }
+                    if (p.referenciada) {
+                        p.referenciada = false;
+                    } else {
+                        return p;
+                    }
+                }
+                return null;
+            default: {
+                Pagina victima = null;
+                for (Pagina p : tablaPaginas) {
+                    if (p.isLibre() || !esCandidata(p, nodo, soloPrivadas)) {
+                        continue;
+                    }
+                    envejecer(p);
+                    if (victima == null || antesQue(p, victima)) {
+                        victima = p;
+                    }
+                }
+                if (victima == null && !soloPrivadas) {
+                    throw new IllegalStateException("No hay páginas ocupadas en el nodo " + nodo);
+                }
+                return victima;
+            }
+        }
+    }
+
+    /**
+     * true si a se expulsa antes que b (LRU, NFU, LFU y OPT). Los empates se
+     * desempatan por antigüedad de carga.
+     */
+    private boolean antesQue(Pagina a, Pagina b) {
+        int c;
+        switch (politicaReemplazo) {
+            case LRU:
+                c = Long.compare(a.ultimoAcceso, b.ultimoAcceso);
+                break;
+            case NFU:
+                c = Integer.compare(a.edad, b.edad);
+                break;
+            case LFU:
+                c = Long.compare(a.frecuencia, b.frecuencia);
+                break;
+            default: // OPT: la que se vuelve a usar más tarde
+                c = Long.compare(b.proximoUso, a.proximoUso);
+                break;
+        }
+        if (c == 0) {
+            c = Long.compare(a.tiempoAsignacion, b.tiempoAsignacion);
+        }
+        return c != 0 ? c < 0 : a.numeroPagina < b.numeroPagina;
+    }
+
+    /**
+     * Aplica a la página los ticks de aging que pasaron desde que se la miró
+     * por última vez: el primero mete el bit R y los demás, ceros
+     */
+    private void envejecer(Pagina p) {
+        long pendientes = envejecimientos - p.edadEn;
+        if (pendientes > 0) {
+            int edad = (p.edad >>> 1) | (p.referenciada ? 0x80 : 0);
+            p.edad = pendientes > 8 ? 0 : edad >>> (int) (pendientes - 1);
+            p.referenciada = false;
+            p.edadEn = envejecimientos;
+        }
+    }
+
+    private boolean esCandidata(Pagina p, int nodo, boolean soloPrivadas) {
+        return enNodo(p.numeroPagina, nodo) && (!soloPrivadas || p.referencias <= 1);
+    }
+
+    private boolean enNodo(int marco, int nodo) {
+        return nodo == -1 || numa.nodoDeMarco(marco) == nodo;
+    }
+
+    private void liberarPagina(Pagina p) {
+        quitarDeReemplazo(p);
+        if (p.imagen != -1) {
+            int[] region = regionesCompartidas.get(p.imagen);
+            region[p.paginaVirtual] = -1;
+            if (Arrays.stream(region).allMatch(m -> m == -1)) {
+                regionesCompartidas.remove(p.imagen);
+            }
+        }
+        p.pidProceso = null;
+        p.segmento = null;
+        p.paginaVirtual = -1;
+        p.referencias = 0;
+        p.compartidaCon = null;
+        p.imagen = -1;
+        paginasOcupadas--;
+    }
+
+    private boolean usaLista() {
+        return politicaReemplazo == PoliticaReemplazo.FIFO;
+    }
+
+    private void insertarEnReemplazo(Pagina p) {
+        if (usaLista()) {
+            int n = p.numeroPagina;
+            anteriorEnLista[n] = ultimoLista;
+            siguienteEnLista[n] = -1;
+            if (ultimoLista == -1) {
+                primeroLista = n;
+            } else {
+                siguienteEnLista[ultimoLista] = n;
+            }
+            ultimoLista = n;
+        }
+    }
+
+    private void quitarDeReemplazo(Pagina p) {
+        if (usaLista()) {
+            int n = p.numeroPagina;
+            int ant = anteriorEnLista[n];
+            int sig = siguienteEnLista[n];
+            if (ant == -1) {
+                primeroLista = sig;
+            } else {
+                siguienteEnLista[ant] = sig;
+            }
+            if (sig == -1) {
+                ultimoLista = ant;
+            } else {
+                anteriorEnLista[sig] = ant;
+            }
+        }
+    }
+
+    /**
+     * Arma desde cero la estructura de la política activa con las páginas
+     * ocupadas (al cambiar de política o restaurar un checkpoint). El aging
+     * pendiente se aplica antes: Clock usa el mismo bit R.
+     */
+    private void reconstruirEstructurasReemplazo() {
+        primeroLista = -1;
+        ultimoLista = -1;
+
+        List<Pagina> ocupadas = new ArrayList<>();
+        for (Pagina p : tablaPaginas) {
+            if (!p.isLibre()) {
+                envejecer(p);
+                ocupadas.add(p);
+            }
+        }
+        paginasOcupadas = ocupadas.size();
+        if (usaLista()) {
+            ocupadas.sort(Comparator.comparingLong(p -> p.tiempoAsignacion));
+            for (Pagina p : ocupadas) {
+                insertarEnReemplazo(p);
+            }
+        }
+    }
+
+    /**
+     * Avanza un tick del reloj de memoria. Con NFU envejece los contadores
+     * (se desplazan a la derecha y el bit R entra por la izquierda); solo se
+     * cuenta el tick y cada página lo aplica al mirarla.
+     */
+    public void avanzarReloj() {
+        if (politicaReemplazo == PoliticaReemplazo.NFU && isPaginado()) {
+            envejecimientos++;
+        }
+    }
+
+    /**
+     * Da a OPT la secuencia de referencias (PID por cada llamada futura a
+     * accederMemoria, contando desde el inicio). Se indexa por proceso para
+     * encontrar el próximo uso con búsqueda binaria.
+     *
+     * La secuencia es por proceso, no por página: cada acceso referencia
+     * todas las páginas residentes del proceso, así que todas tienen el
+     * mismo próximo uso y entre ellas OPT expulsa la cargada primero.
+     */
+    public void setReferenciasFuturas(int[] referencias) {
+        Map<Integer, Integer> cantidades = new HashMap<>();
+        for (int pid : referencias) {
+            cantidades.merge(pid, 1, Integer::sum);
+        }
+        Map<Integer, int[]> usos = new HashMap<>();
+        Map<Integer, Integer> llenos = new HashMap<>();
+        for (Map.Entry<Integer, Integer> e : cantidades.entrySet()) {
+            usos.put(e.getKey(), new int[e.getValue()]);
+            llenos.put(e.getKey(), 0);
+        }
+        for (int i = 0; i < referencias.length; i++) {
+            int pid = referencias[i];
+            int k = llenos.merge(pid, 1, Integer::sum) - 1;
+            usos.get(pid)[k] = i;
+        }
+        this.usosPorProceso = usos;
+
+        for (Pagina p : tablaPaginas) {
+            if (!p.isLibre()) {
+                p.proximoUso = proximoUso(p.pidProceso, posicionReferencia);
+            }
+        }
+        reconstruirEstructurasReemplazo();
+    }
+
+    /**
+     * Primera referencia del proceso en una posición >= desde
+     * (Long.MAX_VALUE si no se vuelve a usar o no se conoce el futuro)
+     */
+    private long proximoUso(int pid, long desde) {
+        int[] usos = usosPorProceso == null ? null : usosPorProceso.get(pid);
+        if (usos == null) {
+            return Long.MAX_VALUE;
+        }
+        int lo = 0, hi = usos.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (usos[mid] < desde) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo < usos.length ? usos[lo] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Empieza a grabar la secuencia de referencias (para dársela luego a OPT)
+     */
+    public void grabarReferencias() {
+        referenciasGrabadas = new int[256];
+        cantidadGrabadas = 0;
+    }
+
+    public int[] getReferenciasGrabadas() {
+        return referenciasGrabadas == null ? new int[0] : Arrays.copyOf(referenciasGrabadas, cantidadGrabadas);
+    }
+
+    /**
+     * Crea una TLB vacía por núcleo (o ninguna si la configuración tiene 0
+     * entradas) y reinicia las estadísticas de TLB por proceso
+     */
+    public void configurarTLB(int numNucleos, TLB.Configuracion config) {
+        tlbs = new TLB[config.isHabilitada() ? numNucleos : 0];
+        for (int i = 0; i < tlbs.length; i++) {
+            tlbs[i] = new TLB(config);
+        }
+        for (AccesosProceso a : accesosPorProceso.values()) {
+            a.aciertosTLB = 0;
+            a.fallosTLB = 0;
+            a.penalizacionPendiente = 0;
+        }
+    }
+
+    public TLB getTLB(int nucleo) {
+        return nucleo < tlbs.length ? tlbs[nucleo] : null;
+    }
+
+    /**
+     * El núcleo pasa a ejecutar el proceso (vacía o re-etiqueta su TLB)
+     */
+    public void cambioContexto(int nucleo, int pid) {
+        if (nucleo < tlbs.length) {
+            tlbs[nucleo].cambiarContexto(pid);
+        }
+    }
+
+    // Las páginas virtuales del proceso se renumeran; se invalidan sus traducciones en todos los núcleos
+    private void invalidarTLB(int pid) {
+        if (difiriendoInvalidaciones) {
+            if (cantidadInvalidaciones == invalidacionesPid.length) {
+                invalidacionesPid = Arrays.copyOf(invalidacionesPid, cantidadInvalidaciones * 2);
+                invalidacionesNucleo = Arrays.copyOf(invalidacionesNucleo, cantidadInvalidaciones * 2);
+            }
+            invalidacionesPid[cantidadInvalidaciones] = pid;
+            invalidacionesNucleo[cantidadInvalidaciones++] = nucleoIniciando;
+            return;
+        }
+        for (TLB tlb : tlbs) {
+            tlb.invalidarProceso(pid);
+        }
+    }
+
+    /**
+     * Arma la topología NUMA para los núcleos dados (o ninguna si la
+     * configuración tiene un solo nodo). El nodo de cada proceso con
+     * memoria pasa a ser donde tiene la mayoría de sus páginas (importa al
+     * restaurar un checkpoint).
+     */
+    public void configurarNUMA(int numNucleos, TopologiaNUMA.Configuracion config) {
+        numa = config.isHabilitada() ? new TopologiaNUMA(config, numNucleos, numPaginasTotal) : null;
+        proximoNodoIntercalado = 0;
+        nodoPorProceso.clear();
+        for (AccesosProceso a : accesosPorProceso.values()) {
+            a.locales = 0;
+            a.remotos = 0;
+        }
+        if (numa == null || config.getPolitica() == TopologiaNUMA.PoliticaUbicacion.INTERCALADO) {
+            return;
+        }
+        for (Map.Entry<Integer, List<Integer>> entry : tablaPaginasPorProceso.entrySet()) {
+            int[] porNodo = new int[numa.getNodos()];
+            for (int marco : entry.getValue()) {
+                porNodo[numa.nodoDeMarco(marco)]++;
+            }
+            int nodo = 0;
+            for (int n = 1; n < porNodo.length; n++) {
+                if (porNodo[n] > porNodo[nodo]) {
+                    nodo = n;
+                }
+            }
+            nodoPorProceso.put(entry.getKey(), nodo);
+        }
+    }
+
+    public TopologiaNUMA getTopologiaNUMA() {
+        return numa;
+    }
+
+    /**
+     * Núcleo libre donde despachar al proceso: si su memoria está en un nodo
+     * y el candidato es de otro, se prefiere un núcleo libre de ese nodo. Sin
+     * NUMA, sin nodo preferido (INTERCALADO) o sin núcleos libres en el nodo
+     * se queda el candidato.
+     */
+    public int elegirNucleo(int pid, Proceso[] nucleos, int candidato) {
+        Integer nodo = numa == null ? null : nodoPorProceso.get(pid);
+        if (nodo == null || numa.nodoDeNucleo(candidato) == nodo) {
+            return candidato;
+        }
+        for (int i = 0; i < nucleos.length; i++) {
+            if (nucleos[i] == null && numa.nodoDeNucleo(i) == nodo) {
+                return i;
+            }
+        }
+        return candidato;
+    }
+
+    /**
+     * Acceso sin núcleo (no pasa por ninguna TLB)
+     */
+    public int accederMemoria(Proceso proceso) {
+        return accederMemoria(proceso, -1);
+    }
+
+    /**
+     * Simula un acceso a memoria desde un núcleo: una referencia a todas las
+     * páginas residentes del proceso (actualiza LRU, bit R, frecuencia y
+     * próximo uso). Además el tick trabaja sobre una página (recorrido
+     * secuencial: TICKS_POR_PAGINA accesos seguidos sobre cada una), que con
+     * paginación por demanda se carga si no está residente, se traduce con
+     * la TLB del núcleo y puede estar en otro nodo NUMA. El último acceso de
+     * cada página es una escritura, que duplica las páginas heredadas por
+     * fork (copia en escritura). Devuelve los ticks de penalización (fallo
+     * de página o de escritura + fallo de TLB + acceso remoto; 0 si no
+     * hubo). Los ticks de penalización no acceden, así que cada acceso
+     * deja avanzar al proceso aunque la TLB se vacíe en cada despacho.
+     */
+    public int accederMemoria(Proceso proceso, int nucleo) {
+        AccesoNucleo acceso = accesoSuelto;
+        iniciarAcceso(proceso, nucleo, acceso);
+        if (acceso.accesos != null && nucleo >= 0 && nucleo < tlbs.length) {
+            traducir(tlbs[nucleo], acceso);
+        }
+        return terminarAcceso(nucleo, acceso);
+    }
+
+    /**
+     * accederMemoria de todos los núcleos en tres partes, para que la TLB
+     * de cada uno se pueda recorrer en paralelo. Esta es la primera, en
+     * serie y en orden de núcleo: referencias, fallos de página y copias en
+     * escritura (nucleos[i] == null: el núcleo no accede). Las invalidaciones
+     * de TLB que provoquen quedan anotadas con el núcleo que las causó.
+     * Después van traducirAcceso y terminarAcceso de cada núcleo, y el
+     * resultado es el mismo que el de accederMemoria núcleo por núcleo.
+     */
+    public void iniciarAccesos(Proceso[] nucleos) {
+        if (accesosNucleo.length < nucleos.length) {
+            int desde = accesosNucleo.length;
+            accesosNucleo = Arrays.copyOf(accesosNucleo, nucleos.length);
+            for (int i = desde; i < nucleos.length; i++) {
+                accesosNucleo[i] = new AccesoNucleo();
+            }
+        }
+        cantidadInvalidaciones = 0;
+        difiriendoInvalidaciones = true;
+        try {
+            for (int i = 0; i < nucleos.length; i++) {
+                nucleoIniciando = i;
+                if (nucleos[i] != null) {
+                    iniciarAcceso(nucleos[i], i, accesosNucleo[i]);
+                } else {
+                    accesosNucleo[i].accesos = null;
+                }
+            }
+        } finally {
+            difiriendoInvalidaciones = false;
         }
-
-        tablaPaginasPorProceso.put(proceso.getPid(), paginasAsignadas);
-        System.out.println("Páginas asignadas: " + paginasAsignadas);
-        return true;
     }
 
     /**
-     * Aplica la política de reemplazo seleccionada
+     * Segunda parte: la traducción por la TLB del núcleo, con las
+     * invalidaciones anotadas antes y después según qué núcleo las causó.
+     * Solo toca esa TLB y los contadores del proceso que corre en él, así
+     * que se puede llamar en paralelo para núcleos distintos.
      */
-    private List<Integer> aplicarPoliticaReemplazo(int cantidad) {
-        if (politicaReemplazo == PoliticaReemplazo.FIFO) {
-            return aplicarFIFO(cantidad);
-        } else {
-            return aplicarLRU(cantidad);
+    public void traducirAcceso(int nucleo) {
+        if (nucleo >= tlbs.length) {
+            return;
+        }
+        TLB tlb = tlbs[nucleo];
+        int k = 0;
+        for (; k < cantidadInvalidaciones && invalidacionesNucleo[k] <= nucleo; k++) {
+            tlb.invalidarProceso(invalidacionesPid[k]);
+        }
+        AccesoNucleo acceso = accesosNucleo[nucleo];
+        if (acceso.accesos != null) {
+            traducir(tlb, acceso);
+        }
+        for (; k < cantidadInvalidaciones; k++) {
+            tlb.invalidarProceso(invalidacionesPid[k]);
         }
     }
 
     /**
-     * Política FIFO: Reemplaza las páginas más antiguas
+     * Última parte, en serie y en orden de núcleo: el acceso NUMA. Devuelve
+     * los ticks de penalización, como accederMemoria.
      */
-    private List<Integer> aplicarFIFO(int cantidad) {
-        System.out.println("Aplicando FIFO para liberar " + cantidad + " páginas...");
+    public int terminarAcceso(int nucleo) {
+        return terminarAcceso(nucleo, accesosNucleo[nucleo]);
+    }
 
-        List<Pagina> paginasOcupadas = new ArrayList<>();
-        for (Pagina p : tablaPaginas) {
-            if (!p.isLibre()) {
-                paginasOcupadas.add(p);
+    // Todo lo compartido antes de la TLB; deja acceso.accesos en null si no hay nada que traducir
+    private void iniciarAcceso(Proceso proceso, int nucleo, AccesoNucleo acceso) {
+        acceso.accesos = null;
+        if (!isPaginado()) {
+            return;
+        }
+        int pid = proceso.getPid();
+        long posicion = posicionReferencia++;
+        if (referenciasGrabadas != null) {
+            if (cantidadGrabadas == referenciasGrabadas.length) {
+                referenciasGrabadas = Arrays.copyOf(referenciasGrabadas, cantidadGrabadas * 2);
             }
+            referenciasGrabadas[cantidadGrabadas++] = pid;
         }
 
-        if (paginasOcupadas.size() < cantidad) {
-            return null; // No hay suficientes páginas para reemplazar
+        List<Integer> paginas = tablaPaginasPorProceso.get(pid);
+        if (paginas == null) {
+            return;
+        }
+        // Solo se actualizan los campos: la víctima se busca al expulsar
+        long proximo = proximoUso(pid, posicion + 1);
+        for (int i = 0, n = paginas.size(); i < n; i++) {
+            Pagina p = tablaPaginas[paginas.get(i)];
+            envejecer(p);
+            p.ultimoAcceso = contadorTiempo++;
+            p.referenciada = true;
+            p.frecuencia++;
+            p.proximoUso = proximo;
         }
 
-        // Ordenar por tiempo de asignación (más antiguas primero)
-        paginasOcupadas.sort(Comparator.comparingLong(p -> p.tiempoAsignacion));
-
-        List<Integer> paginasLiberadas = new ArrayList<>();
-        for (int i = 0; i < cantidad; i++) {
-            Pagina p = paginasOcupadas.get(i);
-            int pid = p.pidProceso;
-
-            // Remover de la tabla del proceso
-            tablaPaginasPorProceso.get(pid).remove(Integer.valueOf(p.numeroPagina));
-
-            // Liberar la página
-            p.pidProceso = null;
-            paginasLiberadas.add(p.numeroPagina);
+        boolean porDemanda = modo == ModoMemoria.PAGINACION_DEMANDA;
+        boolean conTLB = nucleo >= 0 && nucleo < tlbs.length;
+        boolean conNUMA = nucleo >= 0 && numa != null;
+        int[] tablaVirtual = tablaVirtualPorProceso.get(pid);
+        if (porDemanda ? tablaVirtual == null || tablaVirtual.length == 0
+                : paginas.isEmpty() || (!conTLB && !conNUMA && modo != ModoMemoria.PAGINACION)) {
+            return;
+        }
+        AccesosProceso a = accesosPorProceso.computeIfAbsent(pid, k -> new AccesosProceso());
+        if (a.penalizacionPendiente > 0) {
+            // Tick de penalización de un acceso anterior: el proceso sigue
+            // esperando (disco, tabla de páginas o memoria remota) y no accede
+            a.penalizacionPendiente--;
+            return;
+        }
+        int penalizacion = 0;
+        int paginaVirtual;
+        int marco;
+        long referencia = a.referencias++;
+        if (porDemanda) {
+            paginaVirtual = (int) ((referencia / TICKS_POR_PAGINA) % tablaVirtual.length);
+            if (tablaVirtual[paginaVirtual] == -1) {
+                int[] region = paginaVirtual < paginasRegion(proceso, tablaVirtual.length)
+                        ? regionesCompartidas.get(proceso.getImagen()) : null;
+                if (region != null && paginaVirtual < region.length && region[paginaVirtual] != -1) {
+                    // Otro proceso de la misma imagen ya la cargó: solo se mapea
+                    mapearCompartido(pid, paginaVirtual, region[paginaVirtual]);
+                } else if (cargarPagina(proceso, paginaVirtual, nucleo)) {
+                    penalizacion += COSTO_FALLO_PAGINA;
+                } else {
+                    return; // sin marcos posibles: se reintenta en el próximo acceso
+                }
+            }
+            marco = tablaVirtual[paginaVirtual];
+        } else {
+            paginaVirtual = (int) ((referencia / TICKS_POR_PAGINA) % paginas.size());
+            marco = paginas.get(paginaVirtual);
+        }
+        boolean escritura = referencia % TICKS_POR_PAGINA == TICKS_POR_PAGINA - 1;
+        if (escritura && tablaPaginas[marco].isCopiaEnEscritura()) {
+            int copia = copiarEnEscritura(pid, tablaPaginas[marco].paginaVirtual, nucleo);
+            if (copia != -1) {
+                marco = copia;
+                penalizacion += COSTO_FALLO_PAGINA;
+            }
+        }
+        acceso.accesos = a;
+        acceso.pid = pid;
+        acceso.paginaVirtual = paginaVirtual;
+        acceso.marco = marco;
+        acceso.penalizacion = penalizacion;
+    }
 
-            System.out.println("FIFO: Página " + p.numeroPagina + " (PID " + pid + ") reemplazada");
+    private static void traducir(TLB tlb, AccesoNucleo acceso) {
+        if (tlb.traducir(acceso.pid, acceso.paginaVirtual)) {
+            acceso.accesos.aciertosTLB++;
+        } else {
+            acceso.accesos.fallosTLB++;
+            acceso.penalizacion += tlb.getConfiguracion().costoFallo;
         }
+    }
 
-        return paginasLiberadas;
+    private int terminarAcceso(int nucleo, AccesoNucleo acceso) {
+        AccesosProceso a = acceso.accesos;
+        if (a == null) {
+            return 0;
+        }
+        if (nucleo >= 0 && numa != null) {
+            int costo = numa.registrarAcceso(nucleo, acceso.marco);
+            if (costo == 0) {
+                a.locales++;
+            } else {
+                a.remotos++;
+            }
+            acceso.penalizacion += costo;
+        }
+        a.penalizacionPendiente = acceso.penalizacion;
+        return acceso.penalizacion;
     }
 
     /**
-     * Política LRU: Reemplaza las páginas menos recientemente usadas
+     * Tasa de aciertos de TLB de un proceso (0 si nunca tradujo)
      */
-    private List<Integer> aplicarLRU(int cantidad) {
-        System.out.println("Aplicando LRU para liberar " + cantidad + " páginas...");
+    public double getTasaAciertosTLB(int pid) {
+        AccesosProceso a = accesosPorProceso.get(pid);
+        return a == null || a.aciertosTLB + a.fallosTLB == 0 ? 0
+                : a.aciertosTLB / (double) (a.aciertosTLB + a.fallosTLB);
+    }
 
-        List<Pagina> paginasOcupadas = new ArrayList<>();
-        for (Pagina p : tablaPaginas) {
-            if (!p.isLibre()) {
-                paginasOcupadas.add(p);
-            }
+    /**
+     * Tasa de aciertos global de todas las TLB (-1 si no hay TLB)
+     */
+    public double getTasaAciertosTLB() {
+        long aciertos = 0, total = 0;
+        for (TLB tlb : tlbs) {
+            aciertos += tlb.getAciertos();
+            total += tlb.getAciertos() + tlb.getFallos();
         }
+        return tlbs.length == 0 ? -1 : total == 0 ? 0 : aciertos / (double) total;
+    }
 
-        if (paginasOcupadas.size() < cantidad) {
-            return null;
+    /**
+     * Reporte de TLB por núcleo y por proceso, para las estadísticas finales
+     */
+    public String getReporteTLB() {
+        if (tlbs.length == 0) {
+            return "• Sin TLB\n";
         }
-
-        // Ordenar por último acceso (menos recientes primero)
-        paginasOcupadas.sort(Comparator.comparingLong(p -> p.ultimoAcceso));
-
-        List<Integer> paginasLiberadas = new ArrayList<>();
-        for (int i = 0; i < cantidad; i++) {
-            Pagina p = paginasOcupadas.get(i);
-            int pid = p.pidProceso;
-
-            tablaPaginasPorProceso.get(pid).remove(Integer.valueOf(p.numeroPagina));
-            p.pidProceso = null;
-            paginasLiberadas.add(p.numeroPagina);
-
-            System.out.println("LRU: Página " + p.numeroPagina + " (PID " + pid + ") reemplazada");
+        StringBuilder sb = new StringBuilder();
+        sb.append("• Config: ").append(tlbs[0].getConfiguracion()).append('\n');
+        for (int i = 0; i < tlbs.length; i++) {
+            TLB tlb = tlbs[i];
+            sb.append(String.format("• Núcleo %d: aciertos %5.1f%% (%d/%d) | vaciados: %d\n",
+                    i, tlb.getTasaAciertos() * 100, tlb.getAciertos(),
+                    tlb.getAciertos() + tlb.getFallos(), tlb.getVaciados()));
+        }
+        List<Integer> pids = new ArrayList<>(accesosPorProceso.keySet());
+        Collections.sort(pids);
+        for (int pid : pids) {
+            AccesosProceso a = accesosPorProceso.get(pid);
+            sb.append(String.format("  P%d: %5.1f%% (%d/%d)\n",
+                    pid, getTasaAciertosTLB(pid) * 100, a.aciertosTLB, a.aciertosTLB + a.fallosTLB));
         }
+        return sb.toString();
+    }
 
-        return paginasLiberadas;
+    /**
+     * Proporción de accesos locales de un proceso (0 si nunca accedió)
+     */
+    public double getProporcionAccesosLocales(int pid) {
+        AccesosProceso a = accesosPorProceso.get(pid);
+        return a == null || a.locales + a.remotos == 0 ? 0 : a.locales / (double) (a.locales + a.remotos);
+    }
+
+    /**
+     * Proporción global de accesos locales (-1 si no hay NUMA)
+     */
+    public double getProporcionAccesosLocales() {
+        return numa == null ? -1 : numa.getProporcionLocal();
     }
 
     /**
-     * Simula un acceso a memoria (actualiza LRU)
+     * Reporte NUMA por nodo y por proceso, para las estadísticas finales
      */
-    public void accederMemoria(Proceso proceso) {
-        if (modo == ModoMemoria.PAGINACION && tablaPaginasPorProceso.containsKey(proceso.getPid())) {
-            List<Integer> paginas = tablaPaginasPorProceso.get(proceso.getPid());
-            for (Integer numPagina : paginas) {
-                tablaPaginas[numPagina].ultimoAcceso = contadorTiempo++;
+    public String getReporteNUMA() {
+        if (numa == null) {
+            return isPaginado() ? "• Memoria uniforme (un nodo)\n"
+                    : "• Sin NUMA (los nodos se forman con los marcos de paginación)\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("• Config: ").append(numa.getConfiguracion()).append('\n');
+        for (int n = 0; n < numa.getNodos(); n++) {
+            long locales = numa.getLocales(n);
+            long total = locales + numa.getRemotos(n);
+            sb.append(String.format("• Nodo %d: marcos %d-%d | accesos locales %5.1f%% (%d/%d)\n",
+                    n, numa.primerMarco(n), numa.finMarcos(n) - 1,
+                    total == 0 ? 0 : locales * 100.0 / total, locales, total));
+        }
+        List<Integer> pids = new ArrayList<>(accesosPorProceso.keySet());
+        Collections.sort(pids);
+        for (int pid : pids) {
+            AccesosProceso a = accesosPorProceso.get(pid);
+            if (a.locales + a.remotos > 0) {
+                sb.append(String.format("  P%d: locales %5.1f%% (%d/%d)\n",
+                        pid, getProporcionAccesosLocales(pid) * 100, a.locales, a.locales + a.remotos));
             }
         }
+        return sb.toString();
     }
 
     /**
      * Retorna todos los bloques de memoria para visualización
      */
     public List<BloqueMemoria> getTodosLosBloques() {
-        if (modo == ModoMemoria.PAGINACION) {
+        if (isPaginado()) {
             List<BloqueMemoria> bloques = new ArrayList<>();
             int i = 0;
 
@@ -344,6 +1907,7 @@ public class GestorMemoria {
                         //TODO: dejar que el usuario decida el tamaño de página al seleccionar modo paginación
                         paginaActual.pidProceso // pidProceso (puede ser null si está libre)
                 );
+                bloque.segmento = paginaActual.segmento;
                 bloques.add(bloque);
                 i++;
             }
@@ -353,8 +1917,21 @@ public class GestorMemoria {
 
         } else {
             // Combinar bloques libres y ocupados ordenados
+            // (los slabs se muestran objeto por objeto)
             List<BloqueMemoria> todos = new ArrayList<>();
-            todos.addAll(bloquesOcupados);
+            for (BloqueMemoria b : bloquesOcupados) {
+                if (b.pidProceso != PID_SLAB) {
+                    todos.add(b);
+                }
+            }
+            for (ClaseSlab clase : clasesSlab) {
+                for (Slab slab : clase.slabs) {
+                    for (int i = 0; i < slab.objetos; i++) {
+                        todos.add(new BloqueMemoria(slab.bloque.id, slab.bloque.inicio + i * slab.tamanoObjeto,
+                                slab.tamanoObjeto, slab.pids[i] == 0 ? null : slab.pids[i]));
+                    }
+                }
+            }
             todos.addAll(bloquesLibres);
             todos.sort(Comparator.comparingInt(b -> b.inicio));
 
@@ -367,11 +1944,12 @@ public class GestorMemoria {
      * Libera la memoria de un proceso
      */
     public void liberarMemoria(Proceso proceso) {
-        if (modo == ModoMemoria.PAGINACION) {
+        if (isPaginado()) {
             liberarMemoriaPaginacion(proceso);
-        } else {
+        } else if (!liberarObjetoSlab(proceso)) {
             liberarMemoriaParticionDinamica(proceso);
         }
+        tablaSegmentosPorProceso.remove(proceso.getPid());
     }
 
     private void liberarMemoriaParticionDinamica(Proceso proceso) {
@@ -388,6 +1966,9 @@ public class GestorMemoria {
         }
 
         for (BloqueMemoria bloque : bloquesRecienLiberados) {
+            if (diario != null) {
+                diario.registrar(DiarioEventos.Tipo.LIBERACION, -1, proceso.getPid(), bloque.inicio, bloque.tamano);
+            }
             bloquesLibres.add(new BloqueMemoria(
                     bloque.id,
                     bloque.getInicio(),
@@ -406,12 +1987,16 @@ public class GestorMemoria {
             return;
         }
 
+        // Las compartidas solo pierden una referencia
         List<Integer> paginas = tablaPaginasPorProceso.get(proceso.getPid());
         for (Integer numPagina : paginas) {
-            tablaPaginas[numPagina].pidProceso = null;
+            desmapear(tablaPaginas[numPagina], proceso.getPid());
         }
 
         tablaPaginasPorProceso.remove(proceso.getPid());
+        tablaVirtualPorProceso.remove(proceso.getPid());
+        nodoPorProceso.remove(proceso.getPid());
+        invalidarTLB(proceso.getPid());
         System.out.println(paginas.size() + " páginas liberadas");
     }
 
@@ -445,7 +2030,7 @@ public class GestorMemoria {
      */
     // En GestorMemoria.java
     public int calcularMemoriaUsada() {
-        if (modo == ModoMemoria.PAGINACION) {
+        if (isPaginado()) {
             // Contar páginas ocupadas usando !isLibre()
             int paginasOcupadas = 0;
             for (Pagina p : tablaPaginas) {
@@ -465,7 +2050,7 @@ public class GestorMemoria {
     }
 
     public int calcularFragmentacionExterna() {
-        if (modo == ModoMemoria.PAGINACION) {
+        if (isPaginado()) {
             return 0; // La paginación elimina la fragmentación externa
         }
 
@@ -483,12 +2068,34 @@ public class GestorMemoria {
 
     /**
      * Calcula la fragmentación interna (solo para paginación) La fragmentación
-     * interna ocurre en la última página de cada proceso
+     * interna ocurre en la última página de cada proceso (en segmentación
+     * paginada, en la última de cada segmento, y se conoce exacta)
      */
     public int calcularFragmentacionInterna() {
-        if (modo != ModoMemoria.PAGINACION) {
+        if (modo == ModoMemoria.SLAB) {
+            // Lo que sobra de cada objeto ocupado
+            int total = 0;
+            for (ClaseSlab clase : clasesSlab) {
+                for (Slab slab : clase.slabs) {
+                    for (int i = 0; i < slab.objetos; i++) {
+                        if (slab.pids[i] != 0) {
+                            total += slab.tamanoObjeto - slab.pedidos[i];
+                        }
+                    }
+                }
+            }
+            return total;
+        }
+        if (!isPaginado()) {
             return 0; // No hay fragmentación interna en partición dinámica
         }
+        if (modo == ModoMemoria.SEGMENTACION_PAGINADA) {
+            int total = 0;
+            for (Segmento.Tipo tipo : Segmento.Tipo.values()) {
+                total += fragmentacionInternaSegmento(tipo);
+            }
+            return total;
+        }
 
         int fragmentacionTotal = 0;
 
@@ -512,6 +2119,230 @@ public class GestorMemoria {
         return fragmentacionTotal;
     }
 
+    /**
+     * Agrega las métricas del gestor al registro (reemplaza las de un gestor
+     * anterior con el mismo nombre)
+     */
+    public void registrarMetricas(RegistroMetricas registro) {
+        registro.agregar(fallosPagina);
+        registro.agregar(reemplazos);
+        registro.agregar(fallosAsignacion);
+        registro.agregar(mapeosCompartidos);
+        registro.agregar(copiasEnEscritura);
+        registro.agregar(longitudBusqueda);
+        for (int i = 0; i < asignacionesSegmento.length; i++) {
+            registro.agregar(asignacionesSegmento[i]);
+            registro.agregar(fallosSegmento[i]);
+        }
+    }
+
+    /**
+     * MB del proceso que hoy están en memoria física (páginas residentes o,
+     * sin paginación, sus particiones)
+     */
+    public int getTamanoResidente(int pid) {
+        if (isPaginado()) {
+            List<Integer> paginas = tablaPaginasPorProceso.get(pid);
+            return paginas == null ? 0 : paginas.size() * TAMANO_PAGINA;
+        }
+        Slab slab = slabPorProceso.get(pid);
+        int total = slab == null ? 0 : slab.tamanoObjeto;
+        for (BloqueMemoria b : bloquesOcupados) {
+            if (b.pidProceso == pid) {
+                total += b.tamano;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * MB del espacio de direcciones del proceso (sus páginas virtuales; sin
+     * paginación es lo mismo que el residente)
+     */
+    public int getTamanoVirtual(int pid) {
+        if (!isPaginado()) {
+            return getTamanoResidente(pid);
+        }
+        int[] tabla = tablaVirtualPorProceso.get(pid);
+        return tabla == null ? 0 : tabla.length * TAMANO_PAGINA;
+    }
+
+    /**
+     * Suma del tamaño virtual de los procesos cargados
+     */
+    public int calcularMemoriaVirtual() {
+        if (!isPaginado()) {
+            return calcularMemoriaUsada();
+        }
+        int total = 0;
+        for (int[] tabla : tablaVirtualPorProceso.values()) {
+            total += tabla.length * TAMANO_PAGINA;
+        }
+        return total;
+    }
+
+    /**
+     * Reporte de tamaño residente (máximo alcanzado) contra virtual por
+     * proceso, para las estadísticas finales
+     */
+    public String getReporteMemoriaVirtual() {
+        if (!isPaginado()) {
+            return "• Sin paginación (residente = virtual)\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("• Fallos de página: %d | virtual cargada hoy: %d MB sobre %d MB físicos\n",
+                fallosPagina.get(), calcularMemoriaVirtual(), tamanoTotal));
+        List<Integer> pids = new ArrayList<>(accesosPorProceso.keySet());
+        Collections.sort(pids);
+        for (int pid : pids) {
+            AccesosProceso a = accesosPorProceso.get(pid);
+            if (a.paginasVirtuales > 0) {
+                sb.append(String.format("  P%d: residente máx. %d MB de %d MB virtuales (%.0f%%) | fallos: %d\n",
+                        pid, a.maxResidentes * TAMANO_PAGINA, a.paginasVirtuales * TAMANO_PAGINA,
+                        a.maxResidentes * 100.0 / a.paginasVirtuales, a.fallosPagina));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Marcos mapeados por más de un proceso
+     */
+    public int contarMarcosCompartidos() {
+        int compartidos = 0;
+        for (Pagina p : tablaPaginas) {
+            if (p.referencias > 1) {
+                compartidos++;
+            }
+        }
+        return compartidos;
+    }
+
+    /**
+     * MB que ocuparían de más las páginas compartidas si cada proceso tuviera
+     * su copia (una por cada referencia extra)
+     */
+    public int calcularMemoriaAhorrada() {
+        int extra = 0;
+        for (Pagina p : tablaPaginas) {
+            if (p.referencias > 1) {
+                extra += p.referencias - 1;
+            }
+        }
+        return extra * TAMANO_PAGINA;
+    }
+
+    public long getCopiasEnEscritura() {
+        return copiasEnEscritura.get();
+    }
+
+    /**
+     * Reporte de páginas compartidas (regiones de imágenes y herencias por
+     * fork), para las estadísticas finales
+     */
+    public String getReporteCompartidas() {
+        if (modo != ModoMemoria.PAGINACION && modo != ModoMemoria.PAGINACION_DEMANDA) {
+            return "• Solo en Paginación y Paginación por Demanda\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("• Marcos compartidos: %d | ahorro: %d MB | mapeos compartidos: %d | copias en escritura: %d\n",
+                contarMarcosCompartidos(), calcularMemoriaAhorrada(), mapeosCompartidos.get(), copiasEnEscritura.get()));
+        List<Integer> imagenes = new ArrayList<>(regionesCompartidas.keySet());
+        Collections.sort(imagenes);
+        for (int imagen : imagenes) {
+            int residentes = 0;
+            int maxReferencias = 0;
+            for (int marco : regionesCompartidas.get(imagen)) {
+                if (marco != -1) {
+                    residentes++;
+                    maxReferencias = Math.max(maxReferencias, tablaPaginas[marco].referencias);
+                }
+            }
+            sb.append(String.format("  Imagen %d: %d de %d páginas residentes, hasta %d procesos por marco\n",
+                    imagen, residentes, regionesCompartidas.get(imagen).length, maxReferencias));
+        }
+        List<Integer> pids = new ArrayList<>(accesosPorProceso.keySet());
+        Collections.sort(pids);
+        for (int pid : pids) {
+            long copias = accesosPorProceso.get(pid).copiasEnEscritura;
+            if (copias > 0) {
+                sb.append(String.format("  P%d: %d páginas copiadas al escribir\n", pid, copias));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Tabla de segmentos del proceso (vacía si no está cargado o el modo no
+     * es de segmentación)
+     */
+    public List<Segmento> getTablaSegmentos(int pid) {
+        List<Segmento> tabla = tablaSegmentosPorProceso.get(pid);
+        return tabla == null ? Collections.emptyList() : Collections.unmodifiableList(tabla);
+    }
+
+    /**
+     * MB ocupados hoy por los segmentos de un tipo (en segmentación paginada,
+     * páginas residentes)
+     */
+    public int calcularMemoriaSegmento(Segmento.Tipo tipo) {
+        int total = 0;
+        for (List<Segmento> tabla : tablaSegmentosPorProceso.values()) {
+            for (Segmento seg : tabla) {
+                if (seg.tipo == tipo) {
+                    total += seg.marcos == null ? seg.limite : seg.marcos.size() * TAMANO_PAGINA;
+                }
+            }
+        }
+        return total;
+    }
+
+    // Lo que sobra en la última página de cada segmento residente completo
+    private int fragmentacionInternaSegmento(Segmento.Tipo tipo) {
+        int total = 0;
+        for (List<Segmento> tabla : tablaSegmentosPorProceso.values()) {
+            for (Segmento seg : tabla) {
+                int paginas = (int) Math.ceil(seg.limite / (double) TAMANO_PAGINA);
+                if (seg.tipo == tipo && seg.marcos != null && seg.marcos.size() == paginas) {
+                    total += paginas * TAMANO_PAGINA - seg.limite;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Reporte por tipo de segmento, para las estadísticas finales
+     */
+    public String getReporteSegmentos() {
+        if (modo != ModoMemoria.SEGMENTACION && modo != ModoMemoria.SEGMENTACION_PAGINADA) {
+            return "• Sin segmentación\n";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Segmento.Tipo tipo : Segmento.Tipo.values()) {
+            int i = tipo.ordinal();
+            sb.append(String.format("• %-7s asignados: %d | fallos: %d | en uso: %d MB",
+                    tipo, asignacionesSegmento[i].get(), fallosSegmento[i].get(), calcularMemoriaSegmento(tipo)));
+            if (modo == ModoMemoria.SEGMENTACION_PAGINADA) {
+                sb.append(" | frag. interna: ").append(fragmentacionInternaSegmento(tipo)).append(" MB");
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    public long getFallosPagina() {
+        return fallosPagina.get();
+    }
+
+    public long getReemplazos() {
+        return reemplazos.get();
+    }
+
+    public long getFallosAsignacion() {
+        return fallosAsignacion.get();
+    }
+
     public Map<String, Object> getEstadisticas() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("modo", modo);
@@ -519,10 +2350,47 @@ public class GestorMemoria {
         stats.put("memoriaTotal", tamanoTotal);
         stats.put("memoriaUsada", calcularMemoriaUsada());
         stats.put("memoriaLibre", tamanoTotal - calcularMemoriaUsada());
+        stats.put("memoriaVirtual", calcularMemoriaVirtual());
         stats.put("fragmentacionExterna", calcularFragmentacionExterna());
         stats.put("fragmentacionInterna", calcularFragmentacionInterna());
+        stats.put("fallosPagina", fallosPagina.get());
+        stats.put("reemplazos", reemplazos.get());
+        stats.put("fallosAsignacion", fallosAsignacion.get());
+        stats.put("marcosCompartidos", contarMarcosCompartidos());
+        stats.put("memoriaAhorrada", calcularMemoriaAhorrada());
+        stats.put("copiasEnEscritura", copiasEnEscritura.get());
+        stats.put("longitudBusquedaPromedio", longitudBusqueda.getPromedio());
+        stats.put("tasaAciertosTLB", getTasaAciertosTLB());
+        stats.put("proporcionAccesosLocales", getProporcionAccesosLocales());
+
+        if (modo == ModoMemoria.SEGMENTACION || modo == ModoMemoria.SEGMENTACION_PAGINADA) {
+            for (Segmento.Tipo tipo : Segmento.Tipo.values()) {
+                String clave = "segmento." + tipo.name().toLowerCase();
+                stats.put(clave + ".asignaciones", asignacionesSegmento[tipo.ordinal()].get());
+                stats.put(clave + ".fallos", fallosSegmento[tipo.ordinal()].get());
+                stats.put(clave + ".memoria", calcularMemoriaSegmento(tipo));
+                if (modo == ModoMemoria.SEGMENTACION_PAGINADA) {
+                    stats.put(clave + ".fragmentacionInterna", fragmentacionInternaSegmento(tipo));
+                }
+            }
+        }
+
+        if (modo == ModoMemoria.SLAB) {
+            for (ClaseSlab clase : clasesSlab) {
+                String clave = "slab." + clase.tamano + "MB";
+                int objetos = objetosSlab(clase, false);
+                int ocupados = objetosSlab(clase, true);
+                stats.put(clave + ".slabs", clase.slabs.size());
+                stats.put(clave + ".objetos", objetos);
+                stats.put(clave + ".ocupados", ocupados);
+                stats.put(clave + ".ocupacion", objetos == 0 ? 0.0 : ocupados / (double) objetos);
+                stats.put(clave + ".desperdicio", desperdicioSlab(clase));
+                stats.put(clave + ".asignaciones", clase.asignaciones);
+            }
+            stats.put("slab.asignacionesGenerales", asignacionesGenerales);
+        }
 
-        if (modo == ModoMemoria.PAGINACION) {
+        if (isPaginado()) {
             int paginasLibres = 0;
             for (Pagina p : tablaPaginas) {
                 if (p.isLibre()) {
@@ -536,4 +2404,348 @@ public class GestorMemoria {
 
         return stats;
     }
+
+    /**
+     * Escribe el estado completo del gestor (bloques, páginas, TLB, NUMA,
+     * accesos por proceso) en binario, para los checkpoints de la simulación.
+     * Los contadores de métricas van aparte, con el registro de métricas.
+     */
+    public void escribirEstado(DataOutput out) throws IOException {
+        out.writeInt(tamanoTotal);
+        out.writeByte(modo.ordinal());
+        out.writeByte(politicaReemplazo.ordinal());
+        out.writeInt(proximoIdBloque);
+        out.writeLong(contadorTiempo);
+        out.writeInt(manecilla);
+        out.writeLong(posicionReferencia);
+
+        escribirBloques(out, bloquesLibres);
+        escribirBloques(out, bloquesOcupados);
+
+        for (Pagina p : tablaPaginas) {
+            if (!p.isLibre()) {
+                envejecer(p); // se guarda la edad al día
+            }
+            out.writeInt(p.pidProceso == null ? -1 : p.pidProceso);
+            out.writeLong(p.ultimoAcceso);
+            out.writeLong(p.tiempoAsignacion);
+            out.writeBoolean(p.referenciada);
+            out.writeByte(p.edad);
+            out.writeLong(p.frecuencia);
+            out.writeByte(p.segmento == null ? -1 : p.segmento.ordinal());
+            out.writeInt(p.paginaVirtual);
+            out.writeInt(p.referencias);
+            out.writeInt(p.imagen);
+            if (p.referencias > 1) {
+                for (int pid : p.compartidaCon) {
+                    out.writeInt(pid);
+                }
+            }
+        }
+
+        out.writeInt(tablaPaginasPorProceso.size());
+        for (Map.Entry<Integer, List<Integer>> entry : tablaPaginasPorProceso.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Integer numPagina : entry.getValue()) {
+                out.writeInt(numPagina);
+            }
+        }
+
+        out.writeInt(tablaVirtualPorProceso.size());
+        for (Map.Entry<Integer, int[]> entry : tablaVirtualPorProceso.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            for (int marco : entry.getValue()) {
+                out.writeInt(marco);
+            }
+        }
+
+        out.writeInt(regionesCompartidas.size());
+        for (Map.Entry<Integer, int[]> entry : regionesCompartidas.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue().length);
+            for (int marco : entry.getValue()) {
+                out.writeInt(marco);
+            }
+        }
+
+        // Slabs: el bloque se ubica por su inicio entre los ocupados
+        out.writeInt(clasesSlab.length);
+        for (ClaseSlab clase : clasesSlab) {
+            out.writeInt(clase.tamano);
+            out.writeLong(clase.asignaciones);
+            out.writeInt(clase.slabs.size());
+            for (Slab slab : clase.slabs) {
+                out.writeInt(slab.bloque.inicio);
+                out.writeInt(slab.objetos);
+                out.writeLong(slab.libres);
+                for (int i = 0; i < slab.objetos; i++) {
+                    out.writeInt(slab.pids[i]);
+                    out.writeInt(slab.pedidos[i]);
+                }
+            }
+        }
+        out.writeLong(asignacionesGenerales);
+
+        out.writeInt(tablaSegmentosPorProceso.size());
+        for (Map.Entry<Integer, List<Segmento>> entry : tablaSegmentosPorProceso.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Segmento seg : entry.getValue()) {
+                out.writeByte(seg.tipo.ordinal());
+                out.writeInt(seg.base);
+                out.writeInt(seg.limite);
+                out.writeInt(seg.marcos == null ? -1 : seg.marcos.size());
+                if (seg.marcos != null) {
+                    for (int marco : seg.marcos) {
+                        out.writeInt(marco);
+                    }
+                }
+            }
+        }
+
+        // TLB (con su contenido) y NUMA, así los aciertos y los accesos
+        // locales/remotos siguen donde estaban al reanudar
+        out.writeInt(tlbs.length);
+        if (tlbs.length > 0) {
+            out.writeUTF(tlbs[0].getConfiguracion().toString());
+            for (TLB tlb : tlbs) {
+                tlb.escribirEstado(out);
+            }
+        }
+        out.writeBoolean(numa != null);
+        if (numa != null) {
+            out.writeUTF(numa.getConfiguracion().toString());
+            out.writeInt(numa.getNumNucleos());
+            numa.escribirContadores(out);
+        }
+        out.writeInt(proximoNodoIntercalado);
+        out.writeInt(nodoPorProceso.size());
+        for (Map.Entry<Integer, Integer> entry : nodoPorProceso.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+
+        out.writeInt(accesosPorProceso.size());
+        for (Map.Entry<Integer, AccesosProceso> entry : accesosPorProceso.entrySet()) {
+            AccesosProceso a = entry.getValue();
+            out.writeInt(entry.getKey());
+            out.writeLong(a.referencias);
+            out.writeLong(a.aciertosTLB);
+            out.writeLong(a.fallosTLB);
+            out.writeLong(a.locales);
+            out.writeLong(a.remotos);
+            out.writeInt(a.penalizacionPendiente);
+            out.writeInt(a.paginasVirtuales);
+            out.writeInt(a.maxResidentes);
+            out.writeLong(a.fallosPagina);
+            out.writeLong(a.copiasEnEscritura);
+        }
+    }
+
+    /**
+     * Reconstruye un gestor a partir de lo escrito por escribirEstado()
+     */
+    public static GestorMemoria leerEstado(DataInput in) throws IOException {
+        GestorMemoria gestor = new GestorMemoria(in.readInt());
+        gestor.modo = ModoMemoria.values()[in.readByte()];
+        gestor.politicaReemplazo = PoliticaReemplazo.values()[in.readByte()];
+        gestor.proximoIdBloque = in.readInt();
+        gestor.contadorTiempo = in.readLong();
+        gestor.manecilla = in.readInt();
+        gestor.posicionReferencia = in.readLong();
+
+        gestor.bloquesLibres = leerBloques(in);
+        gestor.bloquesOcupados = leerBloques(in);
+
+        for (Pagina p : gestor.tablaPaginas) {
+            int pid = in.readInt();
+            p.pidProceso = pid == -1 ? null : pid;
+            p.ultimoAcceso = in.readLong();
+            p.tiempoAsignacion = in.readLong();
+            p.referenciada = in.readBoolean();
+            p.edad = in.readUnsignedByte();
+            p.frecuencia = in.readLong();
+            p.segmento = leerTipoSegmento(in);
+            p.paginaVirtual = in.readInt();
+            p.referencias = in.readInt();
+            p.imagen = in.readInt();
+            if (p.referencias > 1) {
+                p.compartidaCon = new ArrayList<>(p.referencias - 1);
+                for (int j = 1; j < p.referencias; j++) {
+                    p.compartidaCon.add(in.readInt());
+                }
+            }
+        }
+
+        int procesos = in.readInt();
+        for (int i = 0; i < procesos; i++) {
+            int pid = in.readInt();
+            int n = in.readInt();
+            List<Integer> paginas = new ArrayList<>(n);
+            for (int j = 0; j < n; j++) {
+                paginas.add(in.readInt());
+            }
+            gestor.tablaPaginasPorProceso.put(pid, paginas);
+        }
+
+        procesos = in.readInt();
+        for (int i = 0; i < procesos; i++) {
+            int pid = in.readInt();
+            int[] tabla = new int[in.readInt()];
+            for (int j = 0; j < tabla.length; j++) {
+                tabla[j] = in.readInt();
+            }
+            gestor.tablaVirtualPorProceso.put(pid, tabla);
+        }
+
+        int imagenes = in.readInt();
+        for (int i = 0; i < imagenes; i++) {
+            int imagen = in.readInt();
+            int[] region = new int[in.readInt()];
+            for (int j = 0; j < region.length; j++) {
+                region[j] = in.readInt();
+            }
+            gestor.regionesCompartidas.put(imagen, region);
+        }
+
+        Map<Integer, BloqueMemoria> bloquesSlab = new HashMap<>();
+        for (BloqueMemoria b : gestor.bloquesOcupados) {
+            if (b.pidProceso == PID_SLAB) {
+                bloquesSlab.put(b.inicio, b);
+            }
+        }
+        int[] tamanos = new int[in.readInt()];
+        List<List<Slab>> slabsPorClase = new ArrayList<>();
+        long[] asignacionesClase = new long[tamanos.length];
+        for (int c = 0; c < tamanos.length; c++) {
+            tamanos[c] = in.readInt();
+            asignacionesClase[c] = in.readLong();
+            List<Slab> slabs = new ArrayList<>();
+            int cantidad = in.readInt();
+            for (int j = 0; j < cantidad; j++) {
+                BloqueMemoria bloque = bloquesSlab.get(in.readInt());
+                if (bloque == null) {
+                    throw new IOException("Checkpoint inválido: slab sin bloque");
+                }
+                Slab slab = new Slab(bloque, tamanos[c], in.readInt());
+                slab.libres = in.readLong();
+                for (int k = 0; k < slab.objetos; k++) {
+                    slab.pids[k] = in.readInt();
+                    slab.pedidos[k] = in.readInt();
+                    if (slab.pids[k] != 0) {
+                        gestor.slabPorProceso.put(slab.pids[k], slab);
+                        gestor.objetoPorProceso.put(slab.pids[k], k);
+                    }
+                }
+                slabs.add(slab);
+            }
+            slabsPorClase.add(slabs);
+        }
+        gestor.clasesSlab = crearClasesSlab(tamanos);
+        for (int c = 0; c < tamanos.length; c++) {
+            ClaseSlab clase = gestor.clasesSlab[c];
+            clase.asignaciones = asignacionesClase[c];
+            for (Slab slab : slabsPorClase.get(c)) {
+                clase.slabs.add(slab);
+                if (slab.libres != 0) {
+                    clase.parciales.addLast(slab);
+                    slab.enParciales = true;
+                }
+            }
+        }
+        gestor.asignacionesGenerales = in.readLong();
+
+        procesos = in.readInt();
+        for (int i = 0; i < procesos; i++) {
+            int pid = in.readInt();
+            int n = in.readInt();
+            List<Segmento> tabla = new ArrayList<>(n);
+            for (int j = 0; j < n; j++) {
+                Segmento.Tipo tipo = Segmento.Tipo.values()[in.readByte()];
+                int base = in.readInt();
+                int limite = in.readInt();
+                int cantidadMarcos = in.readInt();
+                List<Integer> marcos = null;
+                if (cantidadMarcos >= 0) {
+                    marcos = new ArrayList<>(cantidadMarcos);
+                    for (int k = 0; k < cantidadMarcos; k++) {
+                        marcos.add(in.readInt());
+                    }
+                }
+                tabla.add(new Segmento(tipo, base, limite, marcos));
+            }
+            gestor.tablaSegmentosPorProceso.put(pid, tabla);
+        }
+
+        int numTLB = in.readInt();
+        if (numTLB > 0) {
+            TLB.Configuracion config = TLB.Configuracion.desdeTexto(in.readUTF());
+            gestor.tlbs = new TLB[numTLB];
+            for (int i = 0; i < numTLB; i++) {
+                gestor.tlbs[i] = TLB.leerEstado(in, config);
+            }
+        }
+        if (in.readBoolean()) {
+            TopologiaNUMA.Configuracion config = TopologiaNUMA.Configuracion.desdeTexto(in.readUTF());
+            gestor.numa = new TopologiaNUMA(config, in.readInt(), gestor.numPaginasTotal);
+            gestor.numa.leerContadores(in);
+        }
+        gestor.proximoNodoIntercalado = in.readInt();
+        procesos = in.readInt();
+        for (int i = 0; i < procesos; i++) {
+            gestor.nodoPorProceso.put(in.readInt(), in.readInt());
+        }
+
+        procesos = in.readInt();
+        for (int i = 0; i < procesos; i++) {
+            int pid = in.readInt();
+            AccesosProceso a = new AccesosProceso();
+            a.referencias = in.readLong();
+            a.aciertosTLB = in.readLong();
+            a.fallosTLB = in.readLong();
+            a.locales = in.readLong();
+            a.remotos = in.readLong();
+            a.penalizacionPendiente = in.readInt();
+            a.paginasVirtuales = in.readInt();
+            a.maxResidentes = in.readInt();
+            a.fallosPagina = in.readLong();
+            a.copiasEnEscritura = in.readLong();
+            gestor.accesosPorProceso.put(pid, a);
+        }
+        gestor.reconstruirEstructurasReemplazo();
+        return gestor;
+    }
+
+    private static Segmento.Tipo leerTipoSegmento(DataInput in) throws IOException {
+        byte tipo = in.readByte();
+        return tipo == -1 ? null : Segmento.Tipo.values()[tipo];
+    }
+
+    private static void escribirBloques(DataOutput out, List<BloqueMemoria> bloques) throws IOException {
+        out.writeInt(bloques.size());
+        for (BloqueMemoria b : bloques) {
+            out.writeInt(b.id);
+            out.writeInt(b.inicio);
+            out.writeInt(b.tamano);
+            out.writeInt(b.pidProceso == null ? -1 : b.pidProceso);
+            out.writeByte(b.segmento == null ? -1 : b.segmento.ordinal());
+        }
+    }
+
+    private static List<BloqueMemoria> leerBloques(DataInput in) throws IOException {
+        int n = in.readInt();
+        List<BloqueMemoria> bloques = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int id = in.readInt();
+            int inicio = in.readInt();
+            int tamano = in.readInt();
+            int pid = in.readInt();
+            BloqueMemoria bloque = new BloqueMemoria(id, inicio, tamano, pid == -1 ? null : pid);
+            bloque.segmento = leerTipoSegmento(in);
+            bloques.add(bloque);
+        }
+        return bloques;
+    }
 }
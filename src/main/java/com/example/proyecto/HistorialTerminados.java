@@ -0,0 +1,343 @@
+package com.example.proyecto;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Procesos terminados con memoria acotada: los últimos "retenidos" quedan en
+ * la tabla de procesos y los anteriores se pasan a un archivo de páginas
+ * (un registro de tamaño fijo por proceso, con el mismo descriptor que los
+ * checkpoints) y devuelven su ranura. Los promedios se llevan como sumas,
+ * así las estadísticas finales no releen el archivo.
+ *
+ * Escribe un solo hilo (el del motor, o el de JavaFX con el motor detenido).
+ * La tabla de la ventana lee los registros viejos del archivo con lecturas
+ * posicionales, solo hasta la cantidad publicada en su Vista: el archivo
+ * solo crece, así lo publicado no cambia.
+ */
+public class HistorialTerminados implements Closeable {
+
+    public static final int RETENIDOS_POR_DEFECTO = 256;
+    private static final int TAMANO_REGISTRO = 128; // bytes por descriptor, como las ranuras de swap
+    private static final int REGISTROS_POR_PAGINA = 32; // páginas de 4 KB
+    private static final int PAGINAS_EN_CACHE = 8; // páginas completas que guarda el lector
+
+    /**
+     * Un archivo de páginas. Al limpiar el historial se empieza otro, así
+     * una Vista vieja sigue leyendo el suyo hasta que la interfaz la cambia.
+     */
+    static class Archivo implements Closeable {
+
+        private final Path ruta;
+        private final FileChannel canal;
+        private volatile long registros = 0;
+
+        // Solo del lector (hilo de JavaFX)
+        private final TablaProcesos auxiliarLector = new TablaProcesos(1);
+        private final Map<Long, ByteBuffer> paginas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ByteBuffer> mayor) {
+                return size() > PAGINAS_EN_CACHE;
+            }
+        };
+
+        Archivo() throws IOException {
+            this.ruta = Files.createTempFile("simulador-terminados", ".bin");
+            this.ruta.toFile().deleteOnExit();
+            this.canal = FileChannel.open(ruta, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+
+        void agregar(Proceso p) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(TAMANO_REGISTRO);
+            p.escribir(new DataOutputStream(bytes));
+            if (bytes.size() > TAMANO_REGISTRO) {
+                throw new IllegalStateException("Descriptor de proceso demasiado grande para el historial");
+            }
+            ByteBuffer registro = ByteBuffer.allocate(TAMANO_REGISTRO);
+            registro.put(bytes.toByteArray()).flip().limit(TAMANO_REGISTRO);
+            leerOEscribir(registro, registros * TAMANO_REGISTRO, true);
+            registros++; // publica el registro
+        }
+
+        /**
+         * Lee el registro en la tabla dada (el llamador libera la ranura)
+         */
+        Proceso leer(long i, TablaProcesos tabla) throws IOException {
+            ByteBuffer registro;
+            long pagina = i / REGISTROS_POR_PAGINA;
+            if ((pagina + 1) * REGISTROS_POR_PAGINA <= registros && tabla == auxiliarLector) {
+                // Página completa: ya no cambia y se puede guardar
+                registro = paginas.get(pagina);
+                if (registro == null) {
+                    registro = ByteBuffer.allocate(TAMANO_REGISTRO * REGISTROS_POR_PAGINA);
+                    leerOEscribir(registro, pagina * REGISTROS_POR_PAGINA * TAMANO_REGISTRO, false);
+                    paginas.put(pagina, registro);
+                }
+                registro = registro.duplicate().position((int) (i % REGISTROS_POR_PAGINA) * TAMANO_REGISTRO);
+            } else {
+                registro = ByteBuffer.allocate(TAMANO_REGISTRO);
+                leerOEscribir(registro, i * TAMANO_REGISTRO, false);
+                registro.flip();
+            }
+            return Proceso.leer(new DataInputStream(new ByteArrayInputStream(
+                    registro.array(), registro.arrayOffset() + registro.position(), TAMANO_REGISTRO)), tabla);
+        }
+
+        /**
+         * Fila para la tabla de la ventana (hilo de JavaFX)
+         */
+        synchronized InstantaneaSimulacion.FilaProceso fila(long i) {
+            try {
+                Proceso p = leer(i, auxiliarLector);
+                try {
+                    return new InstantaneaSimulacion.FilaProceso(p, 0);
+                } finally {
+                    auxiliarLector.liberar(p.getRanura());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el historial de terminados", e);
+            }
+        }
+
+        private void leerOEscribir(ByteBuffer buffer, long posicion, boolean escribir) throws IOException {
+            while (buffer.hasRemaining()) {
+                int n = escribir ? canal.write(buffer, posicion) : canal.read(buffer, posicion);
+                if (n < 0) {
+                    throw new EOFException("Registro fuera del historial");
+                }
+                posicion += n;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+            Files.deleteIfExists(ruta);
+        }
+    }
+
+    /**
+     * Lo publicado en un momento: filas [0, enArchivo) en el archivo y las
+     * siguientes en "retenidas". Entre dos vistas del mismo archivo solo se
+     * agregan filas al final.
+     */
+    public static class Vista {
+
+        final Archivo archivo; // null si todavía no se pasó nada a disco
+        final long enArchivo;
+        final List<InstantaneaSimulacion.FilaProceso> retenidas;
+        final Object generacion;
+
+        Vista(Object generacion, Archivo archivo, long enArchivo, List<InstantaneaSimulacion.FilaProceso> retenidas) {
+            this.generacion = generacion;
+            this.archivo = archivo;
+            this.enArchivo = enArchivo;
+            this.retenidas = retenidas;
+        }
+
+        public long getCantidad() {
+            return enArchivo + retenidas.size();
+        }
+
+        public InstantaneaSimulacion.FilaProceso get(long i) {
+            return i < enArchivo ? archivo.fila(i) : retenidas.get((int) (i - enArchivo));
+        }
+
+        public boolean mismaGeneracion(Vista otra) {
+            return otra != null && otra.generacion == generacion;
+        }
+    }
+
+    private final TablaProcesos tabla;
+    private final int retenidosMaximo;
+    private final ArrayDeque<Proceso> retenidos = new ArrayDeque<>();
+    private final TablaProcesos auxiliar = new TablaProcesos(1); // para recorrer los del archivo
+    private Archivo archivo; // se crea al pasar el primero a disco
+    private Archivo anterior; // el de la generación anterior, por si la interfaz todavía lo muestra
+    private Object generacion = new Object();
+
+    // Sumas para los promedios de todos los terminados
+    private long cantidad = 0;
+    private long sumaEspera = 0;
+    private long sumaRetorno = 0;
+    private long sumaRespuesta = 0;
+    private long ultimoFin = 0;
+
+    public HistorialTerminados(TablaProcesos tabla) {
+        this(tabla, RETENIDOS_POR_DEFECTO);
+    }
+
+    public HistorialTerminados(TablaProcesos tabla, int retenidosMaximo) {
+        if (retenidosMaximo < 0) {
+            throw new IllegalArgumentException("La cantidad de retenidos no puede ser negativa");
+        }
+        this.tabla = tabla;
+        this.retenidosMaximo = retenidosMaximo;
+    }
+
+    /**
+     * Agrega un proceso terminado (de la tabla del historial). Si se pasa de
+     * los retenidos, el más viejo va al archivo y su ranura se libera.
+     */
+    public void agregar(Proceso p) {
+        cantidad++;
+        sumaEspera += p.getTiempoEspera();
+        sumaRetorno += p.getTiempoFinalizacion() - p.getTiempoLlegada();
+        sumaRespuesta += p.getTiempoInicioEjecucion() - p.getTiempoLlegada();
+        ultimoFin = Math.max(ultimoFin, p.getTiempoFinalizacion());
+
+        retenidos.addLast(p);
+        if (retenidos.size() > retenidosMaximo) {
+            Proceso viejo = retenidos.removeFirst();
+            try {
+                if (archivo == null) {
+                    archivo = new Archivo();
+                }
+                archivo.agregar(viejo);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo escribir el historial de terminados", e);
+            }
+            tabla.liberar(viejo.getRanura());
+        }
+    }
+
+    /**
+     * Recorre todos los terminados en orden. Los que están en el archivo se
+     * leen en una ranura auxiliar: la vista solo vale durante la llamada.
+     */
+    public void paraCada(Consumer<Proceso> accion) {
+        try {
+            for (long i = 0, n = archivo == null ? 0 : archivo.registros; i < n; i++) {
+                Proceso p = archivo.leer(i, auxiliar);
+                try {
+                    accion.accept(p);
+                } finally {
+                    auxiliar.liberar(p.getRanura());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el historial de terminados", e);
+        }
+        for (Proceso p : retenidos) {
+            accion.accept(p);
+        }
+    }
+
+    /**
+     * Vacía el historial: libera las ranuras retenidas y empieza otro archivo
+     */
+    public void limpiar() {
+        for (Proceso p : retenidos) {
+            tabla.liberar(p.getRanura());
+        }
+        retenidos.clear();
+        cerrar(anterior);
+        anterior = archivo;
+        archivo = null;
+        generacion = new Object();
+        cantidad = 0;
+        sumaEspera = 0;
+        sumaRetorno = 0;
+        sumaRespuesta = 0;
+        ultimoFin = 0;
+    }
+
+    /**
+     * Foto para la interfaz, con las filas de los retenidos ya armadas
+     */
+    public Vista vista(List<InstantaneaSimulacion.FilaProceso> retenidas) {
+        return new Vista(generacion, archivo, archivo == null ? 0 : archivo.registros, retenidas);
+    }
+
+    public List<Proceso> getRetenidos() {
+        return new ArrayList<>(retenidos);
+    }
+
+    public boolean isVacio() {
+        return cantidad == 0;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public long getEnArchivo() {
+        return archivo == null ? 0 : archivo.registros;
+    }
+
+    public double getPromedioEspera() {
+        return cantidad == 0 ? 0 : sumaEspera / (double) cantidad;
+    }
+
+    public double getPromedioRetorno() {
+        return cantidad == 0 ? 0 : sumaRetorno / (double) cantidad;
+    }
+
+    public double getPromedioRespuesta() {
+        return cantidad == 0 ? 0 : sumaRespuesta / (double) cantidad;
+    }
+
+    public long getUltimoFin() {
+        return ultimoFin;
+    }
+
+    /**
+     * Escribe todos los terminados como una cola del checkpoint (cantidad y
+     * descriptores), el mismo formato que antes de tener historial
+     */
+    public void escribirEstado(DataOutput out) throws IOException {
+        if (cantidad > Integer.MAX_VALUE) {
+            throw new IOException("Demasiados procesos terminados para un checkpoint");
+        }
+        out.writeInt((int) cantidad);
+        try {
+            paraCada(p -> {
+                try {
+                    p.escribir(out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Lee una cola de terminados escrita con escribirEstado; los que pasan de
+     * los retenidos van directo al archivo
+     */
+    public static HistorialTerminados leerEstado(DataInput in, TablaProcesos tabla) throws IOException {
+        HistorialTerminados historial = new HistorialTerminados(tabla);
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            historial.agregar(Proceso.leer(in, tabla));
+        }
+        return historial;
+    }
+
+    private static void cerrar(Archivo a) {
+        if (a == null) {
+            return;
+        }
+        try {
+            a.close();
+        } catch (IOException e) {
+            System.out.println("No se pudo borrar el historial de terminados: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        cerrar(anterior);
+        cerrar(archivo);
+        anterior = null;
+        archivo = null;
+    }
+}
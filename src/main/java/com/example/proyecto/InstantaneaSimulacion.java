@@ -0,0 +1,174 @@
+package com.example.proyecto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Foto inmutable del estado de la simulación en un tick: colas, núcleos y
+ * mapa de memoria. La arma el hilo de la simulación y la dibuja el hilo de
+ * JavaFX; como nunca cambia después de publicarse, la interfaz no puede ver
+ * un estado a medio actualizar.
+ */
+public final class InstantaneaSimulacion {
+
+    /**
+     * Copia de los datos de un proceso que muestran las tablas
+     */
+    public static final class FilaProceso {
+
+        private final int pid;
+        private final EstadoProceso estado;
+        private final long tiempoLlegada;
+        private final long duracionCPU;
+        private final long tiempoCPUrestante;
+        private final int tamanoMemoria;
+        private final int memoriaResidente;
+        private final long tiempoEspera;
+        private final long tiempoInicioEjecucion;
+        private final long tiempoFinalizacion;
+
+        FilaProceso(Proceso p, GestorMemoria gestor) {
+            this(p, gestor.getTamanoResidente(p.getPid()));
+        }
+
+        FilaProceso(Proceso p, int memoriaResidente) {
+            this.pid = p.getPid();
+            this.estado = p.getEstado();
+            this.tiempoLlegada = p.getTiempoLlegada();
+            this.duracionCPU = p.getDuracionCPU();
+            this.tiempoCPUrestante = p.getTiempoCPUrestante();
+            this.tamanoMemoria = p.getTamanoMemoria();
+            this.memoriaResidente = memoriaResidente;
+            this.tiempoEspera = p.getTiempoEspera();
+            this.tiempoInicioEjecucion = p.getTiempoInicioEjecucion();
+            this.tiempoFinalizacion = p.getTiempoFinalizacion();
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public EstadoProceso getEstado() {
+            return estado;
+        }
+
+        public long getTiempoLlegada() {
+            return tiempoLlegada;
+        }
+
+        public long getDuracionCPU() {
+            return duracionCPU;
+        }
+
+        public long getTiempoCPUrestante() {
+            return tiempoCPUrestante;
+        }
+
+        public int getTamanoMemoria() {
+            return tamanoMemoria;
+        }
+
+        /**
+         * MB cargados en memoria física (con paginación por demanda puede
+         * ser mucho menos que tamanoMemoria)
+         */
+        public int getMemoriaResidente() {
+            return memoriaResidente;
+        }
+
+        public long getTiempoEspera() {
+            return tiempoEspera;
+        }
+
+        public long getTiempoInicioEjecucion() {
+            return tiempoInicioEjecucion;
+        }
+
+        public long getTiempoFinalizacion() {
+            return tiempoFinalizacion;
+        }
+    }
+
+    final long reloj;
+    final long cambiosContexto;
+    final long asignaciones;
+
+    final List<FilaProceso> nuevos;
+    final List<FilaProceso> listos;
+    final List<FilaProceso> esperando;
+    final HistorialTerminados.Vista terminados; // los viejos se leen de disco al mostrarlos
+
+    // Núcleos: PID en ejecución (-1 = ocioso) y CPU restante
+    final int[] pidNucleo;
+    final long[] restanteNucleo;
+
+    // Mapa de memoria: un bloque por posición (pid -1 = libre)
+    final int[] bloqueInicio;
+    final int[] bloqueTamano;
+    final int[] bloquePid;
+    final Segmento.Tipo[] bloqueSegmento; // null si el bloque no es de un segmento
+    final boolean paginacion;
+    final int memoriaTotal;
+    final int memoriaUsada;
+    final int fragmentacionExterna;
+    final int fragmentacionInterna;
+
+    InstantaneaSimulacion(long reloj, long cambiosContexto, long asignaciones,
+            List<Proceso> nuevos, ColaSlots listos, TablaProcesos tabla, List<Proceso> esperando,
+            HistorialTerminados terminados,
+            Proceso[] nucleos, GestorMemoria gestor) {
+        this.reloj = reloj;
+        this.cambiosContexto = cambiosContexto;
+        this.asignaciones = asignaciones;
+        this.nuevos = filas(nuevos, gestor);
+        this.listos = filas(listos, tabla, gestor);
+        this.esperando = filas(esperando, gestor);
+        this.terminados = terminados.vista(filas(terminados.getRetenidos(), gestor));
+
+        this.pidNucleo = new int[nucleos.length];
+        this.restanteNucleo = new long[nucleos.length];
+        for (int i = 0; i < nucleos.length; i++) {
+            pidNucleo[i] = nucleos[i] == null ? -1 : nucleos[i].getPid();
+            restanteNucleo[i] = nucleos[i] == null ? 0 : nucleos[i].getTiempoCPUrestante();
+        }
+
+        List<GestorMemoria.BloqueMemoria> bloques = gestor.getTodosLosBloques();
+        this.bloqueInicio = new int[bloques.size()];
+        this.bloqueTamano = new int[bloques.size()];
+        this.bloquePid = new int[bloques.size()];
+        this.bloqueSegmento = new Segmento.Tipo[bloques.size()];
+        for (int i = 0; i < bloques.size(); i++) {
+            GestorMemoria.BloqueMemoria b = bloques.get(i);
+            bloqueInicio[i] = b.getInicio();
+            bloqueTamano[i] = b.getTamano();
+            bloquePid[i] = b.isOcupado() ? b.pidProceso : -1;
+            bloqueSegmento[i] = b.segmento;
+        }
+        this.paginacion = gestor.isPaginado();
+        this.memoriaTotal = gestor.tamanoTotal;
+        this.memoriaUsada = gestor.calcularMemoriaUsada();
+        this.fragmentacionExterna = gestor.calcularFragmentacionExterna();
+        this.fragmentacionInterna = gestor.calcularFragmentacionInterna();
+    }
+
+    private static List<FilaProceso> filas(ColaSlots cola, TablaProcesos tabla, GestorMemoria gestor) {
+        List<FilaProceso> filas = new ArrayList<>(cola.size());
+        for (int i = 0, n = cola.size(); i < n; i++) {
+            filas.add(new FilaProceso(tabla.vista(cola.get(i)), gestor));
+        }
+        return Collections.unmodifiableList(filas);
+    }
+
+    private static List<FilaProceso> filas(List<Proceso> procesos, GestorMemoria gestor) {
+        List<FilaProceso> filas = new ArrayList<>(procesos.size());
+        for (Proceso p : procesos) {
+            filas.add(new FilaProceso(p, gestor));
+        }
+        return Collections.unmodifiableList(filas);
+    }
+
+    public int getCantidadBloques() {
+        return bloquePid.length;
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.proyecto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Lee un diario escrito por DiarioEventos. Los eventos tienen tamaño fijo,
+ * así que el evento i se lee directo de su posición; el índice de bloques
+ * (primer tick de cada uno) permite ubicar un tick con una búsqueda binaria
+ * sobre el índice y otra dentro de un solo bloque. Se lee de a un bloque,
+ * así que el archivo puede ser más grande que la memoria.
+ *
+ * Uso desde consola: java -cp target/classes com.example.proyecto.LectorDiario
+ * archivo [desdeTick hastaTick]
+ */
+public class LectorDiario implements Closeable {
+
+    /**
+     * Un evento del diario
+     */
+    public static class Evento {
+
+        final long tick;
+        final DiarioEventos.Tipo tipo;
+        final int nucleo; // -1 si el evento no es de un núcleo
+        final int pid;
+        final int a;
+        final int b;
+
+        Evento(long tick, DiarioEventos.Tipo tipo, int nucleo, int pid, int a, int b) {
+            this.tick = tick;
+            this.tipo = tipo;
+            this.nucleo = nucleo;
+            this.pid = pid;
+            this.a = a;
+            this.b = b;
+        }
+
+        public long getTick() {
+            return tick;
+        }
+
+        public DiarioEventos.Tipo getTipo() {
+            return tipo;
+        }
+
+        public int getNucleo() {
+            return nucleo;
+        }
+
+        public int getPid() {
+            return pid;
+        }
+
+        public int getA() {
+            return a;
+        }
+
+        public int getB() {
+            return b;
+        }
+
+        @Override
+        public String toString() {
+            EstadoProceso[] estados = EstadoProceso.values();
+            String detalle;
+            switch (tipo) {
+                case CAMBIO_ESTADO:
+                    detalle = estados[a] + " -> " + estados[b];
+                    break;
+                case DESPACHO:
+                    detalle = "núcleo " + nucleo + (a > 0 ? " (quantum " + a + ")" : "");
+                    break;
+                case DESALOJO:
+                    detalle = "núcleo " + nucleo + " -> " + estados[a];
+                    break;
+                case EXPULSION:
+                    detalle = "marco " + a + " (" + b + " proceso/s)";
+                    break;
+                case INICIO_IO:
+                    detalle = "dispositivo " + a + ", servicio " + b;
+                    break;
+                case FIN_IO:
+                    detalle = "dispositivo " + a;
+                    break;
+                default: // ASIGNACION, LIBERACION
+                    detalle = "en " + a + ", " + b + " MB";
+                    break;
+            }
+            return String.format("[%d] P%d %s %s", tick, pid, tipo, detalle);
+        }
+    }
+
+    private static final DiarioEventos.Tipo[] TIPOS = DiarioEventos.Tipo.values();
+    private static final int TAMANO_BLOQUE = DiarioEventos.EVENTOS_POR_BLOQUE * DiarioEventos.TAMANO_EVENTO;
+
+    private final FileChannel canal;
+    private final long eventos;
+    private final long[] primerTickBloque;
+    private final boolean completo; // false si faltaba el índice (corrida cortada)
+
+    private final ByteBuffer bloque = ByteBuffer.allocate(TAMANO_BLOQUE);
+    private long bloqueCargado = -1;
+
+    public LectorDiario(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        ByteBuffer cabecera = leerEn(0, DiarioEventos.TAMANO_CABECERA);
+        if (cabecera.getInt() != DiarioEventos.MAGIA) {
+            canal.close();
+            throw new IOException("No es un diario de eventos: " + archivo);
+        }
+        short version = cabecera.getShort();
+        short tamanoEvento = cabecera.getShort();
+        int porBloque = cabecera.getInt();
+        if (version != DiarioEventos.VERSION || tamanoEvento != DiarioEventos.TAMANO_EVENTO
+                || porBloque != DiarioEventos.EVENTOS_POR_BLOQUE) {
+            canal.close();
+            throw new IOException("Versión de diario no soportada: " + version);
+        }
+
+        long tamano = canal.size();
+        ByteBuffer cola = tamano >= DiarioEventos.TAMANO_CABECERA + 16 ? leerEn(tamano - 16, 16) : null;
+        if (cola != null && cola.getInt(12) == DiarioEventos.MAGIA_INDICE) {
+            this.eventos = cola.getLong(0);
+            int bloques = cola.getInt(8);
+            ByteBuffer indice = leerEn(tamano - 16 - bloques * 8L, bloques * 8);
+            this.primerTickBloque = new long[bloques];
+            for (int i = 0; i < bloques; i++) {
+                primerTickBloque[i] = indice.getLong();
+            }
+            this.completo = true;
+        } else {
+            // Sin índice: se usan los eventos enteros y se lee el tick del
+            // primero de cada bloque
+            this.eventos = (tamano - DiarioEventos.TAMANO_CABECERA) / DiarioEventos.TAMANO_EVENTO;
+            int bloques = (int) ((eventos + DiarioEventos.EVENTOS_POR_BLOQUE - 1) / DiarioEventos.EVENTOS_POR_BLOQUE);
+            this.primerTickBloque = new long[bloques];
+            for (int i = 0; i < bloques; i++) {
+                primerTickBloque[i] = leerEn(posicion((long) i * DiarioEventos.EVENTOS_POR_BLOQUE), 8).getLong();
+            }
+            this.completo = false;
+        }
+    }
+
+    public long getCantidad() {
+        return eventos;
+    }
+
+    /**
+     * false si el diario no se cerró bien (se reconstruyó el índice)
+     */
+    public boolean isCompleto() {
+        return completo;
+    }
+
+    /**
+     * Evento número i (0 .. getCantidad() - 1)
+     */
+    public Evento leer(long i) throws IOException {
+        if (i < 0 || i >= eventos) {
+            throw new IndexOutOfBoundsException("Evento " + i + " de " + eventos);
+        }
+        long numeroBloque = i / DiarioEventos.EVENTOS_POR_BLOQUE;
+        if (numeroBloque != bloqueCargado) {
+            long primero = numeroBloque * DiarioEventos.EVENTOS_POR_BLOQUE;
+            int cantidad = (int) Math.min(DiarioEventos.EVENTOS_POR_BLOQUE, eventos - primero);
+            bloque.clear().limit(cantidad * DiarioEventos.TAMANO_EVENTO);
+            leerCompleto(bloque, posicion(primero));
+            bloqueCargado = numeroBloque;
+        }
+        int base = (int) (i % DiarioEventos.EVENTOS_POR_BLOQUE) * DiarioEventos.TAMANO_EVENTO;
+        return new Evento(bloque.getLong(base), TIPOS[bloque.get(base + 8)], bloque.getShort(base + 10),
+                bloque.getInt(base + 12), bloque.getInt(base + 16), bloque.getInt(base + 20));
+    }
+
+    /**
+     * Número del primer evento con tick >= desde (getCantidad() si no hay)
+     */
+    public long primerEventoDesde(long desde) throws IOException {
+        // Último bloque que empieza antes de "desde": ahí (o en el siguiente) está el primero
+        int lo = 0, hi = primerTickBloque.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (primerTickBloque[mid] < desde) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        long i = Math.max(0, lo - 1) * (long) DiarioEventos.EVENTOS_POR_BLOQUE;
+        long fin = Math.min(eventos, (long) lo * DiarioEventos.EVENTOS_POR_BLOQUE);
+        while (i < fin) {
+            long mid = (i + fin) >>> 1;
+            if (leer(mid).tick < desde) {
+                i = mid + 1;
+            } else {
+                fin = mid;
+            }
+        }
+        return i;
+    }
+
+    /**
+     * Eventos con desde <= tick <= hasta
+     */
+    public List<Evento> entre(long desde, long hasta) throws IOException {
+        List<Evento> lista = new ArrayList<>();
+        for (long i = primerEventoDesde(desde); i < eventos; i++) {
+            Evento e = leer(i);
+            if (e.tick > hasta) {
+                break;
+            }
+            lista.add(e);
+        }
+        return lista;
+    }
+
+    /**
+     * Todos los eventos de un proceso, en orden
+     */
+    public List<Evento> deProceso(int pid) throws IOException {
+        List<Evento> lista = new ArrayList<>();
+        for (long i = 0; i < eventos; i++) {
+            Evento e = leer(i);
+            if (e.pid == pid) {
+                lista.add(e);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Cantidad de eventos de cada tipo
+     */
+    public Map<DiarioEventos.Tipo, Long> contarPorTipo() throws IOException {
+        Map<DiarioEventos.Tipo, Long> cuenta = new EnumMap<>(DiarioEventos.Tipo.class);
+        for (long i = 0; i < eventos; i++) {
+            cuenta.merge(leer(i).tipo, 1L, Long::sum);
+        }
+        return cuenta;
+    }
+
+    private static long posicion(long evento) {
+        return DiarioEventos.TAMANO_CABECERA + evento * DiarioEventos.TAMANO_EVENTO;
+    }
+
+    private ByteBuffer leerEn(long posicion, int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        leerCompleto(buffer, posicion);
+        buffer.flip();
+        return buffer;
+    }
+
+    private void leerCompleto(ByteBuffer buffer, long posicion) throws IOException {
+        while (buffer.hasRemaining()) {
+            int leidos = canal.read(buffer, posicion);
+            if (leidos < 0) {
+                throw new IOException("Diario truncado");
+            }
+            posicion += leidos;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && args.length != 3) {
+            System.err.println("Uso: LectorDiario archivo [desdeTick hastaTick]");
+            System.exit(2);
+        }
+        try (LectorDiario lector = new LectorDiario(Paths.get(args[0]))) {
+            System.out.println(lector.getCantidad() + " eventos" + (lector.isCompleto() ? "" : " (sin índice, reconstruido)"));
+            for (Map.Entry<DiarioEventos.Tipo, Long> e : lector.contarPorTipo().entrySet()) {
+                System.out.println("  " + e.getKey() + ": " + e.getValue());
+            }
+            if (args.length == 3) {
+                for (Evento e : lector.entre(Long.parseLong(args[1]), Long.parseLong(args[2]))) {
+                    System.out.println(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.proyecto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.example.proyecto.ExportadorEstado.*;
+
+/**
+ * Muestrea el estado que publica ExportadorEstado, desde el mismo proceso o
+ * desde otro. Nunca bloquea al simulador: si la lectura se cruzó con una
+ * publicación (secuencia impar o distinta al final), se repite.
+ *
+ * Uso desde consola: java -cp target/classes com.example.proyecto.LectorEstado
+ * archivo [intervaloMs [muestras]]
+ */
+public class LectorEstado implements Closeable {
+
+    /**
+     * Una lectura consistente del estado (todo del mismo tick)
+     */
+    public static class Muestra {
+
+        final long secuencia;
+        final long reloj;
+        final long cambiosContexto;
+        final long terminados;
+        final int nuevos;
+        final int listos;
+        final int esperando;
+        final int enSwap;
+        final int memoriaTotal;
+        final int memoriaUsada;
+        final int fragmentacionExterna;
+        final int fragmentacionInterna;
+        final long fallosPagina;
+        final long reemplazos;
+        final long fallosAsignacion;
+        final long copiasEnEscritura;
+        final double tasaAciertosTLB;
+        final long hora;
+        final int[] pidNucleo;
+
+        private Muestra(MappedByteBuffer m, long secuencia) {
+            this.secuencia = secuencia;
+            this.reloj = m.getLong(POS_RELOJ);
+            this.cambiosContexto = m.getLong(POS_CAMBIOS_CONTEXTO);
+            this.terminados = m.getLong(POS_TERMINADOS);
+            this.nuevos = m.getInt(POS_NUEVOS);
+            this.listos = m.getInt(POS_LISTOS);
+            this.esperando = m.getInt(POS_ESPERANDO);
+            this.enSwap = m.getInt(POS_EN_SWAP);
+            this.memoriaTotal = m.getInt(POS_MEMORIA_TOTAL);
+            this.memoriaUsada = m.getInt(POS_MEMORIA_USADA);
+            this.fragmentacionExterna = m.getInt(POS_FRAGMENTACION_EXTERNA);
+            this.fragmentacionInterna = m.getInt(POS_FRAGMENTACION_INTERNA);
+            this.fallosPagina = m.getLong(POS_FALLOS_PAGINA);
+            this.reemplazos = m.getLong(POS_REEMPLAZOS);
+            this.fallosAsignacion = m.getLong(POS_FALLOS_ASIGNACION);
+            this.copiasEnEscritura = m.getLong(POS_COPIAS_EN_ESCRITURA);
+            this.tasaAciertosTLB = m.getDouble(POS_TASA_TLB);
+            this.hora = m.getLong(POS_HORA);
+            // Acotado: en una lectura cruzada con una publicación puede venir
+            // cualquier cosa (la muestra se descarta, pero no debe fallar)
+            int numNucleos = Math.max(0, Math.min(m.getShort(POS_NUCLEOS), MAXIMO_NUCLEOS));
+            this.pidNucleo = new int[numNucleos];
+            for (int i = 0; i < numNucleos; i++) {
+                pidNucleo[i] = m.getInt(POS_PIDS + 4 * i);
+            }
+        }
+
+        public long getReloj() {
+            return reloj;
+        }
+
+        public long getTerminados() {
+            return terminados;
+        }
+
+        public int getMemoriaUsada() {
+            return memoriaUsada;
+        }
+
+        public int[] getPidNucleo() {
+            return pidNucleo.clone();
+        }
+
+        /**
+         * Milisegundos desde la publicación (crece si el simulador se detuvo)
+         */
+        public long getAntiguedad() {
+            return System.currentTimeMillis() - hora;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("t=%d nuevos=%d listos=%d esperando=%d swap=%d terminados=%d núcleos=%s "
+                            + "memoria=%d/%dMB fragExt=%dMB fragInt=%dMB fallosPágina=%d reemplazos=%d "
+                            + "fallosAsignación=%d cow=%d tlb=%s cambiosContexto=%d",
+                    reloj, nuevos, listos, esperando, enSwap, terminados, Arrays.toString(pidNucleo),
+                    memoriaUsada, memoriaTotal, fragmentacionExterna, fragmentacionInterna, fallosPagina, reemplazos,
+                    fallosAsignacion, copiasEnEscritura,
+                    tasaAciertosTLB < 0 ? "-" : String.format("%.1f%%", tasaAciertosTLB * 100), cambiosContexto);
+        }
+    }
+
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private long reintentos = 0;
+
+    public LectorEstado(Path archivo) throws IOException {
+        this.canal = FileChannel.open(archivo, StandardOpenOption.READ);
+        if (canal.size() < POS_NUCLEOS + 2) {
+            canal.close();
+            throw new IOException("No es un estado del simulador: " + archivo);
+        }
+        MappedByteBuffer cabecera = canal.map(FileChannel.MapMode.READ_ONLY, 0, POS_NUCLEOS + 2);
+        cabecera.order(ByteOrder.LITTLE_ENDIAN);
+        if (cabecera.getInt(0) != MAGIA) {
+            canal.close();
+            throw new IOException("No es un estado del simulador: " + archivo);
+        }
+        short version = cabecera.getShort(4);
+        if (version != VERSION) {
+            canal.close();
+            throw new IOException("Versión de estado no soportada: " + version);
+        }
+        if (canal.size() < TAMANO) {
+            canal.close();
+            throw new IOException("Estado truncado: " + archivo);
+        }
+        // Siempre el tamaño fijo: los núcleos pueden cambiar entre corridas
+        this.mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, TAMANO);
+        mapa.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Lee el último estado publicado; reintenta mientras se cruce con una
+     * escritura (cada intento lee unos 150 bytes)
+     */
+    public Muestra leer() {
+        while (true) {
+            long antes = (long) SECUENCIA.getAcquire(mapa, POS_SECUENCIA);
+            if ((antes & 1) == 0) {
+                Muestra m = new Muestra(mapa, antes);
+                VarHandle.loadLoadFence(); // los campos se leen antes de volver a mirar la secuencia
+                if ((long) SECUENCIA.getOpaque(mapa, POS_SECUENCIA) == antes) {
+                    return m;
+                }
+            }
+            reintentos++;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Núcleos del estado publicado ahora (cambia si el simulador se reinicia
+     * con otra cantidad)
+     */
+    public int getNumNucleos() {
+        return leer().pidNucleo.length;
+    }
+
+    /**
+     * Lecturas descartadas por cruzarse con una publicación
+     */
+    public long getReintentos() {
+        return reintentos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Uso: LectorEstado archivo [intervaloMs [muestras]]");
+            System.exit(2);
+        }
+        long intervalo = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        long muestras = args.length > 2 ? Long.parseLong(args[2]) : Long.MAX_VALUE;
+        try (LectorEstado lector = new LectorEstado(Paths.get(args[0]))) {
+            long ultima = -1;
+            for (long i = 0; i < muestras; i++) {
+                Muestra m = lector.leer();
+                System.out.println(m.secuencia == ultima ? m + " (sin cambios hace " + m.getAntiguedad() + " ms)" : m);
+                ultima = m.secuencia;
+                if (i + 1 < muestras) {
+                    Thread.sleep(intervalo);
+                }
+            }
+            if (lector.getReintentos() > 0) {
+                System.out.println(lector.getReintentos() + " lecturas repetidas por cruzarse con el simulador");
+            }
+        }
+    }
+}
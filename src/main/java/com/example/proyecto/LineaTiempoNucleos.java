@@ -0,0 +1,212 @@
+package com.example.proyecto;
+
+import java.util.Arrays;
+
+/**
+ * Ocupación de cada núcleo a lo largo de la corrida, comprimida por tramos
+ * (RLE): por núcleo se guarda solo el PID y el tick de inicio de cada tramo,
+ * y se agrega uno nuevo únicamente cuando cambia el ocupante. El fin de un
+ * tramo es el inicio del siguiente (o el último tick registrado), así una
+ * corrida de un millón de ticks ocupa tantos tramos como despachos hubo, no
+ * un valor por tick.
+ *
+ * Escribe un solo hilo (el del motor) y lee otro (el de JavaFX) sin
+ * bloquear: el lector toma una Vista, que queda fija aunque el motor siga
+ * agregando tramos.
+ */
+public class LineaTiempoNucleos {
+
+    public static final int OCIOSO = 0; // PID del tramo en que el núcleo no tiene proceso
+
+    /**
+     * Tramos de un núcleo. Los arreglos se reemplazan al crecer (antes de
+     * publicar la cantidad), así un lector que leyó la cantidad encuentra
+     * siempre esos tramos en los arreglos.
+     */
+    private static class Pista {
+        volatile int[] pids = new int[64];
+        volatile long[] inicios = new long[64];
+        volatile int cantidad = 0;
+
+        void agregar(int pid, long inicio) {
+            int n = cantidad;
+            if (n == pids.length) {
+                int[] nuevosPids = Arrays.copyOf(pids, n * 2);
+                long[] nuevosInicios = Arrays.copyOf(inicios, n * 2);
+                nuevosPids[n] = pid;
+                nuevosInicios[n] = inicio;
+                pids = nuevosPids;
+                inicios = nuevosInicios;
+            } else {
+                pids[n] = pid;
+                inicios[n] = inicio;
+            }
+            cantidad = n + 1;
+        }
+    }
+
+    /**
+     * Una corrida continua; al reiniciar el reloj se empieza otra entera
+     */
+    private static class Corrida {
+        final Pista[] pistas;
+        final long desde;
+        volatile long hasta; // ticks registrados: [desde, hasta)
+
+        Corrida(int numNucleos, long desde) {
+            this.pistas = new Pista[numNucleos];
+            for (int i = 0; i < numNucleos; i++) {
+                pistas[i] = new Pista();
+            }
+            this.desde = desde;
+            this.hasta = desde;
+        }
+    }
+
+    private final int numNucleos;
+    private volatile Corrida corrida;
+
+    public LineaTiempoNucleos(int numNucleos) {
+        this.numNucleos = numNucleos;
+        this.corrida = new Corrida(numNucleos, 0);
+    }
+
+    public int getNumNucleos() {
+        return numNucleos;
+    }
+
+    /**
+     * Registra quién ocupa cada núcleo en el tick (una vez por tick). Si el
+     * tick no sigue al último registrado (el reloj se reinició o se cargó un
+     * checkpoint) se descarta lo anterior y se empieza de nuevo.
+     */
+    public void registrar(long tick, Proceso[] nucleos) {
+        Corrida c = corrida;
+        if (tick != c.hasta || c.pistas[0].cantidad == 0) {
+            if (tick != c.hasta) {
+                c = new Corrida(numNucleos, tick);
+            }
+            for (int i = 0; i < numNucleos; i++) {
+                c.pistas[i].agregar(pidDe(nucleos[i]), tick);
+            }
+            c.hasta = tick + 1;
+            corrida = c;
+            return;
+        }
+        for (int i = 0; i < numNucleos; i++) {
+            Pista pista = c.pistas[i];
+            int pid = pidDe(nucleos[i]);
+            if (pista.pids[pista.cantidad - 1] != pid) {
+                pista.agregar(pid, tick);
+            }
+        }
+        c.hasta = tick + 1; // publica los tramos agregados en este tick
+    }
+
+    private static int pidDe(Proceso p) {
+        return p == null ? OCIOSO : p.getPid();
+    }
+
+    public void limpiar() {
+        corrida = new Corrida(numNucleos, 0);
+    }
+
+    /**
+     * Foto consistente de lo registrado hasta ahora (no copia los tramos)
+     */
+    public Vista vista() {
+        Corrida c = corrida;
+        long hasta = c.hasta; // se lee antes que las cantidades: todo tramo que empieza antes ya está publicado
+        int[] cantidades = new int[numNucleos];
+        int[][] pids = new int[numNucleos][];
+        long[][] inicios = new long[numNucleos][];
+        for (int i = 0; i < numNucleos; i++) {
+            Pista pista = c.pistas[i];
+            cantidades[i] = pista.cantidad;
+            pids[i] = pista.pids;
+            inicios[i] = pista.inicios;
+        }
+        return new Vista(c, c.desde, hasta, cantidades, pids, inicios);
+    }
+
+    /**
+     * Tramos publicados al momento de pedirla. Los índices de tramo van de 0
+     * a getCantidad(nucleo) - 1, en orden de tiempo.
+     */
+    public static class Vista {
+
+        private final Object corrida; // para saber si dos vistas son de la misma corrida
+        private final long desde;
+        private final long hasta;
+        private final int[] cantidades;
+        private final int[][] pids;
+        private final long[][] inicios;
+
+        private Vista(Object corrida, long desde, long hasta, int[] cantidades, int[][] pids, long[][] inicios) {
+            this.corrida = corrida;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.cantidades = cantidades;
+            this.pids = pids;
+            this.inicios = inicios;
+        }
+
+        public boolean mismaCorrida(Vista otra) {
+            return otra != null && otra.corrida == corrida;
+        }
+
+        public long getDesde() {
+            return desde;
+        }
+
+        public long getHasta() {
+            return hasta;
+        }
+
+        public int getCantidad(int nucleo) {
+            return cantidades[nucleo];
+        }
+
+        public int getPid(int nucleo, int tramo) {
+            return pids[nucleo][tramo];
+        }
+
+        public long getInicio(int nucleo, int tramo) {
+            return inicios[nucleo][tramo];
+        }
+
+        public long getFin(int nucleo, int tramo) {
+            long fin = tramo + 1 < cantidades[nucleo] ? inicios[nucleo][tramo + 1] : hasta;
+            return Math.min(fin, hasta);
+        }
+
+        /**
+         * Tramo que contiene al tick (búsqueda binaria), o -1 si el tick está
+         * fuera de lo registrado
+         */
+        public int tramoEn(int nucleo, long tick) {
+            if (tick < desde || tick >= hasta || cantidades[nucleo] == 0) {
+                return -1;
+            }
+            long[] ini = inicios[nucleo];
+            int lo = 0, hi = cantidades[nucleo] - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (ini[mid] <= tick) {
+                    lo = mid;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return lo;
+        }
+
+        public long getTotalTramos() {
+            long total = 0;
+            for (int c : cantidades) {
+                total += c;
+            }
+            return total;
+        }
+    }
+}
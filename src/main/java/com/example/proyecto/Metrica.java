@@ -0,0 +1,310 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Métrica del simulador: contador, medidor (gauge) o histograma. Cada una
+ * guarda además su serie de tiempo con una muestra por tick.
+ *
+ * Se escriben desde el hilo de la simulación y se leen desde JMX, por eso
+ * usan atómicos.
+ */
+public abstract class Metrica implements MetricaMXBean {
+
+    static final int MUESTRAS_POR_SERIE = 600;
+
+    private final String nombre;
+    private final SerieTemporal serie = new SerieTemporal(MUESTRAS_POR_SERIE);
+
+    protected Metrica(String nombre) {
+        this.nombre = nombre;
+    }
+
+    @Override
+    public String getNombre() {
+        return nombre;
+    }
+
+    void muestrear(long tick) {
+        serie.agregar(tick, getValor());
+    }
+
+    public SerieTemporal getSerieTemporal() {
+        return serie;
+    }
+
+    /**
+     * Escribe el valor acumulado y la serie (para los checkpoints)
+     */
+    void escribirEstado(DataOutput out) throws IOException {
+        escribirValor(out);
+        serie.escribirEstado(out);
+    }
+
+    void leerEstado(DataInput in) throws IOException {
+        leerValor(in);
+        serie.leerEstado(in);
+    }
+
+    /**
+     * Pasa a tener el valor y la serie de otra métrica del mismo tipo
+     */
+    void copiarDe(Metrica otra) {
+        copiarValor(otra);
+        serie.copiarDe(otra.serie);
+    }
+
+    abstract void escribirValor(DataOutput out) throws IOException;
+
+    abstract void leerValor(DataInput in) throws IOException;
+
+    abstract void copiarValor(Metrica otra);
+
+    @Override
+    public double[] getSerie() {
+        return serie.getValores();
+    }
+
+    @Override
+    public long[] getTicksSerie() {
+        return serie.getTicks();
+    }
+
+    // Por defecto una métrica simple no tiene distribución
+    @Override
+    public long getConteo() {
+        return 0;
+    }
+
+    @Override
+    public double getPromedio() {
+        return getValor();
+    }
+
+    @Override
+    public double getMaximo() {
+        return getValor();
+    }
+
+    @Override
+    public double getPercentil50() {
+        return getValor();
+    }
+
+    @Override
+    public double getPercentil99() {
+        return getValor();
+    }
+
+    /**
+     * Contador monotónico (cambios de contexto, fallos de página, ...)
+     */
+    public static class Contador extends Metrica {
+
+        private final AtomicLong valor = new AtomicLong();
+
+        public Contador(String nombre) {
+            super(nombre);
+        }
+
+        public void incrementar() {
+            valor.incrementAndGet();
+        }
+
+        public void sumar(long n) {
+            valor.addAndGet(n);
+        }
+
+        public long get() {
+            return valor.get();
+        }
+
+        @Override
+        public String getTipo() {
+            return "contador";
+        }
+
+        @Override
+        public double getValor() {
+            return valor.get();
+        }
+
+        @Override
+        void escribirValor(DataOutput out) throws IOException {
+            out.writeLong(valor.get());
+        }
+
+        @Override
+        void leerValor(DataInput in) throws IOException {
+            valor.set(in.readLong());
+        }
+
+        @Override
+        void copiarValor(Metrica otra) {
+            valor.set(((Contador) otra).valor.get());
+        }
+    }
+
+    /**
+     * Medidor: valor instantáneo leído de una función (largo de colas,
+     * memoria usada, ...). La función se evalúa solo al muestrear, en el hilo
+     * de la simulación; JMX ve la última muestra.
+     */
+    public static class Medidor extends Metrica {
+
+        private final DoubleSupplier fuente;
+        private volatile double ultimo;
+
+        public Medidor(String nombre, DoubleSupplier fuente) {
+            super(nombre);
+            this.fuente = fuente;
+        }
+
+        @Override
+        void muestrear(long tick) {
+            ultimo = fuente.getAsDouble();
+            super.muestrear(tick);
+        }
+
+        @Override
+        public String getTipo() {
+            return "medidor";
+        }
+
+        @Override
+        public double getValor() {
+            return ultimo;
+        }
+
+        @Override
+        void escribirValor(DataOutput out) throws IOException {
+            out.writeDouble(ultimo);
+        }
+
+        @Override
+        void leerValor(DataInput in) throws IOException {
+            ultimo = in.readDouble();
+        }
+
+        @Override
+        void copiarValor(Metrica otra) {
+            ultimo = ((Medidor) otra).ultimo;
+        }
+    }
+
+    /**
+     * Histograma con cubetas de potencias de 2 (la cubeta i guarda valores
+     * en [2^(i-1), 2^i)). Los percentiles devuelven el borde superior de la
+     * cubeta, suficiente para ver la forma de la distribución.
+     */
+    public static class Histograma extends Metrica {
+
+        private static final int CUBETAS = 64;
+
+        private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+        private final AtomicLong conteo = new AtomicLong();
+        private final AtomicLong suma = new AtomicLong();
+        private final AtomicLong maximo = new AtomicLong();
+
+        public Histograma(String nombre) {
+            super(nombre);
+        }
+
+        public void registrar(long valor) {
+            valor = Math.max(0, valor);
+            cubetas.incrementAndGet(64 - Long.numberOfLeadingZeros(valor));
+            conteo.incrementAndGet();
+            suma.addAndGet(valor);
+            maximo.accumulateAndGet(valor, Math::max);
+        }
+
+        @Override
+        public String getTipo() {
+            return "histograma";
+        }
+
+        // Como valor de la serie se usa el promedio acumulado
+        @Override
+        public double getValor() {
+            return getPromedio();
+        }
+
+        @Override
+        public long getConteo() {
+            return conteo.get();
+        }
+
+        @Override
+        public double getPromedio() {
+            long n = conteo.get();
+            return n == 0 ? 0 : suma.get() / (double) n;
+        }
+
+        @Override
+        public double getMaximo() {
+            return maximo.get();
+        }
+
+        @Override
+        public double getPercentil50() {
+            return percentil(0.50);
+        }
+
+        @Override
+        public double getPercentil99() {
+            return percentil(0.99);
+        }
+
+        @Override
+        void escribirValor(DataOutput out) throws IOException {
+            for (int i = 0; i < CUBETAS; i++) {
+                out.writeLong(cubetas.get(i));
+            }
+            out.writeLong(conteo.get());
+            out.writeLong(suma.get());
+            out.writeLong(maximo.get());
+        }
+
+        @Override
+        void leerValor(DataInput in) throws IOException {
+            for (int i = 0; i < CUBETAS; i++) {
+                cubetas.set(i, in.readLong());
+            }
+            conteo.set(in.readLong());
+            suma.set(in.readLong());
+            maximo.set(in.readLong());
+        }
+
+        @Override
+        void copiarValor(Metrica otra) {
+            Histograma h = (Histograma) otra;
+            for (int i = 0; i < CUBETAS; i++) {
+                cubetas.set(i, h.cubetas.get(i));
+            }
+            conteo.set(h.conteo.get());
+            suma.set(h.suma.get());
+            maximo.set(h.maximo.get());
+        }
+
+        public double percentil(double p) {
+            long n = conteo.get();
+            if (n == 0) {
+                return 0;
+            }
+            long objetivo = (long) Math.ceil(p * n);
+            long acumulado = 0;
+            for (int i = 0; i < CUBETAS; i++) {
+                acumulado += cubetas.get(i);
+                if (acumulado >= objetivo) {
+                    return i == 0 ? 0 : Math.min((1L << i) - 1, maximo.get());
+                }
+            }
+            return maximo.get();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.proyecto;
+
+/**
+ * Vista JMX de una métrica del simulador. Los contadores y medidores solo
+ * usan getValor(); los histogramas llenan también conteo, promedio, máximo y
+ * percentiles.
+ */
+public interface MetricaMXBean {
+
+    String getNombre();
+
+    String getTipo();
+
+    double getValor();
+
+    long getConteo();
+
+    double getPromedio();
+
+    double getMaximo();
+
+    double getPercentil50();
+
+    double getPercentil99();
+
+    // Últimas muestras (una por tick), de la más vieja a la más nueva
+    double[] getSerie();
+
+    long[] getTicksSerie();
+}
@@ -0,0 +1,97 @@
+package com.example.proyecto;
+
+/**
+ * Planificador de corto plazo: elige cuál de los listos pasa a un núcleo
+ * libre. Es un servicio (ServiceLoader): para agregar uno se implementa
+ * esta interfaz con un constructor sin argumentos y se declara en
+ * META-INF/services/com.example.proyecto.PlanificadorCPU (o con provides en
+ * un module-info). Aparece en la ventana, en la comparación y en
+ * --algoritmo sin tocar el controlador.
+ *
+ * Una sola instancia atiende a todas las simulaciones, también a las que
+ * corren en paralelo: no debe guardar estado entre llamadas. Solo ve la
+ * cola de listos (ColaListos), no los procesos: elige, y el simulador
+ * despacha.
+ */
+public interface PlanificadorCPU {
+
+    /**
+     * Nombre con el que se elige y se guarda en los checkpoints
+     */
+    String getNombre();
+
+    /**
+     * Nombre corto para las etiquetas y la consola (ej. "RR")
+     */
+    default String getAbreviatura() {
+        return getNombre();
+    }
+
+    /**
+     * true si el proceso vuelve a la cola de listos al agotar el quantum
+     */
+    boolean usaQuantum();
+
+    /**
+     * Posición en la cola del proceso a despachar; -1 si no se despacha
+     * ninguno. La cola no está vacía.
+     */
+    int elegir(ColaListos listos);
+
+    /**
+     * Shortest Job First (sin desalojo): el de menos CPU restante
+     */
+    class SJF implements PlanificadorCPU {
+
+        @Override
+        public String getNombre() {
+            return "SJF";
+        }
+
+        @Override
+        public boolean usaQuantum() {
+            return false;
+        }
+
+        // El primero de los empatados
+        @Override
+        public int elegir(ColaListos listos) {
+            int mejor = 0;
+            long menor = listos.getTiempoRestante(0);
+            for (int i = 1, n = listos.size(); i < n; i++) {
+                long r = listos.getTiempoRestante(i);
+                if (r < menor) {
+                    menor = r;
+                    mejor = i;
+                }
+            }
+            return mejor;
+        }
+    }
+
+    /**
+     * Round Robin: el primero de la cola, hasta agotar el quantum
+     */
+    class RoundRobin implements PlanificadorCPU {
+
+        @Override
+        public String getNombre() {
+            return "Round Robin";
+        }
+
+        @Override
+        public String getAbreviatura() {
+            return "RR";
+        }
+
+        @Override
+        public boolean usaQuantum() {
+            return true;
+        }
+
+        @Override
+        public int elegir(ColaListos listos) {
+            return 0;
+        }
+    }
+}
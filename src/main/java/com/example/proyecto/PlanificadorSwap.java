@@ -0,0 +1,355 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Planificador de mediano plazo: expulsa procesos a swap cuando hay presión
+ * de memoria y los trae de vuelta cuando vuelve a haber espacio.
+ *
+ * Un proceso expulsado queda LISTO_SUSPENDIDO o BLOQUEADO_SUSPENDIDO según
+ * estaba listo o esperando I/O. Los bloqueados no vuelven mientras esperan,
+ * salvo cuando su I/O ya se está atendiendo y el swap-in terminaría justo
+ * antes de que acabe: así vuelven a memoria a tiempo y no hacen la espera
+ * del swap-in después de la I/O.
+ *
+ * El disco de swap atiende una transferencia a la vez; cada swap-in/out
+ * cuesta LATENCIA_BASE ticks más uno por cada MB_POR_TICK del proceso. La
+ * memoria de un expulsado se libera recién cuando termina de escribirse,
+ * así el proceso que esperaba ese espacio paga la latencia del swap-out.
+ */
+public class PlanificadorSwap implements AutoCloseable {
+
+    // Criterio para elegir la víctima
+    public enum PoliticaVictima {
+        BLOQUEADO, // preferir procesos esperando I/O (el más grande de ellos)
+        MAYOR,     // el proceso más grande en memoria
+        MAS_ANTIGUO // el que llegó primero
+    }
+
+    private static final int CAPACIDAD_SWAP = 4096; // ranuras en el archivo de swap
+    private static final int LATENCIA_BASE = 2;     // ticks fijos por transferencia (seek)
+    private static final int MB_POR_TICK = 128;     // ancho de banda del disco de swap
+    private static final EstadoProceso[] ESTADOS = EstadoProceso.values();
+
+    private final AlmacenSwap almacen;
+    private PoliticaVictima politica = PoliticaVictima.BLOQUEADO;
+
+    private final List<Proceso> colaSwap = new ArrayList<>(); // expulsados (fuera de memoria)
+    private RuedaTemporizadores<Proceso> finesSwapIn;        // swap-in en curso -> tick en que terminan
+    private RuedaTemporizadores<Proceso> finesSwapOut;       // swap-out en curso (todavía con su memoria)
+    private final Set<Proceso> enEscritura = new HashSet<>();
+    private int memoriaPorLiberar = 0; // MB de los que se están escribiendo
+    private long discoLibreEn = 0; // tick desde el que el disco de swap está libre
+
+    private long totalSwapOuts = 0;
+    private long totalSwapIns = 0;
+    private long totalAnticipados = 0; // swap-in de bloqueados antes de que termine su I/O
+
+    public PlanificadorSwap(long tickInicial) {
+        try {
+            this.almacen = new AlmacenSwap(CAPACIDAD_SWAP);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear el archivo de swap", e);
+        }
+        this.finesSwapIn = new RuedaTemporizadores<>(tickInicial);
+        this.finesSwapOut = new RuedaTemporizadores<>(tickInicial);
+    }
+
+    public void setPolitica(PoliticaVictima politica) {
+        this.politica = politica;
+    }
+
+    public PoliticaVictima getPolitica() {
+        return politica;
+    }
+
+    static long latencia(Proceso p) {
+        return LATENCIA_BASE + (p.getTamanoMemoria() + MB_POR_TICK - 1) / MB_POR_TICK;
+    }
+
+    /**
+     * Elige la víctima entre los procesos en memoria que no están en CPU
+     * (listos o bloqueados; los suspendidos se saltean, incluso los que
+     * están volviendo). Devuelve null si no hay candidatos.
+     */
+    public Proceso elegirVictima(ColaSlots listos, TablaProcesos tabla, List<Proceso> esperando) {
+        // Se recorren ranuras sobre la tabla: corre por tick mientras haya
+        // presión y no arma listas ni vistas de los candidatos
+        int bloqueado = -1;
+        for (int i = 0, n = esperando.size(); i < n; i++) {
+            bloqueado = mejor(tabla, esperando.get(i).getRanura(), bloqueado);
+        }
+        if (politica == PoliticaVictima.BLOQUEADO && bloqueado >= 0) {
+            return tabla.vista(bloqueado);
+        }
+        int listo = -1;
+        for (int i = 0, n = listos.size(); i < n; i++) {
+            listo = mejor(tabla, listos.get(i), listo);
+        }
+        if (listo < 0 || bloqueado < 0) {
+            int elegida = listo < 0 ? bloqueado : listo;
+            return elegida < 0 ? null : tabla.vista(elegida);
+        }
+        return tabla.vista(comparar(tabla, bloqueado, listo) > 0 ? bloqueado : listo);
+    }
+
+    private int mejor(TablaProcesos tabla, int candidata, int mejor) {
+        boolean elegible = tabla.ranuraSwap[candidata] < 0
+                && !ESTADOS[tabla.estado[candidata]].isSuspendido();
+        return elegible && (mejor < 0 || comparar(tabla, candidata, mejor) > 0) ? candidata : mejor;
+    }
+
+    /**
+     * Positivo si la ranura a es mejor víctima que b
+     */
+    private int comparar(TablaProcesos tabla, int a, int b) {
+        int c;
+        if (politica == PoliticaVictima.MAS_ANTIGUO) {
+            c = Long.compare(tabla.tiempoLlegada[b], tabla.tiempoLlegada[a]);
+            return c != 0 ? c : Integer.compare(tabla.pid[a], tabla.pid[b]);
+        }
+        c = Integer.compare(tabla.tamanoMemoria[a], tabla.tamanoMemoria[b]);
+        return c != 0 ? c : Integer.compare(tabla.pid[b], tabla.pid[a]);
+    }
+
+    /**
+     * Expulsa el proceso: guarda su descriptor en el archivo de swap y lo
+     * suspende. Su memoria sigue ocupada hasta que el disco termina de
+     * escribirlo (lo libera procesar()).
+     */
+    public boolean expulsar(Proceso p, long tick) {
+        int ranura = almacen.guardar(p);
+        if (ranura < 0) {
+            System.out.println("  Área de swap llena, no se puede expulsar P" + p.getPid());
+            return false;
+        }
+        p.setEstado(p.getEstado() == EstadoProceso.ESPERANDO
+                ? EstadoProceso.BLOQUEADO_SUSPENDIDO : EstadoProceso.LISTO_SUSPENDIDO);
+        p.setRanuraSwap(ranura);
+        colaSwap.add(p);
+        long fin = Math.max(tick, discoLibreEn) + latencia(p) - 1;
+        discoLibreEn = fin + 1;
+        finesSwapOut.programar(p, fin);
+        enEscritura.add(p);
+        memoriaPorLiberar += p.getTamanoMemoria();
+        totalSwapOuts++;
+        System.out.println("  Swap-out: Proceso " + p.getPid() + " -> ranura " + ranura
+                + " (libera su memoria en el tick " + fin + ")");
+        return true;
+    }
+
+    /**
+     * MB que van a quedar libres cuando terminen los swap-out en curso
+     */
+    public int getMemoriaPorLiberar() {
+        return memoriaPorLiberar;
+    }
+
+    /**
+     * ¿Hace falta otra víctima para que entre un proceso de memoriaPendiente
+     * MB? No si lo que se está escribiendo ya alcanza (sin swap-out en curso
+     * sí, aunque sobre memoria: puede estar fragmentada).
+     */
+    public boolean hayQueExpulsar(int memoriaLibre, int memoriaPendiente) {
+        return memoriaPendiente > 0
+                && (memoriaPorLiberar == 0 || memoriaLibre + memoriaPorLiberar < memoriaPendiente);
+    }
+
+    /**
+     * Libera la memoria de los swap-out que terminan de escribirse, termina
+     * los swap-in que vencen en este tick y, si hay memoria, empieza a traer
+     * uno más. Devuelve los que quedaron listos; los que volvieron
+     * antes de terminar su I/O quedan ESPERANDO (en la cola de espera de
+     * quien llama) y los libera el fin de la I/O. Con io null no se anticipa.
+     */
+    public List<Proceso> procesar(long tick, GestorMemoria gestor, boolean permitirSwapIn, SubsistemaIO io) {
+        for (Proceso p : finesSwapOut.avanzar(tick)) {
+            enEscritura.remove(p);
+            memoriaPorLiberar -= p.getTamanoMemoria();
+            gestor.liberarMemoria(p);
+            System.out.println("  Swap-out: Proceso " + p.getPid() + " escrito, memoria liberada");
+        }
+
+        List<Proceso> listos = new ArrayList<>();
+        for (Proceso p : finesSwapIn.avanzar(tick)) {
+            totalSwapIns++;
+            if (p.getEstado() == EstadoProceso.BLOQUEADO_SUSPENDIDO) {
+                p.setEstado(EstadoProceso.ESPERANDO);
+                System.out.println("  Swap-in: Proceso " + p.getPid() + " regresa de swap antes de terminar su I/O");
+            } else {
+                p.setEstado(EstadoProceso.LISTO);
+                listos.add(p);
+                System.out.println("  Swap-in: Proceso " + p.getPid() + " regresa de swap");
+            }
+        }
+
+        if (permitirSwapIn) {
+            Iterator<Proceso> iter = colaSwap.iterator();
+            while (iter.hasNext()) {
+                Proceso p = iter.next();
+                // Los bloqueados se quedan en swap hasta que su I/O esté por terminar
+                boolean anticipado = p.getEstado() == EstadoProceso.BLOQUEADO_SUSPENDIDO;
+                if (enEscritura.contains(p) || anticipado && !ioPorTerminar(p, tick, io)) {
+                    continue;
+                }
+                if (gestor.asignarMemoria(p)) {
+                    almacen.recuperar(p.getRanuraSwap(), p);
+                    p.setRanuraSwap(-1);
+                    iter.remove();
+                    long inicio = Math.max(tick + 1, discoLibreEn);
+                    long fin = inicio + latencia(p) - 1;
+                    discoLibreEn = fin + 1;
+                    finesSwapIn.programar(p, fin);
+                    if (anticipado) {
+                        totalAnticipados++;
+                    }
+                    break; // Solo uno por tick para no saturar
+                }
+            }
+        }
+        return listos;
+    }
+
+    /**
+     * ¿Un swap-in del proceso que empiece ahora terminaría cuando termina su
+     * I/O o después? (si empezara más tarde, el proceso quedaría esperando el
+     * disco de swap con la I/O ya hecha)
+     */
+    private boolean ioPorTerminar(Proceso p, long tick, SubsistemaIO io) {
+        long finIO = io == null ? -1 : io.getFinIO(p);
+        return finIO >= 0 && Math.max(tick + 1, discoLibreEn) + latencia(p) > finIO;
+    }
+
+    /**
+     * Corre hacia atrás los ticks pendientes (cuando se reinicia el reloj)
+     */
+    public void rebasar(long desplazamiento) {
+        finesSwapIn = finesSwapIn.desplazada(desplazamiento);
+        finesSwapOut = finesSwapOut.desplazada(desplazamiento);
+        discoLibreEn = Math.max(0, discoLibreEn - desplazamiento);
+    }
+
+    public boolean isVacio() {
+        return colaSwap.isEmpty() && finesSwapIn.getTamano() == 0;
+    }
+
+    public List<Proceso> getColaSwap() {
+        return Collections.unmodifiableList(colaSwap);
+    }
+
+    public long getTotalSwapOuts() {
+        return totalSwapOuts;
+    }
+
+    public long getTotalSwapIns() {
+        return totalSwapIns;
+    }
+
+    public long getTotalAnticipados() {
+        return totalAnticipados;
+    }
+
+    /**
+     * Borra el archivo de swap (el motor sin interfaz crea uno por corrida)
+     */
+    @Override
+    public void close() {
+        try {
+            almacen.close();
+        } catch (IOException e) {
+            System.out.println("No se pudo borrar el archivo de swap: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe la política, la cola de swap (procesos completos), los
+     * swap-out todavía escribiéndose (por PID) y los swap-in en curso para
+     * el checkpoint.
+     */
+    public void escribirEstado(DataOutput out) throws IOException {
+        out.writeByte(politica.ordinal());
+        out.writeLong(discoLibreEn);
+        out.writeLong(totalSwapOuts);
+        out.writeLong(totalSwapIns);
+        out.writeLong(totalAnticipados);
+        out.writeLong(finesSwapIn.getTickActual());
+
+        out.writeInt(colaSwap.size());
+        for (Proceso p : colaSwap) {
+            p.escribir(out);
+        }
+
+        List<Proceso> enCurso = new ArrayList<>();
+        List<Long> fines = new ArrayList<>();
+        finesSwapOut.paraCada((p, fin) -> {
+            enCurso.add(p);
+            fines.add(fin);
+        });
+        out.writeInt(enCurso.size());
+        for (int i = 0; i < enCurso.size(); i++) {
+            out.writeInt(enCurso.get(i).getPid());
+            out.writeLong(fines.get(i));
+        }
+
+        enCurso.clear();
+        fines.clear();
+        finesSwapIn.paraCada((p, fin) -> {
+            enCurso.add(p);
+            fines.add(fin);
+        });
+        out.writeInt(enCurso.size());
+        for (int i = 0; i < enCurso.size(); i++) {
+            enCurso.get(i).escribir(out);
+            out.writeLong(fines.get(i));
+        }
+    }
+
+    /**
+     * Reconstruye el planificador. Los procesos leídos se agregan a
+     * 'porPid' para que los bloqueados en swap (o volviendo de él) sean el
+     * mismo objeto que en la cola de espera.
+     */
+    public static PlanificadorSwap leerEstado(DataInput in, TablaProcesos tabla, Map<Integer, Proceso> porPid) throws IOException {
+        PoliticaVictima politica = PoliticaVictima.values()[in.readByte()];
+        long discoLibreEn = in.readLong();
+        long outs = in.readLong();
+        long ins = in.readLong();
+        long anticipados = in.readLong();
+
+        PlanificadorSwap ps = new PlanificadorSwap(in.readLong());
+        ps.politica = politica;
+        ps.discoLibreEn = discoLibreEn;
+        ps.totalSwapOuts = outs;
+        ps.totalSwapIns = ins;
+        ps.totalAnticipados = anticipados;
+
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            Proceso p = Proceso.leer(in, tabla);
+            ps.almacen.escribirEn(p.getRanuraSwap(), p);
+            ps.colaSwap.add(p);
+            porPid.put(p.getPid(), p);
+        }
+        int escribiendo = in.readInt();
+        for (int i = 0; i < escribiendo; i++) {
+            Proceso p = porPid.get(in.readInt());
+            if (p == null) {
+                throw new IOException("Checkpoint inválido: swap-out de un proceso que no está en swap");
+            }
+            ps.finesSwapOut.programar(p, in.readLong());
+            ps.enEscritura.add(p);
+            ps.memoriaPorLiberar += p.getTamanoMemoria();
+        }
+        int enCurso = in.readInt();
+        for (int i = 0; i < enCurso; i++) {
+            Proceso p = Proceso.leer(in, tabla);
+            ps.finesSwapIn.programar(p, in.readLong());
+            porPid.put(p.getPid(), p);
+        }
+        return ps;
+    }
+}
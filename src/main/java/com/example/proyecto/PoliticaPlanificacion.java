@@ -0,0 +1,150 @@
+package com.example.proyecto;
+
+import java.util.*;
+
+/**
+ * El planificador elegido y su quantum, resueltos una vez al iniciar (o al
+ * armar una configuración): el bucle de la simulación no vuelve a mirar la
+ * interfaz ni a comparar nombres. Inmutable.
+ *
+ * Los planificadores se buscan con ServiceLoader la primera vez que se usa
+ * la clase, también SJF y Round Robin (declarados en module-info y en
+ * META-INF/services como cualquier otro).
+ */
+public final class PoliticaPlanificacion {
+
+    private static final Map<String, PlanificadorCPU> DISPONIBLES = cargar();
+
+    private final PlanificadorCPU planificador;
+    private final int quantum;
+    private final boolean usaQuantum;
+
+    private PoliticaPlanificacion(PlanificadorCPU planificador, int quantum) {
+        this.planificador = planificador;
+        this.quantum = quantum;
+        this.usaQuantum = planificador.usaQuantum();
+    }
+
+    private static Map<String, PlanificadorCPU> cargar() {
+        Map<String, PlanificadorCPU> disponibles = new LinkedHashMap<>();
+        for (PlanificadorCPU p : ServiceLoader.load(PlanificadorCPU.class, PlanificadorCPU.class.getClassLoader())) {
+            disponibles.putIfAbsent(p.getNombre(), p);
+        }
+        if (disponibles.isEmpty()) {
+            throw new IllegalStateException("No hay ningún PlanificadorCPU registrado");
+        }
+        return Collections.unmodifiableMap(disponibles);
+    }
+
+    /**
+     * La política para el planificador con ese nombre. El quantum se guarda
+     * siempre (para mostrarlo y en los checkpoints) pero solo debe ser
+     * positivo si el planificador lo usa.
+     */
+    public static PoliticaPlanificacion resolver(String nombre, int quantum) {
+        PlanificadorCPU p = DISPONIBLES.get(nombre);
+        if (p == null) {
+            throw new IllegalArgumentException("Planificador desconocido: " + nombre
+                    + " (disponibles: " + String.join(", ", DISPONIBLES.keySet()) + ")");
+        }
+        if (p.usaQuantum() && quantum <= 0) {
+            throw new IllegalArgumentException("El quantum de " + nombre + " debe ser positivo");
+        }
+        return new PoliticaPlanificacion(p, quantum);
+    }
+
+    /**
+     * Nombres de los planificadores disponibles, en el orden en que se
+     * declararon
+     */
+    public static List<String> getNombres() {
+        return new ArrayList<>(DISPONIBLES.keySet());
+    }
+
+    /**
+     * El nombre completo que corresponde a un nombre o abreviatura escrito a
+     * mano (sin distinguir mayúsculas ni espacios)
+     */
+    public static String buscarNombre(String texto) {
+        String buscado = texto.toUpperCase().replace(" ", "");
+        for (PlanificadorCPU p : DISPONIBLES.values()) {
+            if (p.getNombre().toUpperCase().replace(" ", "").equals(buscado)
+                    || p.getAbreviatura().toUpperCase().replace(" ", "").equals(buscado)) {
+                return p.getNombre();
+            }
+        }
+        throw new IllegalArgumentException("Algoritmo desconocido: " + texto);
+    }
+
+    public static boolean usaQuantum(String nombre) {
+        PlanificadorCPU p = DISPONIBLES.get(nombre);
+        return p != null && p.usaQuantum();
+    }
+
+    /**
+     * Saca de la cola el próximo a despachar y lo devuelve; null si no hay
+     */
+    public Proceso siguiente(ColaSlots listos, TablaProcesos tabla) {
+        if (listos.isEmpty()) {
+            return null;
+        }
+        int posicion = planificador.elegir(new Vista(listos, tabla));
+        return posicion < 0 ? null : tabla.vista(listos.removeAt(posicion));
+    }
+
+    // La cola de listos tal como la ve el planificador
+    private static final class Vista implements ColaListos {
+
+        private final ColaSlots listos;
+        private final TablaProcesos tabla;
+
+        Vista(ColaSlots listos, TablaProcesos tabla) {
+            this.listos = listos;
+            this.tabla = tabla;
+        }
+
+        @Override
+        public int size() {
+            return listos.size();
+        }
+
+        @Override
+        public int getPid(int posicion) {
+            return tabla.pid[listos.get(posicion)];
+        }
+
+        @Override
+        public long getTiempoRestante(int posicion) {
+            return tabla.tiempoCPUrestante[listos.get(posicion)];
+        }
+
+        @Override
+        public long getTiempoLlegada(int posicion) {
+            return tabla.tiempoLlegada[listos.get(posicion)];
+        }
+    }
+
+    public String getNombre() {
+        return planificador.getNombre();
+    }
+
+    public String getAbreviatura() {
+        return planificador.getAbreviatura();
+    }
+
+    /**
+     * Quantum configurado (solo cuenta si usaQuantum)
+     */
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public boolean usaQuantum() {
+        return usaQuantum;
+    }
+
+    @Override
+    public String toString() {
+        return usaQuantum ? getAbreviatura() + " q=" + quantum : getAbreviatura();
+    }
+}
@@ -1,146 +1,235 @@
 package com.example.proyecto;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /*
  * Esta clase es el "cerebro" de cada proceso.
  * Contiene toda la información que define a un proceso, desde su creación
  * hasta las estadísticas que generó al morir.
+ *
+ * Los datos viven en una TablaProcesos (un arreglo por campo); un Proceso es
+ * solo una vista liviana (tabla + ranura + generación). Dos vistas de la
+ * misma ranura y generación son el mismo proceso (equals/hashCode). Si la
+ * ranura se liberó, la vista ya no sirve: leerla o escribirla lanza
+ * IllegalStateException en vez de tocar al proceso que la reutilice.
  */
 public class Proceso {
 
-    //Parámetros de creación (los define el usuario)
-    private int pid;
-    private long tiempoLlegada;  // Cuándo aparece en el sistema (tick de reloj)
-    private long duracionCPU;     // Cuánto tiempo de CPU necesita en TOTAL (CPU Burst)
-    private int tamanoMemoria;   // Cuánta memoria (MB) necesita
+    private static final EstadoProceso[] ESTADOS = EstadoProceso.values();
 
-    //Parámetros de estado (los gestiona el simulador)
-    private EstadoProceso estado;
-    private long tiempoCPUrestante; // Cuánto tiempo de CPU le falta (disminuye con la ejecución)
+    private final TablaProcesos tabla;
+    private final int ranura;
+    private final int generacion;
 
-    // Parámetros para estadísticas finales
-    //Se inicializan en -1 para saber si ya han sido seteados o no.
-    // Cuándo el proceso se movió a EJECUTANDO por PRIMERA VEZ
-    private long tiempoInicioEjecucion = -1;
+    //Campos guardados en la tabla:
+    //Parámetros de creación (los define el usuario)
+    // - pid
+    // - tiempoLlegada: Cuándo aparece en el sistema (tick de reloj)
+    // - duracionCPU: Cuánto tiempo de CPU necesita en TOTAL (CPU Burst)
+    // - tamanoMemoria: Cuánta memoria (MB) necesita
+    // - imagen / tamanoCompartido: región compartida con los demás procesos de la misma imagen
+    // - padre: proceso del que se bifurca (hereda sus páginas con copia en escritura)
+    //Parámetros de estado (los gestiona el simulador)
+    // - estado
+    // - tiempoCPUrestante: Cuánto tiempo de CPU le falta (disminuye con la ejecución)
+    // - ranuraSwap: Ranura en el área de swap (-1 si está en memoria)
+    // Parámetros para estadísticas finales (-1 = todavía no seteado)
+    // - tiempoInicioEjecucion: Cuándo el proceso se movió a EJECUTANDO por PRIMERA VEZ
+    // - tiempoFinalizacion: Cuándo el proceso llegó a TERMINADO
+    // - tiempoEspera: Cuánto tiempo pasó en la cola de LISTOS (sin estar en CPU)
+    // - tiempoEnCPU: Cuánto tiempo ha estado en la CPU (debería ser igual a duracionCPU al final)
+    // - tiempoRetorno: Tiempo de Retorno (Turnaround): Finalización - Llegada
+    // - tiempoRespuesta: Tiempo de Respuesta (Response): InicioEjecucion - Llegada
 
-    // Cuándo el proceso llegó a TERMINADO */
-    private long tiempoFinalizacion = -1;
+    /*
+     * Vista sobre una ranura ya existente de la tabla
+     */
+    Proceso(TablaProcesos tabla, int ranura) {
+        this.tabla = tabla;
+        this.ranura = ranura;
+        this.generacion = tabla.generacion[ranura];
+    }
 
-    // Cuánto tiempo pasó en la cola de LISTOS (sin estar en CPU)
-    private long tiempoEspera = 0;
+    /*
+     * Crea un proceso nuevo en la tabla indicada
+     */
+    public Proceso(TablaProcesos tabla, int pid, long tiempoLlegada, long duracionCPU, int tamanoMemoria) {
+        this(tabla, tabla.crear(pid, tiempoLlegada, duracionCPU, tamanoMemoria));
+    }
 
-    // Cuánto tiempo ha estado en la CPU (debería ser igual a duracionCPU al final)
-    private long tiempoEnCPU = 0;
+    public TablaProcesos getTabla() {
+        return tabla;
+    }
 
-    // Tiempo de Retorno (Turnaround): Finalización - Llegada
-    private long tiempoRetorno = 0;
+    public int getRanura() {
+        return ranura;
+    }
 
-    // Tiempo de Respuesta (Response): InicioEjecucion - Llegada
-    private long tiempoRespuesta = -1;
+    /*
+     * false si la ranura ya se liberó (y quizá es de otro proceso)
+     */
+    public boolean isValida() {
+        return tabla.generacion[ranura] == generacion;
+    }
 
-    public Proceso(int pid, long tiempoLlegada, long duracionCPU, int tamanoMemoria) {
-        this.pid = pid;
-        this.tiempoLlegada = tiempoLlegada;
-        this.duracionCPU = duracionCPU;
-        this.tamanoMemoria = tamanoMemoria;
-        this.estado = EstadoProceso.NUEVO; // Todos nacen "Nuevos"
-        this.tiempoCPUrestante = duracionCPU;
+    /*
+     * La ranura, comprobando que la vista siga siendo válida
+     */
+    private int r() {
+        if (tabla.generacion[ranura] != generacion) {
+            throw new IllegalStateException("Vista vieja de la ranura " + ranura + ": el proceso ya se liberó");
+        }
+        return ranura;
     }
 
     //Getters y Setters
     public int getPid() {
-        return pid;
+        return tabla.pid[r()];
     }
 
     public void setPid(int pid) {
-        this.pid = pid;
+        tabla.pid[r()] = pid;
     }
 
     public long getTiempoLlegada() {
-        return tiempoLlegada;
+        return tabla.tiempoLlegada[r()];
     }
 
     public void setTiempoLlegada(long tiempoLlegada) {
-        this.tiempoLlegada = tiempoLlegada;
+        tabla.tiempoLlegada[r()] = tiempoLlegada;
     }
 
     public long getDuracionCPU() {
-        return duracionCPU;
+        return tabla.duracionCPU[r()];
     }
 
     public void setDuracionCPU(long duracionCPU) {
-        this.duracionCPU = duracionCPU;
+        tabla.duracionCPU[r()] = duracionCPU;
     }
 
     public int getTamanoMemoria() {
-        return tamanoMemoria;
+        return tabla.tamanoMemoria[r()];
     }
 
     public void setTamanoMemoria(int tamanoMemoria) {
-        this.tamanoMemoria = tamanoMemoria;
+        tabla.tamanoMemoria[r()] = tamanoMemoria;
+    }
+
+    public int getImagen() {
+        return tabla.imagen[r()];
+    }
+
+    public int getTamanoCompartido() {
+        return tabla.tamanoCompartido[r()];
+    }
+
+    /*
+     * Declara que los primeros tamanoCompartido MB del proceso son la región
+     * compartida de la imagen (mismos marcos para todos los que la declaran).
+     */
+    public void setMemoriaCompartida(int imagen, int tamanoCompartido) {
+        tabla.imagen[r()] = imagen;
+        tabla.tamanoCompartido[r()] = tamanoCompartido;
+    }
+
+    public int getPadre() {
+        return tabla.padre[r()];
+    }
+
+    public void setPadre(int padre) {
+        tabla.padre[r()] = padre;
+    }
+
+    /*
+     * Copia las declaraciones de memoria compartida y fork de otro proceso
+     * (al clonarlo para volver a simularlo).
+     */
+    public void copiarCompartidaDe(Proceso otro) {
+        setMemoriaCompartida(otro.getImagen(), otro.getTamanoCompartido());
+        setPadre(otro.getPadre());
     }
 
     public long getTiempoEspera() {
-        return tiempoEspera;
+        return tabla.tiempoEspera[r()];
     }
 
     public void setTiempoEspera(long tiempoEspera) {
-        this.tiempoEspera = tiempoEspera;
+        tabla.tiempoEspera[r()] = tiempoEspera;
     }
 
     public long getTiempoRetorno() {
-        return tiempoRetorno;
+        return tabla.tiempoRetorno[r()];
     }
 
     public void setTiempoRetorno(long tiempoRetorno) {
-        this.tiempoRetorno = tiempoRetorno;
+        tabla.tiempoRetorno[r()] = tiempoRetorno;
     }
 
     public long getTiempoRespuesta() {
-        return tiempoRespuesta;
+        return tabla.tiempoRespuesta[r()];
     }
 
     public void setTiempoRespuesta(long tiempoRespuesta) {
-        this.tiempoRespuesta = tiempoRespuesta;
+        tabla.tiempoRespuesta[r()] = tiempoRespuesta;
     }
 
     public long getTiempoCPUrestante() {
-        return tiempoCPUrestante;
+        return tabla.tiempoCPUrestante[r()];
     }
 
     public void setTiempoCPUrestante(long tiempoCPUrestante) {
-        this.tiempoCPUrestante = tiempoCPUrestante;
+        tabla.tiempoCPUrestante[r()] = tiempoCPUrestante;
     }
 
     public EstadoProceso getEstado() {
-        return estado;
+        return ESTADOS[tabla.estado[r()]];
     }
 
     public void setEstado(EstadoProceso estado) {
-        this.estado = estado;
+        int s = r();
+        byte anterior = tabla.estado[s];
+        tabla.estado[s] = (byte) estado.ordinal();
+        if (tabla.diario != null && anterior != estado.ordinal()) {
+            tabla.diario.cambioEstado(getPid(), ESTADOS[anterior], estado);
+        }
     }
 
     public long getTiempoFinalizacion() {
-        return tiempoFinalizacion;
+        return tabla.tiempoFinalizacion[r()];
     }
 
     public void setTiempoFinalizacion(long tiempoFinalizacion) {
-        this.tiempoFinalizacion = tiempoFinalizacion;
+        tabla.tiempoFinalizacion[r()] = tiempoFinalizacion;
     }
 
     public long getTiempoInicioEjecucion() {
-        return tiempoInicioEjecucion;
+        return tabla.tiempoInicioEjecucion[r()];
     }
 
     public void setTiempoInicioEjecucion(long tiempoInicioEjecucion) {
-        this.tiempoInicioEjecucion = tiempoInicioEjecucion;
+        tabla.tiempoInicioEjecucion[r()] = tiempoInicioEjecucion;
+    }
+
+    public int getRanuraSwap() {
+        return tabla.ranuraSwap[r()];
+    }
+
+    public void setRanuraSwap(int ranuraSwap) {
+        tabla.ranuraSwap[r()] = ranuraSwap;
+    }
+
+    public boolean isEnSwap() {
+        return tabla.ranuraSwap[r()] >= 0;
     }
 
     public long getTiempoEnCPU() {
-        return tiempoEnCPU;
+        return tabla.tiempoEnCPU[r()];
     }
 
     public void setTiempoEnCPU(long tiempoEnCPU) {
-        this.tiempoEnCPU = tiempoEnCPU;
+        tabla.tiempoEnCPU[r()] = tiempoEnCPU;
     }
 
     //Métodos lógica del proceso
@@ -150,24 +239,83 @@ public class Proceso {
      * Reduce el tiempo que le falta y aumenta el tiempo que ha usado.
      */
     public void avanzarTiempoCPU() {
-        if (this.tiempoCPUrestante > 0) {
-            this.tiempoCPUrestante--;
-            this.tiempoEnCPU++;
+        int s = r();
+        if (tabla.tiempoCPUrestante[s] > 0) {
+            tabla.tiempoCPUrestante[s]--;
+            tabla.tiempoEnCPU[s]++;
         }
     }
 
     /*
      * Simula un "tick" de reloj mientras el proceso está en la cola de Listos.
-     * (Se llama desde el controlador cada vez que el proceso está en colaListos).
+     * (Para toda la cola de listos conviene TablaProcesos.incrementarTiempoEspera).
      */
     public void incrementarTiempoEspera() {
-        this.tiempoEspera++;
+        tabla.tiempoEspera[r()]++;
+    }
+
+    /*
+     * Escribe todos los campos del proceso en formato binario (para checkpoints).
+     */
+    public void escribir(DataOutput out) throws IOException {
+        out.writeInt(getPid());
+        out.writeLong(getTiempoLlegada());
+        out.writeLong(getDuracionCPU());
+        out.writeInt(getTamanoMemoria());
+        out.writeByte(tabla.estado[r()]);
+        out.writeLong(getTiempoCPUrestante());
+        out.writeLong(getTiempoInicioEjecucion());
+        out.writeLong(getTiempoFinalizacion());
+        out.writeLong(getTiempoEspera());
+        out.writeLong(getTiempoEnCPU());
+        out.writeLong(getTiempoRetorno());
+        out.writeLong(getTiempoRespuesta());
+        out.writeInt(getRanuraSwap());
+        out.writeInt(getImagen());
+        out.writeInt(getTamanoCompartido());
+        out.writeInt(getPadre());
+    }
+
+    /*
+     * Reconstruye en la tabla un proceso escrito con escribir().
+     */
+    public static Proceso leer(DataInput in, TablaProcesos tabla) throws IOException {
+        Proceso p = new Proceso(tabla, in.readInt(), in.readLong(), in.readLong(), in.readInt());
+        tabla.estado[p.ranura] = in.readByte();
+        p.setTiempoCPUrestante(in.readLong());
+        p.setTiempoInicioEjecucion(in.readLong());
+        p.setTiempoFinalizacion(in.readLong());
+        p.setTiempoEspera(in.readLong());
+        p.setTiempoEnCPU(in.readLong());
+        p.setTiempoRetorno(in.readLong());
+        p.setTiempoRespuesta(in.readLong());
+        p.setRanuraSwap(in.readInt());
+        p.setMemoriaCompartida(in.readInt(), in.readInt());
+        p.setPadre(in.readInt());
+        return p;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Proceso)) {
+            return false;
+        }
+        Proceso otro = (Proceso) o;
+        return ranura == otro.ranura && generacion == otro.generacion && tabla == otro.tabla;
+    }
+
+    @Override
+    public int hashCode() {
+        return ranura;
     }
 
     @Override
     public String toString() {
 
         return String.format("PID[%d] (Est: %s, Dur: %d, Rest: %d, Mem: %dMB)",
-                pid, estado.toString(), duracionCPU, tiempoCPUrestante, tamanoMemoria);
+                getPid(), getEstado().toString(), getDuracionCPU(), getTiempoCPUrestante(), getTamanoMemoria());
     }
 }
@@ -0,0 +1,248 @@
+package com.example.proyecto;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Checkpoint binario de una simulación: colas, núcleos (con su quantum
+ * restante), temporizadores de I/O, gestor de memoria (con TLB y contadores
+ * NUMA), métricas con sus series y estado del generador aleatorio. Al reanudar desde aquí se obtiene el mismo resultado que sin
+ * interrupción.
+ *
+ * Formato: MAGIA (int) + VERSION (short) + datos en orden fijo.
+ */
+public class PuntoControl {
+
+    private static final int MAGIA = 0x53494D43; // "SIMC"
+    private static final short VERSION = 14; // v14: swap-out en curso
+
+    // El serializado se hace en el hilo de la simulación (es rápido, en
+    // memoria); la escritura a disco va en este hilo aparte.
+    private static final ExecutorService escritor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "checkpoint-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Configuración
+    String algoritmo;
+    int quantum;
+
+    // Reloj y contadores
+    long reloj;
+    int pidCounter;
+    long totalCambiosContexto;
+    long totalSwapsRealizados;
+    long sumaLatenciaAdmision;
+    long admisiones;
+    long estadoAleatorio;
+
+    // Tabla donde viven los procesos (al deserializar se crea una nueva)
+    TablaProcesos tablaProcesos;
+
+    // Colas
+    List<Proceso> colaNuevos = new ArrayList<>();
+    List<Proceso> colaListos = new ArrayList<>();
+    HistorialTerminados historialTerminados; // todos los terminados, se escriben como una cola
+    PlanificadorSwap planificadorSwap; // cola de swap y swap-in en curso
+    List<Proceso> colaEsperando = new ArrayList<>();
+    SubsistemaIO subsistemaIO; // colas y servicio en curso de cada dispositivo
+
+    // Núcleos
+    Proceso[] nucleos;
+    long[] tiempoOciosoNucleos;
+    int[] quantumRestanteNucleos;
+    String configuracionTLB; // el contenido de las TLB va con el gestor
+    String configuracionNUMA;
+
+    GestorMemoria gestorMemoria;
+    RegistroMetricas metricas; // valores y series; al leer, un registro aparte para restaurar()
+
+    /**
+     * Convierte el checkpoint a bytes
+     */
+    public byte[] serializar() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIA);
+        out.writeShort(VERSION);
+
+        out.writeUTF(algoritmo);
+        out.writeInt(quantum);
+        out.writeLong(reloj);
+        out.writeInt(pidCounter);
+        out.writeLong(totalCambiosContexto);
+        out.writeLong(totalSwapsRealizados);
+        out.writeLong(sumaLatenciaAdmision);
+        out.writeLong(admisiones);
+        out.writeLong(estadoAleatorio);
+
+        escribirCola(out, colaNuevos);
+        escribirCola(out, colaListos);
+        historialTerminados.escribirEstado(out);
+        planificadorSwap.escribirEstado(out);
+
+        // Los que esperan I/O; los dispositivos los referencian por PID. Los
+        // bloqueados que están en swap se escribieron ya con el planificador.
+        escribirCola(out, colaEsperando);
+        subsistemaIO.escribirEstado(out);
+
+        out.writeInt(nucleos.length);
+        for (int i = 0; i < nucleos.length; i++) {
+            out.writeBoolean(nucleos[i] != null);
+            if (nucleos[i] != null) {
+                nucleos[i].escribir(out);
+            }
+            out.writeLong(tiempoOciosoNucleos[i]);
+            out.writeInt(quantumRestanteNucleos[i]);
+        }
+        out.writeUTF(configuracionTLB);
+        out.writeUTF(configuracionNUMA);
+
+        gestorMemoria.escribirEstado(out);
+        metricas.escribirEstado(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reconstruye un checkpoint a partir de sus bytes. Cualquier dato que no
+     * cierre (valores fuera de rango, bytes de más o de menos) es un
+     * IOException: nunca se restaura a medias.
+     */
+    public static PuntoControl deserializar(byte[] datos) throws IOException {
+        try {
+            return leer(datos);
+        } catch (EOFException e) {
+            throw new IOException("Checkpoint truncado", e);
+        } catch (RuntimeException e) {
+            throw new IOException("Checkpoint dañado: " + e, e);
+        }
+    }
+
+    private static PuntoControl leer(byte[] datos) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(datos));
+
+        if (in.readInt() != MAGIA) {
+            throw new IOException("El archivo no es un checkpoint del simulador");
+        }
+        short version = in.readShort();
+        if (version != VERSION) {
+            throw new IOException("Versión de checkpoint no soportada: " + version);
+        }
+
+        PuntoControl pc = new PuntoControl();
+        pc.tablaProcesos = new TablaProcesos();
+        TablaProcesos tabla = pc.tablaProcesos;
+        pc.algoritmo = in.readUTF();
+        pc.quantum = in.readInt();
+        pc.reloj = in.readLong();
+        pc.pidCounter = in.readInt();
+        pc.totalCambiosContexto = in.readLong();
+        pc.totalSwapsRealizados = in.readLong();
+        pc.sumaLatenciaAdmision = in.readLong();
+        pc.admisiones = in.readLong();
+        pc.estadoAleatorio = in.readLong();
+
+        pc.colaNuevos = leerCola(in, tabla);
+        pc.colaListos = leerCola(in, tabla);
+        pc.historialTerminados = HistorialTerminados.leerEstado(in, tabla);
+        Map<Integer, Proceso> porPid = new HashMap<>();
+        pc.planificadorSwap = PlanificadorSwap.leerEstado(in, tabla, porPid);
+
+        pc.colaEsperando = leerCola(in, tabla);
+        for (int i = 0; i < pc.colaEsperando.size(); i++) {
+            Proceso p = pc.colaEsperando.get(i);
+            Proceso enSwap = porPid.get(p.getPid());
+            if (enSwap != null) {
+                pc.colaEsperando.set(i, enSwap); // mismo proceso que en la cola de swap
+                tabla.liberar(p.getRanura());
+            } else {
+                porPid.put(p.getPid(), p);
+            }
+        }
+        pc.subsistemaIO = SubsistemaIO.leerEstado(in, porPid);
+
+        int n = in.readInt();
+        pc.nucleos = new Proceso[n];
+        pc.tiempoOciosoNucleos = new long[n];
+        pc.quantumRestanteNucleos = new int[n];
+        for (int i = 0; i < n; i++) {
+            if (in.readBoolean()) {
+                pc.nucleos[i] = Proceso.leer(in, tabla);
+            }
+            pc.tiempoOciosoNucleos[i] = in.readLong();
+            pc.quantumRestanteNucleos[i] = in.readInt();
+        }
+        pc.configuracionTLB = in.readUTF();
+        pc.configuracionNUMA = in.readUTF();
+
+        pc.gestorMemoria = GestorMemoria.leerEstado(in);
+        pc.metricas = RegistroMetricas.leerEstado(in);
+        if (in.available() > 0) {
+            throw new IOException("Checkpoint dañado: " + in.available() + " bytes de más al final");
+        }
+        return pc;
+    }
+
+    /**
+     * Escribe los bytes en segundo plano a través de un FileChannel. Primero
+     * en un archivo temporal y luego se renombra, para no dejar nunca un
+     * checkpoint a medias.
+     */
+    public static Future<?> guardarAsync(Path archivo, byte[] datos) {
+        return escritor.submit(() -> {
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            try (FileChannel canal = FileChannel.open(temporal,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(datos);
+                while (buffer.hasRemaining()) {
+                    canal.write(buffer);
+                }
+                canal.force(false);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            System.out.println("Checkpoint guardado: " + archivo + " (" + datos.length + " bytes)");
+            return null;
+        });
+    }
+
+    /**
+     * Lee un checkpoint desde disco
+     */
+    public static PuntoControl cargar(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) canal.size());
+            while (buffer.hasRemaining() && canal.read(buffer) >= 0) {
+                // seguir leyendo
+            }
+            return deserializar(buffer.array());
+        }
+    }
+
+    private static void escribirCola(DataOutput out, Collection<Proceso> cola) throws IOException {
+        out.writeInt(cola.size());
+        for (Proceso p : cola) {
+            p.escribir(out);
+        }
+    }
+
+    private static List<Proceso> leerCola(DataInput in, TablaProcesos tabla) throws IOException {
+        int n = in.readInt();
+        List<Proceso> cola = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            cola.add(Proceso.leer(in, tabla));
+        }
+        return cola;
+    }
+}
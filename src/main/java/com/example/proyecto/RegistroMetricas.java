@@ -0,0 +1,174 @@
+package com.example.proyecto;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas de una simulación. Publica cada métrica como MBean
+ * (dominio com.example.proyecto) para verla en vivo con jconsole/VisualVM, y
+ * toma una muestra por tick para las series de tiempo.
+ */
+public class RegistroMetricas {
+
+    private static final String DOMINIO = "com.example.proyecto";
+
+    private final String simulacion;
+    private final Map<String, Metrica> metricas = new LinkedHashMap<>();
+    private final List<ObjectName> publicadas = new ArrayList<>();
+
+    public RegistroMetricas(String simulacion) {
+        this.simulacion = simulacion;
+    }
+
+    public Metrica.Contador contador(String nombre) {
+        return agregar(new Metrica.Contador(nombre));
+    }
+
+    public Metrica.Medidor medidor(String nombre, DoubleSupplier fuente) {
+        return agregar(new Metrica.Medidor(nombre, fuente));
+    }
+
+    public Metrica.Histograma histograma(String nombre) {
+        return agregar(new Metrica.Histograma(nombre));
+    }
+
+    /**
+     * Agrega una métrica creada en otro lado (por ejemplo las del gestor de memoria)
+     */
+    public <M extends Metrica> M agregar(M metrica) {
+        metricas.put(metrica.getNombre(), metrica);
+        return metrica;
+    }
+
+    public Metrica get(String nombre) {
+        return metricas.get(nombre);
+    }
+
+    public Collection<Metrica> getMetricas() {
+        return Collections.unmodifiableCollection(metricas.values());
+    }
+
+    /**
+     * Toma una muestra de todas las métricas (se llama una vez por tick)
+     */
+    public void muestrear(long tick) {
+        for (Metrica m : metricas.values()) {
+            m.muestrear(tick);
+        }
+    }
+
+    /**
+     * Escribe valor y serie de cada métrica, por nombre (para los checkpoints)
+     */
+    public void escribirEstado(DataOutput out) throws IOException {
+        out.writeInt(metricas.size());
+        for (Metrica m : metricas.values()) {
+            out.writeUTF(m.getNombre());
+            out.writeUTF(m.getTipo());
+            m.escribirEstado(out);
+        }
+    }
+
+    /**
+     * Lee lo escrito por escribirEstado() en un registro aparte (los
+     * medidores quedan con su último valor, sin fuente), para pasarlo con
+     * restaurar() al registro de la simulación
+     */
+    public static RegistroMetricas leerEstado(DataInput in) throws IOException {
+        RegistroMetricas registro = new RegistroMetricas("checkpoint");
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            String nombre = in.readUTF();
+            String tipo = in.readUTF();
+            Metrica m;
+            switch (tipo) {
+                case "contador":
+                    m = new Metrica.Contador(nombre);
+                    break;
+                case "medidor":
+                    m = new Metrica.Medidor(nombre, () -> 0);
+                    break;
+                case "histograma":
+                    m = new Metrica.Histograma(nombre);
+                    break;
+                default:
+                    throw new IOException("Tipo de métrica desconocido en el checkpoint: " + tipo);
+            }
+            m.leerEstado(in);
+            registro.agregar(m);
+        }
+        return registro;
+    }
+
+    /**
+     * Falla si el registro guardado no tiene exactamente las mismas métricas
+     * (nombre y tipo) que este
+     */
+    public void comprobar(RegistroMetricas guardado) throws IOException {
+        for (Metrica m : guardado.metricas.values()) {
+            Metrica actual = metricas.get(m.getNombre());
+            if (actual == null || !actual.getTipo().equals(m.getTipo())) {
+                throw new IOException("La métrica " + m.getNombre() + " del checkpoint no existe en esta simulación");
+            }
+        }
+        for (String nombre : metricas.keySet()) {
+            if (!guardado.metricas.containsKey(nombre)) {
+                throw new IOException("Falta la métrica " + nombre + " en el checkpoint");
+            }
+        }
+    }
+
+    /**
+     * Copia valores y series del registro guardado a las métricas de este
+     */
+    public void restaurar(RegistroMetricas guardado) throws IOException {
+        comprobar(guardado);
+        for (Metrica m : guardado.metricas.values()) {
+            metricas.get(m.getNombre()).copiarDe(m);
+        }
+    }
+
+    /**
+     * Registra todas las métricas en el MBeanServer de la plataforma. Si ya
+     * estaban registradas (por ejemplo tras restaurar un checkpoint) se
+     * reemplazan.
+     */
+    public void publicarEnJMX() {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        retirarDeJMX();
+        for (Metrica m : metricas.values()) {
+            try {
+                ObjectName nombre = new ObjectName(DOMINIO + ":type=Metricas,simulacion="
+                        + ObjectName.quote(simulacion) + ",name=" + ObjectName.quote(m.getNombre()));
+                if (servidor.isRegistered(nombre)) {
+                    servidor.unregisterMBean(nombre);
+                }
+                servidor.registerMBean(new StandardMBean(m, MetricaMXBean.class, true), nombre);
+                publicadas.add(nombre);
+            } catch (Exception e) {
+                System.out.println("No se pudo publicar la métrica " + m.getNombre() + " en JMX: " + e.getMessage());
+            }
+        }
+    }
+
+    public void retirarDeJMX() {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName nombre : publicadas) {
+            try {
+                if (servidor.isRegistered(nombre)) {
+                    servidor.unregisterMBean(nombre);
+                }
+            } catch (Exception e) {
+                System.out.println("No se pudo retirar " + nombre + " de JMX: " + e.getMessage());
+            }
+        }
+        publicadas.clear();
+    }
+}
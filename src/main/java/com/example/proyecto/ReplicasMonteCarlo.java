@@ -0,0 +1,229 @@
+package com.example.proyecto;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Corre la misma configuración K veces con I/O aleatoria, cada réplica con
+ * su propio flujo de números (hijos de GeneradorAleatorio.dividir a partir
+ * de una semilla), en paralelo en el pool del comparador. Informa la media
+ * de cada métrica con su intervalo de confianza del 95% (t de Student), así
+ * una diferencia entre configuraciones se puede comparar con el ruido.
+ *
+ * Los flujos se reparten antes de lanzar y los resultados se guardan por
+ * número de réplica, así la misma semilla da los mismos números sin
+ * importar el orden en que terminen los hilos.
+ */
+public class ReplicasMonteCarlo {
+
+    /**
+     * Media de una métrica sobre las réplicas, con su intervalo del 95%
+     */
+    public static class Intervalo {
+
+        final int n;
+        final double media;
+        final double desvio; // desvío estándar muestral
+        final double semiancho; // media ± semiancho
+
+        Intervalo(double[] valores) {
+            this.n = valores.length;
+            double suma = 0;
+            for (double v : valores) {
+                suma += v;
+            }
+            this.media = suma / n;
+            double cuadrados = 0;
+            for (double v : valores) {
+                cuadrados += (v - media) * (v - media);
+            }
+            this.desvio = n > 1 ? Math.sqrt(cuadrados / (n - 1)) : 0;
+            this.semiancho = n > 1 ? cuantilT975(n - 1) * desvio / Math.sqrt(n) : Double.NaN;
+        }
+
+        public int getN() {
+            return n;
+        }
+
+        public double getMedia() {
+            return media;
+        }
+
+        public double getDesvio() {
+            return desvio;
+        }
+
+        public double getSemiancho() {
+            return semiancho;
+        }
+
+        public double getInferior() {
+            return media - semiancho;
+        }
+
+        public double getSuperior() {
+            return media + semiancho;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.2f ± %.2f", media, semiancho);
+        }
+    }
+
+    /**
+     * Resultado de las K réplicas de una configuración
+     */
+    public static class Resumen {
+
+        final ComparadorSimulaciones.Configuracion configuracion;
+        final long semilla;
+        final List<ComparadorSimulaciones.Resultado> replicas;
+        final Map<String, Intervalo> intervalos;
+
+        Resumen(ComparadorSimulaciones.Configuracion configuracion, long semilla,
+                List<ComparadorSimulaciones.Resultado> replicas) {
+            this.configuracion = configuracion;
+            this.semilla = semilla;
+            this.replicas = replicas;
+            this.intervalos = calcularIntervalos(replicas);
+        }
+
+        public ComparadorSimulaciones.Configuracion getConfiguracion() {
+            return configuracion;
+        }
+
+        public long getSemilla() {
+            return semilla;
+        }
+
+        public List<ComparadorSimulaciones.Resultado> getReplicas() {
+            return replicas;
+        }
+
+        /**
+         * Réplicas que llegaron al máximo de ticks sin terminar (sus métricas
+         * entran en los intervalos igual)
+         */
+        public int getTruncadas() {
+            int truncadas = 0;
+            for (ComparadorSimulaciones.Resultado r : replicas) {
+                if (r.isTruncado()) {
+                    truncadas++;
+                }
+            }
+            return truncadas;
+        }
+
+        /**
+         * Por nombre de métrica (las mismas claves que el JSON del CLI; las
+         * de memoria con prefijo "memoria.")
+         */
+        public Map<String, Intervalo> getIntervalos() {
+            return intervalos;
+        }
+    }
+
+    /**
+     * Corre las réplicas y espera a que terminen. Si se interrumpe el hilo
+     * que espera se cancelan las que falten.
+     */
+    public static Resumen correr(ComparadorSimulaciones.Configuracion c, List<Proceso> procesos, int numNucleos,
+            String configuracionIO, long semilla, int replicas) throws InterruptedException {
+        if (replicas <= 0) {
+            throw new IllegalArgumentException("Debe haber al menos una réplica");
+        }
+        SubsistemaIO.desdeConfiguracion(configuracionIO, 0); // valida antes de lanzar
+
+        TablaProcesos tablaBase = new TablaProcesos(procesos.size());
+        List<Proceso> base = ComparadorSimulaciones.clonarProcesos(procesos, tablaBase);
+        GeneradorAleatorio raiz = new GeneradorAleatorio(semilla);
+        List<Future<ComparadorSimulaciones.Resultado>> tareas = new ArrayList<>();
+        for (int k = 0; k < replicas; k++) {
+            GeneradorAleatorio flujo = raiz.dividir();
+            tareas.add(ComparadorSimulaciones.EJECUTOR.submit(
+                    () -> ComparadorSimulaciones.simular(c, base, numNucleos, null, configuracionIO, flujo)));
+        }
+
+        List<ComparadorSimulaciones.Resultado> resultados = new ArrayList<>();
+        try {
+            for (Future<ComparadorSimulaciones.Resultado> f : tareas) {
+                resultados.add(f.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            throw causa instanceof RuntimeException ? (RuntimeException) causa : new IllegalStateException(causa);
+        } finally {
+            for (Future<?> f : tareas) {
+                f.cancel(true); // no hace nada con las terminadas
+            }
+        }
+        return new Resumen(c, semilla, resultados);
+    }
+
+    private static Map<String, Intervalo> calcularIntervalos(List<ComparadorSimulaciones.Resultado> replicas) {
+        Map<String, double[]> valores = new LinkedHashMap<>();
+        int k = replicas.size();
+        for (int i = 0; i < k; i++) {
+            ComparadorSimulaciones.Resultado r = replicas.get(i);
+            agregar(valores, "ticks", i, k, r.getTicks());
+            agregar(valores, "terminados", i, k, r.getTerminados());
+            agregar(valores, "promedioEspera", i, k, r.getPromedioEspera());
+            agregar(valores, "promedioRetorno", i, k, r.getPromedioRetorno());
+            agregar(valores, "promedioAdmision", i, k, r.getPromedioAdmision());
+            agregar(valores, "throughput", i, k, r.getThroughput());
+            if (r.getConfiguracion().swap != null) {
+                agregar(valores, "swapOuts", i, k, r.getSwapOuts());
+                agregar(valores, "swapIns", i, k, r.getSwapIns());
+            }
+            if (r.getTasaAciertosTLB() >= 0) {
+                agregar(valores, "tasaAciertosTLB", i, k, r.getTasaAciertosTLB());
+            }
+            if (r.getProporcionAccesosLocales() >= 0) {
+                agregar(valores, "proporcionAccesosLocales", i, k, r.getProporcionAccesosLocales());
+            }
+            for (Map.Entry<String, Object> e : new TreeMap<>(r.getEstadisticasMemoria()).entrySet()) {
+                if (e.getValue() instanceof Number) {
+                    agregar(valores, "memoria." + e.getKey(), i, k, ((Number) e.getValue()).doubleValue());
+                }
+            }
+        }
+        Map<String, Intervalo> intervalos = new LinkedHashMap<>();
+        for (Map.Entry<String, double[]> e : valores.entrySet()) {
+            // Una métrica que no aparece en todas las réplicas no se resume
+            if (Arrays.stream(e.getValue()).noneMatch(Double::isNaN)) {
+                intervalos.put(e.getKey(), new Intervalo(e.getValue()));
+            }
+        }
+        return intervalos;
+    }
+
+    private static void agregar(Map<String, double[]> valores, String clave, int i, int k, double valor) {
+        valores.computeIfAbsent(clave, x -> {
+            double[] v = new double[k];
+            Arrays.fill(v, Double.NaN);
+            return v;
+        })[i] = valor;
+    }
+
+    // Cuantil 0.975 de la t de Student para 1..30 grados de libertad
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+
+    /**
+     * Cuantil 0.975 de la t con gl grados de libertad: tabla hasta 30 y
+     * desarrollo de Cornish-Fisher alrededor de la normal para más
+     */
+    static double cuantilT975(int gl) {
+        if (gl <= T_975.length) {
+            return T_975[gl - 1];
+        }
+        double z = 1.959964;
+        double z3 = z * z * z;
+        double z5 = z3 * z * z;
+        return z + (z3 + z) / (4.0 * gl) + (5 * z5 + 16 * z3 + 3 * z) / (96.0 * gl * gl);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.proyecto;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Rueda de temporizadores jerárquica (hierarchical timing wheel) indexada por
+ * tick absoluto de vencimiento.
+ *
+ * Hay NIVELES ruedas de 64 ranuras: la del nivel 0 tiene una ranura por tick,
+ * la del nivel 1 una por cada 64 ticks, etc. Un elemento se guarda en el nivel
+ * más bajo donde su vencimiento cae dentro de la "vuelta" actual, y baja de
+ * nivel (cascada) cuando el reloj entra en su bloque. Así, avanzar un tick
+ * solo toca los elementos que vencen en ese tick (más las cascadas, que son
+ * amortizadas O(1) por elemento y nivel).
+ */
+public class RuedaTemporizadores<T> {
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int RANURAS = 1 << BITS_POR_NIVEL; // 64
+    private static final int MASCARA_RANURA = RANURAS - 1;
+    private static final int NIVELES = 4; // cubre 2^24 ticks; lo demás va a desborde
+
+    private static class Nodo<T> {
+        final T elemento;
+        final long vence;
+        final long secuencia; // orden de inserción, para desempatar
+
+        Nodo(T elemento, long vence, long secuencia) {
+            this.elemento = elemento;
+            this.vence = vence;
+            this.secuencia = secuencia;
+        }
+    }
+
+    private final List<Nodo<T>>[][] ruedas = crearRuedas();
+    private final List<Nodo<T>> desborde = new ArrayList<>();
+    private final List<Nodo<T>> atrasados = new ArrayList<>(); // vencen antes del tick actual
+
+    private long actual; // próximo tick a procesar
+    private long secuencia = 0;
+    private int tamano = 0;
+
+    public RuedaTemporizadores(long tickInicial) {
+        this.actual = tickInicial;
+        for (int n = 0; n < NIVELES; n++) {
+            for (int r = 0; r < RANURAS; r++) {
+                ruedas[n][r] = new ArrayList<>(0);
+            }
+        }
+    }
+
+    // Java no deja crear arreglos de un tipo genérico: se crea crudo y se convierte una sola vez
+    @SuppressWarnings("unchecked")
+    private static <T> List<Nodo<T>>[][] crearRuedas() {
+        return (List<Nodo<T>>[][]) new List<?>[NIVELES][RANURAS];
+    }
+
+    /**
+     * Programa un elemento para que venza en el tick absoluto indicado
+     */
+    public void programar(T elemento, long tickVencimiento) {
+        ubicar(new Nodo<>(elemento, tickVencimiento, secuencia++));
+        tamano++;
+    }
+
+    private void ubicar(Nodo<T> nodo) {
+        if (nodo.vence < actual) {
+            atrasados.add(nodo);
+            return;
+        }
+        long diferencia = nodo.vence ^ actual;
+        for (int nivel = 0; nivel < NIVELES; nivel++) {
+            if ((diferencia >>> (BITS_POR_NIVEL * (nivel + 1))) == 0) {
+                int ranura = (int) (nodo.vence >>> (BITS_POR_NIVEL * nivel)) & MASCARA_RANURA;
+                ruedas[nivel][ranura].add(nodo);
+                return;
+            }
+        }
+        desborde.add(nodo);
+    }
+
+    /**
+     * Avanza la rueda hasta el tick indicado (inclusive) y devuelve los
+     * elementos vencidos, en orden de vencimiento y luego de programación.
+     */
+    public List<T> avanzar(long tick) {
+        List<Nodo<T>> vencidos = new ArrayList<>(atrasados);
+        atrasados.clear();
+
+        while (actual <= tick) {
+            cascada();
+            List<Nodo<T>> ranura = ruedas[0][(int) actual & MASCARA_RANURA];
+            if (!ranura.isEmpty()) {
+                vencidos.addAll(ranura);
+                ranura.clear();
+            }
+            actual++;
+        }
+
+        if (vencidos.isEmpty()) {
+            return Collections.emptyList();
+        }
+        tamano -= vencidos.size();
+        if (vencidos.size() > 1) {
+            vencidos.sort(Comparator.<Nodo<T>>comparingLong(n -> n.vence).thenComparingLong(n -> n.secuencia));
+        }
+        List<T> resultado = new ArrayList<>(vencidos.size());
+        for (Nodo<T> n : vencidos) {
+            resultado.add(n.elemento);
+        }
+        return resultado;
+    }
+
+    /**
+     * Al entrar en un bloque nuevo, baja los elementos de los niveles
+     * superiores que vencen dentro de él (primero los niveles más altos).
+     */
+    private void cascada() {
+        if ((actual & MASCARA_RANURA) != 0) {
+            return;
+        }
+        int nivelMaximo = 1;
+        while (nivelMaximo < NIVELES
+                && ((actual >>> (BITS_POR_NIVEL * nivelMaximo)) & MASCARA_RANURA) == 0) {
+            nivelMaximo++;
+        }
+        if (nivelMaximo == NIVELES && !desborde.isEmpty()) {
+            List<Nodo<T>> pendientes = new ArrayList<>(desborde);
+            desborde.clear();
+            pendientes.forEach(this::ubicar);
+        }
+        for (int nivel = Math.min(nivelMaximo, NIVELES - 1); nivel >= 1; nivel--) {
+            int ranura = (int) (actual >>> (BITS_POR_NIVEL * nivel)) & MASCARA_RANURA;
+            List<Nodo<T>> nodos = ruedas[nivel][ranura];
+            if (!nodos.isEmpty()) {
+                List<Nodo<T>> mover = new ArrayList<>(nodos);
+                nodos.clear();
+                mover.forEach(this::ubicar);
+            }
+        }
+    }
+
+    /**
+     * Recorre todos los elementos pendientes en orden de programación
+     * (elemento, tick de vencimiento). Se usa para los checkpoints.
+     */
+    public void paraCada(BiConsumer<T, Long> accion) {
+        List<Nodo<T>> todos = new ArrayList<>(tamano);
+        todos.addAll(atrasados);
+        todos.addAll(desborde);
+        for (List<Nodo<T>>[] nivel : ruedas) {
+            for (List<Nodo<T>> ranura : nivel) {
+                todos.addAll(ranura);
+            }
+        }
+        todos.sort(Comparator.comparingLong(n -> n.secuencia));
+        for (Nodo<T> n : todos) {
+            accion.accept(n.elemento, n.vence);
+        }
+    }
+
+    /**
+     * Devuelve una rueda equivalente con todos los ticks corridos hacia atrás
+     * (se usa cuando se reinicia el reloj de la simulación).
+     */
+    public RuedaTemporizadores<T> desplazada(long desplazamiento) {
+        RuedaTemporizadores<T> nueva = new RuedaTemporizadores<>(actual - desplazamiento);
+        paraCada((elemento, vence) -> nueva.programar(elemento, vence - desplazamiento));
+        return nueva;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public long getTickActual() {
+        return actual;
+    }
+}
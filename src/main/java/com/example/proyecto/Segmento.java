@@ -0,0 +1,75 @@
+package com.example.proyecto;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Descriptor de un segmento de un proceso (una entrada de su tabla de
+ * segmentos). En segmentación pura el segmento es una partición propia
+ * (base y límite); en segmentación paginada tiene su propia tabla de
+ * páginas y la base no se usa.
+ */
+public class Segmento {
+
+    public enum Tipo {
+        CODIGO,
+        DATOS,
+        HEAP,
+        PILA
+    }
+
+    // Reparto de tamanoMemoria entre los segmentos (en %, mismo orden que Tipo)
+    private static final int[] PORCENTAJE = {20, 20, 40, 20};
+
+    final Tipo tipo;
+    final int base;           // -1 en segmentación paginada
+    final int limite;         // tamaño del segmento en MB
+    final List<Integer> marcos; // null en segmentación pura
+
+    Segmento(Tipo tipo, int base, int limite, List<Integer> marcos) {
+        this.tipo = tipo;
+        this.base = base;
+        this.limite = limite;
+        this.marcos = marcos;
+    }
+
+    /**
+     * Tamaño de cada segmento (indexado por Tipo.ordinal) para un proceso de
+     * tamanoMemoria MB. La pila se queda con el resto del redondeo, así la
+     * suma es exacta; un segmento puede quedar en 0 si el proceso es chico.
+     */
+    public static int[] tamanos(int tamanoMemoria) {
+        Tipo[] tipos = Tipo.values();
+        int[] tamanos = new int[tipos.length];
+        int asignado = 0;
+        for (int i = 0; i < tipos.length - 1; i++) {
+            tamanos[i] = tamanoMemoria * PORCENTAJE[i] / 100;
+            asignado += tamanos[i];
+        }
+        tamanos[tipos.length - 1] = tamanoMemoria - asignado;
+        return tamanos;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getBase() {
+        return base;
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public List<Integer> getMarcos() {
+        return marcos == null ? Collections.emptyList() : Collections.unmodifiableList(marcos);
+    }
+
+    @Override
+    public String toString() {
+        return marcos == null
+                ? String.format("%s [base %d, límite %dMB]", tipo, base, limite)
+                : String.format("%s [%dMB, marcos %s]", tipo, limite, marcos);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Serie de tiempo de tamaño fijo (buffer circular): guarda las últimas N
+ * muestras de una métrica junto con el tick en que se tomaron. Las muestras
+ * viejas se pisan, así la memoria no crece con la duración de la corrida.
+ */
+public class SerieTemporal {
+
+    private final double[] valores;
+    private final long[] ticks;
+    private int siguiente = 0;
+    private int cantidad = 0;
+
+    public SerieTemporal(int capacidad) {
+        this.valores = new double[capacidad];
+        this.ticks = new long[capacidad];
+    }
+
+    public synchronized void agregar(long tick, double valor) {
+        valores[siguiente] = valor;
+        ticks[siguiente] = tick;
+        siguiente = (siguiente + 1) % valores.length;
+        if (cantidad < valores.length) {
+            cantidad++;
+        }
+    }
+
+    /**
+     * Copia de los valores, del más viejo al más nuevo
+     */
+    public synchronized double[] getValores() {
+        double[] r = new double[cantidad];
+        int inicio = (siguiente - cantidad + valores.length) % valores.length;
+        for (int i = 0; i < cantidad; i++) {
+            r[i] = valores[(inicio + i) % valores.length];
+        }
+        return r;
+    }
+
+    public synchronized long[] getTicks() {
+        long[] r = new long[cantidad];
+        int inicio = (siguiente - cantidad + ticks.length) % ticks.length;
+        for (int i = 0; i < cantidad; i++) {
+            r[i] = ticks[(inicio + i) % ticks.length];
+        }
+        return r;
+    }
+
+    public synchronized int getCantidad() {
+        return cantidad;
+    }
+
+    public synchronized void limpiar() {
+        siguiente = 0;
+        cantidad = 0;
+    }
+
+    /**
+     * Escribe las muestras guardadas, de la más vieja a la más nueva
+     */
+    synchronized void escribirEstado(DataOutput out) throws IOException {
+        long[] t = getTicks();
+        double[] v = getValores();
+        out.writeInt(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            out.writeLong(t[i]);
+            out.writeDouble(v[i]);
+        }
+    }
+
+    synchronized void leerEstado(DataInput in) throws IOException {
+        limpiar();
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            agregar(in.readLong(), in.readDouble());
+        }
+    }
+
+    synchronized void copiarDe(SerieTemporal otra) {
+        limpiar();
+        long[] t = otra.getTicks();
+        double[] v = otra.getValores();
+        for (int i = 0; i < t.length; i++) {
+            agregar(t[i], v[i]);
+        }
+    }
+}
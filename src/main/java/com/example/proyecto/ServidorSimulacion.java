@@ -0,0 +1,524 @@
+package com.example.proyecto;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * El simulador como servicio HTTP local (con el servidor que trae el JDK).
+ * Un trabajo es una carga de procesos con una o más configuraciones, y
+ * cada configuración es una tarea. Las peticiones HTTP se atienden en hilos
+ * virtuales; las simulaciones, que solo usan CPU, corren en un pool fijo de
+ * "simultaneas" hilos de plataforma. El sistema operativo los desaloja, así
+ * que unas pocas corridas largas no dejan esperando a las peticiones (en
+ * hilos virtuales, que no se desalojan, sí: ocupaban todos los carriers).
+ *
+ * Admisión: hasta "cola" tareas más esperan en la cola del pool, sin hilo;
+ * si no entran todas las de un trabajo, se rechaza con 503 y Retry-After.
+ * Por defecto corren dos por procesador: con más no termina antes ninguna,
+ * pero una corta no espera a que se libere un hilo ocupado por una larga.
+ * Cancelar saca de la cola las que no empezaron e interrumpe las que
+ * corren, que se cortan en el próximo tick.
+ *
+ *   POST   /simulaciones?algoritmo=RR&quantum=3&nucleos=4&...  (cuerpo: la carga,
+ *          en el formato de SimuladorCLI; mismas opciones que la consola, y
+ *          las corridas que llegan a max-ticks salen con "truncado": true)
+ *   GET    /simulaciones/{id}             estado y resultados hasta ahora (sondeo)
+ *   GET    /simulaciones/{id}/resultados  un JSON por línea a medida que terminan
+ *   DELETE /simulaciones/{id}             cancela lo que falte
+ *   GET    /estado                        ocupación del servidor
+ *
+ * Uso desde consola: java -cp target/classes com.example.proyecto.ServidorSimulacion
+ * [--puerto 8080] [--host 127.0.0.1] [--simultaneas 2*procesadores] [--cola 1024] [--log]
+ */
+public class ServidorSimulacion {
+
+    private static final int MAXIMO_CUERPO = 4 * 1024 * 1024; // bytes de carga por trabajo
+    private static final int MAXIMO_NUCLEOS = 256;
+    private static final long MAXIMO_TICKS = 10_000_000; // tope de max-ticks por corrida
+    private static final int TRABAJOS_RETENIDOS = 1000; // terminados que se pueden seguir consultando
+    private static final int SIMULTANEAS_POR_PROCESADOR = 2;
+
+    /**
+     * Un trabajo enviado: sus configuraciones, las tareas que las corren y los
+     * resultados (ya en JSON) en el orden en que terminaron. Se espera con un
+     * ReentrantLock y no con synchronized: en Java 21 un wait() dentro de
+     * synchronized deja el hilo virtual pegado a su carrier.
+     */
+    static class Trabajo {
+
+        final long id;
+        final List<ComparadorSimulaciones.Configuracion> configuraciones;
+        final List<Proceso> procesos;
+        final int nucleos;
+        final List<Tarea> tareas = new ArrayList<>(); // se envían al pool con el cerrojo tomado
+
+        private final ReentrantLock cerrojo = new ReentrantLock();
+        private final Condition cambio = cerrojo.newCondition();
+        private final List<String> resultados = new ArrayList<>();
+        private int corriendo = 0;
+        private int terminadas = 0; // con resultado, error o canceladas
+        private volatile boolean cancelado = false;
+
+        Trabajo(long id, List<ComparadorSimulaciones.Configuracion> configuraciones, List<Proceso> procesos, int nucleos) {
+            this.id = id;
+            this.configuraciones = configuraciones;
+            this.procesos = procesos;
+            this.nucleos = nucleos;
+        }
+
+        void empezo() {
+            cerrojo.lock();
+            try {
+                corriendo++;
+                cambio.signalAll();
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        /**
+         * Una configuración terminó; json es null si se canceló antes de dar
+         * resultado. true si era la última del trabajo.
+         */
+        boolean termino(String json, boolean corrio) {
+            cerrojo.lock();
+            try {
+                if (corrio) {
+                    corriendo--;
+                }
+                terminadas++;
+                if (json != null) {
+                    resultados.add(json);
+                }
+                cambio.signalAll();
+                return terminadas == configuraciones.size();
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        /**
+         * Marca el trabajo como cancelado y devuelve sus tareas (ya enviadas
+         * al pool); vacía si ya había terminado
+         */
+        List<Tarea> cancelar() {
+            cerrojo.lock();
+            try {
+                if (terminadas == configuraciones.size()) {
+                    return List.of(); // ya terminó: queda como está
+                }
+                cancelado = true;
+                return new ArrayList<>(tareas);
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        /**
+         * Espera resultados a partir del índice dado (o el fin del trabajo)
+         * y devuelve los nuevos; vacía si el trabajo terminó
+         */
+        List<String> esperarDesde(int desde) throws InterruptedException {
+            cerrojo.lock();
+            try {
+                while (resultados.size() <= desde && terminadas < configuraciones.size()) {
+                    cambio.await();
+                }
+                return new ArrayList<>(resultados.subList(Math.min(desde, resultados.size()), resultados.size()));
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        /**
+         * Estado como JSON; con resultados = true incluye los que hay
+         */
+        String json(boolean conResultados) {
+            cerrojo.lock();
+            try {
+                StringBuilder json = new StringBuilder("{");
+                SimuladorCLI.campo(json, "id", id).append(',');
+                SimuladorCLI.campo(json, "estado", estado()).append(',');
+                SimuladorCLI.campo(json, "procesos", procesos.size()).append(',');
+                SimuladorCLI.campo(json, "nucleos", nucleos).append(',');
+                SimuladorCLI.campo(json, "total", configuraciones.size()).append(',');
+                SimuladorCLI.campo(json, "corriendo", corriendo).append(',');
+                SimuladorCLI.campo(json, "terminadas", terminadas);
+                if (conResultados) {
+                    json.append(",\"resultados\":[").append(String.join(",", resultados)).append(']');
+                }
+                return json.append('}').toString();
+            } finally {
+                cerrojo.unlock();
+            }
+        }
+
+        // Con el cerrojo tomado
+        private String estado() {
+            if (terminadas == configuraciones.size()) {
+                return cancelado ? "CANCELADO" : "TERMINADO";
+            }
+            return corriendo > 0 || terminadas > 0 ? "CORRIENDO" : "EN_COLA";
+        }
+    }
+
+    /**
+     * Una configuración de un trabajo. La reclama una sola vez quien llega
+     * primero: el hilo del pool que la va a correr o la cancelación, si
+     * todavía estaba en cola. Quien la reclama da el aviso de que terminó.
+     */
+    static class Tarea {
+
+        final Trabajo trabajo;
+        final ComparadorSimulaciones.Configuracion configuracion;
+        final AtomicBoolean reclamada = new AtomicBoolean();
+        Future<?> futuro;
+
+        Tarea(Trabajo trabajo, ComparadorSimulaciones.Configuracion configuracion) {
+            this.trabajo = trabajo;
+            this.configuracion = configuracion;
+        }
+    }
+
+    private final HttpServer servidor;
+    private final ExecutorService atencion = Executors.newVirtualThreadPerTaskExecutor();
+    private final ThreadPoolExecutor simulaciones;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final int capacidad; // corriendo + en cola
+    private final AtomicInteger admitidas = new AtomicInteger();
+    private final AtomicLong siguienteId = new AtomicLong(1);
+    private final ConcurrentHashMap<Long, Trabajo> trabajos = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> terminados = new ConcurrentLinkedQueue<>();
+    private final AtomicLong rechazados = new AtomicLong();
+    private final int simultaneas;
+
+    public ServidorSimulacion(InetSocketAddress direccion, int simultaneas, int cola) throws IOException {
+        if (simultaneas <= 0 || cola < 0) {
+            throw new IllegalArgumentException("Debe correr al menos una simulación y la cola no puede ser negativa");
+        }
+        this.simultaneas = simultaneas;
+        this.capacidad = simultaneas + cola;
+        AtomicInteger numero = new AtomicInteger();
+        // La cola no tiene tope propio: lo pone la admisión (capacidad)
+        this.simulaciones = new ThreadPoolExecutor(simultaneas, simultaneas, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "simulacion-" + numero.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.servidor = HttpServer.create(direccion, 0);
+        servidor.setExecutor(atencion);
+        servidor.createContext("/simulaciones", this::atenderSimulaciones);
+        servidor.createContext("/estado", this::atenderEstado);
+    }
+
+    public void iniciar() {
+        servidor.start();
+    }
+
+    public InetSocketAddress getDireccion() {
+        return servidor.getAddress();
+    }
+
+    /**
+     * Deja de aceptar conexiones y cancela los trabajos en curso
+     */
+    public void detener() {
+        servidor.stop(0);
+        for (Trabajo t : trabajos.values()) {
+            cancelar(t);
+        }
+        simulaciones.shutdownNow();
+        atencion.shutdownNow();
+    }
+
+    /**
+     * Admite un trabajo y envía sus configuraciones al pool; null si no hay
+     * lugar para todas
+     */
+    Trabajo admitir(List<ComparadorSimulaciones.Configuracion> configuraciones, List<Proceso> procesos, int nucleos) {
+        int n = configuraciones.size();
+        if (admitidas.addAndGet(n) > capacidad) {
+            admitidas.addAndGet(-n);
+            rechazados.incrementAndGet();
+            return null;
+        }
+        Trabajo trabajo = new Trabajo(siguienteId.getAndIncrement(), configuraciones, procesos, nucleos);
+        trabajos.put(trabajo.id, trabajo);
+        trabajo.cerrojo.lock(); // una cancelación que llegue ya encuentra todos los futuros
+        try {
+            for (ComparadorSimulaciones.Configuracion c : configuraciones) {
+                Tarea tarea = new Tarea(trabajo, c);
+                trabajo.tareas.add(tarea);
+                tarea.futuro = simulaciones.submit(() -> correr(tarea));
+            }
+        } finally {
+            trabajo.cerrojo.unlock();
+        }
+        return trabajo;
+    }
+
+    /**
+     * Cancela un trabajo: las tareas en cola terminan ya, sin resultado, y
+     * las que están corriendo se interrumpen
+     */
+    void cancelar(Trabajo trabajo) {
+        for (Tarea tarea : trabajo.cancelar()) {
+            if (tarea.reclamada.compareAndSet(false, true)) {
+                tarea.futuro.cancel(false);
+                terminar(trabajo, null, false);
+            } else {
+                tarea.futuro.cancel(true);
+            }
+        }
+        simulaciones.purge(); // saca de la cola las canceladas
+    }
+
+    private void correr(Tarea tarea) {
+        if (!tarea.reclamada.compareAndSet(false, true)) {
+            return; // la canceló cancelar() mientras estaba en cola
+        }
+        Trabajo trabajo = tarea.trabajo;
+        ComparadorSimulaciones.Configuracion c = tarea.configuracion;
+        String json = null;
+        enCurso.incrementAndGet();
+        try {
+            if (trabajo.cancelado) {
+                throw new CancellationException();
+            }
+            trabajo.empezo();
+            ComparadorSimulaciones.Resultado r = ComparadorSimulaciones.simular(c, trabajo.procesos, trabajo.nucleos);
+            StringBuilder sb = new StringBuilder();
+            SimuladorCLI.escribirResultado(sb, r);
+            json = sb.toString();
+        } catch (CancellationException e) {
+            // cancelada: no deja resultado
+        } catch (RuntimeException e) {
+            if (!trabajo.cancelado) { // si no, es la interrupción de la cancelación
+                StringBuilder sb = new StringBuilder();
+                SimuladorCLI.escribirConfiguracion(sb, c);
+                SimuladorCLI.campo(sb, "error", String.valueOf(e.getMessage())).append('}');
+                json = sb.toString();
+            }
+        } finally {
+            enCurso.decrementAndGet();
+            terminar(trabajo, json, true);
+        }
+    }
+
+    private void terminar(Trabajo trabajo, String json, boolean corrio) {
+        admitidas.decrementAndGet();
+        if (trabajo.termino(json, corrio)) {
+            retener(trabajo);
+        }
+    }
+
+    /**
+     * Los trabajos terminados se pueden consultar un tiempo; después se
+     * olvidan los más viejos
+     */
+    private void retener(Trabajo trabajo) {
+        terminados.add(trabajo.id);
+        while (terminados.size() > TRABAJOS_RETENIDOS) {
+            Long viejo = terminados.poll();
+            if (viejo != null) {
+                trabajos.remove(viejo);
+            }
+        }
+    }
+
+    private void atenderSimulaciones(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            String[] partes = intercambio.getRequestURI().getPath().split("/");
+            // "", "simulaciones", id, "resultados"
+            String metodo = intercambio.getRequestMethod();
+            if (partes.length == 2 && metodo.equals("POST")) {
+                enviar(intercambio);
+                return;
+            }
+            if (partes.length < 3 || partes.length > 4 || (partes.length == 4 && !partes[3].equals("resultados"))) {
+                responder(intercambio, 404, error("Ruta desconocida"));
+                return;
+            }
+            Trabajo trabajo;
+            try {
+                trabajo = trabajos.get(Long.parseLong(partes[2]));
+            } catch (NumberFormatException e) {
+                trabajo = null;
+            }
+            if (trabajo == null) {
+                responder(intercambio, 404, error("No existe la simulación " + partes[2]));
+            } else if (partes.length == 4 && metodo.equals("GET")) {
+                transmitir(intercambio, trabajo);
+            } else if (partes.length == 3 && metodo.equals("GET")) {
+                responder(intercambio, 200, trabajo.json(true));
+            } else if (partes.length == 3 && metodo.equals("DELETE")) {
+                cancelar(trabajo);
+                responder(intercambio, 200, trabajo.json(false));
+            } else {
+                responder(intercambio, 405, error("Método no permitido: " + metodo));
+            }
+        }
+    }
+
+    private void enviar(HttpExchange intercambio) throws IOException {
+        List<ComparadorSimulaciones.Configuracion> configuraciones;
+        List<Proceso> procesos;
+        int nucleos;
+        try {
+            Map<String, String> opciones = leerConsulta(intercambio.getRequestURI().getRawQuery());
+            if (opciones.containsKey("replicas") || opciones.containsKey("hilos") || opciones.containsKey("diario")) {
+                throw new IllegalArgumentException("replicas, hilos y diario solo están en la consola");
+            }
+            nucleos = Integer.parseInt(opciones.getOrDefault("nucleos", "1"));
+            if (nucleos <= 0 || nucleos > MAXIMO_NUCLEOS) {
+                throw new IllegalArgumentException("nucleos debe estar entre 1 y " + MAXIMO_NUCLEOS);
+            }
+            configuraciones = SimuladorCLI.leerConfiguraciones(opciones);
+            if (configuraciones.get(0).getMaxTicks() > MAXIMO_TICKS) {
+                throw new IllegalArgumentException("max-ticks debe estar entre 1 y " + MAXIMO_TICKS);
+            }
+            procesos = SimuladorCLI.leerCarga(leerCuerpo(intercambio), "carga", new TablaProcesos());
+            if (procesos.isEmpty()) {
+                throw new IllegalArgumentException("La carga no tiene procesos");
+            }
+        } catch (IllegalArgumentException e) {
+            responder(intercambio, 400, error(e.getMessage()));
+            return;
+        }
+        if (configuraciones.size() > capacidad) {
+            responder(intercambio, 413, error("El trabajo tiene " + configuraciones.size()
+                    + " configuraciones y el servidor admite " + capacidad));
+            return;
+        }
+        Trabajo trabajo = admitir(configuraciones, procesos, nucleos);
+        if (trabajo == null) {
+            intercambio.getResponseHeaders().set("Retry-After", "1");
+            responder(intercambio, 503, error("Servidor lleno, reintentar más tarde"));
+            return;
+        }
+        intercambio.getResponseHeaders().set("Location", "/simulaciones/" + trabajo.id);
+        responder(intercambio, 202, trabajo.json(false));
+    }
+
+    /**
+     * Respuesta por partes: un resultado por línea a medida que terminan y
+     * al final el estado del trabajo. Si el cliente corta, el trabajo sigue.
+     */
+    private void transmitir(HttpExchange intercambio, Trabajo trabajo) throws IOException {
+        intercambio.getResponseHeaders().set("Content-Type", "application/x-ndjson; charset=utf-8");
+        intercambio.sendResponseHeaders(200, 0);
+        OutputStream salida = intercambio.getResponseBody();
+        int enviados = 0;
+        try {
+            while (true) {
+                List<String> nuevos = trabajo.esperarDesde(enviados);
+                if (nuevos.isEmpty()) {
+                    break;
+                }
+                for (String r : nuevos) {
+                    salida.write((r + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+                salida.flush();
+                enviados += nuevos.size();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        salida.write((trabajo.json(false) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void atenderEstado(HttpExchange intercambio) throws IOException {
+        try (intercambio) {
+            int corriendo = enCurso.get();
+            StringBuilder json = new StringBuilder("{");
+            SimuladorCLI.campo(json, "corriendo", corriendo).append(',');
+            SimuladorCLI.campo(json, "enCola", Math.max(0, admitidas.get() - corriendo)).append(',');
+            SimuladorCLI.campo(json, "simultaneas", simultaneas).append(',');
+            SimuladorCLI.campo(json, "capacidad", capacidad).append(',');
+            SimuladorCLI.campo(json, "trabajos", trabajos.size()).append(',');
+            SimuladorCLI.campo(json, "rechazados", rechazados.get());
+            responder(intercambio, 200, json.append('}').toString());
+        }
+    }
+
+    private static List<String> leerCuerpo(HttpExchange intercambio) throws IOException {
+        try (InputStream cuerpo = intercambio.getRequestBody()) {
+            byte[] bytes = cuerpo.readNBytes(MAXIMO_CUERPO + 1);
+            if (bytes.length > MAXIMO_CUERPO) {
+                throw new IllegalArgumentException("La carga pasa de " + MAXIMO_CUERPO + " bytes");
+            }
+            return new String(bytes, StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private static Map<String, String> leerConsulta(String consulta) {
+        Map<String, String> opciones = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return opciones;
+        }
+        for (String par : consulta.split("&")) {
+            String[] clave = par.split("=", 2);
+            opciones.put(URLDecoder.decode(clave[0], StandardCharsets.UTF_8),
+                    clave.length > 1 ? URLDecoder.decode(clave[1], StandardCharsets.UTF_8) : "");
+        }
+        return opciones;
+    }
+
+    private static String error(String mensaje) {
+        StringBuilder json = new StringBuilder("{");
+        SimuladorCLI.campo(json, "error", String.valueOf(mensaje));
+        return json.append('}').toString();
+    }
+
+    private static void responder(HttpExchange intercambio, int codigo, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(codigo, bytes.length);
+        intercambio.getResponseBody().write(bytes);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                System.err.println("Uso: ServidorSimulacion [--puerto 8080] [--host 127.0.0.1] "
+                        + "[--simultaneas n] [--cola 1024] [--log]");
+                System.exit(2);
+            }
+            String clave = args[i].substring(2);
+            opciones.put(clave, i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "");
+        }
+        String host = opciones.get("host");
+        InetSocketAddress direccion = new InetSocketAddress(
+                host == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(host),
+                Integer.parseInt(opciones.getOrDefault("puerto", "8080")));
+        ServidorSimulacion servidor = new ServidorSimulacion(direccion,
+                Integer.parseInt(opciones.getOrDefault("simultaneas",
+                        String.valueOf(SIMULTANEAS_POR_PROCESADOR * Runtime.getRuntime().availableProcessors()))),
+                Integer.parseInt(opciones.getOrDefault("cola", "1024")));
+
+        // El log del gestor por System.out, con cientos de corridas, solo estorba
+        PrintStream salida = System.out;
+        System.setOut(opciones.containsKey("log") ? System.err : new PrintStream(OutputStream.nullOutputStream()));
+        servidor.iniciar();
+        salida.println("Simulador escuchando en http://" + servidor.getDireccion().getHostString() + ":"
+                + servidor.getDireccion().getPort() + "/simulaciones");
+    }
+}
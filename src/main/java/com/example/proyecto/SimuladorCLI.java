@@ -0,0 +1,381 @@
+package com.example.proyecto;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Punto de entrada por línea de comandos: corre la simulación sin interfaz
+ * (con ComparadorSimulaciones) y escribe los resultados en JSON por la
+ * salida estándar. No toca ninguna clase de JavaFX, así que arranca rápido y
+ * funciona en máquinas sin pantalla:
+ *
+ * java -cp target/classes com.example.proyecto.SimuladorCLI --carga procesos.txt
+ * --algoritmo RR --quantum 3 --nucleos 4 --modo PAGINACION --politica LRU
+ *
+ * Se corre por classpath (no como módulo), así no hace falta resolver los
+ * módulos de JavaFX que pide module-info. algoritmo, quantum, modo y
+ * política aceptan listas separadas por comas (se corre el producto, como en
+ * la ventana de comparación).
+ */
+public class SimuladorCLI {
+
+    private static final String USO = String.join("\n",
+            "Uso: SimuladorCLI --carga <archivo> [opciones]",
+            "  --algoritmo SJF|RR[,...]        (por defecto SJF; también los planificadores agregados",
+            "                                   como servicio, por nombre)",
+            "  --quantum <n>[,...]             (por defecto 3, solo Round Robin)",
+            "  --nucleos <n>                   (por defecto 1)",
+            "  --modo <ModoMemoria>[,...]      (por defecto PARTICION_DINAMICA)",
+            "  --politica <Politica>[,...]     (por defecto FIFO, solo modos paginados)",
+            "  --tlb <config>                  (por defecto " + TLB.Configuracion.POR_DEFECTO + ")",
+            "  --numa <config>                 (por defecto " + TopologiaNUMA.Configuracion.POR_DEFECTO + ")",
+            "  --log                           (el log del simulador va a la salida de error)",
+            "  --diario <archivo>              (diario binario de eventos; con varias",
+            "                                   configuraciones se agrega .1, .2, ...)",
+            "  --replicas <k>                  (k corridas con I/O aleatoria por configuración;",
+            "                                   informa media e intervalo del 95% de cada métrica)",
+            "  --semilla <n>                   (por defecto 42, solo con --replicas)",
+            "  --io <dispositivos>             (por defecto " + SubsistemaIO.CONFIGURACION_POR_DEFECTO + ")",
+            "  --swap <PoliticaVictima>        (planificador de mediano plazo: BLOQUEADO, MAYOR o",
+            "                                   MAS_ANTIGUO; por defecto sin swapping)",
+            "  --max-ticks <n>                 (por defecto " + ComparadorSimulaciones.Configuracion.MAX_TICKS_POR_DEFECTO
+                    + "; la corrida que llega sin terminar sale",
+            "                                   con \"truncado\": true)",
+            "  --hilos <n>                     (reparte las fases por núcleo de cada corrida entre n",
+            "                                   hilos, con " + FasesParalelas.MINIMO_NUCLEOS_POR_HILO
+                    + " núcleos o más por hilo; mismo resultado que con 1)",
+            "Archivo de carga: una línea por proceso, 'llegada,duracion,memoria'",
+            "  y opcionalmente 'imagen=<id>:<MB>' y 'padre=<pid>'. Los PID se numeran desde 1;",
+            "  las líneas vacías y las que empiezan con # se ignoran.",
+            "Sale con 0 si todas las corridas terminaron, 2 si las opciones o la carga son",
+            "  inválidas y 3 si alguna quedó truncada (el JSON se escribe igual).");
+
+    private static final int SALIDA_TRUNCADA = 3;
+
+    public static void main(String[] args) {
+        PrintStream salida = System.out;
+        Map<String, String> opciones;
+        List<Proceso> procesos;
+        List<ComparadorSimulaciones.Configuracion> configuraciones;
+        int nucleos;
+        int replicas;
+        int hilos;
+        try {
+            opciones = leerOpciones(args);
+            if (!opciones.containsKey("carga")) {
+                throw new IllegalArgumentException("Falta --carga");
+            }
+            procesos = leerCarga(Paths.get(opciones.get("carga")), new TablaProcesos());
+            nucleos = Integer.parseInt(opciones.getOrDefault("nucleos", "1"));
+            if (nucleos <= 0) {
+                throw new IllegalArgumentException("Debe haber al menos un núcleo");
+            }
+            hilos = Integer.parseInt(opciones.getOrDefault("hilos", "1"));
+            if (hilos <= 0) {
+                throw new IllegalArgumentException("--hilos debe ser al menos 1");
+            }
+            replicas = Integer.parseInt(opciones.getOrDefault("replicas", "0"));
+            if (replicas < 0 || (opciones.containsKey("replicas") && replicas == 0)) {
+                throw new IllegalArgumentException("--replicas debe ser al menos 1");
+            }
+            if (replicas > 0 && opciones.containsKey("diario")) {
+                throw new IllegalArgumentException("--diario no se puede usar con --replicas");
+            }
+            Long.parseLong(opciones.getOrDefault("semilla", "42"));
+            SubsistemaIO.desdeConfiguracion(opciones.getOrDefault("io", SubsistemaIO.CONFIGURACION_POR_DEFECTO), 0);
+            configuraciones = leerConfiguraciones(opciones);
+        } catch (IOException e) {
+            System.err.println("Error: no se pudo leer la carga (" + e + ")");
+            System.exit(2);
+            return;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USO);
+            System.exit(2);
+            return;
+        }
+
+        // El gestor y el motor escriben su log por System.out: se descarta
+        // (o se pasa a stderr) para que la salida estándar sea solo el JSON
+        System.setOut(opciones.containsKey("log") ? System.err : new PrintStream(OutputStream.nullOutputStream()));
+        StringBuilder json = new StringBuilder();
+        boolean truncada = false;
+        json.append("{\"procesos\":").append(procesos.size())
+                .append(",\"nucleos\":").append(nucleos)
+                .append(",\"resultados\":[");
+        try {
+            for (int i = 0; i < configuraciones.size() && replicas > 0; i++) {
+                ReplicasMonteCarlo.Resumen resumen = ReplicasMonteCarlo.correr(configuraciones.get(i), procesos, nucleos,
+                        opciones.getOrDefault("io", SubsistemaIO.CONFIGURACION_POR_DEFECTO),
+                        Long.parseLong(opciones.getOrDefault("semilla", "42")), replicas);
+                if (i > 0) {
+                    json.append(',');
+                }
+                escribirResumen(json, resumen, opciones.getOrDefault("io", SubsistemaIO.CONFIGURACION_POR_DEFECTO));
+                truncada |= resumen.getTruncadas() > 0;
+            }
+            for (int i = 0; i < configuraciones.size() && replicas == 0; i++) {
+                ComparadorSimulaciones.Resultado r = simular(configuraciones.get(i), procesos, nucleos, hilos,
+                        opciones.get("diario"), configuraciones.size() > 1 ? "." + (i + 1) : "");
+                if (i > 0) {
+                    json.append(',');
+                }
+                escribirResultado(json, r);
+                truncada |= r.isTruncado();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } finally {
+            System.setOut(salida);
+        }
+        json.append("]}");
+        salida.println(json);
+        if (truncada) {
+            salida.flush();
+            System.exit(SALIDA_TRUNCADA);
+        }
+    }
+
+    private static ComparadorSimulaciones.Resultado simular(ComparadorSimulaciones.Configuracion c,
+            List<Proceso> procesos, int nucleos, int hilos, String archivoDiario, String sufijo) {
+        if (archivoDiario == null || archivoDiario.isEmpty()) {
+            return ComparadorSimulaciones.simular(c, procesos, nucleos, null, null, null, hilos);
+        }
+        try (DiarioEventos diario = new DiarioEventos(Paths.get(archivoDiario + sufijo))) {
+            return ComparadorSimulaciones.simular(c, procesos, nucleos, diario, null, null, hilos);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el diario " + archivoDiario + sufijo, e);
+        }
+    }
+
+    /**
+     * --clave valor (o --clave sola para las banderas)
+     */
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Argumento inesperado: " + args[i]);
+            }
+            String clave = args[i].substring(2);
+            if (i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                opciones.put(clave, args[++i]);
+            } else {
+                opciones.put(clave, "");
+            }
+        }
+        return opciones;
+    }
+
+    /**
+     * Las configuraciones pedidas en las opciones (algoritmo, quantum,
+     * politica, modo, tlb, numa, swap, max-ticks), con los mismos valores por
+     * defecto
+     */
+    static List<ComparadorSimulaciones.Configuracion> leerConfiguraciones(Map<String, String> opciones) {
+        List<ComparadorSimulaciones.Configuracion> configuraciones = ComparadorSimulaciones.combinar(
+                lista(opciones.getOrDefault("algoritmo", "SJF"), PoliticaPlanificacion::buscarNombre),
+                lista(opciones.getOrDefault("quantum", "3"), Integer::parseInt),
+                lista(opciones.getOrDefault("politica", "FIFO"),
+                        t -> GestorMemoria.PoliticaReemplazo.valueOf(t.toUpperCase())),
+                lista(opciones.getOrDefault("modo", "PARTICION_DINAMICA"),
+                        t -> GestorMemoria.ModoMemoria.valueOf(t.toUpperCase())),
+                TLB.Configuracion.desdeTexto(opciones.getOrDefault("tlb", TLB.Configuracion.POR_DEFECTO)),
+                TopologiaNUMA.Configuracion.desdeTexto(
+                        opciones.getOrDefault("numa", TopologiaNUMA.Configuracion.POR_DEFECTO)));
+        if (opciones.containsKey("swap")) {
+            PlanificadorSwap.PoliticaVictima swap =
+                    PlanificadorSwap.PoliticaVictima.valueOf(opciones.get("swap").toUpperCase());
+            configuraciones.replaceAll(c -> c.conSwap(swap));
+        }
+        if (opciones.containsKey("max-ticks")) {
+            long maxTicks = Long.parseLong(opciones.get("max-ticks"));
+            configuraciones.replaceAll(c -> c.conMaxTicks(maxTicks));
+        }
+        return configuraciones;
+    }
+
+    private static <T> List<T> lista(String texto, java.util.function.Function<String, T> conversor) {
+        List<T> valores = new ArrayList<>();
+        for (String parte : texto.split(",")) {
+            valores.add(conversor.apply(parte.trim()));
+        }
+        return valores;
+    }
+
+    /**
+     * Lee la carga de procesos (formato en USO)
+     */
+    static List<Proceso> leerCarga(Path archivo, TablaProcesos tabla) throws IOException {
+        return leerCarga(Files.readAllLines(archivo, StandardCharsets.UTF_8), archivo.toString(), tabla);
+    }
+
+    /**
+     * Lo mismo desde las líneas ya leídas; origen solo aparece en los errores
+     */
+    static List<Proceso> leerCarga(List<String> lineas, String origen, TablaProcesos tabla) {
+        List<Proceso> procesos = new ArrayList<>();
+        int numeroLinea = 0;
+        for (String linea : lineas) {
+            numeroLinea++;
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            String[] campos = linea.split(",");
+            try {
+                if (campos.length < 3) {
+                    throw new IllegalArgumentException("se esperaban llegada,duracion,memoria");
+                }
+                long llegada = Long.parseLong(campos[0].trim());
+                long duracion = Long.parseLong(campos[1].trim());
+                int memoria = Integer.parseInt(campos[2].trim());
+                if (llegada < 0 || duracion <= 0 || memoria <= 0) {
+                    throw new IllegalArgumentException("los valores deben ser positivos");
+                }
+                Proceso p = tabla.nuevo(procesos.size() + 1, llegada, duracion, memoria);
+                for (int i = 3; i < campos.length; i++) {
+                    String[] clave = campos[i].trim().split("=", 2);
+                    if (clave.length != 2) {
+                        throw new IllegalArgumentException("campo inválido '" + campos[i].trim() + "'");
+                    }
+                    if (clave[0].equals("imagen")) {
+                        String[] partes = clave[1].split(":");
+                        p.setMemoriaCompartida(Integer.parseInt(partes[0].trim()), Integer.parseInt(partes[1].trim()));
+                    } else if (clave[0].equals("padre")) {
+                        p.setPadre(Integer.parseInt(clave[1].trim()));
+                    } else {
+                        throw new IllegalArgumentException("campo desconocido '" + clave[0] + "'");
+                    }
+                }
+                procesos.add(p);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException(origen + ":" + numeroLinea + ": " + e.getMessage(), e);
+            }
+        }
+        return procesos;
+    }
+
+    static void escribirResultado(StringBuilder json, ComparadorSimulaciones.Resultado r) {
+        escribirConfiguracion(json, r.getConfiguracion());
+        campo(json, "ticks", r.getTicks()).append(',');
+        campo(json, "terminados", r.getTerminados()).append(',');
+        campo(json, "truncado", r.isTruncado()).append(',');
+        campo(json, "promedioEspera", r.getPromedioEspera()).append(',');
+        campo(json, "promedioRetorno", r.getPromedioRetorno()).append(',');
+        campo(json, "promedioAdmision", r.getPromedioAdmision()).append(',');
+        campo(json, "throughput", r.getThroughput()).append(',');
+        if (r.getConfiguracion().swap != null) {
+            campo(json, "swapOuts", r.getSwapOuts()).append(',');
+            campo(json, "swapIns", r.getSwapIns()).append(',');
+        }
+        campo(json, "tasaAciertosTLB", r.getTasaAciertosTLB() < 0 ? null : r.getTasaAciertosTLB()).append(',');
+        campo(json, "proporcionAccesosLocales",
+                r.getProporcionAccesosLocales() < 0 ? null : r.getProporcionAccesosLocales()).append(',');
+        json.append("\"memoria\":{");
+        boolean primero = true;
+        for (Map.Entry<String, Object> e : new TreeMap<>(r.getEstadisticasMemoria()).entrySet()) {
+            if (!primero) {
+                json.append(',');
+            }
+            primero = false;
+            campo(json, e.getKey(), e.getValue());
+        }
+        json.append("}}");
+    }
+
+    /**
+     * Una configuración con sus réplicas: cada métrica como
+     * {"media", "desvio", "ic95": [inferior, superior]}
+     */
+    private static void escribirResumen(StringBuilder json, ReplicasMonteCarlo.Resumen resumen, String io) {
+        escribirConfiguracion(json, resumen.getConfiguracion());
+        campo(json, "replicas", resumen.getReplicas().size()).append(',');
+        campo(json, "semilla", resumen.getSemilla()).append(',');
+        campo(json, "io", io).append(',');
+        campo(json, "truncado", resumen.getTruncadas() > 0).append(',');
+        campo(json, "truncadas", resumen.getTruncadas()).append(',');
+        json.append("\"intervalos\":{");
+        boolean primero = true;
+        for (Map.Entry<String, ReplicasMonteCarlo.Intervalo> e : resumen.getIntervalos().entrySet()) {
+            if (!primero) {
+                json.append(',');
+            }
+            primero = false;
+            ReplicasMonteCarlo.Intervalo intervalo = e.getValue();
+            texto(json, e.getKey()).append(":{");
+            campo(json, "media", intervalo.getMedia()).append(',');
+            campo(json, "desvio", intervalo.getDesvio()).append(",\"ic95\":[");
+            json.append(numero(intervalo.getInferior())).append(',').append(numero(intervalo.getSuperior())).append("]}");
+        }
+        json.append("}}");
+    }
+
+    private static String numero(double valor) {
+        return Double.isFinite(valor) ? String.valueOf(valor) : "null";
+    }
+
+    /**
+     * Abre el objeto del resultado y escribe "configuracion"
+     */
+    static void escribirConfiguracion(StringBuilder json, ComparadorSimulaciones.Configuracion c) {
+        json.append("{\"configuracion\":{");
+        campo(json, "etiqueta", c.getEtiqueta()).append(',');
+        campo(json, "algoritmo", c.algoritmo).append(',');
+        campo(json, "quantum", c.quantum).append(',');
+        campo(json, "modo", c.modo).append(',');
+        campo(json, "politica", c.politica).append(',');
+        campo(json, "tlb", c.tlb.toString()).append(',');
+        campo(json, "numa", c.numa.toString()).append(',');
+        campo(json, "swap", c.swap).append(',');
+        campo(json, "maxTicks", c.maxTicks);
+        json.append("},");
+    }
+
+    static StringBuilder campo(StringBuilder json, String clave, Object valor) {
+        texto(json, clave).append(':');
+        if (valor == null) {
+            json.append("null");
+        } else if (valor instanceof Double && !Double.isFinite((Double) valor)) {
+            json.append("null"); // JSON no tiene NaN ni infinitos
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            json.append(valor);
+        } else {
+            texto(json, valor.toString());
+        }
+        return json;
+    }
+
+    static StringBuilder texto(StringBuilder json, String s) {
+        json.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            switch (ch) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        json.append(String.format("\\u%04x", (int) ch));
+                    } else {
+                        json.append(ch);
+                    }
+            }
+        }
+        return json.append('"');
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.proyecto;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.canvas.Canvas;
@@ -11,16 +11,25 @@ import javafx.scene.layout.Region;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 
 import javafx.scene.chart.*;
+import javafx.scene.layout.FlowPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 //importar enum EstadoProceso para referenciar los estados de los procesos
 
 
@@ -43,6 +52,10 @@ public class SimuladorController {
     @FXML
     private TextField txtMemoria;
     @FXML
+    private TextField txtCompartida; // imagen:MB de la región compartida (vacío = ninguna)
+    @FXML
+    private TextField txtPadre;      // PID del que se bifurca (vacío = ninguno)
+    @FXML
     private Button btnCrearProceso;
     @FXML
     private ComboBox<String> comboAlgoritmo;
@@ -57,48 +70,99 @@ public class SimuladorController {
     @FXML
     private Label lblReloj;
     @FXML
-    private TableView<Proceso> tablaListos;
+    private TableView<InstantaneaSimulacion.FilaProceso> tablaListos;
     @FXML
-    private TableView<Proceso> tablaNuevos;
+    private TableView<InstantaneaSimulacion.FilaProceso> tablaNuevos;
     @FXML
-    private TableView<Proceso> tablaEsperando;
+    private TableView<InstantaneaSimulacion.FilaProceso> tablaEsperando;
     @FXML
     private TextArea txtCPU;
     @FXML
     private Canvas canvasMemoria;
     @FXML
-    private TableView<Proceso> tablaTerminados;
+    private Canvas canvasGantt;
+    @FXML
+    private ScrollBar barraGantt;
+    @FXML
+    private TableView<InstantaneaSimulacion.FilaProceso> tablaTerminados;
     @FXML
     private Label lblMemoriaUsada;
     @FXML
     private Label lblFragmentacion;
+    @FXML
+    private TextField txtDispositivosIO;
+    @FXML
+    private ComboBox<String> comboPoliticaSwap;
+    @FXML
+    private TextField txtTLB;
+    @FXML
+    private TextField txtNUMA;
 
     // --- Atributos de Simulación ---
     private long reloj = 0;
     private int pidCounter = 1;
-    private Timeline timeline;
+    // Se resuelve de la interfaz al iniciar: el bucle no lee controles ni compara nombres
+    private PoliticaPlanificacion politicaActiva = PoliticaPlanificacion.resolver("SJF", 3);
+    private long totalAsignaciones = 0; // para animar el canvas de memoria
+
+    // --- Hilo de la simulación ---
+    // El motor corre en su propio hilo y publica una instantánea inmutable por
+    // tick; un AnimationTimer en el hilo de JavaFX dibuja la más reciente.
+    private static final long PERIODO_TICK_NS = TimeUnit.SECONDS.toNanos(1);
+    private Thread hiloMotor; // solo lo toca el hilo de JavaFX
+    private volatile boolean motorActivo = false;
+    private final AtomicReference<InstantaneaSimulacion> instantanea = new AtomicReference<>();
+    private final Queue<Runnable> tareasMotor = new ConcurrentLinkedQueue<>();
+    private AnimationTimer renderizador;
+    private FilasTerminados filasTerminados; // la tabla de terminados lee del historial lo que muestra
     private List<Color> colorPalette = new ArrayList<>();
 
     private GestorMemoria gestorMemoria;
+    private TablaProcesos tablaProcesos = new TablaProcesos(); // datos de todos los procesos
     private List<Proceso> colaNuevos = new ArrayList<>();
-    private List<Proceso> colaListos = new ArrayList<>();
-    private List<Proceso> colaTerminados = new ArrayList<>();
-    private Queue<Proceso> colaSwap = new LinkedList<>(); // Para swapping
-    private List<Proceso> colaEsperando = new ArrayList<>(); // Para I/O
+    private ColaSlots colaListos = new ColaSlots(); // ranuras de tablaProcesos
+    private HistorialTerminados historialTerminados = new HistorialTerminados(tablaProcesos); // los viejos van a disco
+    private ColaEspera colaEsperando = new ColaEspera(); // Para I/O (sacar uno es O(1))
 
     // --- Multinúcleo ---
     private final int numNucleos = 2;
     private Proceso[] nucleos;
     private long[] tiempoOciosoNucleos;
     private int[] quantumRestanteNucleos;
+    private final LineaTiempoNucleos lineaTiempo = new LineaTiempoNucleos(numNucleos); // la escribe el motor
+    private DiagramaGantt diagramaGantt;
+    private TLB.Configuracion configuracionTLB = TLB.Configuracion.desdeTexto(TLB.Configuracion.POR_DEFECTO);
+    private TopologiaNUMA.Configuracion configuracionNUMA =
+            TopologiaNUMA.Configuracion.desdeTexto(TopologiaNUMA.Configuracion.POR_DEFECTO);
 
     // --- I/O y Eventos ---
-    private Map<Proceso, Long> tiemposIO = new HashMap<>(); // Proceso -> tiempo restante de I/O
-    private Random random = new Random(42); // Para generar eventos I/O aleatorios
+    private SubsistemaIO subsistemaIO = SubsistemaIO.desdeConfiguracion(SubsistemaIO.CONFIGURACION_POR_DEFECTO, 0);
+    private GeneradorAleatorio random = new GeneradorAleatorio(42); // Para generar eventos I/O aleatorios
+
+    // --- Checkpoints ---
+    private static final long INTERVALO_CHECKPOINT = 100; // ticks entre checkpoints automáticos
+    private static final Path ARCHIVO_CHECKPOINT = Path.of("simulador-checkpoint.bin");
+
+    // --- Diario de eventos (uno por cada inicio/detención del motor) ---
+    private static final Path ARCHIVO_DIARIO = Path.of("simulador-eventos.diario");
+    private DiarioEventos diario; // solo lo usa el hilo del motor mientras corre
+
+    // --- Estado en vivo para monitores externos (ver LectorEstado) ---
+    private static final Path ARCHIVO_ESTADO = Path.of("simulador-estado.mem");
+    private ExportadorEstado exportador; // null si no se pudo mapear el archivo
 
     // --- Estadísticas adicionales ---
     private long totalCambiosContexto = 0;
     private long totalSwapsRealizados = 0;
+    private long sumaLatenciaAdmision = 0; // ticks entre la llegada y la admisión (NUEVO -> LISTO)
+    private long admisiones = 0;
+
+    // --- Swapping (planificador de mediano plazo) ---
+    private PlanificadorSwap planificadorSwap = new PlanificadorSwap(0);
+
+    // --- Métricas en vivo (JMX + series por tick) ---
+    private final RegistroMetricas metricas = new RegistroMetricas("simulador");
+    private boolean reanudandoCheckpoint = false; // al iniciar se conservan TLB y NUMA restauradas
 
     /**
      * Inicialización del controlador
@@ -110,47 +174,80 @@ public class SimuladorController {
         this.nucleos = new Proceso[numNucleos];
         this.tiempoOciosoNucleos = new long[numNucleos];
         this.quantumRestanteNucleos = new int[numNucleos];
+        gestorMemoria.configurarTLB(numNucleos, configuracionTLB);
+        gestorMemoria.configurarNUMA(numNucleos, configuracionNUMA);
 
         // Configurar ComboBox de algoritmos
-        comboAlgoritmo.setItems(FXCollections.observableArrayList("SJF", "Round Robin"));
+        comboAlgoritmo.setItems(FXCollections.observableArrayList(PoliticaPlanificacion.getNombres()));
         comboAlgoritmo.setValue("SJF");
 
         // Configurar ComboBox de políticas de reemplazo
-        comboPoliticaReemplazo.setItems(FXCollections.observableArrayList("FIFO", "LRU"));
+        comboPoliticaReemplazo.setItems(FXCollections.observableArrayList("FIFO", "LRU", "CLOCK", "NFU", "LFU", "OPT"));
         comboPoliticaReemplazo.setValue("FIFO");
 
-        comboModoMemoria.setItems(FXCollections.observableArrayList(
-                "Partición Dinámica", "Paginación"));
-        comboModoMemoria.setValue("Partición Dinámica");
+        List<String> nombresModo = new ArrayList<>();
+        for (GestorMemoria.ModoMemoria modo : GestorMemoria.ModoMemoria.values()) {
+            nombresModo.add(nombreModo(modo));
+        }
+        comboModoMemoria.setItems(FXCollections.observableArrayList(nombresModo));
+        comboModoMemoria.setValue(nombreModo(GestorMemoria.ModoMemoria.PARTICION_DINAMICA));
 
         // Listener para cambiar modo de memoria
         comboModoMemoria.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if ("Paginación".equals(newVal)) {
-                gestorMemoria.setModo(GestorMemoria.ModoMemoria.PAGINACION);
-                mostrarInfo("Modo de Memoria", "Cambiado a: Paginación (4 MB por página)");
-            } else {
-                gestorMemoria.setModo(GestorMemoria.ModoMemoria.PARTICION_DINAMICA);
-                mostrarInfo("Modo de Memoria", "Cambiado a: Partición Dinámica (First-Fit)");
+            GestorMemoria.ModoMemoria modo = modoDesdeNombre(newVal);
+            ejecutarEnMotor(() -> gestorMemoria.setModo(modo));
+            switch (modo) {
+                case PAGINACION:
+                    mostrarInfo("Modo de Memoria", "Cambiado a: Paginación (4 MB por página)");
+                    break;
+                case SEGMENTACION:
+                    mostrarInfo("Modo de Memoria", "Cambiado a: Segmentación (código, datos, heap y pila en particiones separadas)");
+                    break;
+                case SEGMENTACION_PAGINADA:
+                    mostrarInfo("Modo de Memoria", "Cambiado a: Segmentación Paginada (una tabla de páginas por segmento)");
+                    break;
+                case PAGINACION_DEMANDA:
+                    mostrarInfo("Modo de Memoria", "Cambiado a: Paginación por Demanda (los marcos se cargan al primer acceso)");
+                    break;
+                case SLAB:
+                    mostrarInfo("Modo de Memoria", "Cambiado a: Slab (clases de " + Arrays.toString(gestorMemoria.getClasesSlab())
+                            + " MB; los tamaños raros van a First-Fit)");
+                    break;
+                default:
+                    mostrarInfo("Modo de Memoria", "Cambiado a: Partición Dinámica (First-Fit)");
+                    break;
             }
         });
 
         // Conectar política de reemplazo con el gestor
+        // (OPT en vivo no conoce el futuro: sin secuencia de referencias actúa como FIFO)
         comboPoliticaReemplazo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            if ("LRU".equals(newVal)) {
-                gestorMemoria.setPoliticaReemplazo(GestorMemoria.PoliticaReemplazo.LRU);
-                System.out.println("Política de reemplazo cambiada a: LRU");
-            } else {
-                gestorMemoria.setPoliticaReemplazo(GestorMemoria.PoliticaReemplazo.FIFO);
-                System.out.println("Política de reemplazo cambiada a: FIFO");
-            }
+            GestorMemoria.PoliticaReemplazo politica = GestorMemoria.PoliticaReemplazo.valueOf(newVal);
+            ejecutarEnMotor(() -> gestorMemoria.setPoliticaReemplazo(politica));
+            System.out.println("Política de reemplazo cambiada a: " + politica);
         });
 
         // Listener para habilitar/deshabilitar quantum según algoritmo
         comboAlgoritmo.valueProperty().addListener((obs, oldVal, newVal) -> {
-            txtQuantum.setDisable(!"Round Robin".equals(newVal));
+            txtQuantum.setDisable(!PoliticaPlanificacion.usaQuantum(newVal));
         });
 
         txtQuantum.setDisable(true);
+        if (comboPoliticaSwap != null) {
+            comboPoliticaSwap.setItems(FXCollections.observableArrayList("BLOQUEADO", "MAYOR", "MAS_ANTIGUO"));
+            comboPoliticaSwap.setValue(planificadorSwap.getPolitica().name());
+            comboPoliticaSwap.valueProperty().addListener((obs, oldVal, newVal) ->
+                    ejecutarEnMotor(() -> planificadorSwap.setPolitica(PlanificadorSwap.PoliticaVictima.valueOf(newVal))));
+        }
+        if (txtDispositivosIO != null) {
+            txtDispositivosIO.setText(SubsistemaIO.CONFIGURACION_POR_DEFECTO);
+        }
+        if (txtTLB != null) {
+            txtTLB.setText(configuracionTLB.toString());
+        }
+        if (txtNUMA != null) {
+            txtNUMA.setText(configuracionNUMA.toString());
+        }
         colorPalette.addAll( Arrays.asList(
                 Color.web("#F44336"), Color.web("#E91E63"), Color.web("#9C27B0"),
                 Color.web("#673AB7"), Color.web("#3F51B5"), Color.web("#2196F3"),
@@ -161,6 +258,208 @@ public class SimuladorController {
         ) );
         // Configurar columnas de tablas
         configurarTablas();
+        configurarMetricas();
+
+        if (canvasGantt != null) {
+            diagramaGantt = new DiagramaGantt(canvasGantt, barraGantt, lineaTiempo, this::getColorForPID);
+        }
+
+        // Dibuja la instantánea más nueva (si no cambió desde el último pulso, no hace nada)
+        renderizador = new AnimationTimer() {
+            private InstantaneaSimulacion dibujada;
+
+            @Override
+            public void handle(long ahora) {
+                InstantaneaSimulacion actual = instantanea.get();
+                if (actual != null && actual != dibujada) {
+                    renderizar(actual, dibujada);
+                    dibujada = actual;
+                }
+                if (diagramaGantt != null) {
+                    diagramaGantt.actualizar(); // solo dibuja los ticks nuevos
+                }
+            }
+        };
+        renderizador.start();
+        abrirExportador();
+        publicarInstantanea();
+    }
+
+    /**
+     * Ejecuta un cambio sobre el estado de la simulación. Si el motor está
+     * corriendo se encola y lo aplica el hilo del motor antes del próximo
+     * tick; si no, se aplica ya (el motor está detenido, no hay carrera).
+     */
+    private void ejecutarEnMotor(Runnable tarea) {
+        if (hiloMotor != null) {
+            tareasMotor.add(tarea);
+        } else {
+            tarea.run();
+        }
+    }
+
+    private void ejecutarTareasPendientes() {
+        Runnable tarea;
+        while ((tarea = tareasMotor.poll()) != null) {
+            tarea.run();
+        }
+    }
+
+    private void iniciarMotor() {
+        abrirDiario();
+        motorActivo = true;
+        hiloMotor = new Thread(this::bucleMotor, "motor-simulacion");
+        hiloMotor.setDaemon(true);
+        hiloMotor.start();
+    }
+
+    /**
+     * Detiene el motor y espera a que termine el tick en curso. Después de
+     * esto el estado se puede tocar desde el hilo de JavaFX.
+     */
+    private void detenerMotor() {
+        if (hiloMotor == null) {
+            return;
+        }
+        motorActivo = false;
+        LockSupport.unpark(hiloMotor);
+        try {
+            hiloMotor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        hiloMotor = null;
+        ejecutarTareasPendientes();
+        cerrarDiario();
+    }
+
+    /**
+     * Empieza un diario nuevo y lo conecta a la tabla de procesos, la
+     * memoria y la I/O (que pueden haber cambiado al cargar un checkpoint).
+     * Si no se puede crear, la simulación sigue sin diario.
+     */
+    private void abrirDiario() {
+        try {
+            diario = new DiarioEventos(ARCHIVO_DIARIO);
+        } catch (IOException e) {
+            System.err.println("No se pudo crear el diario de eventos: " + e.getMessage());
+            diario = null;
+            return;
+        }
+        diario.setTick(reloj);
+        tablaProcesos.setDiario(diario);
+        gestorMemoria.setDiario(diario);
+        subsistemaIO.setDiario(diario);
+    }
+
+    private void cerrarDiario() {
+        if (diario == null) {
+            return;
+        }
+        tablaProcesos.setDiario(null);
+        gestorMemoria.setDiario(null);
+        subsistemaIO.setDiario(null);
+        try {
+            diario.close();
+            System.out.println("Diario de eventos: " + diario.getEventos() + " eventos en " + ARCHIVO_DIARIO);
+        } catch (IOException e) {
+            System.err.println("No se pudo cerrar el diario de eventos: " + e.getMessage());
+        }
+        diario = null;
+    }
+
+    /**
+     * Mapea el archivo de estado en vivo (uno para toda la sesión, así un
+     * monitor puede quedar conectado entre corridas). Si no se puede, la
+     * simulación sigue sin exportar.
+     */
+    private void abrirExportador() {
+        try {
+            exportador = new ExportadorEstado(ARCHIVO_ESTADO, numNucleos);
+        } catch (IOException e) {
+            System.err.println("No se pudo mapear el estado en vivo: " + e.getMessage());
+            exportador = null;
+        }
+    }
+
+    private void bucleMotor() {
+        long siguiente = System.nanoTime();
+        try {
+            while (motorActivo) {
+                ejecutarTareasPendientes();
+                pasoSimulacion();
+
+                siguiente += PERIODO_TICK_NS;
+                long espera;
+                while (motorActivo && (espera = siguiente - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            motorActivo = false;
+            Platform.runLater(() -> mostrarError("Error en la simulación", String.valueOf(e.getMessage())));
+        }
+    }
+
+    /**
+     * Arma la instantánea del estado actual y la publica para el renderizador
+     * y el archivo de estado en vivo. Se llama desde el hilo del motor, o
+     * desde JavaFX con el motor detenido (así hay un solo escritor a la vez).
+     */
+    private void publicarInstantanea() {
+        InstantaneaSimulacion s = new InstantaneaSimulacion(reloj, totalCambiosContexto, totalAsignaciones,
+                colaNuevos, colaListos, tablaProcesos, colaEsperando, historialTerminados,
+                nucleos, gestorMemoria);
+        instantanea.set(s);
+        if (exportador != null) {
+            exportador.publicar(s, planificadorSwap.getColaSwap().size(), gestorMemoria);
+        }
+    }
+
+    /**
+     * Toma el algoritmo y el quantum de la interfaz (una vez, al iniciar).
+     * false si no son válidos (ya se mostró el error).
+     */
+    private boolean leerConfiguracionPlanificacion() {
+        try {
+            politicaActiva = PoliticaPlanificacion.resolver(comboAlgoritmo.getValue(), leerQuantum());
+            return true;
+        } catch (IllegalArgumentException e) {
+            mostrarError("Planificación inválida", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Registra los medidores de la simulación y los publica por JMX. Los
+     * medidores leen los campos actuales, así siguen valiendo después de
+     * restaurar un checkpoint.
+     */
+    private void configurarMetricas() {
+        metricas.medidor("cpu.cambiosContexto", () -> totalCambiosContexto);
+        metricas.medidor("swap.total", () -> totalSwapsRealizados);
+        metricas.medidor("cola.nuevos", () -> colaNuevos.size());
+        metricas.medidor("cola.listos", () -> colaListos.size());
+        metricas.medidor("cola.esperando", () -> colaEsperando.size());
+        metricas.medidor("cola.swap", () -> planificadorSwap.getColaSwap().size());
+        for (int i = 0; i < numNucleos; i++) {
+            final int nucleo = i;
+            metricas.medidor("cpu.nucleo" + i + ".ocupado", () -> nucleos[nucleo] != null ? 1 : 0);
+            metricas.medidor("cpu.nucleo" + i + ".ticksOciosos", () -> tiempoOciosoNucleos[nucleo]);
+            metricas.medidor("tlb.nucleo" + i + ".tasaAciertos", () -> {
+                TLB tlb = gestorMemoria.getTLB(nucleo);
+                return tlb == null ? 0 : tlb.getTasaAciertos();
+            });
+        }
+        metricas.medidor("numa.proporcionLocal", () -> Math.max(0, gestorMemoria.getProporcionAccesosLocales()));
+        metricas.medidor("memoria.usada", () -> gestorMemoria.calcularMemoriaUsada());
+        metricas.medidor("memoria.virtual", () -> gestorMemoria.calcularMemoriaVirtual());
+        metricas.medidor("memoria.ahorradaCompartida", () -> gestorMemoria.calcularMemoriaAhorrada());
+        metricas.medidor("memoria.fragmentacionExterna", () -> gestorMemoria.calcularFragmentacionExterna());
+        metricas.medidor("memoria.fragmentacionInterna", () -> gestorMemoria.calcularFragmentacionInterna());
+        gestorMemoria.registrarMetricas(metricas);
+        metricas.publicarEnJMX();
     }
 
     /**
@@ -194,57 +493,61 @@ public class SimuladorController {
         configurarColumnasTabla(tablaEsperando);
     }
 
-    private void configurarColumnasTabla(TableView<Proceso> tabla) {
+    private void configurarColumnasTabla(TableView<InstantaneaSimulacion.FilaProceso> tabla) {
         tabla.getColumns().clear();
 
-        TableColumn<Proceso, Integer> colPid = new TableColumn<>("PID");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Integer> colPid = new TableColumn<>("PID");
         colPid.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleIntegerProperty(data.getValue().getPid()).asObject());
 
-        TableColumn<Proceso, String> colEstado = new TableColumn<>("Estado");
+        TableColumn<InstantaneaSimulacion.FilaProceso, String> colEstado = new TableColumn<>("Estado");
         colEstado.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleStringProperty(data.getValue().getEstado().toString()));
 
-        TableColumn<Proceso, Long> colLlegada = new TableColumn<>("Llegada");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Long> colLlegada = new TableColumn<>("Llegada");
         colLlegada.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleLongProperty(data.getValue().getTiempoLlegada()).asObject());
 
-        TableColumn<Proceso, Long> colDuracion = new TableColumn<>("CPU Burst");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Long> colDuracion = new TableColumn<>("CPU Burst");
         colDuracion.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleLongProperty(data.getValue().getDuracionCPU()).asObject());
 
-        TableColumn<Proceso, Long> colRestante = new TableColumn<>("Restante");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Long> colRestante = new TableColumn<>("Restante");
         colRestante.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleLongProperty(data.getValue().getTiempoCPUrestante()).asObject());
 
-        TableColumn<Proceso, Integer> colMemoria = new TableColumn<>("Memoria (MB)");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Integer> colMemoria = new TableColumn<>("Memoria (MB)");
         colMemoria.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleIntegerProperty(data.getValue().getTamanoMemoria()).asObject());
 
-        tabla.getColumns().addAll(colPid, colEstado, colLlegada, colDuracion, colRestante, colMemoria);
+        TableColumn<InstantaneaSimulacion.FilaProceso, Integer> colResidente = new TableColumn<>("Residente (MB)");
+        colResidente.setCellValueFactory(data
+                -> new javafx.beans.property.SimpleIntegerProperty(data.getValue().getMemoriaResidente()).asObject());
+
+        tabla.getColumns().addAll(colPid, colEstado, colLlegada, colDuracion, colRestante, colMemoria, colResidente);
     }
 
-    private void configurarColumnasTablaTerminados(TableView<Proceso> tabla) {
+    private void configurarColumnasTablaTerminados(TableView<InstantaneaSimulacion.FilaProceso> tabla) {
         tabla.getColumns().clear();
 
-        TableColumn<Proceso, Integer> colPid = new TableColumn<>("PID");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Integer> colPid = new TableColumn<>("PID");
         colPid.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleIntegerProperty(data.getValue().getPid()).asObject());
 
-        TableColumn<Proceso, Long> colEspera = new TableColumn<>("T. Espera");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Long> colEspera = new TableColumn<>("T. Espera");
         colEspera.setCellValueFactory(data
                 -> new javafx.beans.property.SimpleLongProperty(data.getValue().getTiempoEspera()).asObject());
 
-        TableColumn<Proceso, Long> colRespuesta = new TableColumn<>("T. Respuesta");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Long> colRespuesta = new TableColumn<>("T. Respuesta");
         colRespuesta.setCellValueFactory(data -> {
-            Proceso p = data.getValue();
+            InstantaneaSimulacion.FilaProceso p = data.getValue();
             long respuesta = p.getTiempoInicioEjecucion() - p.getTiempoLlegada();
             return new javafx.beans.property.SimpleLongProperty(respuesta).asObject();
         });
 
-        TableColumn<Proceso, Long> colRetorno = new TableColumn<>("T. Retorno");
+        TableColumn<InstantaneaSimulacion.FilaProceso, Long> colRetorno = new TableColumn<>("T. Retorno");
         colRetorno.setCellValueFactory(data -> {
-            Proceso p = data.getValue();
+            InstantaneaSimulacion.FilaProceso p = data.getValue();
             long retorno = p.getTiempoFinalizacion() - p.getTiempoLlegada();
             return new javafx.beans.property.SimpleLongProperty(retorno).asObject();
         });
@@ -270,18 +573,49 @@ public class SimuladorController {
                 return;
             }
 
-            Proceso p = new Proceso(pidCounter++, llegada, duracion, memoria);
+            // Opcionales: región compartida de una imagen y fork de otro proceso
+            int imagen = -1;
+            int tamanoCompartido = 0;
+            String compartida = txtCompartida == null ? "" : txtCompartida.getText().trim();
+            if (!compartida.isEmpty()) {
+                String[] partes = compartida.split(":");
+                if (partes.length != 2) {
+                    mostrarError("Imagen compartida inválida", "Formato: imagen:MB (ej: 1:64)");
+                    return;
+                }
+                imagen = Integer.parseInt(partes[0].trim());
+                tamanoCompartido = Integer.parseInt(partes[1].trim());
+                if (imagen < 0 || tamanoCompartido <= 0 || tamanoCompartido > memoria) {
+                    mostrarError("Imagen compartida inválida",
+                            "La imagen no puede ser negativa y la región debe estar entre 1 y " + memoria + " MB");
+                    return;
+                }
+            }
+            int padre = -1;
+            String textoPadre = txtPadre == null ? "" : txtPadre.getText().trim();
+            if (!textoPadre.isEmpty()) {
+                padre = Integer.parseInt(textoPadre);
+                if (padre <= 0 || padre >= pidCounter) {
+                    mostrarError("Fork inválido", "El padre debe ser un PID ya creado");
+                    return;
+                }
+            }
+
+            Proceso p = tablaProcesos.nuevo(pidCounter++, llegada, duracion, memoria);
+            p.setMemoriaCompartida(imagen, tamanoCompartido);
+            p.setPadre(padre);
             colaNuevos.add(p);
 
-            if (tablaNuevos != null) {
-                tablaNuevos.setItems(FXCollections.observableArrayList(colaNuevos));
-                tablaNuevos.refresh();
-            }
+            publicarInstantanea();
 
             System.out.println("Proceso creado: " + p);
             txtLlegada.clear();
             txtDuracion.clear();
             txtMemoria.clear();
+            if (txtCompartida != null) {
+                txtCompartida.clear();
+                txtPadre.clear();
+            }
 
         } catch (NumberFormatException e) {
             mostrarError("Formato inválido", "Por favor ingrese solo números");
@@ -290,14 +624,57 @@ public class SimuladorController {
 
     @FXML
     private void handleIniciarSimulacion() {
-        if (colaNuevos.isEmpty()) {
+        if (colaNuevos.isEmpty() && colaListos.isEmpty() && colaEsperando.isEmpty()
+                && planificadorSwap.isVacio() && !hayProcesosEnCPU()) {
             mostrarError("Sin procesos", "Debe crear al menos un proceso antes de iniciar");
             return;
         }
 
-        timeline = new Timeline(new KeyFrame(Duration.seconds(1), e -> pasoSimulacion()));
-        timeline.setCycleCount(Timeline.INDEFINITE);
-        timeline.play();
+        // Los dispositivos solo se pueden reconfigurar si no hay I/O en curso
+        if (txtDispositivosIO != null && subsistemaIO.isInactivo()) {
+            try {
+                subsistemaIO = SubsistemaIO.desdeConfiguracion(txtDispositivosIO.getText(), reloj);
+            } catch (IllegalArgumentException e) {
+                mostrarError("Dispositivos I/O inválidos", e.getMessage());
+                return;
+            }
+        }
+
+        // TLB: cada corrida arranca con las TLB vacías y estadísticas en cero,
+        // salvo al reanudar un checkpoint sin cambiar la configuración
+        String tlbAnterior = configuracionTLB.toString();
+        if (txtTLB != null) {
+            try {
+                configuracionTLB = TLB.Configuracion.desdeTexto(txtTLB.getText());
+            } catch (IllegalArgumentException e) {
+                mostrarError("TLB inválida", e.getMessage());
+                return;
+            }
+        }
+        if (!reanudandoCheckpoint || !configuracionTLB.toString().equals(tlbAnterior)) {
+            gestorMemoria.configurarTLB(numNucleos, configuracionTLB);
+        }
+
+        // NUMA: la topología se arma con la memoria actual (los procesos ya
+        // cargados quedan en el nodo donde tienen la mayoría de sus páginas)
+        String numaAnterior = configuracionNUMA.toString();
+        if (txtNUMA != null) {
+            try {
+                configuracionNUMA = TopologiaNUMA.Configuracion.desdeTexto(txtNUMA.getText());
+            } catch (IllegalArgumentException e) {
+                mostrarError("NUMA inválida", e.getMessage());
+                return;
+            }
+        }
+        if (!reanudandoCheckpoint || !configuracionNUMA.toString().equals(numaAnterior)) {
+            gestorMemoria.configurarNUMA(numNucleos, configuracionNUMA);
+        }
+
+        if (!leerConfiguracionPlanificacion()) {
+            return;
+        }
+        reanudandoCheckpoint = false;
+        iniciarMotor();
 
         btnIniciar.setDisable(true);
         btnDetener.setDisable(false);
@@ -306,233 +683,322 @@ public class SimuladorController {
 
    @FXML
     private void handleDetenerSimulacion() {
-        if (timeline != null) {
-            timeline.stop();
-        }
+        detenerMotor();
         btnIniciar.setDisable(false);
         btnDetener.setDisable(true);
         btnCrearProceso.setDisable(false);
-        reloj = 0;
 
+        // Guardamos el estado antes de reiniciar el reloj, para poder reanudar
+        guardarCheckpoint(ARCHIVO_CHECKPOINT);
+
+        // Con el reloj de esta corrida: al rebasar, las métricas de I/O empiezan de cero
         mostrarEstadisticasFinales();
 
+        // Los I/O pendientes se re-programan relativos al reloj reiniciado
+        subsistemaIO.rebasar(reloj);
+        planificadorSwap.rebasar(reloj);
+        reloj = 0;
+
         colaNuevos.clear();
-        for (Proceso pTerminado : colaTerminados) {
+        // Se recorren en orden, leyendo del historial en disco los que ya no están en memoria
+        historialTerminados.paraCada(pTerminado -> {
 
             // Creamos un objeto Proceso FRESCO
-            Proceso pNuevo = new Proceso(
+            Proceso pNuevo = tablaProcesos.nuevo(
                     pTerminado.getPid(),             // Mismo PID
                     pTerminado.getTiempoLlegada(),   // Misma llegada
                     pTerminado.getDuracionCPU(),     // Misma duración original
                     pTerminado.getTamanoMemoria()    // Misma memoria
             );
+            pNuevo.copiarCompartidaDe(pTerminado);
             colaNuevos.add(pNuevo);
-        }
-        tablaNuevos.setItems(FXCollections.observableArrayList(colaNuevos));
-        colaTerminados.clear();
+        });
+        historialTerminados.limpiar(); // libera las ranuras de los retenidos
+        publicarInstantanea();
 
     }
 
-    public void handleBorrarColaNuevos() {
-        colaNuevos.clear();
-        tablaNuevos.getItems().clear();
-        pidCounter = 1;
+    @FXML
+    private void handleGuardarCheckpoint() {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Guardar checkpoint");
+        chooser.setInitialFileName(ARCHIVO_CHECKPOINT.toString());
+        File archivo = chooser.showSaveDialog(btnIniciar.getScene().getWindow());
+        if (archivo != null) {
+            if (hiloMotor == null && !leerConfiguracionPlanificacion()) {
+                return;
+            }
+            ejecutarEnMotor(() -> guardarCheckpoint(archivo.toPath()));
+        }
     }
 
-    // Metodo para mostrar comparación de algoritmos
     @FXML
-    private void handleComparar() {
-        if (colaTerminados.isEmpty()) {
-            mostrarError("Sin Datos", "No hay procesos terminados para comparar.");
+    private void handleCargarCheckpoint() {
+        detenerMotor();
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Reanudar desde checkpoint");
+        File archivo = chooser.showOpenDialog(btnIniciar.getScene().getWindow());
+        if (archivo == null) {
             return;
         }
-
-        // Verificar que estemos en modo Paginación (único modo donde FIFO/LRU tiene sentido)
-        if (gestorMemoria.getEstadisticas().get("modo") != GestorMemoria.ModoMemoria.PAGINACION) {
-             mostrarError("Modo Incorrecto", "La comparación FIFO vs LRU solo aplica en modo Paginación.");
-             return;
+        try {
+            restaurarPuntoControl(PuntoControl.cargar(archivo.toPath()));
+            publicarInstantanea();
+            btnIniciar.setDisable(false);
+            btnDetener.setDisable(true);
+            btnCrearProceso.setDisable(false);
+            mostrarInfo("Checkpoint", "Simulación restaurada en el tick " + reloj + ". Presione Iniciar para continuar.");
+        } catch (IOException e) {
+            mostrarError("Checkpoint inválido", e.getMessage());
         }
-
-        // 2. Identificar políticas
-        GestorMemoria.PoliticaReemplazo politicaActual =
-            "LRU".equals(comboPoliticaReemplazo.getValue()) ? GestorMemoria.PoliticaReemplazo.LRU : GestorMemoria.PoliticaReemplazo.FIFO;
-
-        GestorMemoria.PoliticaReemplazo politicaComparar =
-            (politicaActual == GestorMemoria.PoliticaReemplazo.FIFO) ? GestorMemoria.PoliticaReemplazo.LRU : GestorMemoria.PoliticaReemplazo.FIFO;
-
-        // 3. Obtener métricas de la ejecución ACTUAL (la que el usuario acaba de ver)
-        double promedioEsperaActual = colaTerminados.stream().mapToLong(Proceso::getTiempoEspera).average().orElse(0);
-double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiempoFinalizacion() - p.getTiempoLlegada()).average().orElse(0);
-        // 4. Preparar y ejecutar la simulación en SEGUNDO PLANO (Headless)
-        System.out.println("Iniciando simulación en segundo plano con " + politicaComparar + "...");
-
-        // Clonamos los procesos originales para reiniciar sus tiempos
-        List<Proceso> procesosParaSimulacion = clonarProcesos(colaTerminados);
-
-        // Ejecutamos la simulación "falsa"
-        ResultadoSimulacion resultadoComparacion = ejecutarSimulacionHeadless(procesosParaSimulacion, politicaComparar);
-
-        // 5. Generar Gráfico Comparativo
-        mostrarVentanaComparacion(
-            politicaActual,
-            promedioEsperaActual,
-            promedioRetornoActual,
-            politicaComparar,
-            resultadoComparacion.promedioEspera,
-            resultadoComparacion.promedioRetorno
-        );
     }
 
-
-    // MÉTODOS PARA LA COMPARACIÓN
-
-    // Clase simple para guardar resultados del "Headless"
-    private static class ResultadoSimulacion {
-        double promedioEspera;
-        double promedioRetorno;
-
-        ResultadoSimulacion(double esp, double ret) {
-            this.promedioEspera = esp;
-            this.promedioRetorno = ret;
+    /**
+     * Serializa el estado actual (rápido, en memoria) y lo manda a escribir
+     * en segundo plano, así la simulación no se detiene esperando al disco.
+     */
+    private void guardarCheckpoint(Path archivo) {
+        try {
+            PuntoControl.guardarAsync(archivo, capturarPuntoControl().serializar());
+        } catch (IOException e) {
+            System.out.println("No se pudo guardar el checkpoint: " + e.getMessage());
         }
     }
 
+    private PuntoControl capturarPuntoControl() {
+        PuntoControl pc = new PuntoControl();
+        pc.algoritmo = politicaActiva.getNombre();
+        pc.quantum = politicaActiva.getQuantum();
+        pc.reloj = reloj;
+        pc.pidCounter = pidCounter;
+        pc.totalCambiosContexto = totalCambiosContexto;
+        pc.totalSwapsRealizados = totalSwapsRealizados;
+        pc.sumaLatenciaAdmision = sumaLatenciaAdmision;
+        pc.admisiones = admisiones;
+        pc.estadoAleatorio = random.getEstado();
+        pc.colaNuevos = colaNuevos;
+        pc.colaListos = colaListos.vistas(tablaProcesos);
+        pc.historialTerminados = historialTerminados;
+        pc.planificadorSwap = planificadorSwap;
+        pc.colaEsperando = colaEsperando;
+        pc.subsistemaIO = subsistemaIO;
+        pc.nucleos = nucleos;
+        pc.tiempoOciosoNucleos = tiempoOciosoNucleos;
+        pc.quantumRestanteNucleos = quantumRestanteNucleos;
+        pc.configuracionTLB = configuracionTLB.toString();
+        pc.configuracionNUMA = configuracionNUMA.toString();
+        pc.gestorMemoria = gestorMemoria;
+        pc.metricas = metricas;
+        return pc;
+    }
+
     /**
-     * Crea copias limpias de los procesos para poder volver a simularlos desde cero.
+     * Pasa la simulación al estado del checkpoint. Lo que puede no cuadrar
+     * se comprueba antes de tocar nada: si falla, el estado actual queda
+     * intacto y se descarta lo leído.
      */
-    private List<Proceso> clonarProcesos(List<Proceso> origen) {
-        List<Proceso> clones = new ArrayList<>();
-        for (Proceso p : origen) {
-            Proceso clon = new Proceso(p.getPid(), p.getTiempoLlegada(), p.getDuracionCPU(), p.getTamanoMemoria());
-            clones.add(clon);
+    private void restaurarPuntoControl(PuntoControl pc) throws IOException {
+        try {
+            comprobarPuntoControl(pc);
+        } catch (IOException e) {
+            pc.planificadorSwap.close(); // borra los archivos que se crearon al leerlo
+            pc.historialTerminados.close();
+            throw e;
+        }
+        comboAlgoritmo.setValue(pc.algoritmo);
+        txtQuantum.setText(String.valueOf(pc.quantum));
+        politicaActiva = PoliticaPlanificacion.resolver(pc.algoritmo, pc.quantum);
+
+        reloj = pc.reloj;
+        pidCounter = pc.pidCounter;
+        totalCambiosContexto = pc.totalCambiosContexto;
+        totalSwapsRealizados = pc.totalSwapsRealizados;
+        sumaLatenciaAdmision = pc.sumaLatenciaAdmision;
+        admisiones = pc.admisiones;
+        random.setEstado(pc.estadoAleatorio);
+        colaNuevos = pc.colaNuevos;
+        tablaProcesos = pc.tablaProcesos;
+        colaListos = new ColaSlots(pc.colaListos.size());
+        for (Proceso p : pc.colaListos) {
+            colaListos.add(p.getRanura());
+        }
+        // La tabla de la ventana cambia a la vista nueva en el próximo pulso,
+        // antes de cualquier layout, así nadie lee más el archivo viejo
+        historialTerminados.close();
+        historialTerminados = pc.historialTerminados;
+        planificadorSwap.close();
+        planificadorSwap = pc.planificadorSwap;
+        colaEsperando = new ColaEspera(pc.colaEsperando);
+        subsistemaIO = pc.subsistemaIO;
+        nucleos = pc.nucleos;
+        tiempoOciosoNucleos = pc.tiempoOciosoNucleos;
+        quantumRestanteNucleos = pc.quantumRestanteNucleos;
+        configuracionTLB = TLB.Configuracion.desdeTexto(pc.configuracionTLB);
+        if (txtTLB != null) {
+            txtTLB.setText(pc.configuracionTLB);
+        }
+        configuracionNUMA = TopologiaNUMA.Configuracion.desdeTexto(pc.configuracionNUMA);
+        if (txtNUMA != null) {
+            txtNUMA.setText(pc.configuracionNUMA);
+        }
+        gestorMemoria = pc.gestorMemoria;
+        gestorMemoria.registrarMetricas(metricas);
+        metricas.restaurar(pc.metricas);
+        metricas.publicarEnJMX();
+        reanudandoCheckpoint = true;
+
+        // Reflejar en los combos (los listeners aplican los mismos valores ya restaurados)
+        Map<String, Object> stats = gestorMemoria.getEstadisticas();
+        comboPoliticaReemplazo.setValue(stats.get("politica").toString());
+        comboModoMemoria.setValue(nombreModo((GestorMemoria.ModoMemoria) stats.get("modo")));
+        if (comboPoliticaSwap != null) {
+            comboPoliticaSwap.setValue(planificadorSwap.getPolitica().name());
         }
-
-        // 1. Primero por tiempo de llegada
-        // 2. Si empatan en tiempo, desempatar por PID
-        clones.sort(Comparator.comparingLong(Proceso::getTiempoLlegada)
-                .thenComparingInt(Proceso::getPid));
-
-        return clones;
     }
 
     /**
-     * Simulación lógica sin interfaz gráfica.
-     * Replica el bucle "pasoSimulacion" pero en un while loop rápido.
+     * Falla si el checkpoint no se puede restaurar en esta simulación:
+     * otra cantidad de núcleos, un planificador que ya no está, una
+     * configuración de TLB o NUMA inválida u otras métricas
      */
-    private ResultadoSimulacion ejecutarSimulacionHeadless(List<Proceso> procesosNuevos, GestorMemoria.PoliticaReemplazo politica) {
-        // 1. Configurar entorno aislado
-        GestorMemoria gestorHeadless = new GestorMemoria(2048); // Mismo tamaño
-        gestorHeadless.setModo(GestorMemoria.ModoMemoria.PAGINACION);
-        gestorHeadless.setPoliticaReemplazo(politica);
-
-        List<Proceso> hColaListos = new ArrayList<>();
-        List<Proceso> hColaTerminados = new ArrayList<>();
-        Proceso[] hNucleos = new Proceso[numNucleos];
-        int[] hQuantum = new int[numNucleos];
-
-        // Variables de control
-        long hReloj = 0;
-        int procesosTotales = procesosNuevos.size();
-
-        // Parámetros de algoritmo seleccionados en la UI
-        String algoritmo = comboAlgoritmo.getValue();
-        int quantumValor = 3;
-        try { quantumValor = Integer.parseInt(txtQuantum.getText()); } catch(Exception e){}
-
-        // Bucle de Simulación Rápida
-        while (hColaTerminados.size() < procesosTotales) {
-
-            // A. Nuevos -> Listos
-            Iterator<Proceso> it = procesosNuevos.iterator();
-            while (it.hasNext()) {
-                Proceso p = it.next();
-                if (p.getTiempoLlegada() <= hReloj) {
-                    if (gestorHeadless.asignarMemoria(p)) {
-                        p.setEstado(EstadoProceso.LISTO);
-                        hColaListos.add(p);
-                        it.remove();
-                    }
-                }
-            }
+    private void comprobarPuntoControl(PuntoControl pc) throws IOException {
+        if (pc.nucleos.length != numNucleos) {
+            throw new IOException("El checkpoint fue creado con " + pc.nucleos.length
+                    + " núcleos y esta simulación tiene " + numNucleos);
+        }
+        try {
+            PoliticaPlanificacion.resolver(pc.algoritmo, pc.quantum);
+            TLB.Configuracion.desdeTexto(pc.configuracionTLB);
+            TopologiaNUMA.Configuracion.desdeTexto(pc.configuracionNUMA);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        metricas.comprobar(pc.metricas);
+    }
 
-            // B. Incrementar esperas
-            for (Proceso p : hColaListos) {
-                p.incrementarTiempoEspera();
+    private static String nombreModo(GestorMemoria.ModoMemoria modo) {
+        switch (modo) {
+            case PAGINACION:
+                return "Paginación";
+            case SEGMENTACION:
+                return "Segmentación";
+            case SEGMENTACION_PAGINADA:
+                return "Segmentación Paginada";
+            case PAGINACION_DEMANDA:
+                return "Paginación por Demanda";
+            case SLAB:
+                return "Slab (clases de tamaño)";
+            default:
+                return "Partición Dinámica";
+        }
+    }
+
+    private static GestorMemoria.ModoMemoria modoDesdeNombre(String nombre) {
+        for (GestorMemoria.ModoMemoria modo : GestorMemoria.ModoMemoria.values()) {
+            if (nombreModo(modo).equals(nombre)) {
+                return modo;
             }
+        }
+        return GestorMemoria.ModoMemoria.PARTICION_DINAMICA;
+    }
 
-            // C. Asignar CPU (Scheduling simplificado para Headless)
-            for (int i = 0; i < numNucleos; i++) {
-                if (hNucleos[i] == null && !hColaListos.isEmpty()) {
-                    Proceso electo = null;
-
-                    // Lógica de selección
-                    if ("Round Robin".equals(algoritmo)) {
-                        electo = hColaListos.remove(0);
-                        hQuantum[i] = quantumValor;
-                    } else { // SJF
-                         Proceso masCorto = hColaListos.get(0);
-                         for(Proceso cand : hColaListos) {
-                             if(cand.getTiempoCPUrestante() < masCorto.getTiempoCPUrestante()) masCorto = cand;
-                         }
-                         electo = masCorto;
-                         hColaListos.remove(masCorto);
-                    }
+    private int leerQuantum() {
+        try {
+            return Integer.parseInt(txtQuantum.getText());
+        } catch (NumberFormatException e) {
+            return 3;
+        }
+    }
 
-                    if (electo != null) {
-                        hNucleos[i] = electo;
-                        electo.setEstado(EstadoProceso.EJECUTANDO);
-                        if (electo.getTiempoInicioEjecucion() == -1) electo.setTiempoInicioEjecucion(hReloj);
-                    }
-                }
+    public void handleBorrarColaNuevos() {
+        ejecutarEnMotor(() -> {
+            for (Proceso p : colaNuevos) {
+                tablaProcesos.liberar(p.getRanura());
             }
+            colaNuevos.clear();
+            pidCounter = 1;
+            publicarInstantanea();
+        });
+    }
 
-            // D. Ejecutar CPU
-            for (int i = 0; i < numNucleos; i++) {
-                if (hNucleos[i] != null) {
-                    Proceso p = hNucleos[i];
-                    p.avanzarTiempoCPU();
-
-                    // Simular acceso a memoria para actualizar LRU
-                    gestorHeadless.accederMemoria(p);
-
-                    if ("Round Robin".equals(algoritmo)) hQuantum[i]--;
-
-                    // Verificar fin
-                    if (p.getTiempoCPUrestante() <= 0) {
-                        p.setTiempoFinalizacion(hReloj + 1); // +1 porque terminó en este tick
-                        p.setEstado(EstadoProceso.TERMINADO);
-                        gestorHeadless.liberarMemoria(p);
-                        hColaTerminados.add(p);
-                        hNucleos[i] = null;
-                    } else if ("Round Robin".equals(algoritmo) && hQuantum[i] <= 0) {
-                        p.setEstado(EstadoProceso.LISTO);
-                        hColaListos.add(p);
-                        hNucleos[i] = null;
-                    }
-                }
+    // Metodo para mostrar comparación de algoritmos
+    @FXML
+    private void handleComparar() {
+        // Los terminados se copian en el hilo del motor, que es el dueño de la tabla
+        ejecutarEnMotor(() -> {
+            if (historialTerminados.isVacio()) {
+                Platform.runLater(() -> mostrarError("Sin Datos", "No hay procesos terminados para comparar."));
+                return;
             }
 
-            hReloj++;
-            // Failsafe para evitar bucles infinitos si algo sale mal
-            if (hReloj > 100000) break;
-        }
-
-        // Calcular Estadísticas del Headless
-        double avgEsp = hColaTerminados.stream().mapToLong(Proceso::getTiempoEspera).average().orElse(0);
-        double avgRet = hColaTerminados.stream().mapToLong(p -> p.getTiempoFinalizacion() - p.getTiempoLlegada()).average().orElse(0);
+            // Métricas de la ejecución ACTUAL (la que el usuario acaba de ver)
+            double promedioEsperaActual = historialTerminados.getPromedioEspera();
+            double promedioRetornoActual = historialTerminados.getPromedioRetorno();
+            TablaProcesos copia = new TablaProcesos((int) historialTerminados.getCantidad());
+            List<Proceso> procesos = new ArrayList<>();
+            historialTerminados.paraCada(p -> procesos.add(ComparadorSimulaciones.clonar(p, copia)));
+            procesos.sort(ComparadorSimulaciones.POR_LLEGADA);
 
-        return new ResultadoSimulacion(avgEsp, avgRet);
+            Platform.runLater(() -> mostrarVentanaComparacion(procesos, promedioEsperaActual, promedioRetornoActual));
+        });
     }
 
     /**
-     * Muestra la ventana con el gráfico de barras comparativo.
+     * Nombre de la serie de un resultado, con la tasa de aciertos de TLB y la
+     * proporción de accesos locales cuando corresponden, y si quedó truncada
      */
-    private void mostrarVentanaComparacion(
-            GestorMemoria.PoliticaReemplazo pol1, double esp1, double ret1,
-            GestorMemoria.PoliticaReemplazo pol2, double esp2, double ret2) {
+    private static String etiquetaResultado(ComparadorSimulaciones.Resultado r) {
+        StringBuilder sb = new StringBuilder(r.getConfiguracion().getEtiqueta());
+        if (r.getTasaAciertosTLB() >= 0) {
+            sb.append(String.format(" (TLB %.0f%%)", r.getTasaAciertosTLB() * 100));
+        }
+        if (r.getProporcionAccesosLocales() >= 0) {
+            sb.append(String.format(" (local %.0f%%)", r.getProporcionAccesosLocales() * 100));
+        }
+        if (r.isTruncado()) {
+            sb.append(" (truncada)");
+        }
+        return sb.toString();
+    }
 
+    /**
+     * Ventana de comparación: el usuario elige algoritmos, quantums, políticas
+     * y modos; todas las combinaciones corren en segundo plano y el gráfico
+     * se completa a medida que llegan los resultados.
+     */
+    private void mostrarVentanaComparacion(List<Proceso> procesos, double esperaActual, double retornoActual) {
         Stage stage = new Stage();
-        stage.setTitle("Comparación: " + pol1 + " vs " + pol2);
+        stage.setTitle("Comparación de configuraciones");
+
+        // Opciones (por defecto: la configuración actual y su alternativa)
+        Map<String, CheckBox> chkAlgoritmos = new LinkedHashMap<>();
+        for (String nombre : PoliticaPlanificacion.getNombres()) {
+            CheckBox chk = new CheckBox(nombre);
+            chk.setSelected(nombre.equals(comboAlgoritmo.getValue()));
+            chkAlgoritmos.put(nombre, chk);
+        }
+        TextField txtQuantums = new TextField(String.valueOf(leerQuantum()));
+        txtQuantums.setPromptText("Ej: 2,3,5");
+        txtQuantums.setPrefColumnCount(8);
+        Map<GestorMemoria.PoliticaReemplazo, CheckBox> chkPoliticas = new EnumMap<>(GestorMemoria.PoliticaReemplazo.class);
+        for (GestorMemoria.PoliticaReemplazo politica : GestorMemoria.PoliticaReemplazo.values()) {
+            CheckBox chk = new CheckBox(politica.name());
+            chk.setSelected(politica == GestorMemoria.PoliticaReemplazo.FIFO || politica == GestorMemoria.PoliticaReemplazo.LRU);
+            chkPoliticas.put(politica, chk);
+        }
+        Map<GestorMemoria.ModoMemoria, CheckBox> chkModos = new EnumMap<>(GestorMemoria.ModoMemoria.class);
+        for (GestorMemoria.ModoMemoria modo : GestorMemoria.ModoMemoria.values()) {
+            CheckBox chk = new CheckBox(nombreModo(modo));
+            chk.setSelected(modo == GestorMemoria.ModoMemoria.PAGINACION);
+            chkModos.put(modo, chk);
+        }
+
+        Button btnEjecutar = new Button("Ejecutar");
+        Button btnCancelar = new Button("Cancelar");
+        btnCancelar.setDisable(true);
+        ProgressBar progreso = new ProgressBar(0);
+        progreso.setPrefWidth(200);
+        Label lblEstado = new Label();
 
         CategoryAxis xAxis = new CategoryAxis();
         xAxis.setLabel("Métrica");
@@ -540,31 +1006,131 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
         yAxis.setLabel("Tiempo Promedio (Ticks)");
 
         BarChart<String, Number> barChart = new BarChart<>(xAxis, yAxis);
-        barChart.setTitle("Impacto de Política de Reemplazo en Rendimiento");
+        barChart.setTitle("Impacto de la configuración en el rendimiento");
+        barChart.setAnimated(false);
+
+        // Corrida en curso (arreglo para poder asignarla desde las lambdas)
+        ComparadorSimulaciones.Corrida[] corrida = new ComparadorSimulaciones.Corrida[1];
+
+        btnEjecutar.setOnAction(e -> {
+            List<String> algoritmos = new ArrayList<>();
+            chkAlgoritmos.forEach((nombre, chk) -> {
+                if (chk.isSelected()) algoritmos.add(nombre);
+            });
+            List<GestorMemoria.PoliticaReemplazo> politicas = new ArrayList<>();
+            chkPoliticas.forEach((politica, chk) -> {
+                if (chk.isSelected()) politicas.add(politica);
+            });
+            List<GestorMemoria.ModoMemoria> modos = new ArrayList<>();
+            chkModos.forEach((modo, chk) -> {
+                if (chk.isSelected()) modos.add(modo);
+            });
+
+            List<Integer> quantums = new ArrayList<>();
+            try {
+                for (String q : txtQuantums.getText().split(",")) {
+                    if (!q.isBlank()) {
+                        int valor = Integer.parseInt(q.trim());
+                        if (valor <= 0) {
+                            throw new NumberFormatException();
+                        }
+                        quantums.add(valor);
+                    }
+                }
+            } catch (NumberFormatException ex) {
+                mostrarError("Quantum inválido", "Ingrese quantums positivos separados por coma");
+                return;
+            }
+            if (algoritmos.stream().anyMatch(PoliticaPlanificacion::usaQuantum) && quantums.isEmpty()) {
+                quantums.add(3);
+            }
 
-        // Serie 1: Actual
-        XYChart.Series<String, Number> series1 = new XYChart.Series<>();
-        series1.setName(pol1.toString() + " (Actual)");
-        series1.getData().add(new XYChart.Data<>("Tiempo Espera", esp1));
-        series1.getData().add(new XYChart.Data<>("Tiempo Retorno", ret1));
+            List<ComparadorSimulaciones.Configuracion> configuraciones =
+                    ComparadorSimulaciones.combinar(algoritmos, quantums, politicas, modos,
+                            configuracionTLB, configuracionNUMA);
+            if (configuraciones.isEmpty()) {
+                mostrarError("Sin configuraciones", "Seleccione al menos un algoritmo, un modo y (para paginación) una política.");
+                return;
+            }
 
-        // Serie 2: Simulada
-        XYChart.Series<String, Number> series2 = new XYChart.Series<>();
-        series2.setName(pol2.toString() + " (Simulado)");
-        series2.getData().add(new XYChart.Data<>("Tiempo Espera", esp2));
-        series2.getData().add(new XYChart.Data<>("Tiempo Retorno", ret2));
+            // Serie de la ejecución actual, y las simuladas a medida que terminan
+            barChart.getData().clear();
+            XYChart.Series<String, Number> serieActual = new XYChart.Series<>();
+            serieActual.setName("Actual");
+            serieActual.getData().add(new XYChart.Data<>("Tiempo Espera", esperaActual));
+            serieActual.getData().add(new XYChart.Data<>("Tiempo Retorno", retornoActual));
+            barChart.getData().add(serieActual);
+
+            progreso.setProgress(0);
+            lblEstado.setText("0 / " + configuraciones.size());
+            btnEjecutar.setDisable(true);
+            btnCancelar.setDisable(false);
+            System.out.println("Iniciando " + configuraciones.size() + " simulaciones en segundo plano...");
+
+            corrida[0] = ComparadorSimulaciones.lanzar(configuraciones, procesos, numNucleos,
+                    new ComparadorSimulaciones.Observador() {
+                        @Override
+                        public void resultado(ComparadorSimulaciones.Resultado r, int terminadas, int total) {
+                            Platform.runLater(() -> {
+                                XYChart.Series<String, Number> serie = new XYChart.Series<>();
+                                serie.setName(etiquetaResultado(r));
+                                serie.getData().add(new XYChart.Data<>("Tiempo Espera", r.getPromedioEspera()));
+                                serie.getData().add(new XYChart.Data<>("Tiempo Retorno", r.getPromedioRetorno()));
+                                barChart.getData().add(serie);
+                                actualizarProgreso(terminadas, total);
+                            });
+                        }
 
-        barChart.getData().addAll(series1, series2);
+                        @Override
+                        public void error(ComparadorSimulaciones.Configuracion c, Throwable error) {
+                            System.out.println("Falló la simulación " + c + ": " + error);
+                            Platform.runLater(() -> actualizarProgreso(corrida[0].getTerminadas(), corrida[0].getTotal()));
+                        }
+
+                        private void actualizarProgreso(int terminadas, int total) {
+                            progreso.setProgress(terminadas / (double) total);
+                            lblEstado.setText(terminadas + " / " + total);
+                            if (terminadas == total) {
+                                btnEjecutar.setDisable(false);
+                                btnCancelar.setDisable(true);
+                            }
+                        }
+                    });
+        });
+
+        btnCancelar.setOnAction(e -> {
+            if (corrida[0] != null) {
+                corrida[0].cancelar();
+                lblEstado.setText("Cancelada (" + corrida[0].getTerminadas() + " / " + corrida[0].getTotal() + ")");
+            }
+            btnEjecutar.setDisable(false);
+            btnCancelar.setDisable(true);
+        });
+
+        // Cerrar la ventana cancela lo que siga corriendo
+        stage.setOnHidden(e -> {
+            if (corrida[0] != null) {
+                corrida[0].cancelar();
+            }
+        });
+
+        FlowPane opciones = new FlowPane(10, 8, new Label("Algoritmos:"));
+        opciones.getChildren().addAll(chkAlgoritmos.values());
+        opciones.getChildren().addAll(new Label("Quantums:"), txtQuantums, new Label("Modos:"));
+        opciones.getChildren().addAll(chkModos.values());
+        opciones.getChildren().add(new Label("Políticas:"));
+        opciones.getChildren().addAll(chkPoliticas.values());
+        HBox controles = new HBox(10, btnEjecutar, btnCancelar, progreso, lblEstado);
 
         // Texto explicativo
-        Label note = new Label("Nota: La simulación comparativa utiliza los mismos tiempos de llegada, ráfagas y configuración de CPU (Quantum/Algoritmo).");
+        Label note = new Label("Nota: Todas las simulaciones usan los mismos tiempos de llegada, ráfagas y número de núcleos. Cada combinación corre en paralelo en segundo plano.");
         note.setWrapText(true);
         note.setPadding(new Insets(10));
 
-        VBox root = new VBox(10, barChart, note);
+        VBox root = new VBox(10, opciones, controles, barChart, note);
         root.setPadding(new Insets(15));
 
-        stage.setScene(new Scene(root, 600, 500));
+        stage.setScene(new Scene(root, 800, 600));
         stage.show();
     }
 
@@ -579,52 +1145,55 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
         return false;
     }
 
-        // Calcular promedios
-        double avgEspera = colaTerminados.stream()
-                .mapToLong(Proceso::getTiempoEspera).average().orElse(0);
-        double avgRetorno = colaTerminados.stream()
-                .mapToLong(Proceso::getTiempoRetorno).average().orElse(0);
-        double avgRespuesta = colaTerminados.stream()
-                .mapToLong(Proceso::getTiempoRespuesta).average().orElse(0);
-
-
-
     /**
      * Paso principal de simulación
      */
     private void pasoSimulacion() {
         System.out.println("\n========== TICK " + reloj + " ==========");
+        if (diario != null) {
+            diario.setTick(reloj);
+        }
 
         // FASE 1: Intentar mover procesos de NUEVO -> LISTO
-        procesarNuevosLlegados();
+        int memoriaPendiente = procesarNuevosLlegados();
 
         // FASE 2: Swapping si es necesario
-        procesarSwapping();
+        procesarSwapping(memoriaPendiente);
 
-        // FASE 3: Incrementar tiempo de espera
-        for (Proceso p : colaListos) {
-            p.incrementarTiempoEspera();
-        }
+        // FASE 3: Incrementar tiempo de espera (recorrido sobre la tabla)
+        tablaProcesos.incrementarTiempoEspera(colaListos);
 
         // Simular eventos de I/O
         simularEventosIO();
 
         // FASE 4: Asignar procesos a núcleos libres
         asignarProcesosANucleos();
+        lineaTiempo.registrar(reloj, nucleos); // agrega un tramo solo si cambió el ocupante
 
         // FASE 5: Ejecutar procesos en CPU
         ejecutarProcesosEnCPU();
 
         // FASE 6: Verificar finalizaciones y desalojos
         verificarFinalizacionesYDesalojos();
+        gestorMemoria.avanzarReloj(); // aging de NFU
 
-        // FASE 7: Actualizar GUI
-        actualizarVistasGUI();
+        // FASE 7: Publicar la instantánea para la GUI
+        publicarInstantanea();
 
+        metricas.muestrear(reloj);
         reloj++;
+
+        if (reloj % INTERVALO_CHECKPOINT == 0) {
+            guardarCheckpoint(ARCHIVO_CHECKPOINT);
+        }
     }
 
-    private void procesarNuevosLlegados() {
+    /**
+     * Devuelve la memoria del proceso más chico que llegó y no pudo entrar
+     * (0 si todos los que llegaron entraron).
+     */
+    private int procesarNuevosLlegados() {
+        int memoriaPendiente = 0;
         ListIterator<Proceso> iter = colaNuevos.listIterator();
         while (iter.hasNext()) {
             Proceso p = iter.next();
@@ -634,57 +1203,63 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
 
                 if (gestorMemoria.asignarMemoria(p)) {
                     p.setEstado(EstadoProceso.LISTO);
-                    colaListos.add(p);
+                    colaListos.add(p.getRanura());
                     iter.remove();
-                    animarAsignacionMemoria();
+                    totalAsignaciones++;
+                    sumaLatenciaAdmision += reloj - p.getTiempoLlegada();
+                    admisiones++;
 
                     int memoriaUsada = gestorMemoria.calcularMemoriaUsada();
                     System.out.println("  Proceso " + p.getPid() + " movido a LISTO");
                     System.out.println("  Memoria usada: " + memoriaUsada + " / " + gestorMemoria.tamanoTotal + " MB");
                 } else {
                     System.out.println("  Proceso " + p.getPid() + " sin memoria disponible, queda en NUEVO");
+                    if (memoriaPendiente == 0 || p.getTamanoMemoria() < memoriaPendiente) {
+                        memoriaPendiente = p.getTamanoMemoria();
+                    }
                 }
             }
         }
+        return memoriaPendiente;
     }
 
-    private void procesarSwapping() {
-        // Implementación básica de swapping
-        // Si hay procesos en swap y hay memoria libre, intentar traerlos de vuelta
-        if (!colaSwap.isEmpty()) {
-            Iterator<Proceso> swapIter = colaSwap.iterator();
-            while (swapIter.hasNext()) {
-                Proceso p = swapIter.next();
-                if (gestorMemoria.asignarMemoria(p)) {
-                    p.setEstado(EstadoProceso.LISTO);
-                    colaListos.add(p);
-                    swapIter.remove();
-                    totalSwapsRealizados++;
-                    System.out.println("  Swap-in: Proceso " + p.getPid() + " regresa de swap");
-                    break; // Solo uno por tick para no saturar
-                }
+    private void procesarSwapping(int memoriaPendiente) {
+        // Swap-out: si hay nuevos que no caben, expulsar una víctima por tick,
+        // siempre que con su memoria (y la de los que se están escribiendo)
+        // el nuevo alcance a entrar
+        boolean presion = memoriaPendiente > 0;
+        int memoriaLibre = gestorMemoria.tamanoTotal - gestorMemoria.calcularMemoriaUsada();
+        if (planificadorSwap.hayQueExpulsar(memoriaLibre, memoriaPendiente)) {
+            Proceso victima = planificadorSwap.elegirVictima(colaListos, tablaProcesos, colaEsperando);
+            if (victima != null && memoriaLibre + planificadorSwap.getMemoriaPorLiberar()
+                    + victima.getTamanoMemoria() >= memoriaPendiente
+                    && planificadorSwap.expulsar(victima, reloj)) {
+                colaListos.remove(victima.getRanura()); // los bloqueados siguen en la cola de espera de I/O
+                totalSwapsRealizados++;
             }
         }
 
-        // Si hay procesos nuevos que no caben y la cola de listos está muy llena,
-        // podríamos hacer swap-out (esto es opcional y más avanzado)
+        // Swap-in: mientras haya presión se deja entrar primero a los nuevos.
+        // Los bloqueados vuelven antes de que termine su I/O y siguen esperando.
+        for (Proceso p : planificadorSwap.procesar(reloj, gestorMemoria, !presion, subsistemaIO)) {
+            colaListos.add(p.getRanura());
+            totalSwapsRealizados++;
+        }
     }
 
     private void asignarProcesosANucleos() {
         for (int i = 0; i < numNucleos; i++) {
             if (nucleos[i] == null && !colaListos.isEmpty()) {
-                Proceso procesoSeleccionado = seleccionarProcesoSegunAlgoritmo();
+                Proceso procesoSeleccionado = politicaActiva.siguiente(colaListos, tablaProcesos);
 
                 if (procesoSeleccionado != null) {
-                    nucleos[i] = procesoSeleccionado;
+                    // Con NUMA se prefiere un núcleo libre del nodo donde está su memoria
+                    int destino = gestorMemoria.elegirNucleo(procesoSeleccionado.getPid(), nucleos, i);
+                    nucleos[destino] = procesoSeleccionado;
                     procesoSeleccionado.setEstado(EstadoProceso.EJECUTANDO);
 
-                    if ("Round Robin".equals(comboAlgoritmo.getValue())) {
-                        try {
-                            quantumRestanteNucleos[i] = Integer.parseInt(txtQuantum.getText());
-                        } catch (NumberFormatException e) {
-                            quantumRestanteNucleos[i] = 3;
-                        }
+                    if (politicaActiva.usaQuantum()) {
+                        quantumRestanteNucleos[destino] = politicaActiva.getQuantum();
                     }
 
                     if (procesoSeleccionado.getTiempoInicioEjecucion() == -1) {
@@ -692,54 +1267,33 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
                     }
 
                     totalCambiosContexto++;
-                    animarCambioContexto();
-                    System.out.println("  Núcleo " + i + ": Inicia PID " + procesoSeleccionado.getPid());
+                    gestorMemoria.cambioContexto(destino, procesoSeleccionado.getPid());
+                    if (diario != null) {
+                        diario.despacho(destino, procesoSeleccionado.getPid(),
+                                politicaActiva.usaQuantum() ? politicaActiva.getQuantum() : 0);
+                    }
+                    System.out.println("  Núcleo " + destino + ": Inicia PID " + procesoSeleccionado.getPid());
+                    if (destino != i) {
+                        i--; // el núcleo i sigue libre
+                    }
                 }
             }
         }
     }
 
-    private Proceso seleccionarProcesoSegunAlgoritmo() {
-        String algoritmo = comboAlgoritmo.getValue();
-
-        switch (algoritmo) {
-            case "SJF":
-                return planificadorSJF();
-            case "Round Robin":
-                return planificadorRR();
-            default:
-                return planificadorRR();
-        }
-    }
-
-    private Proceso planificadorSJF() {
-        if (colaListos.isEmpty()) {
-            return null;
-        }
-
-        Proceso masCorto = colaListos.get(0);
-        for (Proceso p : colaListos) {
-            if (p.getTiempoCPUrestante() < masCorto.getTiempoCPUrestante()) {
-                masCorto = p;
-            }
-        }
-        colaListos.remove(masCorto);
-        return masCorto;
-    }
-
-    private Proceso planificadorRR() {
-        if (colaListos.isEmpty()) {
-            return null;
-        }
-        return colaListos.remove(0);
-    }
-
     private void ejecutarProcesosEnCPU() {
         for (int i = 0; i < numNucleos; i++) {
             if (nucleos[i] != null) {
                 nucleos[i].avanzarTiempoCPU();
 
-                if ("Round Robin".equals(comboAlgoritmo.getValue())) {
+                // Simular acceso a memoria (LRU, Clock, NFU, LFU) pasando por la TLB del núcleo.
+                // Un fallo de TLB o un acceso a otro nodo NUMA cuesta ticks extra de CPU
+                int penalizacion = gestorMemoria.accederMemoria(nucleos[i], i);
+                if (penalizacion > 0) {
+                    nucleos[i].setTiempoCPUrestante(nucleos[i].getTiempoCPUrestante() + penalizacion);
+                }
+
+                if (politicaActiva.usaQuantum()) {
                     quantumRestanteNucleos[i]--;
                 }
 
@@ -764,41 +1318,38 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
                 p.setTiempoFinalizacion(reloj);
                 p.setEstado(EstadoProceso.TERMINADO);
                 gestorMemoria.liberarMemoria(p);
-                colaTerminados.add(p);
+                historialTerminados.agregar(p);
                 nucleos[i] = null;
                 totalCambiosContexto++;
-            } // Quantum agotado (solo RR)
-            else if ("Round Robin".equals(comboAlgoritmo.getValue()) && quantumRestanteNucleos[i] <= 0) {
+                if (diario != null) {
+                    diario.desalojo(i, p.getPid(), EstadoProceso.TERMINADO);
+                }
+            } // Quantum agotado (solo planificadores con quantum)
+            else if (politicaActiva.usaQuantum() && quantumRestanteNucleos[i] <= 0) {
                 System.out.println(" Quantum agotado para PID " + p.getPid());
                 p.setEstado(EstadoProceso.LISTO);
-                colaListos.add(p);
+                colaListos.add(p.getRanura());
                 nucleos[i] = null;
                 totalCambiosContexto++;
+                if (diario != null) {
+                    diario.desalojo(i, p.getPid(), EstadoProceso.LISTO);
+                }
             }
         }
     }
 
     private void mostrarEstadisticasFinales() {
-        if (colaTerminados.isEmpty()) {
+        if (historialTerminados.isVacio()) {
             mostrarInfo("Simulación Detenida", "No hay procesos terminados para mostrar estadísticas");
             return;
         }
 
-        double totalRetorno = 0, totalEspera = 0, totalRespuesta = 0;
-
-        for (Proceso p : colaTerminados) {
-            long retorno = p.getTiempoFinalizacion() - p.getTiempoLlegada();
-            long respuesta = p.getTiempoInicioEjecucion() - p.getTiempoLlegada();
-
-            totalRetorno += retorno;
-            totalEspera += p.getTiempoEspera();
-            totalRespuesta += respuesta;
-        }
-
-        int n = colaTerminados.size();
-        double avgRetorno = totalRetorno / n;
-        double avgEspera = totalEspera / n;
-        double avgRespuesta = totalRespuesta / n;
+        // El historial lleva las sumas: no hace falta releer los que están en disco
+        long n = historialTerminados.getCantidad();
+        long ultimoFin = historialTerminados.getUltimoFin(); // el throughput se mide hasta el último fin
+        double avgRetorno = historialTerminados.getPromedioRetorno();
+        double avgEspera = historialTerminados.getPromedioEspera();
+        double avgRespuesta = historialTerminados.getPromedioRespuesta();
 
         // Calcular utilización de CPU
         double tiempoTotalCPU = 0;
@@ -822,9 +1373,25 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
                 + "─── RENDIMIENTO DEL SISTEMA ───\n"
                 + "• Utilización de CPU:   %.2f%%\n"
                 + "• Cambios de Contexto:  %d\n"
-                + "• Swaps Realizados:     %d\n"
-                + "• Núcleos:              %d\n",
-                comboAlgoritmo.getValue(),
+                + "• Swaps Realizados:     %d (out: %d, in: %d, anticipados: %d)\n"
+                + "• Latencia de Admisión: %.2f ticks\n"
+                + "• Throughput:           %.4f procesos/tick\n"
+                + "• Núcleos:              %d\n\n"
+                + "─── DISPOSITIVOS DE I/O ───\n"
+                + "%s\n"
+                + "─── TLB ───\n"
+                + "%s\n"
+                + "─── NUMA ───\n"
+                + "%s\n"
+                + "─── SEGMENTOS ───\n"
+                + "%s\n"
+                + "─── MEMORIA VIRTUAL ───\n"
+                + "%s\n"
+                + "─── PÁGINAS COMPARTIDAS ───\n"
+                + "%s\n"
+                + "─── SLAB ───\n"
+                + "%s",
+                politicaActiva.getNombre(),
                 comboPoliticaReemplazo.getValue(),
                 reloj,
                 n,
@@ -834,7 +1401,19 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
                 utilizacionCPU,
                 totalCambiosContexto,
                 totalSwapsRealizados,
-                numNucleos
+                planificadorSwap.getTotalSwapOuts(),
+                planificadorSwap.getTotalSwapIns(),
+                planificadorSwap.getTotalAnticipados(),
+                admisiones == 0 ? 0.0 : sumaLatenciaAdmision / (double) admisiones,
+                ultimoFin == 0 ? 0.0 : n / (double) ultimoFin,
+                numNucleos,
+                subsistemaIO.getReporte(reloj),
+                gestorMemoria.getReporteTLB(),
+                gestorMemoria.getReporteNUMA(),
+                gestorMemoria.getReporteSegmentos(),
+                gestorMemoria.getReporteMemoriaVirtual(),
+                gestorMemoria.getReporteCompartidas(),
+                gestorMemoria.getReporteSlab()
         );
 
         Alert alerta = new Alert(Alert.AlertType.INFORMATION);
@@ -848,27 +1427,31 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
         System.out.println("\n" + stats);
     }
 
-    private void actualizarVistasGUI() {
-        lblReloj.setText("Reloj: " + reloj);
+    /**
+     * Dibuja una instantánea (hilo de JavaFX). Las animaciones se disparan
+     * comparando con la instantánea anterior.
+     */
+    private void renderizar(InstantaneaSimulacion s, InstantaneaSimulacion anterior) {
+        lblReloj.setText("Reloj: " + s.reloj);
 
         // Actualizar tablas
-        ObservableList<Proceso> listaEsperando = FXCollections.observableArrayList(colaEsperando);
-        tablaEsperando.setItems(listaEsperando);
-        tablaEsperando.refresh();
-
+        tablaEsperando.getItems().setAll(s.esperando);
         if (tablaNuevos != null) {
-            tablaNuevos.getItems().setAll(colaNuevos);
+            tablaNuevos.getItems().setAll(s.nuevos);
+        }
+        tablaListos.getItems().setAll(s.listos);
+        if (filasTerminados == null || !filasTerminados.actualizar(s.terminados)) {
+            filasTerminados = new FilasTerminados(s.terminados);
+            tablaTerminados.setItems(filasTerminados);
         }
-        tablaListos.getItems().setAll(colaListos);
-        tablaTerminados.getItems().setAll(colaTerminados);
 
         // Actualizar información de CPU
         if (txtCPU != null) {
             StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < numNucleos; i++) {
-                if (nucleos[i] != null) {
+            for (int i = 0; i < s.pidNucleo.length; i++) {
+                if (s.pidNucleo[i] != -1) {
                     sb.append(String.format("Núcleo %d: PID %d (Restante: %d)\n",
-                            i, nucleos[i].getPid(), nucleos[i].getTiempoCPUrestante()));
+                            i, s.pidNucleo[i], s.restanteNucleo[i]));
                 } else {
                     sb.append(String.format("Núcleo %d: OCIOSO\n", i));
                 }
@@ -876,54 +1459,56 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
             txtCPU.setText(sb.toString());
         }
 
-        int memoriaUsada = gestorMemoria.calcularMemoriaUsada();
-        int fragExterna = gestorMemoria.calcularFragmentacionExterna();
-        int fragInterna = gestorMemoria.calcularFragmentacionInterna();
-
         // Actualizar label de memoria usada con porcentaje
         if (lblMemoriaUsada != null) {
             lblMemoriaUsada.setText(String.format("Memoria: %d / %d MB (%.1f%%)",
-                    memoriaUsada,
-                    gestorMemoria.tamanoTotal,
-                    (memoriaUsada * 100.0) / gestorMemoria.tamanoTotal));
+                    s.memoriaUsada,
+                    s.memoriaTotal,
+                    (s.memoriaUsada * 100.0) / s.memoriaTotal));
         }
 
         // Actualizar label de fragmentación según el modo
         if (lblFragmentacion != null) {
-            if (comboModoMemoria != null && "Paginación".equals(comboModoMemoria.getValue())) {
+            if (s.paginacion) {
                 lblFragmentacion.setText(String.format(
                         "Fragmentación - Externa: %d MB | Interna: %d MB",
-                        fragExterna, fragInterna));
+                        s.fragmentacionExterna, s.fragmentacionInterna));
             } else {
                 lblFragmentacion.setText(String.format(
-                        "Fragmentación Externa: %d MB", fragExterna));
+                        "Fragmentación Externa: %d MB", s.fragmentacionExterna));
             }
         }
 
-        dibujarMemoria();
+        dibujarMemoria(s);
+
+        if (anterior != null && s.cambiosContexto > anterior.cambiosContexto) {
+            animarCambioContexto();
+        }
+        if (anterior != null && s.asignaciones > anterior.asignaciones) {
+            animarAsignacionMemoria();
+        }
     }
 
-    private void dibujarMemoria() {
+    private void dibujarMemoria(InstantaneaSimulacion s) {
         GraphicsContext gc = canvasMemoria.getGraphicsContext2D();
         gc.clearRect(0, 0, canvasMemoria.getWidth(), canvasMemoria.getHeight());
 
-        List<GestorMemoria.BloqueMemoria> bloques = gestorMemoria.getTodosLosBloques();
         double canvasWidth = canvasMemoria.getWidth();
         double canvasHeight = canvasMemoria.getHeight();
 
-        if (bloques.isEmpty()) {
+        if (s.getCantidadBloques() == 0) {
             return;
         }
 
-        String modoActual = comboModoMemoria.getValue();
-        boolean esPaginacion = "Paginación".equals(modoActual);
+        boolean esPaginacion = s.paginacion;
 
         double posX = 0;
-        for (GestorMemoria.BloqueMemoria bloque : bloques) {
-            double ancho = (bloque.getTamano() / (double) gestorMemoria.tamanoTotal) * canvasWidth;
+        for (int b = 0; b < s.getCantidadBloques(); b++) {
+            double ancho = (s.bloqueTamano[b] / (double) s.memoriaTotal) * canvasWidth;
+            int pid = s.bloquePid[b];
 
-            if (bloque.isOcupado()) {
-                gc.setFill(getColorForPID(bloque.pidProceso));
+            if (pid != -1) {
+                gc.setFill(getColorForPID(pid));
 
                 gc.fillRect(posX, 0, ancho, canvasHeight);
                 if (!esPaginacion) {
@@ -934,7 +1519,11 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
                 gc.setFill(Color.BLACK); // Texto negro para que se lea bien
 
                 if (ancho > 15) {
-                    gc.fillText("P" + bloque.pidProceso, posX + 3, canvasHeight / 2 + 5);
+                    // En segmentación se agrega la inicial del segmento (C, D, H, P)
+                    Segmento.Tipo segmento = s.bloqueSegmento[b];
+                    String texto = segmento == null || (esPaginacion && ancho < 30)
+                            ? "P" + pid : "P" + pid + "." + segmento.name().charAt(0);
+                    gc.fillText(texto, posX + 3, canvasHeight / 2 + 5);
                 }
             } else {
                 gc.setFill(Color.web("#E0E0E0")); // Gris para libre
@@ -992,41 +1581,39 @@ double promedioRetornoActual = colaTerminados.stream().mapToLong(p -> p.getTiemp
     private void simularEventosIO() {
         // 1. Generar eventos de I/O aleatorios (10% probabilidad)
         for (int i = 0; i < numNucleos; i++) {
-            if (nucleos[i] != null && random.nextDouble() < 0.1) {
+            if (nucleos[i] != null && random.nextDouble() < SubsistemaIO.PROBABILIDAD_IO) {
                 Proceso p = nucleos[i];
                 // Solo si ha ejecutado al menos 2 ticks
                 if (p.getTiempoEnCPU() >= 2) {
                     p.setEstado(EstadoProceso.ESPERANDO);
-                    long tiempoIO = (long) (random.nextInt(5) + 3); // 3-7 ticks
-                    tiemposIO.put(p, tiempoIO);
+                    DispositivoIO dispositivo = subsistemaIO.solicitar(p, reloj, random);
                     colaEsperando.add(p);
                     nucleos[i] = null;
                     totalCambiosContexto++;
+                    if (diario != null) {
+                        diario.desalojo(i, p.getPid(), EstadoProceso.ESPERANDO);
+                    }
                     System.out.println(String.format(
-                            " [CPU %d] Proceso P%d -> I/O (%d ticks)",
-                            i, p.getPid(), tiempoIO));
+                            " [CPU %d] Proceso P%d -> I/O en %s (cola: %d)",
+                            i, p.getPid(), dispositivo.getNombre(), dispositivo.getLargoCola()));
                 }
             }
         }
 
-        // 2. Procesar finalización de operaciones I/O
-        Iterator<Proceso> iter = colaEsperando.iterator();
-        while (iter.hasNext()) {
-            Proceso p = iter.next();
-            long tiempoRestante = tiemposIO.get(p) - 1;
-
-            if (tiempoRestante <= 0) {
-                // I/O completado
-                p.setEstado(EstadoProceso.LISTO);
-                colaListos.add(p);
-                iter.remove();
-                tiemposIO.remove(p);
-                System.out.println(String.format(
-                        " Proceso P%d retorna de I/O -> Cola de Listos",
-                        p.getPid()));
-            } else {
-                tiemposIO.put(p, tiempoRestante);
+        // 2. Procesar finalización de operaciones I/O (solo las que vencen en este tick)
+        for (Proceso p : subsistemaIO.avanzar(reloj)) {
+            colaEsperando.remove(p);
+            if (p.getEstado() == EstadoProceso.BLOQUEADO_SUSPENDIDO) {
+                // Sigue en swap (o volviendo); el planificador de mediano plazo lo traerá
+                p.setEstado(EstadoProceso.LISTO_SUSPENDIDO);
+                System.out.println(String.format(" Proceso P%d termina I/O estando en swap", p.getPid()));
+                continue;
             }
+            p.setEstado(EstadoProceso.LISTO);
+            colaListos.add(p.getRanura());
+            System.out.println(String.format(
+                    " Proceso P%d retorna de I/O -> Cola de Listos",
+                    p.getPid()));
         }
     }
 
@@ -0,0 +1,203 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Capa de dispositivos de I/O. Cada solicitud se manda a un dispositivo
+ * concreto (elegido según su peso), espera en la cola de ese dispositivo y se
+ * atiende con su tiempo de servicio. Los fines de servicio se programan en
+ * una rueda de temporizadores, así cada tick solo toca los que terminan.
+ */
+public class SubsistemaIO {
+
+    // Configuración por defecto: "nombre:distribucion:param1[:param2]:disciplina:peso" separados por ';'
+    public static final String CONFIGURACION_POR_DEFECTO =
+            "Disco:UNIFORME:3:7:FIFO:0.6;Red:EXPONENCIAL:5:FIFO:0.3;USB:CONSTANTE:8:FIFO:0.1";
+
+    // Probabilidad por tick de que el proceso en un núcleo pida I/O
+    public static final double PROBABILIDAD_IO = 0.1;
+
+    private final List<DispositivoIO> dispositivos;
+    private final double pesoTotal;
+    private RuedaTemporizadores<DispositivoIO> finesServicio;
+    private DiarioEventos diario; // null = sin diario
+
+    public SubsistemaIO(List<DispositivoIO> dispositivos, long tickInicial) {
+        if (dispositivos.isEmpty()) {
+            throw new IllegalArgumentException("Debe haber al menos un dispositivo de I/O");
+        }
+        this.dispositivos = new ArrayList<>(dispositivos);
+        this.pesoTotal = dispositivos.stream().mapToDouble(d -> d.peso).sum();
+        this.finesServicio = new RuedaTemporizadores<>(tickInicial);
+    }
+
+    /**
+     * Crea el subsistema a partir de un texto de configuración, por ejemplo
+     * "Disco:UNIFORME:3:7:FIFO:0.6;Red:EXPONENCIAL:5:SJF:0.4"
+     */
+    public static SubsistemaIO desdeConfiguracion(String configuracion, long tickInicial) {
+        List<DispositivoIO> lista = new ArrayList<>();
+        for (String def : configuracion.split(";")) {
+            if (def.isBlank()) {
+                continue;
+            }
+            String[] partes = def.trim().split(":");
+            try {
+                DispositivoIO.TipoDistribucion tipo = DispositivoIO.TipoDistribucion.valueOf(partes[1].trim().toUpperCase());
+                int i = 2;
+                double p1 = Double.parseDouble(partes[i++]);
+                double p2 = tipo == DispositivoIO.TipoDistribucion.UNIFORME ? Double.parseDouble(partes[i++]) : 0;
+                DispositivoIO.DisciplinaCola disciplina = DispositivoIO.DisciplinaCola.valueOf(partes[i++].trim().toUpperCase());
+                double peso = Double.parseDouble(partes[i++]);
+                if (partes.length != i) {
+                    throw new IllegalArgumentException("se esperaban " + i + " campos y hay " + partes.length);
+                }
+                lista.add(new DispositivoIO(partes[0].trim(), tipo, p1, p2, disciplina, peso));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Dispositivo mal definido: '" + def.trim() + "' (" + e.getMessage() + ")", e);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Dispositivo mal definido: '" + def.trim() + "'", e);
+            }
+        }
+        return new SubsistemaIO(lista, tickInicial);
+    }
+
+    /**
+     * Encola una I/O del proceso en un dispositivo. Devuelve el dispositivo elegido.
+     */
+    public DispositivoIO solicitar(Proceso proceso, long tick, GeneradorAleatorio random) {
+        DispositivoIO dispositivo = elegirDispositivo(random);
+        long servicio = dispositivo.muestrearServicio(random);
+        if (dispositivo.encolar(proceso, servicio, tick)) {
+            finesServicio.programar(dispositivo, dispositivo.getFinServicio());
+        }
+        if (diario != null) {
+            diario.registrar(DiarioEventos.Tipo.INICIO_IO, -1, proceso.getPid(),
+                    dispositivos.indexOf(dispositivo), (int) servicio);
+        }
+        return dispositivo;
+    }
+
+    private DispositivoIO elegirDispositivo(GeneradorAleatorio random) {
+        if (dispositivos.size() == 1) {
+            return dispositivos.get(0);
+        }
+        double r = random.nextDouble() * pesoTotal;
+        for (DispositivoIO d : dispositivos) {
+            r -= d.peso;
+            if (r < 0) {
+                return d;
+            }
+        }
+        return dispositivos.get(dispositivos.size() - 1);
+    }
+
+    /**
+     * Procesa los fines de servicio del tick y devuelve los procesos cuya I/O
+     * terminó, en orden de dispositivo (determinista, también tras un checkpoint).
+     */
+    public List<Proceso> avanzar(long tick) {
+        List<DispositivoIO> terminados = finesServicio.avanzar(tick);
+        if (terminados.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (terminados.size() > 1) {
+            terminados.sort(Comparator.comparingInt(dispositivos::indexOf));
+        }
+        List<Proceso> listos = new ArrayList<>(terminados.size());
+        for (DispositivoIO d : terminados) {
+            Proceso p = d.completar(tick + 1);
+            listos.add(p);
+            if (diario != null) {
+                diario.registrar(DiarioEventos.Tipo.FIN_IO, -1, p.getPid(), dispositivos.indexOf(d), 0);
+            }
+            if (d.isOcupado()) {
+                finesServicio.programar(d, d.getFinServicio());
+            }
+        }
+        return listos;
+    }
+
+    /**
+     * Tick en que termina la I/O del proceso si ya la está atendiendo su
+     * dispositivo, o -1 si sigue en cola (su fin depende de lo que se le
+     * adelante) o no tiene I/O pendiente
+     */
+    public long getFinIO(Proceso proceso) {
+        for (DispositivoIO d : dispositivos) {
+            if (proceso.equals(d.getProcesoEnServicio())) {
+                return d.getFinServicio();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * ¿Hay solicitudes en curso o en cola? (Si no, se puede reconfigurar)
+     */
+    public boolean isInactivo() {
+        return finesServicio.getTamano() == 0;
+    }
+
+    /**
+     * Re-crea el subsistema con el reloj desplazado (cuando se reinicia el reloj)
+     */
+    public void rebasar(long desplazamiento) {
+        finesServicio = finesServicio.desplazada(desplazamiento);
+        for (DispositivoIO d : dispositivos) {
+            d.desplazar(desplazamiento);
+        }
+    }
+
+    public void setDiario(DiarioEventos diario) {
+        this.diario = diario;
+    }
+
+    public List<DispositivoIO> getDispositivos() {
+        return Collections.unmodifiableList(dispositivos);
+    }
+
+    /**
+     * Texto con las métricas por dispositivo, para el reporte final
+     */
+    public String getReporte(long reloj) {
+        StringBuilder sb = new StringBuilder();
+        for (DispositivoIO d : dispositivos) {
+            sb.append(String.format("• %-8s Util: %5.1f%% | Cola prom: %.2f (máx %d) | Espera prom: %.2f | Atendidas: %d\n",
+                    d.getNombre(),
+                    d.getUtilizacion(reloj) * 100,
+                    d.getColaPromedio(reloj),
+                    d.getMaxCola(),
+                    d.getEsperaPromedio(),
+                    d.getSolicitudesAtendidas()));
+        }
+        return sb.toString();
+    }
+
+    public void escribirEstado(DataOutput out) throws IOException {
+        out.writeLong(finesServicio.getTickActual());
+        out.writeInt(dispositivos.size());
+        for (DispositivoIO d : dispositivos) {
+            d.escribirEstado(out);
+        }
+    }
+
+    public static SubsistemaIO leerEstado(DataInput in, Map<Integer, Proceso> procesos) throws IOException {
+        long tickActual = in.readLong();
+        int n = in.readInt();
+        List<DispositivoIO> lista = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            lista.add(DispositivoIO.leerEstado(in, procesos));
+        }
+        SubsistemaIO io = new SubsistemaIO(lista, tickActual);
+        for (DispositivoIO d : lista) {
+            if (d.isOcupado()) {
+                io.finesServicio.programar(d, d.getFinServicio());
+            }
+        }
+        return io;
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * TLB de un núcleo: caché asociativa por conjuntos de traducciones
+ * (PID, página virtual). Con CambioContexto.VACIAR se invalida entera cuando
+ * el núcleo cambia de proceso; con ETIQUETAR cada entrada lleva el PID (ASID)
+ * y sobrevive a los cambios de contexto.
+ */
+public class TLB {
+
+    public enum Reemplazo {
+        LRU,
+        FIFO,
+        ALEATORIO
+    }
+
+    public enum CambioContexto {
+        VACIAR,
+        ETIQUETAR
+    }
+
+    /**
+     * Parámetros de las TLB. Formato de texto:
+     * entradas:asociatividad:reemplazo:cambioContexto:costoFallo (ej: 16:4:LRU:VACIAR:2).
+     * Con 0 entradas no hay TLB.
+     */
+    public static class Configuracion {
+
+        public static final String POR_DEFECTO = "16:4:LRU:VACIAR:2";
+
+        final int entradas;
+        final int asociatividad;
+        final Reemplazo reemplazo;
+        final CambioContexto cambioContexto;
+        final int costoFallo; // ticks extra por cada fallo
+
+        public Configuracion(int entradas, int asociatividad, Reemplazo reemplazo,
+                CambioContexto cambioContexto, int costoFallo) {
+            if (entradas < 0 || costoFallo < 0) {
+                throw new IllegalArgumentException("Valores negativos en la configuración de la TLB");
+            }
+            if (entradas > 0 && (asociatividad <= 0 || entradas % asociatividad != 0)) {
+                throw new IllegalArgumentException("La asociatividad debe dividir al número de entradas");
+            }
+            this.entradas = entradas;
+            this.asociatividad = asociatividad;
+            this.reemplazo = reemplazo;
+            this.cambioContexto = cambioContexto;
+            this.costoFallo = costoFallo;
+        }
+
+        public static Configuracion desdeTexto(String texto) {
+            String[] partes = texto.trim().split(":");
+            try {
+                return new Configuracion(
+                        Integer.parseInt(partes[0].trim()),
+                        Integer.parseInt(partes[1].trim()),
+                        Reemplazo.valueOf(partes[2].trim().toUpperCase()),
+                        CambioContexto.valueOf(partes[3].trim().toUpperCase()),
+                        Integer.parseInt(partes[4].trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("TLB mal definida: '" + texto + "' (" + e.getMessage() + ")", e);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("TLB mal definida: '" + texto + "'", e);
+            }
+        }
+
+        public boolean isHabilitada() {
+            return entradas > 0;
+        }
+
+        @Override
+        public String toString() {
+            return entradas + ":" + asociatividad + ":" + reemplazo + ":" + cambioContexto + ":" + costoFallo;
+        }
+    }
+
+    private static final long LIBRE = -1;
+
+    private final Configuracion config;
+    private final int conjuntos;
+    private final long[] etiquetas; // (pid << 32) | página virtual, LIBRE si la vía está vacía
+    private final long[] marcas;    // LRU: último uso; FIFO: momento de carga
+    private final GeneradorAleatorio random = new GeneradorAleatorio(1);
+    private long reloj = 0;
+    private int pidActual = -1;
+
+    private long aciertos = 0;
+    private long fallos = 0;
+    private long vaciados = 0;
+
+    public TLB(Configuracion config) {
+        this.config = config;
+        this.conjuntos = config.entradas / config.asociatividad;
+        this.etiquetas = new long[config.entradas];
+        this.marcas = new long[config.entradas];
+        Arrays.fill(etiquetas, LIBRE);
+    }
+
+    /**
+     * Busca la traducción; si falla la carga (como haría el hardware tras
+     * recorrer la tabla de páginas). Devuelve true si fue un acierto.
+     */
+    public boolean traducir(int pid, int paginaVirtual) {
+        long etiqueta = ((long) pid << 32) | (paginaVirtual & 0xFFFFFFFFL);
+        int base = Math.floorMod(paginaVirtual * 31 + pid, conjuntos) * config.asociatividad;
+        reloj++;
+
+        int libre = -1;
+        for (int v = base; v < base + config.asociatividad; v++) {
+            if (etiquetas[v] == etiqueta) {
+                aciertos++;
+                if (config.reemplazo == Reemplazo.LRU) {
+                    marcas[v] = reloj;
+                }
+                return true;
+            }
+            if (etiquetas[v] == LIBRE && libre == -1) {
+                libre = v;
+            }
+        }
+
+        fallos++;
+        int destino = libre != -1 ? libre : victima(base);
+        etiquetas[destino] = etiqueta;
+        marcas[destino] = reloj;
+        return false;
+    }
+
+    private int victima(int base) {
+        if (config.reemplazo == Reemplazo.ALEATORIO) {
+            return base + random.nextInt(config.asociatividad);
+        }
+        // LRU y FIFO: la marca más vieja (último uso o carga, según el caso)
+        int victima = base;
+        for (int v = base + 1; v < base + config.asociatividad; v++) {
+            if (marcas[v] < marcas[victima]) {
+                victima = v;
+            }
+        }
+        return victima;
+    }
+
+    /**
+     * El núcleo pasa a ejecutar otro proceso
+     */
+    public void cambiarContexto(int pid) {
+        if (config.cambioContexto == CambioContexto.VACIAR && pid != pidActual) {
+            vaciar();
+        }
+        pidActual = pid;
+    }
+
+    public void vaciar() {
+        Arrays.fill(etiquetas, LIBRE);
+        vaciados++;
+    }
+
+    /**
+     * Invalida las entradas de un proceso (sus páginas cambiaron o se liberaron)
+     */
+    public void invalidarProceso(int pid) {
+        for (int v = 0; v < etiquetas.length; v++) {
+            if (etiquetas[v] != LIBRE && (int) (etiquetas[v] >>> 32) == pid) {
+                etiquetas[v] = LIBRE;
+            }
+        }
+    }
+
+    public Configuracion getConfiguracion() {
+        return config;
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getVaciados() {
+        return vaciados;
+    }
+
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : aciertos / (double) total;
+    }
+
+    /**
+     * Escribe el contenido (entradas, marcas, generador) y las estadísticas,
+     * para que tras un checkpoint los aciertos y fallos sigan igual
+     */
+    void escribirEstado(DataOutput out) throws IOException {
+        for (int v = 0; v < etiquetas.length; v++) {
+            out.writeLong(etiquetas[v]);
+            out.writeLong(marcas[v]);
+        }
+        out.writeLong(random.getEstado());
+        out.writeLong(reloj);
+        out.writeInt(pidActual);
+        out.writeLong(aciertos);
+        out.writeLong(fallos);
+        out.writeLong(vaciados);
+    }
+
+    static TLB leerEstado(DataInput in, Configuracion config) throws IOException {
+        TLB tlb = new TLB(config);
+        for (int v = 0; v < tlb.etiquetas.length; v++) {
+            tlb.etiquetas[v] = in.readLong();
+            tlb.marcas[v] = in.readLong();
+        }
+        tlb.random.setEstado(in.readLong());
+        tlb.reloj = in.readLong();
+        tlb.pidActual = in.readInt();
+        tlb.aciertos = in.readLong();
+        tlb.fallos = in.readLong();
+        tlb.vaciados = in.readLong();
+        return tlb;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.proyecto;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de procesos en formato "struct of arrays": cada campo de los procesos
+ * vive en un arreglo primitivo, indexado por un número de ranura denso.
+ *
+ * Un Proceso es solo una vista (tabla + ranura) sobre esta tabla. Así, con
+ * millones de procesos, la memoria es la de los arreglos y los recorridos
+ * por tick (por ejemplo sumar espera a toda la cola de listos) van sobre
+ * memoria contigua en lugar de saltar entre objetos del heap.
+ *
+ * Cada ranura lleva una generación que cambia al liberarla: una vista vieja
+ * no puede leer ni escribir el proceso que reutilice la ranura. La vista
+ * vigente de cada ranura se guarda y se reutiliza, así pedirla en los
+ * recorridos por tick no crea objetos.
+ *
+ * No es thread-safe: cada simulación tiene su propia tabla.
+ */
+public class TablaProcesos {
+
+    private static final int CAPACIDAD_INICIAL = 64;
+
+    // Parámetros de creación
+    int[] pid;
+    long[] tiempoLlegada;
+    long[] duracionCPU;
+    int[] tamanoMemoria;
+    int[] imagen;           // imagen compartida (binario/bibliotecas), -1 si no declara
+    int[] tamanoCompartido; // MB de la imagen que mapea (primeras páginas del proceso)
+    int[] padre;            // PID del que se bifurca (fork con copia en escritura), -1 si no
+
+    // Estado
+    byte[] estado; // ordinal de EstadoProceso
+    long[] tiempoCPUrestante;
+    int[] ranuraSwap;
+
+    // Estadísticas
+    long[] tiempoInicioEjecucion;
+    long[] tiempoFinalizacion;
+    long[] tiempoEspera;
+    long[] tiempoEnCPU;
+    long[] tiempoRetorno;
+    long[] tiempoRespuesta;
+
+    DiarioEventos diario; // si no es null, registra cada cambio de estado
+
+    int[] generacion;           // cambia cada vez que se libera la ranura
+    private boolean[] libre;    // liberada y todavía sin reutilizar
+    private Proceso[] vistas;   // vista de la generación actual (null = sin crear)
+
+    private int usadas = 0;             // ranuras entregadas alguna vez
+    private int[] libres = new int[16]; // pila de ranuras liberadas
+    private int cantidadLibres = 0;
+
+    public TablaProcesos() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    public TablaProcesos(int capacidad) {
+        capacidad = Math.max(1, capacidad);
+        pid = new int[capacidad];
+        tiempoLlegada = new long[capacidad];
+        duracionCPU = new long[capacidad];
+        tamanoMemoria = new int[capacidad];
+        imagen = new int[capacidad];
+        tamanoCompartido = new int[capacidad];
+        padre = new int[capacidad];
+        estado = new byte[capacidad];
+        tiempoCPUrestante = new long[capacidad];
+        ranuraSwap = new int[capacidad];
+        tiempoInicioEjecucion = new long[capacidad];
+        tiempoFinalizacion = new long[capacidad];
+        tiempoEspera = new long[capacidad];
+        tiempoEnCPU = new long[capacidad];
+        tiempoRetorno = new long[capacidad];
+        tiempoRespuesta = new long[capacidad];
+        generacion = new int[capacidad];
+        libre = new boolean[capacidad];
+        vistas = new Proceso[capacidad];
+    }
+
+    /**
+     * Reserva una ranura para un proceso nuevo y la inicializa. Devuelve la ranura.
+     */
+    public int crear(int pid, long tiempoLlegada, long duracionCPU, int tamanoMemoria) {
+        int s;
+        if (cantidadLibres > 0) {
+            s = libres[--cantidadLibres];
+        } else {
+            if (usadas == this.pid.length) {
+                crecer();
+            }
+            s = usadas++;
+        }
+        this.libre[s] = false;
+        this.pid[s] = pid;
+        this.tiempoLlegada[s] = tiempoLlegada;
+        this.duracionCPU[s] = duracionCPU;
+        this.tamanoMemoria[s] = tamanoMemoria;
+        this.imagen[s] = -1;
+        this.tamanoCompartido[s] = 0;
+        this.padre[s] = -1;
+        this.estado[s] = (byte) EstadoProceso.NUEVO.ordinal(); // Todos nacen "Nuevos"
+        this.tiempoCPUrestante[s] = duracionCPU;
+        this.ranuraSwap[s] = -1;
+        this.tiempoInicioEjecucion[s] = -1;
+        this.tiempoFinalizacion[s] = -1;
+        this.tiempoEspera[s] = 0;
+        this.tiempoEnCPU[s] = 0;
+        this.tiempoRetorno[s] = 0;
+        this.tiempoRespuesta[s] = -1;
+        return s;
+    }
+
+    /**
+     * Crea el proceso y devuelve su vista
+     */
+    public Proceso nuevo(int pid, long tiempoLlegada, long duracionCPU, int tamanoMemoria) {
+        return vista(crear(pid, tiempoLlegada, duracionCPU, tamanoMemoria));
+    }
+
+    /**
+     * Vista sobre una ranura ocupada; siempre la misma hasta que se libere
+     */
+    public Proceso vista(int ranura) {
+        Proceso v = vistas[ranura];
+        if (v == null) {
+            if (ranura >= usadas || libre[ranura]) {
+                throw new IllegalStateException("La ranura " + ranura + " no tiene proceso");
+            }
+            v = new Proceso(this, ranura);
+            vistas[ranura] = v;
+        }
+        return v;
+    }
+
+    /**
+     * Devuelve la ranura para que la reutilice otro proceso. Las vistas que
+     * aún apunten a ella dejan de ser válidas: usarlas lanza
+     * IllegalStateException.
+     */
+    public void liberar(int ranura) {
+        if (ranura >= usadas || libre[ranura]) {
+            throw new IllegalStateException("La ranura " + ranura + " ya está libre (PID "
+                    + pid[ranura] + ")");
+        }
+        libre[ranura] = true;
+        generacion[ranura]++;
+        vistas[ranura] = null;
+        if (cantidadLibres == libres.length) {
+            libres = Arrays.copyOf(libres, libres.length * 2);
+        }
+        libres[cantidadLibres++] = ranura;
+    }
+
+    public void setDiario(DiarioEventos diario) {
+        this.diario = diario;
+    }
+
+    public int getProcesosVivos() {
+        return usadas - cantidadLibres;
+    }
+
+    /**
+     * Suma un tick de espera a todos los procesos de la cola (recorrido
+     * sobre un solo arreglo primitivo).
+     */
+    public void incrementarTiempoEspera(ColaSlots cola) {
+        for (int i = 0, n = cola.size(); i < n; i++) {
+            tiempoEspera[cola.get(i)]++;
+        }
+    }
+
+    private void crecer() {
+        int nueva = pid.length * 2;
+        pid = Arrays.copyOf(pid, nueva);
+        tiempoLlegada = Arrays.copyOf(tiempoLlegada, nueva);
+        duracionCPU = Arrays.copyOf(duracionCPU, nueva);
+        tamanoMemoria = Arrays.copyOf(tamanoMemoria, nueva);
+        imagen = Arrays.copyOf(imagen, nueva);
+        tamanoCompartido = Arrays.copyOf(tamanoCompartido, nueva);
+        padre = Arrays.copyOf(padre, nueva);
+        estado = Arrays.copyOf(estado, nueva);
+        tiempoCPUrestante = Arrays.copyOf(tiempoCPUrestante, nueva);
+        ranuraSwap = Arrays.copyOf(ranuraSwap, nueva);
+        tiempoInicioEjecucion = Arrays.copyOf(tiempoInicioEjecucion, nueva);
+        tiempoFinalizacion = Arrays.copyOf(tiempoFinalizacion, nueva);
+        tiempoEspera = Arrays.copyOf(tiempoEspera, nueva);
+        tiempoEnCPU = Arrays.copyOf(tiempoEnCPU, nueva);
+        tiempoRetorno = Arrays.copyOf(tiempoRetorno, nueva);
+        tiempoRespuesta = Arrays.copyOf(tiempoRespuesta, nueva);
+        generacion = Arrays.copyOf(generacion, nueva);
+        libre = Arrays.copyOf(libre, nueva);
+        vistas = Arrays.copyOf(vistas, nueva);
+    }
+}
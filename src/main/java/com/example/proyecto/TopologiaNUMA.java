@@ -0,0 +1,188 @@
+package com.example.proyecto;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Topología NUMA: los marcos de memoria se reparten en nodos contiguos y
+ * cada nodo tiene un grupo de núcleos. Un acceso desde un núcleo a un marco
+ * de otro nodo es remoto y cuesta ticks extra.
+ */
+public class TopologiaNUMA {
+
+    public enum PoliticaUbicacion {
+        LOCAL,       // primero el nodo del proceso; si no alcanza, los demás
+        INTERCALADO, // las páginas se reparten por turno entre los nodos
+        FIJO         // solo el nodo indicado (si no alcanza, se reemplaza dentro del nodo)
+    }
+
+    /**
+     * Parámetros de la topología. Formato de texto:
+     * nodos:politica:costoRemoto[:nodoFijo] (ej: 2:LOCAL:1, 2:FIJO:1:0).
+     * Con un solo nodo la memoria es uniforme (sin NUMA).
+     */
+    public static class Configuracion {
+
+        public static final String POR_DEFECTO = "1:LOCAL:1";
+
+        final int nodos;
+        final PoliticaUbicacion politica;
+        final int costoRemoto; // ticks extra por cada acceso remoto
+        final int nodoFijo;    // solo para FIJO
+
+        public Configuracion(int nodos, PoliticaUbicacion politica, int costoRemoto, int nodoFijo) {
+            if (nodos <= 0 || costoRemoto < 0) {
+                throw new IllegalArgumentException("Debe haber al menos un nodo y el costo no puede ser negativo");
+            }
+            if (nodoFijo < 0 || nodoFijo >= nodos) {
+                throw new IllegalArgumentException("El nodo fijo debe estar entre 0 y " + (nodos - 1));
+            }
+            this.nodos = nodos;
+            this.politica = politica;
+            this.costoRemoto = costoRemoto;
+            this.nodoFijo = nodoFijo;
+        }
+
+        public static Configuracion desdeTexto(String texto) {
+            String[] partes = texto.trim().split(":");
+            try {
+                return new Configuracion(
+                        Integer.parseInt(partes[0].trim()),
+                        PoliticaUbicacion.valueOf(partes[1].trim().toUpperCase()),
+                        Integer.parseInt(partes[2].trim()),
+                        partes.length > 3 ? Integer.parseInt(partes[3].trim()) : 0);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("NUMA mal definida: '" + texto + "' (" + e.getMessage() + ")", e);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("NUMA mal definida: '" + texto + "'", e);
+            }
+        }
+
+        public boolean isHabilitada() {
+            return nodos > 1;
+        }
+
+        public PoliticaUbicacion getPolitica() {
+            return politica;
+        }
+
+        @Override
+        public String toString() {
+            return nodos + ":" + politica + ":" + costoRemoto
+                    + (politica == PoliticaUbicacion.FIJO ? ":" + nodoFijo : "");
+        }
+    }
+
+    private final Configuracion config;
+    private final int[] nodoDeNucleo;
+    private final int[] primerMarco; // primerMarco[n] .. primerMarco[n + 1] - 1 son los marcos del nodo n
+    private final int[] nodoDeMarco;
+
+    // Accesos por nodo del núcleo que accede
+    private final long[] locales;
+    private final long[] remotos;
+
+    public TopologiaNUMA(Configuracion config, int numNucleos, int numMarcos) {
+        this.config = config;
+        int nodos = config.nodos;
+        this.nodoDeNucleo = new int[numNucleos];
+        for (int i = 0; i < numNucleos; i++) {
+            nodoDeNucleo[i] = (int) ((long) i * nodos / numNucleos);
+        }
+        this.primerMarco = new int[nodos + 1];
+        for (int n = 0; n <= nodos; n++) {
+            primerMarco[n] = (int) ((long) n * numMarcos / nodos);
+        }
+        this.nodoDeMarco = new int[numMarcos];
+        for (int n = 0; n < nodos; n++) {
+            for (int m = primerMarco[n]; m < primerMarco[n + 1]; m++) {
+                nodoDeMarco[m] = n;
+            }
+        }
+        this.locales = new long[nodos];
+        this.remotos = new long[nodos];
+    }
+
+    public Configuracion getConfiguracion() {
+        return config;
+    }
+
+    public int getNodos() {
+        return config.nodos;
+    }
+
+    public int getNumNucleos() {
+        return nodoDeNucleo.length;
+    }
+
+    public int nodoDeNucleo(int nucleo) {
+        return nodoDeNucleo[nucleo];
+    }
+
+    public int nodoDeMarco(int marco) {
+        return nodoDeMarco[marco];
+    }
+
+    public int primerMarco(int nodo) {
+        return primerMarco[nodo];
+    }
+
+    /**
+     * Marco siguiente al último del nodo
+     */
+    public int finMarcos(int nodo) {
+        return primerMarco[nodo + 1];
+    }
+
+    /**
+     * Registra un acceso desde un núcleo a un marco; devuelve los ticks de
+     * penalización (0 si es local)
+     */
+    public int registrarAcceso(int nucleo, int marco) {
+        int origen = nodoDeNucleo[nucleo];
+        if (origen == nodoDeMarco[marco]) {
+            locales[origen]++;
+            return 0;
+        }
+        remotos[origen]++;
+        return config.costoRemoto;
+    }
+
+    public long getLocales(int nodo) {
+        return locales[nodo];
+    }
+
+    public long getRemotos(int nodo) {
+        return remotos[nodo];
+    }
+
+    /**
+     * Proporción de accesos locales de todos los nodos (0 si no hubo accesos)
+     */
+    public double getProporcionLocal() {
+        long l = 0, total = 0;
+        for (int n = 0; n < config.nodos; n++) {
+            l += locales[n];
+            total += locales[n] + remotos[n];
+        }
+        return total == 0 ? 0 : l / (double) total;
+    }
+
+    /**
+     * Escribe los contadores de accesos (la topología sale de la configuración)
+     */
+    void escribirContadores(DataOutput out) throws IOException {
+        for (int n = 0; n < config.nodos; n++) {
+            out.writeLong(locales[n]);
+            out.writeLong(remotos[n]);
+        }
+    }
+
+    void leerContadores(DataInput in) throws IOException {
+        for (int n = 0; n < config.nodos; n++) {
+            locales[n] = in.readLong();
+            remotos[n] = in.readLong();
+        }
+    }
+}
@@ -1,8 +1,15 @@
 module com.example.proyecto {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.httpserver;
 
 
     opens com.example.proyecto to javafx.fxml;
     exports com.example.proyecto;
+
+    uses com.example.proyecto.PlanificadorCPU;
+    provides com.example.proyecto.PlanificadorCPU with
+            com.example.proyecto.PlanificadorCPU.SJF,
+            com.example.proyecto.PlanificadorCPU.RoundRobin;
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repartir las fases por núcleo entre hilos no cambia nada del resultado.
+ * Con muchos núcleos (para que FasesParalelas use más de un hilo),
+ * paginación por demanda con poca memoria (expulsiones que invalidan
+ * traducciones de otros núcleos), TLB etiquetadas, NUMA e I/O.
+ */
+class ComparadorSimulacionesTest {
+
+    private static final int NUCLEOS = 4 * FasesParalelas.MINIMO_NUCLEOS_POR_HILO;
+
+    private static List<Proceso> carga() {
+        TablaProcesos tabla = new TablaProcesos();
+        GeneradorAleatorio random = new GeneradorAleatorio(11);
+        List<Proceso> procesos = new ArrayList<>();
+        for (int pid = 1; pid <= 3 * NUCLEOS; pid++) {
+            procesos.add(tabla.nuevo(pid, random.nextInt(40), 5 + random.nextInt(40), 8 + 4 * random.nextInt(12)));
+        }
+        return procesos;
+    }
+
+    private static ComparadorSimulaciones.Resultado simular(String algoritmo, int hilos) {
+        ComparadorSimulaciones.Configuracion c = new ComparadorSimulaciones.Configuracion(algoritmo, 3,
+                GestorMemoria.PoliticaReemplazo.LRU, GestorMemoria.ModoMemoria.PAGINACION_DEMANDA,
+                TLB.Configuracion.desdeTexto("8:2:ALEATORIO:ETIQUETAR:1"),
+                TopologiaNUMA.Configuracion.desdeTexto("4:LOCAL:2"));
+        return ComparadorSimulaciones.simular(c, carga(), NUCLEOS, null, null, new GeneradorAleatorio(5), hilos);
+    }
+
+    private static void assertMismoResultado(ComparadorSimulaciones.Resultado esperado,
+            ComparadorSimulaciones.Resultado r) {
+        assertEquals(esperado.getTicks(), r.getTicks());
+        assertEquals(esperado.getTerminados(), r.getTerminados());
+        assertEquals(esperado.isTruncado(), r.isTruncado());
+        assertEquals(esperado.getPromedioEspera(), r.getPromedioEspera());
+        assertEquals(esperado.getPromedioRetorno(), r.getPromedioRetorno());
+        assertEquals(esperado.getPromedioAdmision(), r.getPromedioAdmision());
+        assertEquals(esperado.getTasaAciertosTLB(), r.getTasaAciertosTLB());
+        assertEquals(esperado.getProporcionAccesosLocales(), r.getProporcionAccesosLocales());
+        assertEquals(esperado.getSwapOuts(), r.getSwapOuts());
+        assertEquals(esperado.getSwapIns(), r.getSwapIns());
+        assertEquals(esperado.getEstadisticasMemoria(), r.getEstadisticasMemoria());
+    }
+
+    @Test
+    void enParaleloDaLoMismoQueEnSerie() {
+        for (String algoritmo : new String[]{"Round Robin", "SJF"}) {
+            ComparadorSimulaciones.Resultado serie = simular(algoritmo, 1);
+            assertFalse(serie.isTruncado());
+            assertTrue(serie.getEstadisticasMemoria().get("reemplazos") instanceof Number n && n.longValue() > 0,
+                    "la carga tiene que forzar expulsiones");
+            for (int hilos : new int[]{2, 4}) {
+                assertMismoResultado(serie, simular(algoritmo, hilos));
+            }
+        }
+    }
+
+    @Test
+    void accesoPartidoComoElDeUnNucleoPorVez() {
+        GestorMemoria entero = gestorChico();
+        GestorMemoria partido = gestorChico();
+        TablaProcesos tabla = new TablaProcesos();
+        int[] tamanos = {8, 28, 44, 16};
+        Proceso[] nucleos = new Proceso[tamanos.length];
+        for (int i = 0; i < nucleos.length; i++) {
+            nucleos[i] = tabla.nuevo(i + 1, 0, 100, tamanos[i]);
+            assertTrue(entero.asignarMemoria(nucleos[i]));
+            assertTrue(partido.asignarMemoria(nucleos[i]));
+        }
+        for (int tick = 0; tick < 200; tick++) {
+            for (int i = 0; i < nucleos.length; i++) {
+                int esperada = entero.accederMemoria(nucleos[i], i);
+                if (i == 0) {
+                    partido.iniciarAccesos(nucleos);
+                    for (int j = nucleos.length - 1; j >= 0; j--) {
+                        partido.traducirAcceso(j); // el orden entre núcleos no importa
+                    }
+                }
+                assertEquals(esperada, partido.terminarAcceso(i), "tick " + tick + ", núcleo " + i);
+            }
+        }
+        for (int i = 0; i < nucleos.length; i++) {
+            assertEquals(entero.getTLB(i).getAciertos(), partido.getTLB(i).getAciertos());
+            assertEquals(entero.getTLB(i).getFallos(), partido.getTLB(i).getFallos());
+        }
+    }
+
+    // 16 marcos para 24 páginas: los fallos de un núcleo expulsan páginas de los otros
+    private static GestorMemoria gestorChico() {
+        GestorMemoria gestor = new GestorMemoria(64);
+        gestor.setModo(GestorMemoria.ModoMemoria.PAGINACION_DEMANDA);
+        gestor.setPoliticaReemplazo(GestorMemoria.PoliticaReemplazo.FIFO);
+        gestor.configurarTLB(4, TLB.Configuracion.desdeTexto("4:2:LRU:ETIQUETAR:1"));
+        return gestor;
+    }
+}
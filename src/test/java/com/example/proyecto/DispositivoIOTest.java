@@ -0,0 +1,34 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Al reiniciar el reloj con I/O en curso, la corrida siguiente mide solo
+ * lo que pasa desde el tick 0
+ */
+class DispositivoIOTest {
+
+    @Test
+    void alRebasarLasEstadisticasEmpiezanDeCero() {
+        TablaProcesos tabla = new TablaProcesos();
+        DispositivoIO disco = new DispositivoIO("disco", DispositivoIO.TipoDistribucion.CONSTANTE, 10, 0,
+                DispositivoIO.DisciplinaCola.FIFO, 1);
+        assertTrue(disco.encolar(tabla.nuevo(1, 0, 10, 16), 10, 0));
+        assertFalse(disco.encolar(tabla.nuevo(2, 0, 10, 16), 10, 1));
+
+        // Reinicio en el tick 5 de la corrida: al primero le quedan 5 ticks
+        disco.desplazar(5);
+        assertEquals(0, disco.getColaPromedio(0));
+        assertEquals(1.0, disco.getUtilizacion(4));
+        assertEquals(0, disco.getSolicitudesAtendidas());
+        disco.completar(5); // el segundo entra en servicio en el tick 5
+        disco.completar(15);
+
+        assertEquals(15 / 20.0, disco.getUtilizacion(20));
+        assertEquals(5 / 20.0, disco.getColaPromedio(20));
+        assertEquals(1, disco.getSolicitudesAtendidas());
+        assertEquals(5.0, disco.getEsperaPromedio());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Un lector que quedó mapeado sigue al simulador aunque cambie la cantidad
+ * de núcleos entre corridas
+ */
+class ExportadorEstadoTest {
+
+    @Test
+    void elLectorVeElNuevoNumeroDeNucleos() throws IOException {
+        Path archivo = Files.createTempFile("estado", ".bin");
+        try {
+            try (ExportadorEstado exportador = new ExportadorEstado(archivo, 2);
+                    LectorEstado lector = new LectorEstado(archivo)) {
+                assertArrayEquals(new int[]{-1, -1}, lector.leer().getPidNucleo());
+                long tamano = Files.size(archivo);
+
+                try (ExportadorEstado mas = new ExportadorEstado(archivo, 8)) {
+                    assertEquals(8, lector.getNumNucleos());
+                    assertEquals(tamano, Files.size(archivo));
+                }
+                try (ExportadorEstado menos = new ExportadorEstado(archivo, 1)) {
+                    assertArrayEquals(new int[]{-1}, lector.leer().getPidNucleo());
+                }
+            }
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    @Test
+    void rechazaMasNucleosQueElMaximo() throws IOException {
+        Path archivo = Files.createTempFile("estado", ".bin");
+        try {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new ExportadorEstado(archivo, ExportadorEstado.MAXIMO_NUCLEOS + 1));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * El generador propio tiene que dar la misma secuencia que java.util.Random
+ * con la misma semilla: las simulaciones viejas se reproducen igual.
+ */
+class GeneradorAleatorioTest {
+
+    private static final long[] SEMILLAS = {0, 1, 42, -7, 0x123456789ABCDEFL};
+
+    @Test
+    void nextIntComoRandom() {
+        // Potencias de 2 (atajo), límites chicos y uno grande que fuerza rechazos
+        int[] limites = {1, 2, 3, 7, 10, 64, 100, 1024, 1_000_000, (1 << 30) + 1, Integer.MAX_VALUE};
+        for (long semilla : SEMILLAS) {
+            GeneradorAleatorio propio = new GeneradorAleatorio(semilla);
+            Random referencia = new Random(semilla);
+            for (int i = 0; i < 2000; i++) {
+                int limite = limites[i % limites.length];
+                assertEquals(referencia.nextInt(limite), propio.nextInt(limite));
+            }
+        }
+    }
+
+    @Test
+    void nextDoubleYNextLongComoRandom() {
+        for (long semilla : SEMILLAS) {
+            GeneradorAleatorio propio = new GeneradorAleatorio(semilla);
+            Random referencia = new Random(semilla);
+            for (int i = 0; i < 500; i++) {
+                assertEquals(referencia.nextDouble(), propio.nextDouble());
+                assertEquals(referencia.nextLong(), propio.nextLong());
+            }
+        }
+    }
+
+    @Test
+    void rechazaLimitesNoPositivos() {
+        GeneradorAleatorio propio = new GeneradorAleatorio(1);
+        assertThrows(IllegalArgumentException.class, () -> propio.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> propio.nextInt(-3));
+    }
+
+    @Test
+    void elEstadoGuardadoSigueLaMismaSecuencia() {
+        GeneradorAleatorio original = new GeneradorAleatorio(99);
+        for (int i = 0; i < 17; i++) {
+            original.nextInt(10);
+        }
+        GeneradorAleatorio restaurado = new GeneradorAleatorio(0);
+        restaurado.setEstado(original.getEstado());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(original.nextInt(1000), restaurado.nextInt(1000));
+            assertEquals(original.nextDouble(), restaurado.nextDouble());
+        }
+    }
+
+    @Test
+    void dividirEsDeterministaYDaFlujosDistintos() {
+        GeneradorAleatorio a = new GeneradorAleatorio(5);
+        GeneradorAleatorio b = new GeneradorAleatorio(5);
+        GeneradorAleatorio hijoA1 = a.dividir();
+        GeneradorAleatorio hijoA2 = a.dividir();
+        GeneradorAleatorio hijoB1 = b.dividir();
+        GeneradorAleatorio hijoB2 = b.dividir();
+        assertEquals(hijoA1.getEstado(), hijoB1.getEstado());
+        assertEquals(hijoA2.getEstado(), hijoB2.getEstado());
+        assertNotEquals(hijoA1.getEstado(), hijoA2.getEstado());
+        assertEquals(hijoA1.nextLong(), hijoB1.nextLong());
+    }
+}
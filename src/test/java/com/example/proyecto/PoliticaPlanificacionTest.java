@@ -0,0 +1,40 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SJF y Round Robin llegan por ServiceLoader y eligen sobre la vista de
+ * la cola de listos
+ */
+class PoliticaPlanificacionTest {
+
+    @Test
+    void losDeSiempreVienenDelArchivoDeServicios() {
+        assertEquals(List.of("SJF", "Round Robin"), PoliticaPlanificacion.getNombres().subList(0, 2));
+        assertEquals("Round Robin", PoliticaPlanificacion.buscarNombre("rr"));
+        assertThrows(IllegalArgumentException.class, () -> PoliticaPlanificacion.resolver("Round Robin", 0));
+    }
+
+    @Test
+    void sjfDespachaElDeMenosRestanteYRRElPrimero() {
+        TablaProcesos tabla = new TablaProcesos();
+        ColaSlots listos = new ColaSlots();
+        int[] rafagas = {7, 3, 9, 3};
+        for (int i = 0; i < rafagas.length; i++) {
+            listos.add(tabla.nuevo(i + 1, i, rafagas[i], 16).getRanura());
+        }
+
+        PoliticaPlanificacion sjf = PoliticaPlanificacion.resolver("SJF", 0);
+        assertEquals(2, sjf.siguiente(listos, tabla).getPid()); // empate con el 4: el que llegó antes
+        assertEquals(4, sjf.siguiente(listos, tabla).getPid());
+
+        PoliticaPlanificacion rr = PoliticaPlanificacion.resolver("Round Robin", 2);
+        assertEquals(1, rr.siguiente(listos, tabla).getPid());
+        assertEquals(3, rr.siguiente(listos, tabla).getPid());
+        assertNull(rr.siguiente(listos, tabla));
+    }
+}
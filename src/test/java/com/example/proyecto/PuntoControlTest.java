@@ -0,0 +1,202 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guardar y restaurar un checkpoint: lo restaurado vuelve a escribirse igual
+ * y, al seguir, da lo mismo que la simulación sin interrumpir.
+ */
+class PuntoControlTest {
+
+    private static final int NUCLEOS = 2;
+
+    /**
+     * Una simulación chica a mano: paginación por demanda con TLB de
+     * reemplazo aleatorio y dos nodos NUMA, un proceso por núcleo, uno en
+     * cola de I/O y otro a medio escribirse en swap. random es el generador
+     * de la simulación: sigue vivo después de guardar su estado.
+     */
+    private static PuntoControl armar() {
+        return armar(new GeneradorAleatorio(7));
+    }
+
+    private static PuntoControl armar(GeneradorAleatorio random) {
+        TablaProcesos tabla = new TablaProcesos();
+        GestorMemoria gestor = new GestorMemoria(256);
+        gestor.setModo(GestorMemoria.ModoMemoria.PAGINACION_DEMANDA);
+        gestor.setPoliticaReemplazo(GestorMemoria.PoliticaReemplazo.CLOCK);
+        gestor.configurarTLB(NUCLEOS, TLB.Configuracion.desdeTexto("8:2:ALEATORIO:ETIQUETAR:2"));
+        gestor.configurarNUMA(NUCLEOS, TopologiaNUMA.Configuracion.desdeTexto("2:LOCAL:3"));
+
+        RegistroMetricas metricas = new RegistroMetricas("prueba");
+        gestor.registrarMetricas(metricas);
+
+        Proceso[] nucleos = new Proceso[NUCLEOS];
+        for (int i = 0; i < NUCLEOS; i++) {
+            nucleos[i] = tabla.nuevo(i + 1, 0, 50, 64);
+            assertTrue(gestor.asignarMemoria(nucleos[i]));
+            gestor.cambioContexto(i, nucleos[i].getPid());
+        }
+        for (long tick = 0; tick < 40; tick++) {
+            acceder(gestor, nucleos);
+            metricas.muestrear(tick);
+        }
+
+        Proceso bloqueado = tabla.nuevo(3, 0, 20, 32);
+        bloqueado.setEstado(EstadoProceso.ESPERANDO);
+        SubsistemaIO io = SubsistemaIO.desdeConfiguracion(SubsistemaIO.CONFIGURACION_POR_DEFECTO, 0);
+        io.solicitar(bloqueado, 40, random);
+
+        PlanificadorSwap swap = new PlanificadorSwap(40);
+        Proceso expulsado = tabla.nuevo(4, 0, 10, 16);
+        assertTrue(gestor.asignarMemoria(expulsado));
+        assertTrue(swap.expulsar(expulsado, 40));
+
+        PuntoControl pc = new PuntoControl();
+        pc.algoritmo = "Round Robin";
+        pc.quantum = 3;
+        pc.reloj = 40;
+        pc.pidCounter = 5;
+        pc.estadoAleatorio = random.getEstado();
+        pc.tablaProcesos = tabla;
+        pc.historialTerminados = new HistorialTerminados(tabla);
+        pc.planificadorSwap = swap;
+        pc.colaEsperando = new ArrayList<>(List.of(bloqueado));
+        pc.subsistemaIO = io;
+        pc.nucleos = nucleos;
+        pc.tiempoOciosoNucleos = new long[NUCLEOS];
+        pc.quantumRestanteNucleos = new int[]{2, 1};
+        pc.configuracionTLB = "8:2:ALEATORIO:ETIQUETAR:2";
+        pc.configuracionNUMA = "2:LOCAL:3";
+        pc.gestorMemoria = gestor;
+        pc.metricas = metricas;
+        return pc;
+    }
+
+    private static int acceder(GestorMemoria gestor, Proceso[] nucleos) {
+        int penalizacion = 0;
+        for (int i = 0; i < nucleos.length; i++) {
+            penalizacion += gestor.accederMemoria(nucleos[i], i);
+        }
+        return penalizacion;
+    }
+
+    @Test
+    void loRestauradoSeEscribeIgual() throws IOException {
+        PuntoControl pc = armar();
+        byte[] datos = pc.serializar();
+        PuntoControl restaurado = PuntoControl.deserializar(datos);
+        assertArrayEquals(datos, restaurado.serializar());
+        pc.planificadorSwap.close();
+        restaurado.planificadorSwap.close();
+    }
+
+    @Test
+    void conservaTLBNUMAYMetricas() throws IOException {
+        PuntoControl pc = armar();
+        PuntoControl restaurado = PuntoControl.deserializar(pc.serializar());
+        GestorMemoria original = pc.gestorMemoria;
+        GestorMemoria gestor = restaurado.gestorMemoria;
+
+        for (int i = 0; i < NUCLEOS; i++) {
+            assertEquals(original.getTLB(i).getAciertos(), gestor.getTLB(i).getAciertos());
+            assertEquals(original.getTLB(i).getFallos(), gestor.getTLB(i).getFallos());
+            assertEquals(original.getTasaAciertosTLB(i + 1), gestor.getTasaAciertosTLB(i + 1));
+            assertEquals(original.getProporcionAccesosLocales(i + 1), gestor.getProporcionAccesosLocales(i + 1));
+        }
+        assertEquals(original.getProporcionAccesosLocales(), gestor.getProporcionAccesosLocales());
+        assertTrue(gestor.getTLB(0).getAciertos() > 0);
+
+        // Las métricas guardadas pasan a un registro con las mismas métricas
+        RegistroMetricas metricas = new RegistroMetricas("restaurada");
+        gestor.registrarMetricas(metricas);
+        metricas.restaurar(restaurado.metricas);
+        Metrica fallos = metricas.get("memoria.fallosPagina");
+        assertEquals(original.getFallosPagina(), (long) fallos.getValor());
+        assertArrayEquals(pc.metricas.get("memoria.fallosPagina").getSerie(), fallos.getSerie());
+        assertArrayEquals(pc.metricas.get("memoria.fallosPagina").getTicksSerie(), fallos.getTicksSerie());
+        pc.planificadorSwap.close();
+        restaurado.planificadorSwap.close();
+    }
+
+    /**
+     * Sigue la simulación desde pc.reloj: accesos a memoria, fines de I/O
+     * (cada proceso que termina pide otra, sorteada con random), swap-out en
+     * curso y swap-in. Devuelve los eventos en orden ("tick tipo PID").
+     */
+    private static List<String> seguir(PuntoControl pc, GeneradorAleatorio random, int ticks) {
+        List<String> eventos = new ArrayList<>();
+        for (long tick = pc.reloj; tick < pc.reloj + ticks; tick++) {
+            eventos.add(tick + " penalizacion " + acceder(pc.gestorMemoria, pc.nucleos));
+            if (tick == pc.reloj) {
+                pc.subsistemaIO.solicitar(pc.nucleos[0], tick, random); // compite con la que ya estaba en cola
+            }
+            for (Proceso p : pc.subsistemaIO.avanzar(tick)) {
+                eventos.add(tick + " finIO " + p.getPid());
+                DispositivoIO d = pc.subsistemaIO.solicitar(p, tick + 1, random);
+                eventos.add(tick + " pideIO " + p.getPid() + " " + d.getNombre());
+            }
+            for (Proceso p : pc.planificadorSwap.procesar(tick, pc.gestorMemoria, true, pc.subsistemaIO)) {
+                eventos.add(tick + " swapIn " + p.getPid());
+            }
+        }
+        eventos.add("swapOuts " + pc.planificadorSwap.getTotalSwapOuts() + " swapIns " + pc.planificadorSwap.getTotalSwapIns());
+        eventos.add("aleatorio " + random.nextLong());
+        return eventos;
+    }
+
+    @Test
+    void seguirDesdeElCheckpointDaLoMismo() throws IOException {
+        GeneradorAleatorio random = new GeneradorAleatorio(7);
+        PuntoControl pc = armar(random);
+        PuntoControl restaurado = PuntoControl.deserializar(pc.serializar());
+        GeneradorAleatorio randomRestaurado = new GeneradorAleatorio(0);
+        randomRestaurado.setEstado(restaurado.estadoAleatorio);
+
+        List<String> sinCortar = seguir(pc, random, 80);
+        List<String> reanudada = seguir(restaurado, randomRestaurado, 80);
+        assertEquals(sinCortar, reanudada);
+        assertTrue(sinCortar.stream().anyMatch(e -> e.contains(" finIO 3")), "la I/O en cola tiene que terminar");
+        assertTrue(sinCortar.stream().anyMatch(e -> e.contains(" swapIn 4")), "el expulsado tiene que volver");
+        assertEquals(pc.gestorMemoria.getTasaAciertosTLB(), restaurado.gestorMemoria.getTasaAciertosTLB());
+        assertEquals(pc.subsistemaIO.getReporte(pc.reloj + 80), restaurado.subsistemaIO.getReporte(restaurado.reloj + 80));
+        pc.planificadorSwap.close();
+        restaurado.planificadorSwap.close();
+    }
+
+    @Test
+    void rechazaCheckpointsQueNoCierran() throws IOException {
+        PuntoControl pc = armar();
+        byte[] datos = pc.serializar();
+        pc.planificadorSwap.close();
+
+        byte[] otraVersion = datos.clone();
+        otraVersion[5]++;
+        assertThrows(IOException.class, () -> PuntoControl.deserializar(otraVersion));
+        assertThrows(IOException.class, () -> PuntoControl.deserializar(Arrays.copyOf(datos, datos.length - 3)));
+        assertThrows(IOException.class, () -> PuntoControl.deserializar(Arrays.copyOf(datos, datos.length + 1)));
+    }
+
+    @Test
+    void rechazaMetricasQueNoCoinciden() throws IOException {
+        PuntoControl pc = armar();
+        PuntoControl restaurado = PuntoControl.deserializar(pc.serializar());
+        pc.planificadorSwap.close();
+        restaurado.planificadorSwap.close();
+
+        RegistroMetricas conOtra = new RegistroMetricas("otra");
+        restaurado.gestorMemoria.registrarMetricas(conOtra);
+        conOtra.contador("cpu.inventada");
+        assertThrows(IOException.class, () -> conOtra.restaurar(restaurado.metricas));
+
+        RegistroMetricas sinGestor = new RegistroMetricas("vacia");
+        assertThrows(IOException.class, () -> sinGestor.restaurar(restaurado.metricas));
+    }
+}
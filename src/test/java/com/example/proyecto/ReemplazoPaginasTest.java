@@ -0,0 +1,114 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Víctimas de OPT, Clock y NFU sobre secuencias de referencias conocidas.
+ * Tres marcos y procesos de una página: cada acceso a un proceso referencia
+ * su única página, y admitir uno más obliga a expulsar.
+ */
+class ReemplazoPaginasTest {
+
+    private final TablaProcesos tabla = new TablaProcesos();
+
+    private static GestorMemoria gestor(GestorMemoria.PoliticaReemplazo politica) {
+        GestorMemoria gestor = new GestorMemoria(12); // 3 marcos de 4 MB
+        gestor.setModo(GestorMemoria.ModoMemoria.PAGINACION);
+        gestor.setPoliticaReemplazo(politica);
+        return gestor;
+    }
+
+    private Proceso cargar(GestorMemoria gestor, int pid) {
+        Proceso p = tabla.nuevo(pid, 0, 10, 4);
+        assertTrue(gestor.asignarMemoria(p));
+        return p;
+    }
+
+    private static boolean residente(GestorMemoria gestor, Proceso p) {
+        return gestor.getTamanoResidente(p.getPid()) > 0;
+    }
+
+    @Test
+    void optExpulsaLaQueSeUsaMasTarde() {
+        GestorMemoria gestor = gestor(GestorMemoria.PoliticaReemplazo.OPT);
+        gestor.setReferenciasFuturas(new int[]{1, 2, 1, 3, 2, 1});
+        Proceso a = cargar(gestor, 1);
+        Proceso b = cargar(gestor, 2);
+        Proceso c = cargar(gestor, 3);
+        gestor.accederMemoria(a);
+        gestor.accederMemoria(b);
+
+        // Desde acá: A en 2, C en 3, B en 4 (FIFO sacaría A y LRU, C)
+        cargar(gestor, 4);
+        assertFalse(residente(gestor, b));
+        assertTrue(residente(gestor, a));
+        assertTrue(residente(gestor, c));
+    }
+
+    @Test
+    void clockDaSegundaOportunidad() {
+        GestorMemoria gestor = gestor(GestorMemoria.PoliticaReemplazo.CLOCK);
+        Proceso a = cargar(gestor, 1);
+        Proceso b = cargar(gestor, 2);
+        Proceso c = cargar(gestor, 3);
+
+        // Todas referenciadas: la manecilla les borra el bit y vuelve a A
+        Proceso d = cargar(gestor, 4);
+        assertFalse(residente(gestor, a));
+
+        // B se vuelve a referenciar: se saltea y sale C
+        gestor.accederMemoria(b);
+        cargar(gestor, 5);
+        assertTrue(residente(gestor, b));
+        assertFalse(residente(gestor, c));
+        assertTrue(residente(gestor, d));
+    }
+
+    @Test
+    void nfuExpulsaLaDeMenorEdad() {
+        GestorMemoria gestor = gestor(GestorMemoria.PoliticaReemplazo.NFU);
+        Proceso a = cargar(gestor, 1);
+        Proceso b = cargar(gestor, 2);
+        Proceso c = cargar(gestor, 3);
+        gestor.avanzarReloj();             // A, B, C: 0xC0
+        gestor.accederMemoria(a);
+        gestor.accederMemoria(b);
+        gestor.avanzarReloj();             // A, B: 0xE0; C: 0x60
+        gestor.accederMemoria(c);          // el bit R de C entra recién en el próximo tick
+
+        // C es la más usada recientemente, pero la de menor edad
+        Proceso d = cargar(gestor, 4);
+        assertFalse(residente(gestor, c));
+
+        for (int i = 0; i < 3; i++) {
+            gestor.avanzarReloj();         // A, B: 0x1C; D: 0x30
+        }
+        gestor.accederMemoria(a);
+        gestor.avanzarReloj();             // A: 0x8E; B: 0x0E; D: 0x18
+        cargar(gestor, 5);
+        assertFalse(residente(gestor, b));
+        assertTrue(residente(gestor, a));
+        assertTrue(residente(gestor, d));
+    }
+
+    @Test
+    void nfuOlvidaLasReferenciasDeHaceMasDeOchoTicks() {
+        GestorMemoria gestor = gestor(GestorMemoria.PoliticaReemplazo.NFU);
+        Proceso a = cargar(gestor, 1);
+        Proceso b = cargar(gestor, 2);
+        Proceso c = cargar(gestor, 3);
+        gestor.avanzarReloj();
+        gestor.accederMemoria(a);
+        for (int i = 0; i < 9; i++) {
+            gestor.avanzarReloj();
+        }
+
+        // Las tres llegan a edad 0: sale la cargada primero, aunque A se usó después
+        cargar(gestor, 4);
+        assertFalse(residente(gestor, a));
+        assertTrue(residente(gestor, b));
+        assertTrue(residente(gestor, c));
+    }
+}
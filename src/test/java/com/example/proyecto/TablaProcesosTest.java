@@ -0,0 +1,43 @@
+package com.example.proyecto;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ranuras reutilizadas: una vista vieja no puede tocar al proceso nuevo
+ */
+class TablaProcesosTest {
+
+    @Test
+    void laVistaViejaNoVeAlQueReutilizaLaRanura() {
+        TablaProcesos tabla = new TablaProcesos(1);
+        Proceso viejo = tabla.nuevo(1, 0, 10, 64);
+        tabla.liberar(viejo.getRanura());
+        Proceso nuevo = tabla.nuevo(2, 5, 20, 32);
+
+        assertEquals(viejo.getRanura(), nuevo.getRanura());
+        assertFalse(viejo.isValida());
+        assertTrue(nuevo.isValida());
+        assertNotEquals(viejo, nuevo);
+        assertThrows(IllegalStateException.class, viejo::getPid);
+        assertThrows(IllegalStateException.class, () -> viejo.setTiempoCPUrestante(0));
+        assertEquals(20, nuevo.getTiempoCPUrestante());
+    }
+
+    @Test
+    void noSeLiberaDosVeces() {
+        TablaProcesos tabla = new TablaProcesos();
+        Proceso p = tabla.nuevo(1, 0, 10, 64);
+        tabla.liberar(p.getRanura());
+        assertThrows(IllegalStateException.class, () -> tabla.liberar(p.getRanura()));
+        assertEquals(0, tabla.getProcesosVivos());
+    }
+
+    @Test
+    void laVistaDeUnaRanuraSeReutiliza() {
+        TablaProcesos tabla = new TablaProcesos();
+        Proceso p = tabla.nuevo(1, 0, 10, 64);
+        assertSame(p, tabla.vista(p.getRanura()));
+    }
+}